@@ -0,0 +1,41 @@
+/*
+ *
+ * BenchmarkCoolants.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.coolant;
+
+import it.zerono.mods.extremereactors.api.IMapping;
+
+/**
+ * The water and steam used by the benchmarks, with the same values the mod register in game.
+ * The registries are only filled while the mod is loading so the benchmarks need their own instances
+ */
+public final class BenchmarkCoolants {
+
+    public static final Coolant WATER = new Coolant("water", 100.0f, 4.0f, "fluid.bigreactors.water");
+    public static final Vapor STEAM = new Vapor("steam", 10.0f, "fluid.bigreactors.steam");
+
+    public static final IMapping<Coolant, Vapor> VAPORIZATION = IMapping.of(WATER, 1, STEAM, 1);
+    public static final IMapping<Vapor, Coolant> CONDENSATION = VAPORIZATION.getReverse();
+
+    //region internals
+
+    private BenchmarkCoolants() {
+    }
+
+    //endregion
+}
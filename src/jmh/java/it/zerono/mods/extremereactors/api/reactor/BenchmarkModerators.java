@@ -0,0 +1,142 @@
+/*
+ *
+ * BenchmarkModerators.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.reactor;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkTag;
+import it.zerono.mods.zerocore.lib.tag.TagList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.tags.ITag;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Fill the {@link ModeratorsRegistry} with as many Moderators as the mod register in game.
+ * <p>
+ * The solid Moderators Tags hold vanilla blocks picked across the whole blocks registry (the modded storage blocks
+ * they hold in game are not available here) while the fluid Moderators include water, as in game, and a few fluids
+ * from other mods that are never found, as it happen when those mods are not installed
+ */
+public final class BenchmarkModerators {
+
+    /**
+     * How many solid Moderators are registered, like in game
+     */
+    public static final int SOLID_MODERATORS = 36;
+
+    /**
+     * How many blocks are held by each solid Moderator Tag
+     */
+    public static final int BLOCKS_PER_TAG = 2;
+
+    /**
+     * Fill the registry and rebuild its lookup tables
+     */
+    public static void fill() {
+
+        BenchmarkHelper.bootstrap();
+
+        final List<Block> candidates = Lists.newArrayList();
+
+        for (final Block block : ForgeRegistries.BLOCKS.getValues()) {
+
+            final BlockState state = block.defaultBlockState();
+
+            if (!state.isAir() && state.getFluidState().isEmpty()) {
+                candidates.add(block);
+            }
+        }
+
+        Collections.shuffle(candidates, new Random(SEED));
+
+        final Map<ITag.INamedTag<Block>, Moderator> solids = Maps.newLinkedHashMap();
+        final Map<ResourceLocation, Moderator> fluids = Maps.newLinkedHashMap();
+        final Random random = new Random(SEED);
+
+        for (int i = 0; i < SOLID_MODERATORS; ++i) {
+
+            final List<Block> blocks = candidates.subList(i * BLOCKS_PER_TAG, (i + 1) * BLOCKS_PER_TAG);
+
+            solids.put(new BenchmarkTag<>(new ResourceLocation("forge", "storage_blocks/benchmark_" + i), blocks),
+                    new Moderator(0.5f + random.nextFloat() * 0.1f, 0.75f + random.nextFloat() * 0.1f,
+                            1.4f + random.nextFloat() * 0.2f, IHeatEntity.CONDUCTIVITY_IRON));
+        }
+
+        fluids.put(Objects.requireNonNull(Fluids.WATER.getRegistryName()), Moderator.WATER);
+        fluids.put(Objects.requireNonNull(Fluids.FLOWING_WATER.getRegistryName()), Moderator.WATER);
+
+        for (final String missing : MISSING_FLUIDS) {
+            fluids.put(new ResourceLocation(missing), Moderator.WATER);
+        }
+
+        replaceAll(solids, fluids);
+    }
+
+    //region internals
+
+    /**
+     * Replace all the registered Moderators, and the block Tags used to find the solid ones, then rebuild the lookup
+     * tables as if the Tags were just updated
+     *
+     * @param solids the solid Moderators, by block Tag. The first matching Tag win, so use an ordered map
+     * @param fluids the fluid Moderators, by Fluid Id
+     */
+    private static void replaceAll(final Map<ITag.INamedTag<Block>, Moderator> solids,
+                                   final Map<ResourceLocation, Moderator> fluids) {
+
+        final TagList<Block> blocksTags = BenchmarkHelper.getStaticField(ModeratorsRegistry.class, "s_moderatorBlocksTags");
+        final Map<ResourceLocation, Moderator> blocksData = BenchmarkHelper.getStaticField(ModeratorsRegistry.class, "s_moderatorBlocksData");
+        final Map<ResourceLocation, Moderator> fluidsData = BenchmarkHelper.getStaticField(ModeratorsRegistry.class, "s_moderatorFluidsData");
+
+        blocksTags.clear();
+        blocksData.clear();
+        fluidsData.clear();
+
+        solids.forEach((tag, moderator) -> {
+
+            blocksData.put(tag.getName(), moderator);
+            blocksTags.addTag(tag);
+        });
+
+        fluidsData.putAll(fluids);
+        BenchmarkHelper.invokeStaticMethod(ModeratorsRegistry.class, "rebuildLookupTables");
+    }
+
+    private static final long SEED = 0x5eedL;
+
+    private static final String[] MISSING_FLUIDS = {
+            "astralsorcery:liquid_starlight", "bloodmagic:life_essence_fluid", "mekanism:hydrofluoric_acid",
+            "mekanism:sodium", "mekanism:hydrogen_chloride", "mekanism:ethene"
+    };
+
+    private BenchmarkModerators() {
+    }
+
+    //endregion
+}
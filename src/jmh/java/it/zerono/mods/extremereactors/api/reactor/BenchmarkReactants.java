@@ -0,0 +1,42 @@
+/*
+ *
+ * BenchmarkReactants.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.reactor;
+
+/**
+ * The Reactants used by the benchmarks, with the same values the mod register in game.
+ * The registries are only filled while the mod is loading so the benchmarks need their own instances
+ */
+public final class BenchmarkReactants {
+
+    public static final Reactant YELLORIUM = new Reactant("yellorium", ReactantType.Fuel, 0xc6ba54,
+            "reactant.bigreactors.yellorium", FuelProperties.DEFAULT);
+
+    public static final Reactant CYANITE = new Reactant("cyanite", ReactantType.Waste, 0x5387b7,
+            "reactant.bigreactors.cyanite", FuelProperties.INVALID);
+
+    public static final Reaction YELLORIUM_REACTION = new Reaction(YELLORIUM, CYANITE,
+            Reaction.STANDARD_REACTIVITY, Reaction.STANDARD_FISSIONRATE);
+
+    //region internals
+
+    private BenchmarkReactants() {
+    }
+
+    //endregion
+}
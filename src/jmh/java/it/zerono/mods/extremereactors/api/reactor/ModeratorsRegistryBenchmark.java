@@ -0,0 +1,146 @@
+/*
+ *
+ * ModeratorsRegistryBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.reactor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the lookup of a Moderator from a block state on a registry filled by {@link BenchmarkModerators}.
+ * <p>
+ * The looked up block states cycle over a fixed set of random states (moderators and not): with 64 states the old
+ * cache always hit while with 1024 states, more than the cache can hold, it keep evicting entries as happen in
+ * game with big Reactors full of different blocks or with many Reactors around.
+ * <ul>
+ *     <li>lookup: the identity lookup tables of {@link ModeratorsRegistry}</li>
+ *     <li>scan: the scan of the Moderators Tags the lookup tables replaced</li>
+ *     <li>guavaCache: the bounded Guava cache that ReactantHelper used to put in front of the scan</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModeratorsRegistryBenchmark {
+
+    /**
+     * How many different block states are looked up. Must be a power of 2
+     */
+    @Param({"64", "1024"})
+    public int states;
+
+    @Setup
+    public void setup() {
+
+        BenchmarkModerators.fill();
+
+        final List<BlockState> candidates = Lists.newArrayList();
+
+        for (final Block block : ForgeRegistries.BLOCKS.getValues()) {
+            candidates.addAll(block.getStateDefinition().getPossibleStates());
+        }
+
+        Collections.shuffle(candidates, new Random(0x5eedL));
+
+        this._states = candidates.subList(0, this.states).toArray(new BlockState[0]);
+        this._next = 0;
+
+        // same settings used by ReactantHelper
+        this._cache = CacheBuilder.newBuilder()
+                .initialCapacity(4)
+                .concurrencyLevel(2)
+                .maximumSize(128)
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Benchmark
+    @Nullable
+    public Moderator lookup() {
+        return ModeratorsRegistry.getFromOrNull(this.nextState());
+    }
+
+    @Benchmark
+    @Nullable
+    public Moderator scan() {
+        return computeFrom(this.nextState());
+    }
+
+    @Benchmark
+    @Nullable
+    public Moderator guavaCache() {
+
+        final BlockState state = this.nextState();
+        Moderator moderator = this._cache.getIfPresent(state);
+
+        if (null == moderator) {
+
+            moderator = computeFrom(state);
+
+            if (null != moderator) {
+                this._cache.put(state, moderator);
+            }
+        }
+
+        return moderator;
+    }
+
+    //region internals
+
+    /**
+     * Look up a Moderator with the scan of the Moderators data and Tags used by the registry before its lookup tables are built
+     */
+    @Nullable
+    private static Moderator computeFrom(final BlockState state) {
+
+        try {
+            return (Moderator)COMPUTE_FROM.invokeExact(state);
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final MethodHandle COMPUTE_FROM = BenchmarkHelper.getStaticMethod(ModeratorsRegistry.class,
+            "computeFrom", BlockState.class);
+
+    private BlockState nextState() {
+        return this._states[this._next++ & (this.states - 1)];
+    }
+
+    private BlockState[] _states;
+    private int _next;
+    private Cache<BlockState, Moderator> _cache;
+
+    //endregion
+}
@@ -0,0 +1,147 @@
+/*
+ *
+ * ReactantMappingsRegistryBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.reactor;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import it.zerono.mods.extremereactors.api.IMapping;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkTag;
+import it.zerono.mods.zerocore.lib.tag.TagList;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.tags.ITag;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the lookup of a Reactant from an item, as done by the Solid Access Ports on every refuel.
+ * <p>
+ * The registry is filled with as many solid mappings as the mod register in game (ingots and storage blocks, with
+ * the common aliases from other mods) each one with a Tag holding two random vanilla items
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReactantMappingsRegistryBenchmark {
+
+    /**
+     * The item to look up: an empty stack, an item from the last registered Tag or an item that is not a Reactant source
+     */
+    @Param({"empty", "mapped", "unmapped"})
+    public String item;
+
+    @Setup
+    public void setup() {
+
+        BenchmarkHelper.bootstrap();
+
+        final List<Item> candidates = Lists.newArrayList(ForgeRegistries.ITEMS.getValues());
+
+        candidates.remove(Items.AIR);
+        Collections.shuffle(candidates, new Random(0x5eedL));
+
+        final Map<ITag.INamedTag<Item>, IMapping<ResourceLocation, Reactant>> mappings = Maps.newLinkedHashMap();
+
+        for (int i = 0; i < SOLID_MAPPINGS; ++i) {
+
+            final ResourceLocation tagId = new ResourceLocation("forge", "ingots/benchmark_" + i);
+            final Reactant reactant = 0 == (i & 1) ? BenchmarkReactants.YELLORIUM : BenchmarkReactants.CYANITE;
+            final int amount = (0 == (i & 2) ? 1 : 9) * ReactantMappingsRegistry.STANDARD_SOLID_REACTANT_AMOUNT;
+
+            mappings.put(new BenchmarkTag<>(tagId, candidates.subList(i * ITEMS_PER_TAG, (i + 1) * ITEMS_PER_TAG)),
+                    IMapping.of(tagId, 1, reactant, amount));
+        }
+
+        replaceAllSolids(mappings);
+
+        switch (this.item) {
+
+            case "empty":
+                this._stack = ItemStack.EMPTY;
+                break;
+
+            case "mapped":
+                this._stack = new ItemStack(candidates.get(SOLID_MAPPINGS * ITEMS_PER_TAG - 1), 64);
+                break;
+
+            case "unmapped":
+                this._stack = new ItemStack(candidates.get(SOLID_MAPPINGS * ITEMS_PER_TAG), 64);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown item: " + this.item);
+        }
+    }
+
+    @Benchmark
+    public Optional<IMapping<ResourceLocation, Reactant>> getFromSolid() {
+        return ReactantMappingsRegistry.getFromSolid(this._stack);
+    }
+
+    //region internals
+
+    /**
+     * Replace all the registered solid mappings, and the Item Tags of their sources, then rebuild the lookup table as
+     * if the Tags were just updated
+     *
+     * @param mappings the solid mappings, by source Item Tag. The first matching Tag win, so use an ordered map
+     */
+    private static void replaceAllSolids(final Map<ITag.INamedTag<Item>, IMapping<ResourceLocation, Reactant>> mappings) {
+
+        final Map<ResourceLocation, IMapping<ResourceLocation, Reactant>> solidToReactant =
+                BenchmarkHelper.getStaticField(ReactantMappingsRegistry.class, "s_solidToReactant");
+        final Map<Reactant, List<IMapping<Reactant, ResourceLocation>>> reactantToSolid =
+                BenchmarkHelper.getStaticField(ReactantMappingsRegistry.class, "s_reactantToSolid");
+        final TagList<Item> solidTags = BenchmarkHelper.getStaticField(ReactantMappingsRegistry.class, "s_solidTags");
+
+        solidToReactant.clear();
+        reactantToSolid.clear();
+        solidTags.clear();
+
+        mappings.forEach((tag, mapping) -> {
+
+            solidToReactant.put(mapping.getSource(), mapping);
+            reactantToSolid.computeIfAbsent(mapping.getProduct(), k -> Lists.newArrayList()).add(mapping.getReverse());
+            solidTags.addTag(tag);
+        });
+
+        BenchmarkHelper.invokeStaticMethod(ReactantMappingsRegistry.class, "rebuildSolidLookup");
+    }
+
+    // same number of mappings registered by the mod
+    private static final int SOLID_MAPPINGS = 12;
+    private static final int ITEMS_PER_TAG = 2;
+
+    private ItemStack _stack;
+
+    //endregion
+}
@@ -0,0 +1,35 @@
+/*
+ *
+ * BenchmarkCoils.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.api.turbine;
+
+/**
+ * The Coil materials used by the benchmarks, with the same values the mod register in game.
+ * The registries are only filled while the mod is loading so the benchmarks need their own instances
+ */
+public final class BenchmarkCoils {
+
+    public static final CoilMaterial IRON = new CoilMaterial(1.0f, 1.0f, 1.0f);
+
+    //region internals
+
+    private BenchmarkCoils() {
+    }
+
+    //endregion
+}
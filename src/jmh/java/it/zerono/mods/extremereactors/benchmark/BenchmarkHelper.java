@@ -0,0 +1,243 @@
+/*
+ *
+ * BenchmarkHelper.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.ExceptionMethod;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.profiler.EmptyProfiler;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.World;
+import org.mockito.Mockito;
+import org.objenesis.ObjenesisStd;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Build the stubbed environments used by the benchmarks so that they could run without a Minecraft server
+ */
+public final class BenchmarkHelper {
+
+    /**
+     * Initialize the vanilla registries (blocks, items, fluids, ...). Must be called before touching any game object
+     */
+    public static void bootstrap() {
+        Bootstrap.bootStrap();
+    }
+
+    /**
+     * Create a mocked World that only provide an empty profiler. Everything else return the Mockito defaults.
+     * Calls to the mock are slower than calls to a real World, so keep them out of the measured loops when possible
+     *
+     * @return the new World
+     */
+    public static World mockWorld() {
+
+        bootstrap();
+
+        final World world = Mockito.mock(World.class);
+
+        Mockito.when(world.getProfiler()).thenReturn(EmptyProfiler.INSTANCE);
+        return world;
+    }
+
+    /**
+     * The blocks seen by a World created by {@link #stubWorld(IWorldContent)}
+     */
+    public interface IWorldContent {
+
+        BlockState getBlockState(BlockPos position);
+
+        @Nullable
+        TileEntity getBlockEntity(BlockPos position);
+    }
+
+    /**
+     * Create a stubbed World that only provide an empty profiler and is filled with air
+     *
+     * @return the new World
+     * @see #stubWorld(IWorldContent)
+     */
+    public static World stubWorld() {
+        return stubWorld(EMPTY_WORLD);
+    }
+
+    /**
+     * Create a stubbed World that only provide an empty profiler and the blocks and tile entities of the given content,
+     * with every position reported as loaded. Every other abstract method will throw while the concrete ones will run
+     * on a World that was never initialized.
+     * Unlike {@link #mockWorld()} calling the stub do not allocate anything so it could be used to measure the
+     * allocations of the game logic
+     *
+     * @param content the blocks and tile entities of the World
+     * @return the new World
+     */
+    public static World stubWorld(final IWorldContent content) {
+
+        bootstrap();
+
+        final Class<? extends World> worldClass = new ByteBuddy()
+                .subclass(World.class)
+                .method(ElementMatchers.isAbstract())
+                .intercept(ExceptionMethod.throwing(UnsupportedOperationException.class, "Not available in benchmarks"))
+                .method(ElementMatchers.named("getProfiler").and(ElementMatchers.takesArguments(0)))
+                .intercept(FixedValue.value(EmptyProfiler.INSTANCE))
+                .method(ElementMatchers.named("isLoaded").or(ElementMatchers.named("hasChunkAt")).and(ElementMatchers.takesArguments(BlockPos.class)))
+                .intercept(FixedValue.value(true))
+                .method(ElementMatchers.named("getBlockState").and(ElementMatchers.takesArguments(BlockPos.class)))
+                .intercept(MethodDelegation.withDefaultConfiguration()
+                        .filter(ElementMatchers.named("getBlockState"))
+                        .to(content, IWorldContent.class))
+                .method(ElementMatchers.named("getBlockEntity").and(ElementMatchers.takesArguments(BlockPos.class)))
+                .intercept(MethodDelegation.withDefaultConfiguration()
+                        .filter(ElementMatchers.named("getBlockEntity"))
+                        .to(content, IWorldContent.class))
+                .make()
+                .load(World.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+
+        // World do not have a usable constructor outside of a running server
+        return new ObjenesisStd().newInstance(worldClass);
+    }
+
+    /**
+     * Create an instance of an abstract stub class. Every abstract method of the class (including the ones inherited
+     * from its interfaces) will throw an {@link UnsupportedOperationException} while the methods implemented by the
+     * stub class are called directly, without any interception
+     *
+     * @param stubClass the abstract stub class. It must be public and have a public constructor
+     * @param parameterTypes the parameter types of the constructor to call
+     * @param arguments the arguments for the constructor
+     * @param <T> the type of the stub
+     * @return the new instance
+     */
+    public static <T> T stub(final Class<T> stubClass, final Class<?>[] parameterTypes, final Object... arguments) {
+
+        try {
+
+            return new ByteBuddy()
+                    .subclass(stubClass)
+                    .method(ElementMatchers.isAbstract())
+                    .intercept(ExceptionMethod.throwing(UnsupportedOperationException.class, "Not available in benchmarks"))
+                    .make()
+                    .load(stubClass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded()
+                    .getConstructor(parameterTypes)
+                    .newInstance(arguments);
+
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to create a stub for " + stubClass.getName(), ex);
+        }
+    }
+
+    /**
+     * Read a private static field. Outside the game the registries are never filled by the mod, so the benchmarks
+     * and the tests reach their internal tables instead of adding seams to the production code
+     *
+     * @param owner the class that declare the field
+     * @param name the name of the field
+     * @param <T> the type of the field value
+     * @return the value of the field
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getStaticField(final Class<?> owner, final String name) {
+
+        try {
+
+            final Field field = owner.getDeclaredField(name);
+
+            field.setAccessible(true);
+            return (T)field.get(null);
+
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to read " + owner.getName() + "." + name, ex);
+        }
+    }
+
+    /**
+     * Get a handle to a private static method
+     *
+     * @param owner the class that declare the method
+     * @param name the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the method handle
+     * @see #getStaticField(Class, String)
+     */
+    public static MethodHandle getStaticMethod(final Class<?> owner, final String name, final Class<?>... parameterTypes) {
+
+        try {
+
+            final Method method = owner.getDeclaredMethod(name, parameterTypes);
+
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Unable to access " + owner.getName() + "." + name, ex);
+        }
+    }
+
+    /**
+     * Call a private static method that take no arguments
+     *
+     * @param owner the class that declare the method
+     * @param name the name of the method
+     * @see #getStaticField(Class, String)
+     */
+    public static void invokeStaticMethod(final Class<?> owner, final String name) {
+
+        try {
+            getStaticMethod(owner, name).invoke();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Unable to call " + owner.getName() + "." + name, ex);
+        }
+    }
+
+    //region internals
+
+    private static final IWorldContent EMPTY_WORLD = new IWorldContent() {
+
+        @Override
+        public BlockState getBlockState(final BlockPos position) {
+            return Blocks.AIR.defaultBlockState();
+        }
+
+        @Nullable
+        @Override
+        public TileEntity getBlockEntity(final BlockPos position) {
+            return null;
+        }
+    };
+
+    private BenchmarkHelper() {
+    }
+
+    //endregion
+}
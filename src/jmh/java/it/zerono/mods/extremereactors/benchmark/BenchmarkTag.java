@@ -0,0 +1,71 @@
+/*
+ *
+ * BenchmarkTag.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import net.minecraft.tags.ITag;
+import net.minecraft.util.ResourceLocation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A named Tag with a fixed content. Outside the game the Tags are never loaded so the benchmarks build their own
+ *
+ * @param <T> the type of the tagged objects
+ */
+public class BenchmarkTag<T>
+        implements ITag.INamedTag<T> {
+
+    public BenchmarkTag(final ResourceLocation name, final Collection<T> values) {
+
+        this._name = name;
+        this._values = ImmutableList.copyOf(values);
+        this._lookup = Sets.newIdentityHashSet();
+        this._lookup.addAll(values);
+    }
+
+    //region ITag.INamedTag
+
+    @Override
+    public ResourceLocation getName() {
+        return this._name;
+    }
+
+    @Override
+    public boolean contains(final T value) {
+        return this._lookup.contains(value);
+    }
+
+    @Override
+    public List<T> getValues() {
+        return this._values;
+    }
+
+    //endregion
+    //region internals
+
+    private final ResourceLocation _name;
+    private final List<T> _values;
+    private final Set<T> _lookup;
+
+    //endregion
+}
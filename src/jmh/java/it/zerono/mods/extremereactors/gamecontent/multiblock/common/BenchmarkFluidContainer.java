@@ -0,0 +1,110 @@
+/*
+ *
+ * BenchmarkFluidContainer.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.api.IMapping;
+import it.zerono.mods.extremereactors.api.coolant.BenchmarkCoolants;
+import it.zerono.mods.extremereactors.api.coolant.Coolant;
+import it.zerono.mods.extremereactors.api.coolant.Vapor;
+import it.zerono.mods.zerocore.lib.data.IoDirection;
+import it.zerono.mods.zerocore.lib.data.stack.AllowedHandlerAction;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.Fluids;
+
+/**
+ * A FluidContainer that always hold water and steam, without looking them up in the fluids registries
+ * (which are only filled while the mod is loading).
+ * <p>
+ * The steam fluid is only registered in game so lava is stored in the gas tank in its place
+ */
+public class BenchmarkFluidContainer
+        extends FluidContainer {
+
+    public static final Fluid LIQUID = Fluids.WATER;
+    public static final Fluid GAS = Fluids.LAVA;
+
+    public BenchmarkFluidContainer(final int capacity) {
+
+        super(ACCESS);
+        this.setCapacity(capacity);
+    }
+
+    /**
+     * Replace the content of the container
+     *
+     * @param liquidAmount the amount of water to store
+     * @param gasAmount the amount of "steam" to store
+     */
+    public void fill(final int liquidAmount, final int gasAmount) {
+
+        this.voidLiquid();
+        this.voidGas();
+        this.insertLiquid(LIQUID, liquidAmount, OperationMode.Execute);
+
+        if (gasAmount > 0) {
+            this.insert(FluidType.Gas, GAS, gasAmount, OperationMode.Execute);
+        }
+    }
+
+    //region FluidContainer
+
+    @Override
+    public boolean isContentValidForIndex(final FluidType index, final Fluid content) {
+        return (index.isGas() ? GAS : LIQUID) == content;
+    }
+
+    @Override
+    protected Coolant getCurrentCoolant() {
+        return BenchmarkCoolants.WATER;
+    }
+
+    @Override
+    protected IMapping<Coolant, Vapor> getCurrentVaporization() {
+        return BenchmarkCoolants.VAPORIZATION;
+    }
+
+    @Override
+    protected Vapor getCurrentVapor() {
+        return BenchmarkCoolants.STEAM;
+    }
+
+    @Override
+    protected IMapping<Vapor, Coolant> getCurrentCondensation() {
+        return BenchmarkCoolants.CONDENSATION;
+    }
+
+    //endregion
+    //region internals
+
+    private static final IFluidContainerAccess ACCESS = new IFluidContainerAccess() {
+
+        @Override
+        public AllowedHandlerAction getAllowedActionFor(final FluidType fluidType) {
+            return fluidType.isGas() ? AllowedHandlerAction.ExtractOnly : AllowedHandlerAction.InsertOnly;
+        }
+
+        @Override
+        public FluidType getFluidTypeFrom(final IoDirection portDirection) {
+            return IoDirection.Input == portDirection ? FluidType.Liquid : FluidType.Gas;
+        }
+    };
+
+    //endregion
+}
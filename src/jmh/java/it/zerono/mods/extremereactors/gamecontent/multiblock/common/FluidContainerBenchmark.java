@@ -0,0 +1,79 @@
+/*
+ *
+ * FluidContainerBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the vaporization of coolant in an actively cooled Reactor.
+ * <p>
+ * The container is refilled after every vaporization so each invocation start from the same state:
+ * subtract the {@link #refill()} score from the {@link #onAbsorbHeat()} one to get the cost of the vaporization alone
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FluidContainerBenchmark {
+
+    /**
+     * The energy absorbed by the coolant system in each invocation, in FE
+     */
+    @Param({"100", "10000", "1000000"})
+    public double energyAbsorbed;
+
+    @Setup
+    public void setup() {
+
+        BenchmarkHelper.bootstrap();
+        this._container = new BenchmarkFluidContainer(CAPACITY);
+        this.refill();
+    }
+
+    @Benchmark
+    public double onAbsorbHeat() {
+
+        final double remaining = this._container.onAbsorbHeat(this.energyAbsorbed, ReactorVariant.Basic);
+
+        this.refill();
+        return remaining;
+    }
+
+    @Benchmark
+    public int refill() {
+
+        // leave some steam in the gas tank so that the vaporization don't need to look up the vapor fluid in the registry
+        this._container.fill(CAPACITY / 2, 1);
+        return this._container.getLiquidAmount();
+    }
+
+    //region internals
+
+    private static final int CAPACITY = 100_000;
+
+    private BenchmarkFluidContainer _container;
+
+    //endregion
+}
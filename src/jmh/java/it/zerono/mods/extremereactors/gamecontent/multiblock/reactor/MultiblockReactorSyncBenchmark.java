@@ -0,0 +1,71 @@
+/*
+ *
+ * MultiblockReactorSyncBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.api.reactor.BenchmarkReactants;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
+import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import net.minecraft.nbt.CompoundNBT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the serialization of the state of an (unassembled) Reactor with some fuel and waste in it,
+ * as done for the GUI updates and when the Reactor is saved
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiblockReactorSyncBenchmark {
+
+    @Param({"NetworkUpdate", "FullSync"})
+    public ISyncableEntity.SyncReason syncReason;
+
+    @Setup
+    public void setup() {
+
+        this._reactor = new MultiblockReactor(BenchmarkHelper.mockWorld(), ReactorVariant.Basic);
+
+        final FuelContainer fuelContainer = (FuelContainer)this._reactor.getFuelContainer();
+
+        fuelContainer.setCapacity(100_000);
+        fuelContainer.insertFuel(BenchmarkReactants.YELLORIUM, 60_000, OperationMode.Execute);
+        fuelContainer.insertWaste(BenchmarkReactants.CYANITE, 15_000, OperationMode.Execute);
+
+        this._reactor.getFuelHeat().set(800);
+        this._reactor.getReactorHeat().set(400);
+    }
+
+    @Benchmark
+    public CompoundNBT syncDataTo() {
+        return this._reactor.syncDataTo(new CompoundNBT(), this.syncReason);
+    }
+
+    //region internals
+
+    private MultiblockReactor _reactor;
+
+    //endregion
+}
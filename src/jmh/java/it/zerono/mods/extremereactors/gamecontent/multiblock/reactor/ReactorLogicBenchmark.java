@@ -0,0 +1,503 @@
+/*
+ *
+ * ReactorLogicBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
+import it.zerono.mods.extremereactors.api.reactor.BenchmarkModerators;
+import it.zerono.mods.extremereactors.api.reactor.BenchmarkReactants;
+import it.zerono.mods.extremereactors.api.reactor.FuelProperties;
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.BenchmarkFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.IMultiblockReactorVariant;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
+import it.zerono.mods.zerocore.lib.data.geometry.CuboidBoundingBox;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a single tick of {@link ReactorLogic#update()} on a cubic Reactor filled with water and with a Fuel Rods
+ * column every other block, in both directions.
+ * <p>
+ * The Reactor is a stub but the radiation follow the same path it follow in game: the interior is loaded in a real
+ * {@link ModeratorsGrid} (the water is looked up in a {@link ModeratorsRegistry} filled by {@link BenchmarkModerators}),
+ * the rays are walked over a real {@link FuelRodsRayTable} and the Fuel Rods absorb the radiation with the same
+ * {@link ReactorPhysics} code used by {@link ReactorFuelRodEntity}.
+ * The Fuel Rods are never refueled during a tick and the produced energy is voided at the end of every tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReactorLogicBenchmark {
+
+    /**
+     * The size of the Reactor interior, along each axis
+     */
+    @Param({"3", "13", "29"})
+    public int size;
+
+    @Param({"Passive", "Active"})
+    public OperationalMode mode;
+
+    /**
+     * The insertion ratio of all the Control Rods
+     */
+    @Param({"0", "50"})
+    public byte insertion;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+
+        final EnergyBuffer energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+
+        this._reactor = createReactor(energyBuffer, this.size, this.mode);
+        this._reactor.setControlRodsInsertionRatio(this.insertion);
+        this._logic = new ReactorLogic(this._reactor, energyBuffer);
+
+        // warm up the Reactor so that every tick transfer some heat around
+
+        this._reactor.getFuelHeat().set(1000);
+        this._reactor.getReactorHeat().set(500);
+    }
+
+    @Benchmark
+    public boolean update() {
+
+        final boolean changed = this._logic.update();
+
+        this._reactor.refill();
+        return changed;
+    }
+
+    /**
+     * Create a new Reactor stub
+     *
+     * @param energyBuffer the energy buffer of the Reactor
+     * @param size the size of the Reactor interior, along each axis
+     * @param mode the operational mode of the Reactor
+     * @return the new Reactor
+     */
+    public static BenchmarkReactor createReactor(final EnergyBuffer energyBuffer, final int size, final OperationalMode mode) {
+
+        // the Reactor stub build its interior out of vanilla blocks
+        BenchmarkHelper.bootstrap();
+
+        return BenchmarkHelper.stub(BenchmarkReactor.class, new Class<?>[] {EnergyBuffer.class, int.class, OperationalMode.class},
+                energyBuffer, size, mode);
+    }
+
+    /**
+     * A Reactor (and its environment) stub. All the methods that are not used by {@link ReactorLogic} will throw.
+     * <p>
+     * The Reactor build its own World, placed with the minimum corner of its interior at the origin
+     */
+    public static abstract class BenchmarkReactor
+            implements IReactorMachine, IReactorEnvironment, BenchmarkHelper.IWorldContent {
+
+        public BenchmarkReactor(final EnergyBuffer energyBuffer, final int size, final OperationalMode mode) {
+
+            BenchmarkModerators.fill();
+
+            this._energyBuffer = energyBuffer;
+            this._mode = mode;
+            this._size = size;
+            this._active = true;
+
+            this._fuelContainer = new BenchmarkFuelContainer();
+            this._fluidContainer = new BenchmarkFluidContainer(size * size * size * ReactorVariant.Basic.getPartFluidCapacity());
+            this._fuelHeat = new Heat();
+            this._reactorHeat = new Heat();
+            this._stats = new Stats(this._fuelContainer);
+
+            int rodsCount = 0;
+
+            this._cells = new BenchmarkFuelRod[size * size * size];
+
+            for (int y = 0; y < size; ++y) {
+                for (int z = 0; z < size; ++z) {
+                    for (int x = 0; x < size; ++x) {
+                        if (1 == (x & 1) && 1 == (z & 1)) {
+
+                            this._cells[(y * size + z) * size + x] = new BenchmarkFuelRod(this, new BlockPos(x, y, z));
+                            ++rodsCount;
+                        }
+                    }
+                }
+            }
+
+            this._fuelRods = new BenchmarkFuelRod[rodsCount];
+            rodsCount = 0;
+
+            for (final BenchmarkFuelRod cell : this._cells) {
+                if (null != cell) {
+                    this._fuelRods[rodsCount++] = cell;
+                }
+            }
+
+            this._world = BenchmarkHelper.stubWorld(this);
+            this._grid = ModeratorsGrid.create(this._world,
+                    new CuboidBoundingBox(new BlockPos(-1, -1, -1), new BlockPos(size, size, size)));
+            this._rayTable = FuelRodsRayTable.create(this._grid, new FuelRodsLayout(Direction.UP, size),
+                    Arrays.asList(this._fuelRods));
+
+            this._nextFuelRod = 0;
+            this._fuelCapacity = rodsCount * ReactorFuelRodEntity.FUEL_CAPACITY_PER_FUEL_ROD;
+            this._fuelContainer.setCapacity(this._fuelCapacity);
+            this.refill();
+        }
+
+        /**
+         * Fill up the Fuel Rods and void the generated energy and vapor
+         */
+        public void refill() {
+
+            final int missing = this._fuelCapacity - this._fuelContainer.getFuelAmount() - this._fuelContainer.getWasteAmount();
+
+            if (missing > 0) {
+                this._fuelContainer.insertFuel(BenchmarkReactants.YELLORIUM, missing, OperationMode.Execute);
+            }
+
+            if (0 == this._fuelContainer.getWasteAmount()) {
+                // some waste is needed so that the Fuel Container don't look up the waste Reactant in the registry
+                this._fuelContainer.insertWaste(BenchmarkReactants.CYANITE, 1, OperationMode.Execute);
+            }
+
+            if (this._fluidContainer.getLiquidAmount() < this._fluidContainer.getCapacity() / 2) {
+                this._fluidContainer.fill(this._fluidContainer.getCapacity() / 2, 1);
+            }
+        }
+
+        /**
+         * Set the insertion ratio of all the Control Rods
+         *
+         * @param ratio the new insertion ratio, between 0 and 100
+         */
+        public void setControlRodsInsertionRatio(final byte ratio) {
+            this._insertionRatio = (byte)Math.max(0, Math.min(100, ratio));
+        }
+
+        public void setActive(final boolean active) {
+            this._active = active;
+        }
+
+        //region IReactorMachine
+
+        @Override
+        public World getWorld() {
+            return this._world;
+        }
+
+        @Override
+        public boolean isMachineActive() {
+            return this._active;
+        }
+
+        @Override
+        public IMultiblockReactorVariant getVariant() {
+            return ReactorVariant.Basic;
+        }
+
+        @Override
+        public OperationalMode getOperationalMode() {
+            return this._mode;
+        }
+
+        @Override
+        public IReactorEnvironment getEnvironment() {
+            return this;
+        }
+
+        @Override
+        public IHeat getFuelHeat() {
+            return this._fuelHeat;
+        }
+
+        @Override
+        public IFuelContainer getFuelContainer() {
+            return this._fuelContainer;
+        }
+
+        @Override
+        public IFluidContainer getFluidContainer() {
+            return this._fluidContainer;
+        }
+
+        @Override
+        public Stats getUiStats() {
+            return this._stats;
+        }
+
+        @Override
+        public boolean performRefuelingCycle() {
+            return false;
+        }
+
+        @Override
+        public void performOutputCycle() {
+            this._energyBuffer.modifyEnergyStored(-this._energyBuffer.getEnergyStored());
+        }
+
+        @Override
+        public boolean performInputCycle() {
+            return false;
+        }
+
+        //endregion
+        //region IReactorEnvironment
+
+        @Override
+        public boolean isSimulator() {
+            return true;
+        }
+
+        @Override
+        public IHeat getReactorHeat() {
+            return this._reactorHeat;
+        }
+
+        @Override
+        public int getReactorVolume() {
+            return this._cells.length;
+        }
+
+        @Override
+        public float getFuelToReactorHeatTransferCoefficient() {
+            // every Fuel Rod is surrounded by water on the four sides
+            return this._fuelRods.length * 4 * IHeatEntity.CONDUCTIVITY_WATER;
+        }
+
+        @Override
+        public float getReactorToCoolantSystemHeatTransferCoefficient() {
+            return IHeatEntity.CONDUCTIVITY_IRON * 6 * (this._size + 1) * (this._size + 1);
+        }
+
+        @Override
+        public float getReactorHeatLossCoefficient() {
+            return 0.001f * 6 * (this._size + 3) * (this._size + 3);
+        }
+
+        @Nullable
+        @Override
+        public IIrradiationSource getNextIrradiationSource() {
+
+            if (this._nextFuelRod >= this._fuelRods.length) {
+                this._nextFuelRod = 0;
+            }
+
+            return this._fuelRods[this._nextFuelRod++];
+        }
+
+        @Override
+        public IRadiationModerator getModerator(final BlockPos position) {
+            return this._grid.getModerator(position);
+        }
+
+        @Override
+        public FuelRodsRayTable getFuelRodsRayTable() {
+            return this._rayTable;
+        }
+
+        @Override
+        public int getPartsCount(final ReactorPartType type) {
+
+            switch (type) {
+
+                case FuelRod:
+                    return this._fuelRods.length;
+
+                case ControlRod:
+                    return this._fuelRods.length / this._size;
+
+                default:
+                    return 0;
+            }
+        }
+
+        @Override
+        public void refuel() {
+        }
+
+        @Override
+        public void ejectWaste(final boolean voidLeftover) {
+        }
+
+        //endregion
+        //region BenchmarkHelper.IWorldContent
+
+        @Override
+        public BlockState getBlockState(final BlockPos position) {
+
+            final int index = this.getCellIndex(position);
+
+            if (index < 0) {
+                return WALL;
+            }
+
+            return null != this._cells[index] ? FUEL_ROD : WATER;
+        }
+
+        @Nullable
+        @Override
+        public TileEntity getBlockEntity(final BlockPos position) {
+
+            final int index = this.getCellIndex(position);
+
+            return index < 0 ? null : this._cells[index];
+        }
+
+        //endregion
+        //region internals
+
+        private int getCellIndex(final BlockPos position) {
+
+            final int x = position.getX();
+            final int y = position.getY();
+            final int z = position.getZ();
+
+            if (x < 0 || y < 0 || z < 0 || x >= this._size || y >= this._size || z >= this._size) {
+                return -1;
+            }
+
+            return (y * this._size + z) * this._size + x;
+        }
+
+        // any block with a tile entity would do for the Fuel Rods
+        private static final BlockState FUEL_ROD = Blocks.FURNACE.defaultBlockState();
+        private static final BlockState WATER = Blocks.WATER.defaultBlockState();
+        private static final BlockState WALL = Blocks.IRON_BLOCK.defaultBlockState();
+
+        private final World _world;
+        private final EnergyBuffer _energyBuffer;
+        private final OperationalMode _mode;
+        private final int _size;
+        private final BenchmarkFuelContainer _fuelContainer;
+        private final BenchmarkFluidContainer _fluidContainer;
+        private final Heat _fuelHeat;
+        private final Heat _reactorHeat;
+        private final Stats _stats;
+        private final BenchmarkFuelRod[] _cells;
+        private final BenchmarkFuelRod[] _fuelRods;
+        private final ModeratorsGrid _grid;
+        private final FuelRodsRayTable _rayTable;
+        private final int _fuelCapacity;
+        private int _nextFuelRod;
+        private byte _insertionRatio;
+        private boolean _active;
+
+        //endregion
+    }
+
+    //region internals
+
+    /**
+     * A Fuel Container that use a fixed Reaction instead of looking it up in the registry
+     */
+    private static class BenchmarkFuelContainer
+            extends FuelContainer {
+
+        @Override
+        public float getFuelReactivity() {
+            return BenchmarkReactants.YELLORIUM_REACTION.getReactivity();
+        }
+    }
+
+    /**
+     * A Fuel Rod that absorb radiation through the public {@link ReactorPhysics#moderateByFuelRod} entry point, as
+     * {@link ReactorFuelRodEntity} does, with the Control Rods insertion ratio set on the Reactor
+     */
+    private static class BenchmarkFuelRod
+            extends TileEntity
+            implements IIrradiationSource, IRadiationModerator {
+
+        BenchmarkFuelRod(final BenchmarkReactor reactor, final BlockPos position) {
+
+            super(TileEntityType.FURNACE);
+            this._reactor = reactor;
+            this.worldPosition = position;
+        }
+
+        //region IIrradiationSource
+
+        @Override
+        public byte getControlRodInsertionRatio() {
+            return this._reactor._insertionRatio;
+        }
+
+        @Override
+        public Direction[] getIrradiationDirections() {
+            return DIRECTIONS;
+        }
+
+        @Override
+        public boolean isLinked() {
+            return true;
+        }
+
+        @Override
+        public BlockPos getWorldPosition() {
+            return this.getBlockPos();
+        }
+
+        //endregion
+        //region IRadiationModerator
+
+        @Override
+        public void moderateRadiation(final IrradiationData irradiationData, final RadiationPacket radiation) {
+
+            // same conversion of ReactorControlRodEntity.getInsertionPercentage()
+            final float insertion = (float)this._reactor._insertionRatio / 100f;
+            final FuelProperties fuelData = BenchmarkReactants.YELLORIUM.getFuelData();
+
+            ReactorPhysics.moderateByFuelRod(irradiationData, radiation, this._reactor.getFuelHeat().getAsDouble(),
+                    insertion, fuelData.getModerationFactor(), fuelData.getAbsorptionCoefficient(),
+                    fuelData.getHardnessDivisor());
+        }
+
+        //endregion
+
+        private static final Direction[] DIRECTIONS = {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
+
+        private final BenchmarkReactor _reactor;
+    }
+
+    private BenchmarkReactor _reactor;
+    private ReactorLogic _logic;
+
+    //endregion
+}
@@ -0,0 +1,101 @@
+/*
+ *
+ * BenchmarkTurbineEnvironment.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.api.turbine.BenchmarkCoils;
+import it.zerono.mods.extremereactors.api.turbine.CoilMaterial;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.rotor.RotorComponentType;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Optional;
+
+/**
+ * The interior of a Turbine with a vertical rotor in the middle. The bottom quarter of the interior is filled with
+ * iron coils and the rest of the rotor has four blades on each level, as long as the interior allow
+ */
+public class BenchmarkTurbineEnvironment
+        implements ITurbineEnvironment {
+
+    /**
+     * Construct a new Turbine interior
+     *
+     * @param width the size of the interior along the X and Z axis. Must be odd
+     * @param height the size of the interior along the Y axis
+     */
+    public BenchmarkTurbineEnvironment(final int width, final int height) {
+
+        if (width < 3 || 0 == (width & 1) || height < 4) {
+            throw new IllegalArgumentException("Invalid Turbine interior size");
+        }
+
+        this._width = width;
+        this._height = height;
+        this._coilsHeight = height / 4;
+        this._center = width / 2;
+    }
+
+    public BlockPos getMinInterior() {
+        return BlockPos.ZERO;
+    }
+
+    public BlockPos getMaxInterior() {
+        return new BlockPos(this._width - 1, this._height - 1, this._width - 1);
+    }
+
+    //region ITurbineEnvironment
+
+    @Override
+    public boolean isSimulator() {
+        return true;
+    }
+
+    @Override
+    public Optional<CoilMaterial> getCoilBlock(final BlockPos position) {
+        return RotorComponentType.CandidateCoil == this.getRotorComponentTypeAt(position) ? IRON_COIL : Optional.empty();
+    }
+
+    @Override
+    public RotorComponentType getRotorComponentTypeAt(final BlockPos position) {
+
+        final int x = position.getX() - this._center;
+        final int z = position.getZ() - this._center;
+
+        if (0 == x && 0 == z) {
+            return RotorComponentType.Shaft;
+        }
+
+        if (position.getY() < this._coilsHeight) {
+            return RotorComponentType.CandidateCoil;
+        }
+
+        return 0 == x || 0 == z ? RotorComponentType.Blade : RotorComponentType.Ignore;
+    }
+
+    //endregion
+    //region internals
+
+    private static final Optional<CoilMaterial> IRON_COIL = Optional.of(BenchmarkCoils.IRON);
+
+    private final int _width;
+    private final int _height;
+    private final int _coilsHeight;
+    private final int _center;
+
+    //endregion
+}
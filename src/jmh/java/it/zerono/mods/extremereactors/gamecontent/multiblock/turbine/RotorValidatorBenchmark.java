@@ -0,0 +1,195 @@
+/*
+ *
+ * RotorValidatorBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import it.zerono.mods.zerocore.lib.CodeHelper;
+import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measure the validation of a Turbine rotor as done by {@link MultiblockTurbine#isMachineWhole} every time the
+ * Turbine is checked, comparing the {@link RotorValidator} bitmaps with the sets of positions used before it.
+ * <p>
+ * The Turbine is a {@link BenchmarkTurbineEnvironment} with a vertical rotor. A 29x30x29 interior is the biggest
+ * one allowed by the default configuration with the rotor in the middle of it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RotorValidatorBenchmark {
+
+    /**
+     * The size of the Turbine interior along the X and Z axis
+     */
+    @Param({"9", "29"})
+    public int width;
+
+    @Setup
+    public void setup() {
+
+        final BenchmarkTurbineEnvironment environment = new BenchmarkTurbineEnvironment(this.width, 30);
+        final BlockPos minInterior = environment.getMinInterior();
+        final BlockPos maxInterior = environment.getMaxInterior();
+
+        this._minInterior = minInterior;
+        this._maxInterior = maxInterior;
+        this._bearingPosition = new BlockPos(this.width / 2, minInterior.getY() - 1, this.width / 2);
+        this._shafts = Lists.newArrayList();
+        this._blades = Lists.newArrayList();
+        this._coils = Lists.newArrayList();
+
+        for (final BlockPos position : BlockPos.betweenClosed(minInterior, maxInterior)) {
+
+            switch (environment.getRotorComponentTypeAt(position)) {
+
+                case Shaft:
+                    this._shafts.add(position.immutable());
+                    break;
+
+                case Blade:
+                    this._blades.add(position.immutable());
+                    break;
+
+                case CandidateCoil:
+                    this._coils.add(position.immutable());
+                    break;
+            }
+        }
+
+        this._validator = new RotorValidator();
+        this._validatorCallback = Mockito.mock(IMultiblockValidator.class);
+    }
+
+    @Benchmark
+    public boolean bitmap() {
+
+        final RotorValidator validator = this._validator;
+
+        validator.setInterior(this._minInterior, this._maxInterior);
+        this._coils.forEach(validator::addCoil);
+
+        validator.clearCoils();
+        this._shafts.forEach(validator::addShaft);
+        this._blades.forEach(validator::addBlade);
+
+        return validator.validate(this._bearingPosition, Direction.UP, this._validatorCallback);
+    }
+
+    @Benchmark
+    public boolean sets() {
+
+        final Set<BlockPos> coils = Sets.newHashSet();
+
+        coils.addAll(this._coils);
+        coils.clear();
+
+        return validateWithSets(this._bearingPosition, Direction.UP, this._maxInterior.getY() - this._minInterior.getY() + 2,
+                this._shafts, this._blades, coils);
+    }
+
+    //region internals
+
+    /**
+     * The rotor walk of {@link MultiblockTurbine} before the introduction of {@link RotorValidator}.
+     * Also used by the unit tests as the reference implementation
+     */
+    static boolean validateWithSets(final BlockPos bearingPosition, final Direction rotorDirection,
+                                            final int turbineLength, final List<BlockPos> shafts,
+                                            final List<BlockPos> blades, final Set<BlockPos> coils) {
+
+        BlockPos rotorCoord = bearingPosition;
+        final BlockPos endRotorCoord = rotorCoord.relative(rotorDirection, turbineLength - 1);
+        final Set<BlockPos> shaftsPositions = shafts.stream().collect(Collectors.toSet());
+        final Set<BlockPos> bladesPositions = blades.stream().collect(Collectors.toSet());
+        final Direction.Axis rotatedAxis = rotorDirection.getAxis();
+        boolean encounteredCoils = false;
+
+        while (!shaftsPositions.isEmpty() && !rotorCoord.equals(endRotorCoord)) {
+
+            rotorCoord = rotorCoord.relative(rotorDirection);
+
+            if (!shaftsPositions.remove(rotorCoord)) {
+                return false;
+            }
+
+            BlockPos checkCoord;
+            boolean encounteredBlades = false;
+
+            for (final Direction bladeDirection : CodeHelper.perpendicularDirections(rotorDirection)) {
+
+                boolean bladeFound = false;
+
+                checkCoord = rotorCoord.relative(bladeDirection);
+
+                while (bladesPositions.remove(checkCoord)) {
+
+                    if (encounteredCoils) {
+                        return false;
+                    }
+
+                    bladeFound = encounteredBlades = true;
+                    checkCoord = checkCoord.relative(bladeDirection);
+                }
+
+                if (!bladeFound && coils.remove(checkCoord)) {
+
+                    encounteredCoils = true;
+
+                    if (encounteredBlades) {
+                        return false;
+                    }
+
+                    Direction rotatedDir;
+
+                    rotatedDir = CodeHelper.directionRotateAround(bladeDirection, rotatedAxis);
+                    coils.remove(checkCoord.relative(rotatedDir));
+
+                    rotatedDir = CodeHelper.directionRotateAround(CodeHelper.directionRotateAround(rotatedDir, rotatedAxis), rotatedAxis);
+                    coils.remove(checkCoord.relative(rotatedDir));
+                }
+            }
+        }
+
+        return rotorCoord.equals(endRotorCoord) && shaftsPositions.isEmpty() && bladesPositions.isEmpty() && coils.isEmpty();
+    }
+
+    private BlockPos _minInterior;
+    private BlockPos _maxInterior;
+    private BlockPos _bearingPosition;
+    private List<BlockPos> _shafts;
+    private List<BlockPos> _blades;
+    private List<BlockPos> _coils;
+    private RotorValidator _validator;
+    private IMultiblockValidator _validatorCallback;
+
+    //endregion
+}
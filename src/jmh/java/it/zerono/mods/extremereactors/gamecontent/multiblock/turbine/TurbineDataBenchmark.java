@@ -0,0 +1,76 @@
+/*
+ *
+ * TurbineDataBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.TurbineVariant;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the scan of the rotor and coils performed by {@link TurbineData#update} when a Turbine is assembled
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurbineDataBenchmark {
+
+    /**
+     * The size of the Turbine interior along the X and Z axis
+     */
+    @Param({"3", "9", "29"})
+    public int width;
+
+    /**
+     * The size of the Turbine interior along the Y axis
+     */
+    @Param({"8", "30"})
+    public int height;
+
+    @Setup
+    public void setup() {
+
+        BenchmarkHelper.bootstrap();
+        this._environment = new BenchmarkTurbineEnvironment(this.width, this.height);
+        this._minInterior = this._environment.getMinInterior();
+        this._maxInterior = this._environment.getMaxInterior();
+        this._data = new TurbineData(TurbineVariant.Basic);
+    }
+
+    @Benchmark
+    public int update() {
+
+        this._data.update(this._environment, this._minInterior, this._maxInterior, TurbineVariant.Basic);
+        return this._data.getRotorMass();
+    }
+
+    //region internals
+
+    private BenchmarkTurbineEnvironment _environment;
+    private BlockPos _minInterior;
+    private BlockPos _maxInterior;
+    private TurbineData _data;
+
+    //endregion
+}
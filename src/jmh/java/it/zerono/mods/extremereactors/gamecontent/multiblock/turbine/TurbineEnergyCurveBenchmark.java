@@ -0,0 +1,96 @@
+/*
+ *
+ * TurbineEnergyCurveBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the efficiency curve of a Turbine rotor, comparing the {@link TurbineEnergyCurve} lookup table with the
+ * original formula over a set of random rotor speeds
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurbineEnergyCurveBenchmark {
+
+    @Setup
+    public void setup() {
+
+        final Random random = new Random(42);
+
+        this._speeds = new float[SPEEDS_COUNT];
+
+        for (int i = 0; i < SPEEDS_COUNT; ++i) {
+            this._speeds[i] = random.nextFloat() * 2_500f;
+        }
+    }
+
+    @Benchmark
+    public float table() {
+
+        float sum = 0f;
+
+        for (final float speed : this._speeds) {
+            sum += TurbineEnergyCurve.getEfficiency(speed);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public float formula() {
+
+        float sum = 0f;
+
+        for (final float speed : this._speeds) {
+            sum += formula(speed);
+        }
+
+        return sum;
+    }
+
+    //region internals
+
+    /**
+     * The efficiency curve of {@link TurbineLogic} before the introduction of {@link TurbineEnergyCurve}.
+     * Also used by the unit tests as the reference implementation
+     */
+    static float formula(final float rotorSpeed) {
+
+        float efficiency = (float)(0.25 * Math.cos(rotorSpeed / (45.5 * Math.PI))) + 0.75f;
+
+        if (rotorSpeed < 500) {
+            efficiency = Math.min(0.5f, efficiency);
+        }
+
+        return efficiency;
+    }
+
+    private static final int SPEEDS_COUNT = 1024;
+
+    private float[] _speeds;
+
+    //endregion
+}
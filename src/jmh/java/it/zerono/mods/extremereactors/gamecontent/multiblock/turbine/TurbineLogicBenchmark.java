@@ -0,0 +1,163 @@
+/*
+ *
+ * TurbineLogicBenchmark.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.BenchmarkFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.IMultiblockTurbineVariant;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.TurbineVariant;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure a single tick of {@link TurbineLogic#update()} on a Turbine spinning at about 1800 RPM, with the inductor
+ * engaged and a full intake of steam on every tick.
+ * <p>
+ * The Turbine is a stub: the steam is put back in the gas tank and the produced energy is voided after every tick
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurbineLogicBenchmark {
+
+    @Param({"VentOverflow", "DoNotVent"})
+    public VentSetting ventSetting;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+
+        final World world = BenchmarkHelper.mockWorld();
+        final BenchmarkTurbineEnvironment environment = new BenchmarkTurbineEnvironment(9, 20);
+
+        this._energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+        this._data = new TurbineData(TurbineVariant.Basic);
+        this._data.update(environment, environment.getMinInterior(), environment.getMaxInterior(), TurbineVariant.Basic);
+        this._data.setVentSetting(this.ventSetting);
+        this._data.setInductorEngaged(true);
+        this._data.setRotorEnergy(1800f * this._data.getBladeSurfaceArea() * this._data.getRotorMass());
+
+        this._turbine = BenchmarkHelper.stub(BenchmarkTurbine.class,
+                new Class<?>[] {World.class, TurbineData.class}, world, this._data);
+        this._logic = new TurbineLogic(this._turbine, this._data, this._energyBuffer);
+        this._turbine.refill();
+    }
+
+    @Benchmark
+    public double update() {
+
+        this._logic.update();
+        this._turbine.refill();
+        this._energyBuffer.modifyEnergyStored(-this._energyBuffer.getEnergyStored());
+        return this._data.getEnergyGeneratedLastTick();
+    }
+
+    /**
+     * A Turbine stub. All the methods that are not used by {@link TurbineLogic} will throw
+     */
+    public static abstract class BenchmarkTurbine
+            implements ITurbineReader {
+
+        public BenchmarkTurbine(final World world, final TurbineData data) {
+
+            this._world = world;
+            this._data = data;
+            this._fluidContainer = new BenchmarkFluidContainer(data.getMaxIntakeRate() * 10);
+        }
+
+        /**
+         * Put back the steam used by the last tick and void the condensed water
+         */
+        public void refill() {
+            // leave some water in the liquid tank so that the condensation don't need to look up the coolant fluid in the registry
+            this._fluidContainer.fill(1, this._data.getMaxIntakeRate());
+        }
+
+        //region ITurbineReader
+
+        @Override
+        public World getWorld() {
+            return this._world;
+        }
+
+        @Override
+        public boolean isMachineActive() {
+            return true;
+        }
+
+        @Override
+        public IMultiblockTurbineVariant getVariant() {
+            return TurbineVariant.Basic;
+        }
+
+        @Override
+        public IFluidContainer getFluidContainer() {
+            return this._fluidContainer;
+        }
+
+        @Override
+        public int getCoolantAmount() {
+            return this._fluidContainer.getLiquidAmount();
+        }
+
+        @Override
+        public int getVaporAmount() {
+            return this._fluidContainer.getGasAmount();
+        }
+
+        @Override
+        public int getCapacity() {
+            return this._fluidContainer.getCapacity();
+        }
+
+        @Override
+        public float getRotorSpeed() {
+
+            final int blades = this._data.getBladeSurfaceArea();
+            final int rotorMass = this._data.getRotorMass();
+
+            return blades <= 0 || rotorMass <= 0 ? 0f : this._data.getRotorEnergy() / (blades * rotorMass);
+        }
+
+        //endregion
+        //region internals
+
+        private final World _world;
+        private final TurbineData _data;
+        private final BenchmarkFluidContainer _fluidContainer;
+
+        //endregion
+    }
+
+    //region internals
+
+    private EnergyBuffer _energyBuffer;
+    private TurbineData _data;
+    private BenchmarkTurbine _turbine;
+    private TurbineLogic _logic;
+
+    //endregion
+}
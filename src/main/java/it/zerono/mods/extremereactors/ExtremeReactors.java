@@ -23,6 +23,7 @@ import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.config.conditions.ConfigCondition;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.WorldGen;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.UpdateClientsMachineDelta;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.network.UpdateClientsFuelRodsLayout;
 import it.zerono.mods.extremereactors.proxy.ClientProxy;
 import it.zerono.mods.extremereactors.proxy.IProxy;
@@ -30,6 +31,7 @@ import it.zerono.mods.extremereactors.proxy.ServerProxy;
 import it.zerono.mods.zerocore.lib.init.IModInitializationHandler;
 import it.zerono.mods.zerocore.lib.network.IModMessage;
 import it.zerono.mods.zerocore.lib.network.NetworkHandler;
+import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.item.crafting.IRecipeSerializer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -88,6 +90,7 @@ public class ExtremeReactors implements IModInitializationHandler {
     @Override
     public void onCommonInit(FMLCommonSetupEvent event) {
         this._network.registerMessage(UpdateClientsFuelRodsLayout.class, UpdateClientsFuelRodsLayout::new);
+        this._network.registerMessage(UpdateClientsMachineDelta.class, UpdateClientsMachineDelta::new);
     }
 
     /**
@@ -140,6 +143,10 @@ public class ExtremeReactors implements IModInitializationHandler {
         this._network.sendToAllAround(packet, center.getX(), center.getY(), center.getZ(), radius, world.dimension());
     }
 
+    public <T extends IModMessage> void sendPacket(final T packet, final ServerPlayerEntity player) {
+        this._network.sendToPlayer(packet, player);
+    }
+
     //region internals
 
     private void imcProcessAPIMessages(InterModProcessEvent event, String method) {
@@ -21,6 +21,8 @@ package it.zerono.mods.extremereactors.api.reactor;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.ExtremeReactorsAPI;
 import it.zerono.mods.extremereactors.api.internal.InternalDispatcher;
@@ -47,7 +49,9 @@ import net.minecraftforge.registries.ForgeRegistries;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -64,18 +68,21 @@ public final class ModeratorsRegistry {
      * @return The Moderator or null if nothing could be found
      */
     public static Optional<Moderator> getFrom(final BlockState state) {
+        return Optional.ofNullable(getFromOrNull(state));
+    }
 
-        if (state.isAir()) {
-            return Optional.of(Moderator.AIR);
-        }
+    /**
+     * Retrieve the (solid or fluid) radiation moderation data for the given block state
+     *
+     * @param state The block state
+     * @return The Moderator or null if nothing could be found
+     */
+    @Nullable
+    public static Moderator getFromOrNull(final BlockState state) {
 
-        final FluidState fs = state.getFluidState();
+        final Map<BlockState, Moderator> lookup = s_moderatorsLookup;
 
-        if (!fs.isEmpty() && s_moderatorFluidsData.containsKey(getFluidId(fs.getType()))) {
-            return Optional.of(s_moderatorFluidsData.get(getFluidId(fs.getType())));
-        }
-
-        return getFromSolid(state.getBlock());
+        return null != lookup ? lookup.get(state) : computeFrom(state);
     }
 
     /**
@@ -85,24 +92,7 @@ public final class ModeratorsRegistry {
      * @return True if a Moderator exists, false otherwise
      */
     public static boolean isValid(final BlockState state) {
-
-        if (state.isAir()) {
-            return true;
-        }
-
-        final FluidState fs = state.getFluidState();
-
-        if (!fs.isEmpty() && s_moderatorFluidsData.containsKey(getFluidId(fs.getType()))) {
-            return true;
-        }
-
-        //noinspection rawtypes
-        return s_moderatorBlocksTags
-                .find(tag -> tag.contains(state.getBlock()))
-                .filter(t -> t instanceof ITag.INamedTag)
-                .map(t -> (ITag.INamedTag)t)
-                .map(t -> s_moderatorBlocksData.containsKey(t.getName()))
-                .orElse(false);
+        return null != getFromOrNull(state);
     }
 
     /**
@@ -123,12 +113,10 @@ public final class ModeratorsRegistry {
      * @return The Moderator or null if nothing could be found
      */
     public static Optional<Moderator> getFromSolid(final Block block) {
-        //noinspection rawtypes
-        return s_moderatorBlocksTags
-                .find(tag -> tag.contains(block))
-                .filter(t -> t instanceof ITag.INamedTag)
-                .map(t -> (ITag.INamedTag)t)
-                .flatMap(ModeratorsRegistry::getFromSolid);
+
+        final Map<Block, Moderator> lookup = s_solidModeratorsLookup;
+
+        return null != lookup ? Optional.ofNullable(lookup.get(block)) : findFromSolid(block);
     }
 
     /**
@@ -277,6 +265,24 @@ public final class ModeratorsRegistry {
         InternalDispatcher.dispatch("moderator-f-remove", () -> s_moderatorFluidsData.remove(id));
     }
 
+    /**
+     * Call the given consumer for every registered solid Moderator
+     *
+     * @param consumer the consumer, called with the Id of the block Tag and the Moderator
+     */
+    public static void forEachSolid(final BiConsumer<ResourceLocation, Moderator> consumer) {
+        s_moderatorBlocksData.forEach(consumer);
+    }
+
+    /**
+     * Call the given consumer for every registered fluid Moderator
+     *
+     * @param consumer the consumer, called with the Id of the Fluid and the Moderator
+     */
+    public static void forEachFluid(final BiConsumer<ResourceLocation, Moderator> consumer) {
+        s_moderatorFluidsData.forEach(consumer);
+    }
+
     public static void fillModeratorsTooltips(final Map<Item, Set<ITextComponent>> tooltipsMap,
                                               final NonNullSupplier<Set<ITextComponent>> setSupplier) {
 
@@ -295,7 +301,9 @@ public final class ModeratorsRegistry {
 
     @SubscribeEvent(priority = EventPriority.LOW)
     public static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
+
         updateTags(s_moderatorBlocksData.keySet(), s_moderatorBlocksTags, TagsHelper.BLOCKS);
+        rebuildLookupTables();
     }
 
     public static void processWrapper(final ApiWrapper wrapper) {
@@ -321,12 +329,91 @@ public final class ModeratorsRegistry {
     private static final Map<ResourceLocation, Moderator> s_moderatorBlocksData;
     private static final Map<ResourceLocation, Moderator> s_moderatorFluidsData;
 
+    // identity lookup tables, rebuilt every time the tags are updated. Null until the tags are loaded
+    private static volatile Map<Block, Moderator> s_solidModeratorsLookup;
+    private static volatile Map<BlockState, Moderator> s_moderatorsLookup;
+
     private static final Marker MARKER = MarkerManager.getMarker("API/ModeratorsRegistry").addParents(ExtremeReactorsAPI.MARKER);
     private static final Marker WRAPPER = MarkerManager.getMarker("ModPack API Wrapper").addParents(MARKER);
 
     private ModeratorsRegistry() {
     }
 
+    private static Optional<Moderator> findFromSolid(final Block block) {
+        //noinspection rawtypes
+        return s_moderatorBlocksTags
+                .find(tag -> tag.contains(block))
+                .filter(t -> t instanceof ITag.INamedTag)
+                .map(t -> (ITag.INamedTag)t)
+                .flatMap(ModeratorsRegistry::getFromSolid);
+    }
+
+    /**
+     * Look up the Moderator of a block state scanning the Moderators data and Tags, without using the lookup tables
+     */
+    @Nullable
+    private static Moderator computeFrom(final BlockState state) {
+
+        if (state.isAir()) {
+            return Moderator.AIR;
+        }
+
+        final FluidState fs = state.getFluidState();
+
+        if (!fs.isEmpty() && s_moderatorFluidsData.containsKey(getFluidId(fs.getType()))) {
+            return s_moderatorFluidsData.get(getFluidId(fs.getType()));
+        }
+
+        return findFromSolid(state.getBlock()).orElse(null);
+    }
+
+    /**
+     * Map every block and block state to its Moderator so that lookups never need to scan the tags
+     */
+    private static void rebuildLookupTables() {
+
+        final Reference2ObjectMap<Block, Moderator> solids = new Reference2ObjectOpenHashMap<>(64);
+        final Reference2ObjectMap<BlockState, Moderator> states = new Reference2ObjectOpenHashMap<>(256);
+
+        // the first matching tag wins, as in findFromSolid()
+        s_moderatorBlocksTags.tagStream()
+                .filter(t -> t instanceof ITag.INamedTag)
+                .forEach(tag -> {
+
+                    final Moderator moderator = s_moderatorBlocksData.get(((ITag.INamedTag<?>)tag).getName());
+
+                    if (null != moderator) {
+                        tag.getValues().forEach(block -> solids.putIfAbsent(block, moderator));
+                    }
+                });
+
+        for (final Block block : ForgeRegistries.BLOCKS.getValues()) {
+            for (final BlockState state : block.getStateDefinition().getPossibleStates()) {
+
+                final Moderator moderator;
+
+                if (state.isAir()) {
+
+                    moderator = Moderator.AIR;
+
+                } else {
+
+                    final FluidState fs = state.getFluidState();
+
+                    moderator = fs.isEmpty() ? solids.get(block) :
+                            s_moderatorFluidsData.getOrDefault(getFluidId(fs.getType()), solids.get(block));
+                }
+
+                if (null != moderator) {
+                    states.put(state, moderator);
+                }
+            }
+        }
+
+        s_solidModeratorsLookup = solids;
+        s_moderatorsLookup = states;
+    }
+
     private static <T> void updateTags(final Set<ResourceLocation> ids, final TagList<T> tagList, final TagsHelper<T> helper) {
 
         tagList.clear();
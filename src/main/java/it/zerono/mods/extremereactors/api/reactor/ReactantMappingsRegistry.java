@@ -22,6 +22,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.ExtremeReactorsAPI;
 import it.zerono.mods.extremereactors.api.IMapping;
@@ -48,6 +50,7 @@ import net.minecraftforge.fml.common.Mod;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -65,19 +68,25 @@ public final class ReactantMappingsRegistry {
      * @return The Source-Product solid mapping, if one is found and the provided stack is not empty
      */
     public static Optional<IMapping<ResourceLocation, Reactant>> getFromSolid(final ItemStack stack) {
+        return Optional.ofNullable(getFromSolidOrNull(stack));
+    }
+
+    /**
+     * Get the Source-Product solid mapping for the given ItemStack (if one exists)
+     *
+     * @param stack The ItemStack
+     * @return The Source-Product solid mapping or null if none is found or the provided stack is empty
+     */
+    @Nullable
+    public static IMapping<ResourceLocation, Reactant> getFromSolidOrNull(final ItemStack stack) {
 
         if (stack.isEmpty()) {
-            return Optional.empty();
+            return null;
         }
 
-        final Item item = stack.getItem();
+        final Map<Item, IMapping<ResourceLocation, Reactant>> lookup = s_solidLookup;
 
-        return s_solidTags
-                .find(tag -> tag.contains(item))
-                .filter(t -> t instanceof ITag.INamedTag)
-                .map(t -> (ITag.INamedTag<Item>)t)
-                .map(ITag.INamedTag::getName)
-                .map(s_solidToReactant::get);
+        return null != lookup ? lookup.get(stack.getItem()) : findFromSolid(stack.getItem());
     }
 
     /**
@@ -194,6 +203,7 @@ public final class ReactantMappingsRegistry {
     public static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
 
         updateTags(s_solidToReactant.keySet(), s_solidTags, TagsHelper.ITEMS);
+        rebuildSolidLookup();
         //TODO fluids
     }
 
@@ -215,6 +225,39 @@ public final class ReactantMappingsRegistry {
     private ReactantMappingsRegistry() {
     }
 
+    @Nullable
+    private static IMapping<ResourceLocation, Reactant> findFromSolid(final Item item) {
+        return s_solidTags
+                .find(tag -> tag.contains(item))
+                .filter(t -> t instanceof ITag.INamedTag)
+                .map(t -> (ITag.INamedTag<Item>)t)
+                .map(ITag.INamedTag::getName)
+                .map(s_solidToReactant::get)
+                .orElse(null);
+    }
+
+    /**
+     * Map every Item of the solid sources tags to its mapping so that lookups never need to scan the tags
+     */
+    private static void rebuildSolidLookup() {
+
+        final Reference2ObjectMap<Item, IMapping<ResourceLocation, Reactant>> lookup = new Reference2ObjectOpenHashMap<>(64);
+
+        // the first matching tag wins, as in findFromSolid()
+        s_solidTags.tagStream()
+                .filter(t -> t instanceof ITag.INamedTag)
+                .forEach(tag -> {
+
+                    final IMapping<ResourceLocation, Reactant> mapping = s_solidToReactant.get(((ITag.INamedTag<?>)tag).getName());
+
+                    if (null != mapping) {
+                        tag.getValues().forEach(item -> lookup.putIfAbsent(item, mapping));
+                    }
+                });
+
+        s_solidLookup = lookup;
+    }
+
     private static <T> void updateTags(final Set<ResourceLocation> ids, final TagList<T> tagList, final TagsHelper<T> helper) {
 
         tagList.clear();
@@ -266,6 +309,9 @@ public final class ReactantMappingsRegistry {
     private static final TagList<Item> s_solidTags = new TagList<>(CollectionProviders.ITEMS_PROVIDER);
     //TODO fluids
 
+    // - Item -> Item Tag : reactant name mapping, rebuilt every time the tags are updated. Null until the tags are loaded
+    private static volatile Map<Item, IMapping<ResourceLocation, Reactant>> s_solidLookup;
+
     private static final Marker MARKER = MarkerManager.getMarker("API/ReactantMappingsRegistry").addParents(ExtremeReactorsAPI.MARKER);
     private static final Marker WRAPPER = MarkerManager.getMarker("ModPack API Wrapper").addParents(MARKER);
 
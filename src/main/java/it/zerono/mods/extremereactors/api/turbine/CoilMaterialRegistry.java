@@ -21,6 +21,8 @@ package it.zerono.mods.extremereactors.api.turbine;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.ExtremeReactorsAPI;
 import it.zerono.mods.extremereactors.api.internal.InternalDispatcher;
@@ -43,6 +45,7 @@ import net.minecraftforge.fml.common.Mod;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 /**
@@ -89,9 +92,7 @@ public class CoilMaterialRegistry {
      * @return true if a CoilMaterial is registered for the given block, false otherwise
      */
     public static boolean contains(final Block block) {
-        return s_tags
-                .find(tag -> tag.contains(block))
-                .isPresent();
+        return null != getOrNull(block);
     }
 
     /**
@@ -132,12 +133,21 @@ public class CoilMaterialRegistry {
      * @return The CoilMaterial or null if nothing could be found
      */
     public static Optional<CoilMaterial> get(final Block block) {
-        //noinspection rawtypes
-        return s_tags
-                .find(tag -> tag.contains(block))
-                .filter(t -> t instanceof ITag.INamedTag)
-                .map(t -> (ITag.INamedTag)t)
-                .flatMap(CoilMaterialRegistry::get);
+        return Optional.ofNullable(getOrNull(block));
+    }
+
+    /**
+     * Retrieve the CoilMaterial for the given block
+     *
+     * @param block The block
+     * @return The CoilMaterial or null if nothing could be found
+     */
+    @Nullable
+    public static CoilMaterial getOrNull(final Block block) {
+
+        final Map<Block, CoilMaterial> lookup = s_lookup;
+
+        return null != lookup ? lookup.get(block) : find(block);
     }
 
     /**
@@ -209,6 +219,7 @@ public class CoilMaterialRegistry {
                 .filter(TagsHelper.BLOCKS::tagExist)
                 .map(TagsHelper.BLOCKS::createTag)
                 .forEach(s_tags::addTag);
+        rebuildLookup();
     }
 
     public static void processWrapper(final ApiWrapper wrapper) {
@@ -243,9 +254,45 @@ public class CoilMaterialRegistry {
 
     //region internals
 
+    @Nullable
+    private static CoilMaterial find(final Block block) {
+        //noinspection rawtypes
+        return s_tags
+                .find(tag -> tag.contains(block))
+                .filter(t -> t instanceof ITag.INamedTag)
+                .map(t -> (ITag.INamedTag)t)
+                .flatMap(CoilMaterialRegistry::get)
+                .orElse(null);
+    }
+
+    /**
+     * Map every Block of the coils tags to its CoilMaterial so that lookups never need to scan the tags
+     */
+    private static void rebuildLookup() {
+
+        final Reference2ObjectMap<Block, CoilMaterial> lookup = new Reference2ObjectOpenHashMap<>(64);
+
+        // the first matching tag wins, as in find()
+        s_tags.tagStream()
+                .filter(t -> t instanceof ITag.INamedTag)
+                .forEach(tag -> {
+
+                    final CoilMaterial material = s_materials.get(((ITag.INamedTag<?>)tag).getName());
+
+                    if (null != material) {
+                        tag.getValues().forEach(block -> lookup.putIfAbsent(block, material));
+                    }
+                });
+
+        s_lookup = lookup;
+    }
+
     private static final TagList<Block> s_tags = new TagList<>(CollectionProviders.BLOCKS_PROVIDER);
     private static final Map<ResourceLocation, CoilMaterial> s_materials = Maps.newHashMap();
 
+    // - Block -> CoilMaterial, rebuilt every time the tags are updated. Null until the tags are loaded
+    private static volatile Map<Block, CoilMaterial> s_lookup;
+
     private static final ITextComponent TOOLTIP_COIL = new TranslationTextComponent("api.bigreactors.reactor.tooltip.coil").setStyle(ExtremeReactorsAPI.STYLE_TOOLTIP);
 
     private static final Marker MARKER = MarkerManager.getMarker("API/CoilMaterialRegistry").addParents(ExtremeReactorsAPI.MARKER);
@@ -25,6 +25,7 @@ public class Common {
     public final General general;
     public final Reactor reactor;
     public final Turbine turbine;
+    public final Network network;
 //    public final Compatibility compatibility;
     public final Recipes recipes;
     public final Worldgen worldgen;
@@ -36,6 +37,7 @@ public class Common {
         this.general = new General(builder);
         this.reactor = new Reactor(builder);
         this.turbine = new Turbine(builder);
+        this.network = new Network(builder);
 //        this.compatibility = new Compatibility(builder);
         this.recipes = new Recipes(builder);
         this.worldgen = new Worldgen(builder);
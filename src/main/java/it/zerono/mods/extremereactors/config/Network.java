@@ -0,0 +1,64 @@
+/*
+ *
+ * Network.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.config;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+
+public class Network {
+
+    public final ForgeConfigSpec.IntValue guiUpdateInterval;
+    public final ForgeConfigSpec.IntValue distantGuiUpdateInterval;
+    public final ForgeConfigSpec.IntValue nearPlayerDistance;
+    public final ForgeConfigSpec.IntValue maxPlayersPerUpdate;
+    public final ForgeConfigSpec.IntValue distantFuelRodsUpdateInterval;
+
+    Network(final ForgeConfigSpec.Builder builder) {
+
+        builder.comment("Define how often the machines send updates to the players").push("network");
+
+        this.guiUpdateInterval = builder
+                .comment("Number of ticks between the updates sent to a player looking at the GUI of a machine from nearby.")
+                .translation("config.bigreactors.network.guiupdateinterval")
+                .defineInRange("guiUpdateInterval", 5, 3, 100);
+
+        this.distantGuiUpdateInterval = builder
+                .comment("Number of ticks between the updates sent to a player looking at the GUI of a machine from far away",
+                        "or to a player that is still registered for updates but no longer has the GUI open.")
+                .translation("config.bigreactors.network.distantguiupdateinterval")
+                .defineInRange("distantGuiUpdateInterval", 20, 3, 400);
+
+        this.nearPlayerDistance = builder
+                .comment("Players farther than this distance (in blocks) from a machine are considered far away.")
+                .translation("config.bigreactors.network.nearplayerdistance")
+                .defineInRange("nearPlayerDistance", 16, 4, 256);
+
+        this.maxPlayersPerUpdate = builder
+                .comment("The maximum number of players a single machine will send its GUI updates to each time it send them",
+                        "(every few ticks). The other players will receive their updates the next times, the ones waiting the longest first.")
+                .translation("config.bigreactors.network.maxplayersperupdate")
+                .defineInRange("maxPlayersPerUpdate", 4, 1, 64);
+
+        this.distantFuelRodsUpdateInterval = builder
+                .comment("Minimum number of ticks between two updates of the Reactor Fuel Rods sent to a player far away from the Reactor.")
+                .translation("config.bigreactors.network.distantfuelrodsupdateinterval")
+                .defineInRange("distantFuelRodsUpdateInterval", 1200, 200, 12000);
+
+        builder.pop();
+    }
+}
@@ -26,6 +26,7 @@ public class Reactor {
     public final ForgeConfigSpec.IntValue maxReactorSize;
     public final ForgeConfigSpec.DoubleValue reactorPowerProductionMultiplier;
     public final ForgeConfigSpec.IntValue fuelRodLightValue;
+    public final ForgeConfigSpec.IntValue fuelRodsIrradiatedPerTick;
 
     Reactor(final ForgeConfigSpec.Builder builder) {
 
@@ -57,6 +58,13 @@ public class Reactor {
                 .translation("config.bigreactors.client.fuelrodlightvalue")
                 .defineInRange("fuelRodLightValue", 15, 0, 15);
 
+        this.fuelRodsIrradiatedPerTick = builder
+                .comment("How many Fuel Rods emit radiation in each Reactor tick. Set to 0 to irradiate from all the Fuel Rods.",
+                        "With values above 1 the radiation of each Fuel Rod is scaled down so the Reactor produce the same",
+                        "amount of heat and consume the same amount of fuel, but big Reactors will react more smoothly to changes.")
+                .translation("config.bigreactors.reactor.fuelrodsirradiatedpertick")
+                .defineInRange("fuelRodsIrradiatedPerTick", 1, 0, 4096);
+
         builder.pop();
     }
 }
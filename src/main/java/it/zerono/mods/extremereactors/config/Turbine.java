@@ -29,6 +29,7 @@ public class Turbine {
     public final ForgeConfigSpec.DoubleValue turbineFluidPerBladeMultiplier;
     public final ForgeConfigSpec.DoubleValue turbineMassDragMultiplier;
     public final ForgeConfigSpec.DoubleValue turbinePowerProductionMultiplier;
+    public final ForgeConfigSpec.IntValue turbineCatchUpMaxTicks;
 
     Turbine(ForgeConfigSpec.Builder builder) {
 
@@ -82,6 +83,12 @@ public class Turbine {
                 .worldRestart()
                 .defineInRange("turbinePowerProductionMultiplier", 1.0, 0.5, 10.0);
 
+        this.turbineCatchUpMaxTicks = builder
+                .comment("The maximum number of ticks a Turbine will catch up with when its chunk is loaded again.",
+                        "Only the vapor already inside the Turbine is used. Set to 0 to disable.")
+                .translation("config.bigreactors.turbine.turbinecatchupmaxticks")
+                .defineInRange("turbineCatchUpMaxTicks", 72000, 0, 1728000);
+
         builder.pop();
     }
 }
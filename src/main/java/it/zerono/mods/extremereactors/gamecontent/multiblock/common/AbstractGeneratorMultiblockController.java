@@ -18,22 +18,23 @@
 
 package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
 
-import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.IIOPortHandler;
-import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.fluidport.IFluidPort;
-import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
+import it.zerono.mods.extremereactors.ExtremeReactors;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncTracker;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.UpdateClientsMachineDelta;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.data.IoDirection;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
 import it.zerono.mods.zerocore.lib.energy.EnergySystem;
 import it.zerono.mods.zerocore.lib.energy.IWideEnergyProvider;
+import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import javax.annotation.Nullable;
-import java.util.Collection;
 import java.util.Optional;
 
 @SuppressWarnings({"WeakerAccess"})
@@ -69,86 +70,88 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
         return this.getEnergyStored(INTERNAL_ENERGY_SYSTEM, null) / this.getCapacity(INTERNAL_ENERGY_SYSTEM, null);
     }
 
+    //endregion
+    //region active-coolant system
+
+    public abstract Optional<IFluidHandler> getLiquidHandler();
+
+    public abstract Optional<IFluidHandler> getGasHandler();
+
+    public abstract Optional<IFluidHandler> getFluidHandler(IoDirection portDirection);
+
+    public abstract IFluidContainer getFluidContainer();
+
+    //endregion
+    //region client updates
+
     /**
-     * Distribute the given amount of energy equally between the specified Active Power Taps
+     * Add the player to the update queue.
+     * The player will receive a full update now (if requested) and then only the fields, described by
+     * {@link #defineClientSyncFields(DeltaSyncSchema)}, that changed since the last update sent to it
      *
-     * @param energyAmount the amount of energy to distribute
-     * @param powerTaps the Power Taps
-     * @return the amount of energy distributed
+     * @param player    the player to send updates to.
+     * @param updateNow if true, send a full update to the player immediately.
      */
-    protected static double distributeEnergyEqually(double energyAmount, final Collection<? extends IPowerTap> powerTaps) {
+    public void enlistForClientUpdates(final ServerPlayerEntity player, final boolean updateNow) {
 
-        if (energyAmount <= 0 || powerTaps.isEmpty()) {
-            return 0;
-        }
+        this.enlistForUpdates(player, updateNow);
+        this.getDeltaSyncTracker().enlist(player, updateNow);
+    }
 
-        final double energyPerTap = energyAmount / powerTaps.size();
+    /**
+     * Remove the player for the update queue.
+     *
+     * @param player the player to be removed from the update queue.
+     */
+    public void delistFromClientUpdates(final ServerPlayerEntity player) {
 
-        return powerTaps.stream()
-                .map(IPowerTap::getPowerTapHandler)
-                .filter(IIOPortHandler::isActive)
-                .filter(IIOPortHandler::isConnected)
-                .mapToDouble(handler -> handler.outputEnergy(energyPerTap))
-                .sum();
+        this.delistFromUpdates(player);
+        this.getDeltaSyncTracker().delist(player);
     }
 
-    //endregion
-    //region active-coolant system
+    public void onUpdateClientsMachineDelta(final UpdateClientsMachineDelta message) {
 
-    public abstract Optional<IFluidHandler> getLiquidHandler();
+        if (this.calledByLogicalClient()) {
 
-    public abstract Optional<IFluidHandler> getGasHandler();
-
-    public abstract Optional<IFluidHandler> getFluidHandler(IoDirection portDirection);
+            this.getDeltaSyncTracker().getSchema().readDelta(message.getDelta());
+            this.onClientSyncFieldsUpdated();
+        }
+    }
 
     /**
-     * Distribute the given fluid equally between the specified Active Coolant Ports
+     * Add to the schema the fields that should be sent to the players enlisted for updates.
+     * The fields must be defined in the same order on both sides
      *
-     * @param availableFluid the gas to distribute
-     * @param coolantPorts the Coolant Ports
-     * @return the amount of gas distributed
+     * @param schema the schema to add the fields to
      */
-    protected static <Controller extends AbstractGeneratorMultiblockController<Controller, V>, V extends IMultiblockGeneratorVariant>
-            int distributeFluidEqually(final FluidStack availableFluid, final Collection<? extends IFluidPort<Controller, V>> coolantPorts) {
+    protected void defineClientSyncFields(final DeltaSyncSchema schema) {
 
-        if (availableFluid.isEmpty() || coolantPorts.isEmpty()) {
-            return 0;
-        }
+        final EnergyBuffer buffer = this.getEnergyBuffer();
 
-        final int fluidPerPort = availableFluid.getAmount() / coolantPorts.size();
+        schema.addDouble(buffer::getEnergyStored, buffer::setEnergyStored)
+                .addEnum(this::getOutputEnergySystem, this::setOutputEnergySystem, EnergySystem.class);
+    }
 
-        return coolantPorts.stream()
-                .filter(p -> p.getIoDirection().isOutput())
-                .map(IFluidPort::getFluidPortHandler)
-                .filter(IIOPortHandler::isActive)
-                .filter(IIOPortHandler::isConnected)
-                .mapToInt(handler -> handler.outputFluid(new FluidStack(availableFluid, fluidPerPort)))
-                .sum();
+    /**
+     * Called on the client side after the fields received from the server were applied to the machine
+     */
+    protected void onClientSyncFieldsUpdated() {
     }
 
     /**
-     * Distribute the given fluid equally between the specified Active Coolant Ports
-     *
-     * @param availableFluid the gas to distribute
-     * @param coolantPorts the Coolant Ports
-     * @return the amount of gas distributed
+     * Send the fields that changed since the last update to the players enlisted for updates that are due for one
      */
-    protected static <Controller extends AbstractGeneratorMultiblockController<Controller, V>, V extends IMultiblockGeneratorVariant>
-    int acquireFluidEqually(final IFluidHandler destination, final int maxAmount, final Collection<? extends IFluidPort<Controller, V>> coolantPorts) {
+    protected void sendClientDeltaUpdates() {
 
-        if (maxAmount <= 0 || coolantPorts.isEmpty()) {
-            return 0;
+        if (this.getReferenceTracker().isInvalid()) {
+            return;
         }
 
-        final int fluidPerPort = maxAmount / coolantPorts.size();
+        //noinspection ConstantConditions
+        final BlockPos referencePosition = this.getReferenceTracker().get().getWorldPosition();
 
-        return coolantPorts.stream()
-                .filter(p -> p.getIoDirection().isInput())
-                .map(IFluidPort::getFluidPortHandler)
-                .filter(IIOPortHandler::isActive)
-                .filter(IIOPortHandler::isConnected)
-                .mapToInt(handler -> handler.inputFluid(destination, fluidPerPort))
-                .sum();
+        this.getDeltaSyncTracker().sendUpdates(this.getWorld().getGameTime(), this, referencePosition, (player, delta) ->
+                ExtremeReactors.getInstance().sendPacket(new UpdateClientsMachineDelta(referencePosition, delta), player));
     }
 
     //endregion
@@ -166,7 +169,14 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
      */
     @Override
     public double extractEnergy(EnergySystem system, @Nullable Direction from, double maxAmount, boolean simulate) {
-        return this.getEnergyBuffer().extractEnergy(system, maxAmount, simulate);
+
+        final double extracted = this.getEnergyBuffer().extractEnergy(system, maxAmount, simulate);
+
+        if (!simulate && extracted > 0) {
+            this.wakeUp();
+        }
+
+        return extracted;
     }
 
     /**
@@ -256,8 +266,22 @@ public abstract class AbstractGeneratorMultiblockController<Controller extends A
 
     protected static final EnergySystem INTERNAL_ENERGY_SYSTEM = EnergySystem.ForgeEnergy;
 
+    private DeltaSyncTracker getDeltaSyncTracker() {
+
+        if (null == this._deltaSyncTracker) {
+
+            final DeltaSyncSchema schema = new DeltaSyncSchema();
+
+            this.defineClientSyncFields(schema);
+            this._deltaSyncTracker = new DeltaSyncTracker(schema);
+        }
+
+        return this._deltaSyncTracker;
+    }
+
     private final EnergyBuffer _energyBuffer;
     private EnergySystem _outputEnergySystem;
+    private DeltaSyncTracker _deltaSyncTracker;
 
     //endregion
 }
@@ -32,6 +32,9 @@ public abstract class AbstractMultiblockController<Controller extends AbstractCu
         super(world);
         this._ticksSinceLastUpdate = 0;
         this._interiorInvisible = false;
+        this._idleTicks = 0;
+        this._sleepingTicks = 0;
+        this._sleeping = false;
     }
 
     public abstract V getVariant();
@@ -51,6 +54,61 @@ public abstract class AbstractMultiblockController<Controller extends AbstractCu
         }
     }
 
+    //endregion
+    //region idle mode
+
+    /**
+     * @return true if the machine is idle and it's skipping its server ticks, false otherwise
+     */
+    public boolean isSleeping() {
+        return this._sleeping;
+    }
+
+    /**
+     * Bring the machine out of the idle mode. Call this every time something could change the state of
+     * an idle machine: a command, a part being added or removed, some fluid or fuel entering the machine
+     */
+    public void wakeUp() {
+
+        this._idleTicks = 0;
+        this._sleeping = false;
+    }
+
+    /**
+     * Check if the machine should skip the current server tick.
+     * A sleeping machine still do a full tick every now and then to catch the changes that don't wake it up
+     *
+     * @return true if the tick should be skipped, false otherwise
+     */
+    protected boolean shouldSkipServerTick() {
+
+        if (this._sleeping && ++this._sleepingTicks < TICKS_BETWEEN_IDLE_CHECKS) {
+            return true;
+        }
+
+        this._sleepingTicks = 0;
+        return false;
+    }
+
+    /**
+     * Update the idle mode of the machine at the end of a full server tick.
+     * The machine go to sleep after being idle for a while and wake up as soon as it is not idle anymore
+     *
+     * @param idle true if nothing changed in the machine during the tick and nothing will change in the next ones
+     */
+    protected void updateIdleState(final boolean idle) {
+
+        if (!idle) {
+
+            this.wakeUp();
+
+        } else if (!this._sleeping && ++this._idleTicks >= TICKS_BEFORE_SLEEP) {
+
+            this._sleeping = true;
+            this._sleepingTicks = 0;
+        }
+    }
+
     //endregion
     //region Rendering
 
@@ -158,8 +216,14 @@ public abstract class AbstractMultiblockController<Controller extends AbstractCu
     //TODO config?
     private static final int TICKS_BETWEEN_UPDATES = 3;
 
+    private static final int TICKS_BEFORE_SLEEP = 20;
+    private static final int TICKS_BETWEEN_IDLE_CHECKS = 20;
+
     private int _ticksSinceLastUpdate;
     private boolean _interiorInvisible;
+    private int _idleTicks;
+    private int _sleepingTicks;
+    private boolean _sleeping;
 
     //endregion
 }
@@ -0,0 +1,172 @@
+/*
+ *
+ * EnergyDistributor.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTapHandler;
+
+import java.util.Collection;
+
+/**
+ * Distribute energy between the Active Power Taps of a machine.
+ * <p>
+ * The handlers of the Active Power Taps are collected in an array when the Power Taps of the machine change so that
+ * a distribution only need to check if a handler is connected. Every tick, each connected consumer is first asked
+ * how much energy it would accept (its budget for the tick) and then the energy is sent to it in a single transfer.
+ * If the consumers would accept more energy than the available one, the energy is split between them in proportion
+ * of their budgets.
+ * <p>
+ * Asking for a budget never change the consumer: a connected consumer that would not accept any energy is notified
+ * with {@link IPowerTapHandler#onEnergyRefused()} during the transfer step instead
+ */
+public class EnergyDistributor {
+
+    public EnergyDistributor() {
+
+        this._handlers = new IPowerTapHandler[0];
+        this._pending = new int[0];
+        this._budgets = new double[0];
+        this._offers = new double[0];
+    }
+
+    /**
+     * Collect the handlers of the Active Power Taps from the given Power Taps
+     *
+     * @param powerTaps the Power Taps of the machine
+     */
+    public void setPowerTaps(final Collection<? extends IPowerTap> powerTaps) {
+
+        this._handlers = powerTaps.stream()
+                .map(IPowerTap::getPowerTapHandler)
+                .filter(IPowerTapHandler::isActive)
+                .toArray(IPowerTapHandler[]::new);
+        this._pending = new int[this._handlers.length];
+        this._budgets = new double[this._handlers.length];
+        this._offers = new double[this._handlers.length];
+    }
+
+    /**
+     * Distribute the given amount of energy between the connected Active Power Taps
+     *
+     * @param energyAmount the amount of energy to distribute
+     * @return the amount of energy distributed
+     */
+    public double distribute(final double energyAmount) {
+
+        final IPowerTapHandler[] handlers = this._handlers;
+        final int[] pending = this._pending;
+        final double[] budgets = this._budgets;
+        final double[] offers = this._offers;
+        int pendingCount = 0;
+        double totalBudget = 0;
+
+        if (energyAmount < 1) {
+
+            for (final IPowerTapHandler handler : handlers) {
+                handler.getStats().update(0, 0);
+            }
+
+            return 0;
+        }
+
+        // ask every connected consumer how much energy it would accept
+
+        for (int i = 0; i < handlers.length; ++i) {
+
+            final IPowerTapHandler handler = handlers[i];
+            final double budget = handler.isConnected() ? Math.floor(handler.getEnergyAcceptance(energyAmount)) : 0;
+
+            budgets[i] = budget;
+
+            if (budget >= 1) {
+
+                pending[pendingCount++] = i;
+                totalBudget += budget;
+
+            } else {
+
+                handler.getStats().update(budget, 0);
+            }
+        }
+
+        // the connected consumers that would not accept any energy don't get a transfer: let them know
+
+        if (pendingCount < handlers.length) {
+            for (int i = 0; i < handlers.length; ++i) {
+                if (budgets[i] < 1 && handlers[i].isConnected()) {
+                    handlers[i].onEnergyRefused();
+                }
+            }
+        }
+
+        if (0 == pendingCount) {
+            return 0;
+        }
+
+        // split the energy between the consumers in proportion of their budgets...
+
+        final double available = Math.floor(energyAmount);
+        final double ratio = totalBudget > available ? available / totalBudget : 1.0;
+        double offered = 0;
+
+        for (int i = 0; i < pendingCount; ++i) {
+
+            final int idx = pending[i];
+
+            offers[idx] = Math.floor(budgets[idx] * ratio);
+            offered += offers[idx];
+        }
+
+        // ... and give what is left by the rounding to the first consumers that could still accept it
+
+        for (int i = 0; i < pendingCount && offered < available; ++i) {
+
+            final int idx = pending[i];
+            final double extra = Math.min(available - offered, budgets[idx] - offers[idx]);
+
+            offers[idx] += extra;
+            offered += extra;
+        }
+
+        // send the energy, one transfer for every consumer
+
+        double distributed = 0;
+
+        for (int i = 0; i < pendingCount; ++i) {
+
+            final int idx = pending[i];
+            final IPowerTapHandler handler = handlers[idx];
+            final double accepted = offers[idx] >= 1 ? handler.outputEnergy(offers[idx]) : 0;
+
+            handler.getStats().update(budgets[idx], accepted);
+            distributed += accepted;
+        }
+
+        return distributed;
+    }
+
+    //region internals
+
+    private IPowerTapHandler[] _handlers;
+    private int[] _pending;
+    private double[] _budgets;
+    private double[] _offers;
+
+    //endregion
+}
@@ -24,6 +24,7 @@ import it.zerono.mods.extremereactors.api.coolant.Coolant;
 import it.zerono.mods.extremereactors.api.coolant.FluidMappingsRegistry;
 import it.zerono.mods.extremereactors.api.coolant.TransitionsRegistry;
 import it.zerono.mods.extremereactors.api.coolant.Vapor;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.TestResult;
 import it.zerono.mods.zerocore.lib.data.IoDirection;
@@ -34,9 +35,11 @@ import it.zerono.mods.zerocore.lib.fluid.handler.IndexedFluidHandlerForwarder;
 import it.zerono.mods.zerocore.lib.tag.TagsHelper;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.*;
@@ -50,6 +53,16 @@ public class FluidContainer
         super(0, StackAdapters.FLUIDSTACK, FluidType.Gas, FluidType.Liquid);
         this._accessGovernor = accessGovernor;
         this._liquidVaporizedLastTick = 0;
+        this._insertListener = null;
+    }
+
+    /**
+     * Set a listener that will be notified every time some fluid is inserted in the container
+     *
+     * @param listener the listener or null to remove the current one
+     */
+    public void setInsertListener(@Nullable final Runnable listener) {
+        this._insertListener = listener;
     }
 
     /**
@@ -151,6 +164,17 @@ public class FluidContainer
         return this.clear(FluidType.Liquid).getAmount();
     }
 
+    /**
+     * Add the content of the container to the fields sent to the players enlisted for updates
+     *
+     * @param schema the schema to add the fields to
+     */
+    public void defineClientSyncFields(final DeltaSyncSchema schema) {
+
+        this.defineClientSyncField(schema, FluidType.Liquid);
+        this.defineClientSyncField(schema, FluidType.Gas);
+    }
+
     @Override
     public IFluidHandler getWrapper(final IoDirection portDirection) {
 
@@ -162,6 +186,11 @@ public class FluidContainer
                 idx -> new IndexedFluidHandlerForwarder<>(this, idx, this._accessGovernor.getAllowedActionFor(idx)));
     }
 
+    @Override
+    public FluidType getFluidTypeFrom(final IoDirection portDirection) {
+        return this._accessGovernor.getFluidTypeFrom(portDirection);
+    }
+
     /**
      * Check if the provided stack can be stored in the specified index
      *
@@ -290,6 +319,21 @@ public class FluidContainer
 
     //endregion
     //region internals
+
+    private void defineClientSyncField(final DeltaSyncSchema schema, final FluidType type) {
+
+        schema.addObject(() -> this.map(type, (fluid, amount) -> new FluidStack(fluid, amount), FluidStack.EMPTY),
+                stack -> {
+
+                    this.clear(type);
+
+                    if (!stack.isEmpty()) {
+                        this.insert(type, stack.getFluid(), stack.getAmount(), OperationMode.Execute);
+                    }
+                },
+                PacketBuffer::writeFluidStack, PacketBuffer::readFluidStack, FluidStack::isFluidStackIdentical);
+    }
+
     //region heat absorption
 
     /**
@@ -485,6 +529,10 @@ public class FluidContainer
 
         super.onInsert(fluidType, wasEmpty);
 
+        if (null != this._insertListener) {
+            this._insertListener.run();
+        }
+
         if (wasEmpty) {
 
             switch (fluidType) {
@@ -531,6 +579,7 @@ public class FluidContainer
     private final IFluidContainerAccess _accessGovernor;
     private Map<FluidType, IndexedFluidHandlerForwarder<FluidType>> _wrappers;
     private int _liquidVaporizedLastTick;
+    private Runnable _insertListener;
 
     private Coolant _cachedCoolant;
     private Vapor _cachedVapor;
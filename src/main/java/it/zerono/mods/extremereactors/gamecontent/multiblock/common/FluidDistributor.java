@@ -0,0 +1,160 @@
+/*
+ *
+ * FluidDistributor.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common;
+
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.fluidport.IFluidPort;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.fluidport.IFluidPortHandler;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import java.util.Collection;
+
+/**
+ * Distribute fluids to, or acquire fluids from, the Active Fluid Ports of a machine.
+ * <p>
+ * The handlers of the Active Fluid Ports are collected in an array when the Fluid Ports of the machine change so that
+ * a distribution only need to check if a handler is connected. The fluid is split equally between the connected
+ * handlers and the share that a handler could not move is split again between the other ones, in the same tick.
+ * Every handler is offered a new stack, see {@link IFluidPortHandler#outputFluid(FluidStack)}
+ */
+public class FluidDistributor {
+
+    public FluidDistributor() {
+
+        this._handlers = new IFluidPortHandler<?, ?>[0];
+        this._pending = new int[0];
+    }
+
+    /**
+     * Collect the handlers of the Active Fluid Ports from the given Fluid Ports
+     *
+     * @param fluidPorts the Fluid Ports of the machine, all in the same direction
+     */
+    public void setFluidPorts(final Collection<? extends IFluidPort<?, ?>> fluidPorts) {
+
+        this._handlers = fluidPorts.stream()
+                .map(IFluidPort::getFluidPortHandler)
+                .filter(IFluidPortHandler::isActive)
+                .toArray(IFluidPortHandler<?, ?>[]::new);
+        this._pending = new int[this._handlers.length];
+    }
+
+    /**
+     * Distribute the given fluid between the connected Active Fluid Ports
+     *
+     * @param availableFluid the fluid to distribute
+     * @return the amount of fluid distributed
+     */
+    public int distribute(final FluidStack availableFluid) {
+
+        if (availableFluid.isEmpty()) {
+            return 0;
+        }
+
+        final IFluidPortHandler<?, ?>[] handlers = this._handlers;
+        final int[] pending = this._pending;
+        int pendingCount = this.collectConnected();
+        int remaining = availableFluid.getAmount();
+
+        while (pendingCount > 0 && remaining > 0) {
+
+            final int share = Math.max(1, remaining / pendingCount);
+            int stillPendingCount = 0;
+
+            for (int i = 0; i < pendingCount && remaining > 0; ++i) {
+
+                final int offered = Math.min(share, remaining);
+                final int accepted = handlers[pending[i]].outputFluid(new FluidStack(availableFluid, offered));
+
+                remaining -= accepted;
+
+                // a handler that accepted all the fluid it was offered could accept more of it
+                if (accepted >= offered) {
+                    pending[stillPendingCount++] = pending[i];
+                }
+            }
+
+            pendingCount = stillPendingCount;
+        }
+
+        return availableFluid.getAmount() - remaining;
+    }
+
+    /**
+     * Acquire fluids, up to the given amount, from the connected Active Fluid Ports
+     *
+     * @param destination the handler that will receive the fluids
+     * @param maxAmount the maximum amount of fluid to acquire
+     * @return the amount of fluid acquired
+     */
+    public int acquire(final IFluidHandler destination, final int maxAmount) {
+
+        if (maxAmount <= 0) {
+            return 0;
+        }
+
+        final IFluidPortHandler<?, ?>[] handlers = this._handlers;
+        final int[] pending = this._pending;
+        int pendingCount = this.collectConnected();
+        int remaining = maxAmount;
+
+        while (pendingCount > 0 && remaining > 0) {
+
+            final int share = Math.max(1, remaining / pendingCount);
+            int stillPendingCount = 0;
+
+            for (int i = 0; i < pendingCount && remaining > 0; ++i) {
+
+                final int requested = Math.min(share, remaining);
+                final int acquired = handlers[pending[i]].inputFluid(destination, requested);
+
+                remaining -= acquired;
+
+                if (acquired >= requested) {
+                    pending[stillPendingCount++] = pending[i];
+                }
+            }
+
+            pendingCount = stillPendingCount;
+        }
+
+        return maxAmount - remaining;
+    }
+
+    //region internals
+
+    private int collectConnected() {
+
+        final IFluidPortHandler<?, ?>[] handlers = this._handlers;
+        int count = 0;
+
+        for (int i = 0; i < handlers.length; ++i) {
+            if (handlers[i].isConnected()) {
+                this._pending[count++] = i;
+            }
+        }
+
+        return count;
+    }
+
+    private IFluidPortHandler<?, ?>[] _handlers;
+    private int[] _pending;
+
+    //endregion
+}
@@ -64,6 +64,8 @@ public interface IFluidContainer {
 
     IFluidHandler getWrapper(IoDirection portDirection);
 
+    FluidType getFluidTypeFrom(IoDirection portDirection);
+
     Optional<Coolant> getCoolant();
 
     Optional<Vapor> getVapor();
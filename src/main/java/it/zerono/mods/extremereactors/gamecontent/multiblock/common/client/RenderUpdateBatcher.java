@@ -0,0 +1,81 @@
+/*
+ *
+ * RenderUpdateBatcher.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.client;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.SectionPos;
+
+/**
+ * Collect the blocks to re-render during a client tick and re-render the chunk sections containing them
+ * at the end of the tick, once per chunk section
+ */
+public class RenderUpdateBatcher {
+
+    public RenderUpdateBatcher() {
+        this._pendingSections = new LongOpenHashSet(16);
+    }
+
+    /**
+     * Schedule a re-render of the chunk section containing the given position
+     *
+     * @param position the position of the block to re-render
+     */
+    public void schedule(final BlockPos position) {
+        this._pendingSections.add(SectionPos.asLong(SectionPos.blockToSectionCoord(position.getX()),
+                SectionPos.blockToSectionCoord(position.getY()), SectionPos.blockToSectionCoord(position.getZ())));
+    }
+
+    /**
+     * Re-render all the chunk sections scheduled since the last call
+     */
+    public void flush() {
+
+        if (this._pendingSections.isEmpty()) {
+            return;
+        }
+
+        final Minecraft mc = Minecraft.getInstance();
+
+        if (null != mc.level) {
+
+            final WorldRenderer renderer = mc.levelRenderer;
+            final LongIterator iterator = this._pendingSections.iterator();
+
+            while (iterator.hasNext()) {
+
+                final long section = iterator.nextLong();
+
+                renderer.setSectionDirty(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
+            }
+        }
+
+        this._pendingSections.clear();
+    }
+
+    //region internals
+
+    private final LongSet _pendingSections;
+
+    //endregion
+}
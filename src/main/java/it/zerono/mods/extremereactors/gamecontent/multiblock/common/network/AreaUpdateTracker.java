@@ -0,0 +1,125 @@
+/*
+ *
+ * AreaUpdateTracker.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.network;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.server.ServerWorld;
+
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Send an update of a machine to the players in an area around it.
+ * <p>
+ * The players near the machine receive every new update. The players far away from it receive an update only if
+ * enough time has passed since the last one they received: the others will receive the latest update in one of the
+ * next calls, so all the updates generated in the meantime are coalesced in a single packet
+ *
+ * @param <Message> the type of the updates
+ */
+public class AreaUpdateTracker<Message> {
+
+    /**
+     * @param distantUpdateInterval return the minimum number of ticks between two updates sent to a player far away from the machine
+     */
+    public AreaUpdateTracker(final IntSupplier distantUpdateInterval) {
+
+        this._distantUpdateInterval = distantUpdateInterval;
+        this._players = new Reference2ObjectOpenHashMap<>(8);
+    }
+
+    /**
+     * Send an update to the players in the given area around the machine
+     *
+     * @param world the world of the machine
+     * @param position the position of the machine
+     * @param radius the radius of the area
+     * @param message the update to send. Pass the same instance to resend it to the players that did not received it yet
+     * @param flush if true, send the update to the players far away from the machine too, even if their last update
+     *              was sent recently. Use it when no other updates will follow
+     * @param sender send the update to a player
+     * @return true if some players are still waiting for the update, false otherwise
+     */
+    public boolean send(final ServerWorld world, final BlockPos position, final int radius, final Message message,
+                        final boolean flush, final BiConsumer<ServerPlayerEntity, Message> sender) {
+
+        final long gameTime = world.getGameTime();
+        final int distantInterval = this._distantUpdateInterval.getAsInt();
+        boolean pending = false;
+
+        this._players.keySet().removeIf(player -> player.hasDisconnected() || player.getLevel() != world ||
+                !ClientInterest.isInRange(player, position, radius));
+
+        for (final ServerPlayerEntity player : world.players()) {
+
+            if (!ClientInterest.isInRange(player, position, radius)) {
+                continue;
+            }
+
+            final PlayerState state = this._players.computeIfAbsent(player, p -> new PlayerState());
+
+            if (message == state.LastMessage) {
+                continue;
+            }
+
+            if (flush || ClientInterest.isNear(player, position) || null == state.LastMessage ||
+                    gameTime - state.LastUpdate >= distantInterval) {
+
+                sender.accept(player, message);
+                state.LastMessage = message;
+                state.LastUpdate = gameTime;
+
+            } else {
+
+                pending = true;
+            }
+        }
+
+        return pending;
+    }
+
+    /**
+     * Forget about all the updates sent so far
+     */
+    public void reset() {
+        this._players.clear();
+    }
+
+    //region internals
+
+    private final class PlayerState {
+
+        PlayerState() {
+
+            this.LastMessage = null;
+            this.LastUpdate = 0;
+        }
+
+        Message LastMessage;
+        long LastUpdate;
+    }
+
+    private final IntSupplier _distantUpdateInterval;
+    private final Reference2ObjectMap<ServerPlayerEntity, PlayerState> _players;
+
+    //endregion
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ * ClientInterest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.network;
+
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.zerocore.lib.item.inventory.container.ModTileContainer;
+import it.zerono.mods.zerocore.lib.multiblock.IMultiblockController;
+import it.zerono.mods.zerocore.lib.multiblock.IMultiblockPart;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Decide how often a player should receive the updates of a machine, based on its distance from the machine
+ * and on the GUI it is looking at. The budgets are defined in the "network" section of the common config file
+ */
+public final class ClientInterest {
+
+    /**
+     * @param player the player
+     * @param position the position of the machine
+     * @return true if the player is near the machine, false otherwise
+     */
+    public static boolean isNear(final ServerPlayerEntity player, final BlockPos position) {
+
+        final double distance = Config.COMMON.network.nearPlayerDistance.get();
+
+        return player.distanceToSqr(position.getX() + 0.5, position.getY() + 0.5, position.getZ() + 0.5) <= distance * distance;
+    }
+
+    /**
+     * @param player the player
+     * @param position the position of the machine
+     * @param radius the radius of the area around the machine
+     * @return true if the player is inside the given area around the machine, false otherwise
+     */
+    public static boolean isInRange(final ServerPlayerEntity player, final BlockPos position, final int radius) {
+        return player.distanceToSqr(position.getX() + 0.5, position.getY() + 0.5, position.getZ() + 0.5) <= (double)radius * radius;
+    }
+
+    /**
+     * Check if the player is looking at the GUI of one of the parts of the machine. A player enlisted for updates is
+     * supposed to look at the machine GUI but it could still be enlisted after closing it if the GUI was not closed
+     * in the usual way, or after opening the GUI of something else
+     *
+     * @param player the player
+     * @param machine the machine
+     * @return true if the player is looking at the machine GUI, false otherwise
+     */
+    public static boolean isGuiOpen(final ServerPlayerEntity player, final IMultiblockController<?> machine) {
+
+        final Container container = player.containerMenu;
+
+        if (!(container instanceof ModTileContainer)) {
+            return false;
+        }
+
+        final TileEntity tile = ((ModTileContainer<?>)container).getTileEntity();
+
+        return tile instanceof IMultiblockPart &&
+                ((IMultiblockPart<?>)tile).getMultiblockController().filter(controller -> controller == machine).isPresent();
+    }
+
+    /**
+     * @param player a player enlisted for the updates of the machine
+     * @param machine the machine
+     * @param position the position of the machine
+     * @return the number of ticks between two GUI updates sent to the player
+     */
+    public static int getGuiUpdateInterval(final ServerPlayerEntity player, final IMultiblockController<?> machine,
+                                           final BlockPos position) {
+        return isGuiOpen(player, machine) && isNear(player, position) ?
+                Config.COMMON.network.guiUpdateInterval.get() :
+                Config.COMMON.network.distantGuiUpdateInterval.get();
+    }
+
+    /**
+     * @return the maximum number of players a single machine should send its GUI updates to each time it send them
+     */
+    public static int getMaxPlayersPerUpdate() {
+        return Config.COMMON.network.maxPlayersPerUpdate.get();
+    }
+
+    /**
+     * @return the minimum number of ticks between two Reactor Fuel Rods updates sent to a player far away from the Reactor
+     */
+    public static int getDistantFuelRodsUpdateInterval() {
+        return Config.COMMON.network.distantFuelRodsUpdateInterval.get();
+    }
+
+    //region internals
+
+    private ClientInterest() {
+    }
+
+    //endregion
+}
@@ -0,0 +1,368 @@
+/*
+ *
+ * DeltaSyncSchema.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.network;
+
+import it.unimi.dsi.fastutil.booleans.BooleanConsumer;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.network.PacketBuffer;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.*;
+
+/**
+ * The fields of a machine that are sent to the clients while a player is looking at the machine GUI.
+ * <p>
+ * Each field is identified by the order it was added to the schema and it is read from the machine, on the server,
+ * and written back to the machine, on the client, with the provided getter and setter. The current value of all the
+ * fields could be captured in a {@link Snapshot} and two Snapshot could be compared to encode, in a {@link PacketBuffer},
+ * only the fields that changed between them: a bitmask of the changed fields followed by their values, in binary form
+ */
+public class DeltaSyncSchema {
+
+    public static final int MAX_FIELDS = 64;
+
+    public DeltaSyncSchema() {
+        this._fields = new ObjectArrayList<>(16);
+    }
+
+    public DeltaSyncSchema addBoolean(final BooleanSupplier getter, final BooleanConsumer setter) {
+        return this.add(new PrimitiveField(FieldType.Boolean, () -> getter.getAsBoolean() ? 1 : 0, v -> setter.accept(0 != v)));
+    }
+
+    public DeltaSyncSchema addInt(final IntSupplier getter, final IntConsumer setter) {
+        return this.add(new PrimitiveField(FieldType.Int, getter::getAsInt, v -> setter.accept((int)v)));
+    }
+
+    public DeltaSyncSchema addFloat(final DoubleSupplier getter, final DoubleConsumer setter) {
+        return this.add(new PrimitiveField(FieldType.Float, () -> Float.floatToRawIntBits((float)getter.getAsDouble()),
+                v -> setter.accept(Float.intBitsToFloat((int)v))));
+    }
+
+    public DeltaSyncSchema addDouble(final DoubleSupplier getter, final DoubleConsumer setter) {
+        return this.add(new PrimitiveField(FieldType.Double, () -> Double.doubleToRawLongBits(getter.getAsDouble()),
+                v -> setter.accept(Double.longBitsToDouble(v))));
+    }
+
+    /**
+     * Add a field holding an object. The values returned by the getter are compared with {@link Object#equals(Object)}
+     * so the getter must return a new (or immutable) object if the value changes
+     *
+     * @param getter read the value from the machine
+     * @param setter write the value to the machine
+     * @param writer encode the value
+     * @param reader decode the value
+     * @param <T> the type of the value
+     * @return this schema
+     */
+    public <T> DeltaSyncSchema addObject(final Supplier<T> getter, final Consumer<T> setter,
+                                         final BiConsumer<PacketBuffer, T> writer, final Function<PacketBuffer, T> reader) {
+        return this.add(new ObjectField<>(getter, setter, writer, reader, Objects::equals));
+    }
+
+    /**
+     * Add a field holding an object, compared with the provided predicate.
+     * The getter must return a new (or immutable) object if the value changes
+     *
+     * @param getter read the value from the machine
+     * @param setter write the value to the machine
+     * @param writer encode the value
+     * @param reader decode the value
+     * @param equality return true if the two values are the same
+     * @param <T> the type of the value
+     * @return this schema
+     */
+    public <T> DeltaSyncSchema addObject(final Supplier<T> getter, final Consumer<T> setter,
+                                         final BiConsumer<PacketBuffer, T> writer, final Function<PacketBuffer, T> reader,
+                                         final BiPredicate<T, T> equality) {
+        return this.add(new ObjectField<>(getter, setter, writer, reader, equality));
+    }
+
+    public <E extends Enum<E>> DeltaSyncSchema addEnum(final Supplier<E> getter, final Consumer<E> setter,
+                                                       final Class<E> enumClass) {
+        return this.addObject(getter, setter, PacketBuffer::writeEnum, buffer -> buffer.readEnum(enumClass));
+    }
+
+    public int size() {
+        return this._fields.size();
+    }
+
+    public Snapshot createSnapshot() {
+        return new Snapshot(this.size());
+    }
+
+    /**
+     * Capture the current value of all the fields
+     *
+     * @param snapshot the Snapshot to store the values into
+     */
+    public void capture(final Snapshot snapshot) {
+
+        final List<Field> fields = this._fields;
+
+        for (int i = 0; i < fields.size(); ++i) {
+            fields.get(i).capture(snapshot, i);
+        }
+
+        snapshot._valid = true;
+    }
+
+    /**
+     * Encode the fields that are different between the two Snapshots
+     *
+     * @param baseline the values already known by the receiver or an invalid Snapshot to encode all the fields
+     * @param current the current values
+     * @param buffer the destination buffer
+     * @return true if at least one field was encoded, false otherwise (and nothing was written to the buffer)
+     */
+    public boolean writeDelta(final Snapshot baseline, final Snapshot current, final PacketBuffer buffer) {
+
+        final List<Field> fields = this._fields;
+        long changed = 0;
+
+        for (int i = 0; i < fields.size(); ++i) {
+            if (!baseline._valid || fields.get(i).isChanged(baseline, current, i)) {
+                changed |= 1L << i;
+            }
+        }
+
+        if (0 == changed) {
+            return false;
+        }
+
+        buffer.writeVarLong(changed);
+
+        for (int i = 0; i < fields.size(); ++i) {
+            if (0 != (changed & (1L << i))) {
+                fields.get(i).write(current, i, buffer);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Decode the fields written by {@link #writeDelta(Snapshot, Snapshot, PacketBuffer)} and update the machine with them
+     *
+     * @param buffer the source buffer
+     */
+    public void readDelta(final PacketBuffer buffer) {
+
+        final List<Field> fields = this._fields;
+        final long changed = buffer.readVarLong();
+
+        for (int i = 0; i < fields.size(); ++i) {
+            if (0 != (changed & (1L << i))) {
+                fields.get(i).read(buffer);
+            }
+        }
+    }
+
+    /**
+     * The values of the fields at a given time
+     */
+    public static final class Snapshot {
+
+        public boolean isValid() {
+            return this._valid;
+        }
+
+        public void invalidate() {
+            this._valid = false;
+        }
+
+        public void copyFrom(final Snapshot other) {
+
+            System.arraycopy(other._primitives, 0, this._primitives, 0, this._primitives.length);
+            System.arraycopy(other._objects, 0, this._objects, 0, this._objects.length);
+            this._valid = other._valid;
+        }
+
+        //region internals
+
+        private Snapshot(final int size) {
+
+            this._primitives = new long[size];
+            this._objects = new Object[size];
+            this._valid = false;
+        }
+
+        private final long[] _primitives;
+        private final Object[] _objects;
+        private boolean _valid;
+
+        //endregion
+    }
+
+    //region internals
+
+    private enum FieldType {
+
+        Boolean,
+        Int,
+        Float,
+        Double
+    }
+
+    private interface Field {
+
+        void capture(Snapshot snapshot, int index);
+
+        boolean isChanged(Snapshot baseline, Snapshot current, int index);
+
+        void write(Snapshot snapshot, int index, PacketBuffer buffer);
+
+        void read(PacketBuffer buffer);
+    }
+
+    private static final class PrimitiveField
+            implements Field {
+
+        PrimitiveField(final FieldType type, final LongSupplier getter, final LongConsumer setter) {
+
+            this._type = type;
+            this._getter = getter;
+            this._setter = setter;
+        }
+
+        @Override
+        public void capture(final Snapshot snapshot, final int index) {
+            snapshot._primitives[index] = this._getter.getAsLong();
+        }
+
+        @Override
+        public boolean isChanged(final Snapshot baseline, final Snapshot current, final int index) {
+            return baseline._primitives[index] != current._primitives[index];
+        }
+
+        @Override
+        public void write(final Snapshot snapshot, final int index, final PacketBuffer buffer) {
+
+            final long value = snapshot._primitives[index];
+
+            switch (this._type) {
+
+                case Boolean:
+                    buffer.writeBoolean(0 != value);
+                    break;
+
+                case Int:
+                    buffer.writeVarInt((int)value);
+                    break;
+
+                case Float:
+                    buffer.writeInt((int)value);
+                    break;
+
+                case Double:
+                    buffer.writeLong(value);
+                    break;
+            }
+        }
+
+        @Override
+        public void read(final PacketBuffer buffer) {
+
+            final long value;
+
+            switch (this._type) {
+
+                case Boolean:
+                    value = buffer.readBoolean() ? 1 : 0;
+                    break;
+
+                case Int:
+                    value = buffer.readVarInt();
+                    break;
+
+                case Float:
+                    value = buffer.readInt();
+                    break;
+
+                case Double:
+                default:
+                    value = buffer.readLong();
+                    break;
+            }
+
+            this._setter.accept(value);
+        }
+
+        private final FieldType _type;
+        private final LongSupplier _getter;
+        private final LongConsumer _setter;
+    }
+
+    private static final class ObjectField<T>
+            implements Field {
+
+        ObjectField(final Supplier<T> getter, final Consumer<T> setter,
+                    final BiConsumer<PacketBuffer, T> writer, final Function<PacketBuffer, T> reader,
+                    final BiPredicate<T, T> equality) {
+
+            this._getter = getter;
+            this._setter = setter;
+            this._writer = writer;
+            this._reader = reader;
+            this._equality = equality;
+        }
+
+        @Override
+        public void capture(final Snapshot snapshot, final int index) {
+            snapshot._objects[index] = this._getter.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean isChanged(final Snapshot baseline, final Snapshot current, final int index) {
+            return !this._equality.test((T)baseline._objects[index], (T)current._objects[index]);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void write(final Snapshot snapshot, final int index, final PacketBuffer buffer) {
+            this._writer.accept(buffer, (T)snapshot._objects[index]);
+        }
+
+        @Override
+        public void read(final PacketBuffer buffer) {
+            this._setter.accept(this._reader.apply(buffer));
+        }
+
+        private final Supplier<T> _getter;
+        private final Consumer<T> _setter;
+        private final BiConsumer<PacketBuffer, T> _writer;
+        private final Function<PacketBuffer, T> _reader;
+        private final BiPredicate<T, T> _equality;
+    }
+
+    private DeltaSyncSchema add(final Field field) {
+
+        if (this._fields.size() >= MAX_FIELDS) {
+            throw new IllegalStateException("Too many fields in a DeltaSyncSchema");
+        }
+
+        this._fields.add(field);
+        return this;
+    }
+
+    private final List<Field> _fields;
+
+    //endregion
+}
@@ -0,0 +1,164 @@
+/*
+ *
+ * DeltaSyncTracker.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.network;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.zerono.mods.zerocore.lib.multiblock.IMultiblockController;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Keep track, for each player enlisted for updates, of the last values of a {@link DeltaSyncSchema} sent to
+ * the player so that the next update could only contain the fields that changed since then.
+ * <p>
+ * The updates are sent over an ordered and reliable channel so the last values sent are the ones the client
+ * will have when it receive the next update.
+ * <p>
+ * Each player is updated at its own rate, as decided by {@link ClientInterest}, so all the changes that happens
+ * between two updates are coalesced in a single packet. No more than a given number of players are updated each
+ * time the updates are sent: the players that are waiting the longest are updated first and the others are updated
+ * the next times, so no player could be starved by the ones that come before it in the map
+ */
+public class DeltaSyncTracker {
+
+    public DeltaSyncTracker(final DeltaSyncSchema schema) {
+
+        this._schema = schema;
+        this._current = schema.createSnapshot();
+        this._players = new Reference2ObjectOpenHashMap<>(4);
+    }
+
+    public DeltaSyncSchema getSchema() {
+        return this._schema;
+    }
+
+    /**
+     * Start tracking a player
+     *
+     * @param player the player
+     * @param fullySynced true if the player just received the whole state of the machine, false otherwise
+     */
+    public void enlist(final ServerPlayerEntity player, final boolean fullySynced) {
+
+        final PlayerState state = this._players.computeIfAbsent(player, p -> new PlayerState(this._schema.createSnapshot()));
+
+        if (fullySynced) {
+            this._schema.capture(state.Baseline);
+        } else {
+            state.Baseline.invalidate();
+        }
+
+        state.NextUpdate = 0;
+    }
+
+    /**
+     * Stop tracking a player
+     *
+     * @param player the player
+     */
+    public void delist(final ServerPlayerEntity player) {
+        this._players.remove(player);
+    }
+
+    /**
+     * Encode the fields that changed for each tracked player that is due for an update and pass them to the sender.
+     * Players that are no longer connected are delisted
+     *
+     * @param gameTime the current game time
+     * @param machine the machine
+     * @param position the position of the machine
+     * @param sender send the encoded fields to a player
+     */
+    public void sendUpdates(final long gameTime, final IMultiblockController<?> machine, final BlockPos position,
+                            final BiConsumer<ServerPlayerEntity, PacketBuffer> sender) {
+
+        if (this._players.isEmpty()) {
+            return;
+        }
+
+        this._players.keySet().removeIf(ServerPlayerEntity::hasDisconnected);
+
+        int budget = ClientInterest.getMaxPlayersPerUpdate();
+        boolean captured = false;
+
+        while (budget > 0) {
+
+            // the player due for an update since the longest time, if any
+            ServerPlayerEntity player = null;
+            PlayerState state = null;
+
+            for (final Reference2ObjectMap.Entry<ServerPlayerEntity, PlayerState> entry : this._players.reference2ObjectEntrySet()) {
+
+                final PlayerState candidate = entry.getValue();
+
+                if (gameTime >= candidate.NextUpdate && (null == state || candidate.NextUpdate < state.NextUpdate)) {
+
+                    player = entry.getKey();
+                    state = candidate;
+                }
+            }
+
+            if (null == state) {
+                break;
+            }
+
+            if (!captured) {
+
+                this._schema.capture(this._current);
+                captured = true;
+            }
+
+            final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+
+            if (this._schema.writeDelta(state.Baseline, this._current, buffer)) {
+
+                sender.accept(player, buffer);
+                state.Baseline.copyFrom(this._current);
+                --budget;
+            }
+
+            state.NextUpdate = gameTime + ClientInterest.getGuiUpdateInterval(player, machine, position);
+        }
+    }
+
+    //region internals
+
+    private static final class PlayerState {
+
+        PlayerState(final DeltaSyncSchema.Snapshot baseline) {
+
+            this.Baseline = baseline;
+            this.NextUpdate = 0;
+        }
+
+        final DeltaSyncSchema.Snapshot Baseline;
+        long NextUpdate;
+    }
+
+    private final DeltaSyncSchema _schema;
+    private final DeltaSyncSchema.Snapshot _current;
+    private final Reference2ObjectMap<ServerPlayerEntity, PlayerState> _players;
+
+    //endregion
+}
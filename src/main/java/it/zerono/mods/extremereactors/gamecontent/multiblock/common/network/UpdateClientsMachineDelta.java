@@ -0,0 +1,78 @@
+/*
+ *
+ * UpdateClientsMachineDelta.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.network;
+
+import io.netty.buffer.Unpooled;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.zerocore.lib.network.AbstractModTileMessage;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.LogicalSide;
+
+/**
+ * Carry the fields of a machine that changed since the last update sent to a player, encoded by a {@link DeltaSyncSchema}
+ */
+public class UpdateClientsMachineDelta
+    extends AbstractModTileMessage {
+
+    public UpdateClientsMachineDelta(final BlockPos referencePosition, final PacketBuffer delta) {
+
+        super(referencePosition);
+        this._delta = delta;
+    }
+
+    public UpdateClientsMachineDelta(final PacketBuffer buffer) {
+
+        super(buffer);
+        this._delta = new PacketBuffer(Unpooled.wrappedBuffer(buffer.readByteArray()));
+    }
+
+    public PacketBuffer getDelta() {
+        return this._delta;
+    }
+
+    //region AbstractModTileMessage
+
+    @Override
+    public void encodeTo(final PacketBuffer buffer) {
+
+        super.encodeTo(buffer);
+        buffer.writeVarInt(this._delta.readableBytes());
+        buffer.writeBytes(this._delta, this._delta.readerIndex(), this._delta.readableBytes());
+    }
+
+    @Override
+    protected void processTileEntityMessage(final LogicalSide sourceSide, final TileEntity tileEntity) {
+
+        if (LogicalSide.SERVER == sourceSide && tileEntity instanceof AbstractMultiblockEntity) {
+            ((AbstractMultiblockEntity<?>)tileEntity).getMultiblockController()
+                    .filter(c -> c instanceof AbstractGeneratorMultiblockController)
+                    .ifPresent(c -> ((AbstractGeneratorMultiblockController<?, ?>)c).onUpdateClientsMachineDelta(this));
+        }
+    }
+
+    //endregion
+    //region internals
+
+    private final PacketBuffer _delta;
+
+    //endregion
+}
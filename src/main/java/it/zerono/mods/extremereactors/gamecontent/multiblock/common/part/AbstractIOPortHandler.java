@@ -57,14 +57,34 @@ public abstract class AbstractIOPortHandler<Controller extends AbstractGenerator
         this._mode = mode;
     }
 
-    @Nullable
-    protected <T> T lookupConsumer(@Nullable final IWorldReader world, final BlockPos position,
-                                   @Nullable final Capability<T> requestedCapability,
-                                   final NonNullPredicate<TileEntity> isSameHandler,
-                                   @Nullable T currentConsumer) {
+    /**
+     * Create a cache for the capability of the consumer connected to this handler
+     *
+     * @param <C> the type of the capability
+     * @return the new cache
+     */
+    protected <C> CachedCapability<C> createConsumerCache() {
+        return new CachedCapability<>(this::onConnectionChanged);
+    }
 
-        boolean wasConnected = null != currentConsumer;
-        T foundConsumer = null;
+    /**
+     * Look for the requested capability on the neighbor facing the outward direction of the part and cache it in
+     * the given {@link CachedCapability}
+     *
+     * @param world the part world
+     * @param position the part position
+     * @param requestedCapability the capability to look for
+     * @param isSameHandler return true if the given neighbor is another port handler that should be ignored
+     * @param consumer the cache for the capability of the consumer
+     * @param <C> the type of the capability
+     */
+    protected <C> void lookupConsumer(@Nullable final IWorldReader world, final BlockPos position,
+                                      @Nullable final Capability<C> requestedCapability,
+                                      final NonNullPredicate<TileEntity> isSameHandler,
+                                      final CachedCapability<C> consumer) {
+
+        boolean wasConnected = consumer.isPresent();
+        LazyOptional<C> foundCapability = LazyOptional.empty();
 
         if (null != world) {
 
@@ -81,29 +101,28 @@ public abstract class AbstractIOPortHandler<Controller extends AbstractGenerator
                     final TileEntity te = WorldHelper.getLoadedTile(world, position.relative(approachDirection));
 
                     if (null != te && !isSameHandler.test(te)) {
-
-                        final LazyOptional<T> capability = te.getCapability(requestedCapability, approachDirection.getOpposite());
-
-                        if (capability.isPresent()) {
-                            foundConsumer = capability.orElseThrow(RuntimeException::new);
-                        }
+                        foundCapability = te.getCapability(requestedCapability, approachDirection.getOpposite());
                     }
                 }
             }
         }
 
-        final boolean isConnectedNow = null != foundConsumer;
+        if (wasConnected != consumer.set(foundCapability)) {
+            this.onConnectionChanged();
+        }
+    }
+
+    //region internals
+
+    private void onConnectionChanged() {
+
         final World partWorld = this.getPart().getLevel();
 
-        if (wasConnected != isConnectedNow && null != partWorld && CodeHelper.calledByLogicalClient(partWorld)) {
+        if (null != partWorld && CodeHelper.calledByLogicalClient(partWorld)) {
             WorldHelper.notifyBlockUpdate(partWorld, this.getPart().getWorldPosition(), null, null);
         }
-
-        return foundConsumer;
     }
 
-    //region internals
-
     private final T _part;
     private final IoMode _mode;
 
@@ -37,6 +37,18 @@ public abstract class AbstractMultiblockEntity<Controller extends AbstractCuboid
 
     protected abstract IModelData getUpdatedModelData();
 
+    /**
+     * Discard the model data of this part so that it will be rebuilt the next time the part is rendered.
+     * The block is not re-rendered: the caller is responsible for scheduling a re-render of the part
+     */
+    public void invalidateClientModelData() {
+        this.callOnLogicalClient(() -> {
+
+            this._clientModelData = null;
+            this.requestModelDataUpdate();
+        });
+    }
+
     //endregion
     //region AbstractCuboidMultiblockPart
 
@@ -103,8 +115,7 @@ public abstract class AbstractMultiblockEntity<Controller extends AbstractCuboid
 
         this.callOnLogicalClient(() -> {
 
-            this._clientModelData = null;
-            this.requestModelDataUpdate();
+            this.invalidateClientModelData();
             this.notifyBlockUpdate();
         });
     }
@@ -0,0 +1,118 @@
+/*
+ *
+ * CachedCapability.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part;
+
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.common.util.NonNullConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Hold a direct reference to the instance of a capability resolved from a {@link LazyOptional}.
+ * <p>
+ * The capability is resolved only once, when it is set, and the reference is dropped as soon as the
+ * {@link LazyOptional} is invalidated by its provider, so the code that use the capability every tick
+ * only need to check for a null reference
+ *
+ * @param <T> the type of the capability
+ */
+public class CachedCapability<T> {
+
+    /**
+     * Create a new, empty, cache
+     *
+     * @param invalidationHandler called after the cached capability is dropped because it was invalidated by its provider
+     */
+    public CachedCapability(final Runnable invalidationHandler) {
+
+        this._invalidationHandler = invalidationHandler;
+        this._invalidationListener = this::onInvalidated;
+        this._source = LazyOptional.empty();
+        this._instance = null;
+    }
+
+    /**
+     * @return the cached capability instance or null if there is none
+     */
+    @Nullable
+    public T get() {
+        return this._instance;
+    }
+
+    /**
+     * @return true if a capability instance is cached, false otherwise
+     */
+    public boolean isPresent() {
+        return null != this._instance;
+    }
+
+    /**
+     * Resolve and cache the instance of the given capability.
+     * Nothing is resolved again if the capability is the one already cached
+     *
+     * @param capability the capability to cache
+     * @return true if a capability instance is now cached, false otherwise
+     */
+    public boolean set(final LazyOptional<T> capability) {
+
+        if (capability == this._source && null != this._instance) {
+            return true;
+        }
+
+        this._source = capability;
+        this._instance = null;
+
+        if (capability.isPresent()) {
+
+            this._instance = capability.orElseThrow(RuntimeException::new);
+            capability.addListener(this._invalidationListener);
+        }
+
+        return null != this._instance;
+    }
+
+    /**
+     * Drop the cached capability instance, if any
+     */
+    public void clear() {
+
+        this._source = LazyOptional.empty();
+        this._instance = null;
+    }
+
+    //region internals
+
+    private void onInvalidated(final LazyOptional<T> capability) {
+
+        // ignore the capabilities we stopped caching
+        if (capability == this._source) {
+
+            this.clear();
+            this._invalidationHandler.run();
+        }
+    }
+
+    private final Runnable _invalidationHandler;
+    private final NonNullConsumer<LazyOptional<T>> _invalidationListener;
+    private LazyOptional<T> _source;
+    @Nullable
+    private T _instance;
+
+    //endregion
+}
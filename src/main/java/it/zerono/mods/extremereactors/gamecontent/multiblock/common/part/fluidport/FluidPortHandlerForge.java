@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.fluidp
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.CachedCapability;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockVariantProvider;
 import it.zerono.mods.zerocore.lib.data.IIoEntity;
@@ -49,7 +50,7 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
         super(FluidPortType.Forge, part, mode);
         this._capability = LazyOptional.of(() -> this);
         this._capabilityForwarder = new FluidHandlerForwarder(EmptyFluidHandler.INSTANCE);
-        this._consumer = null;
+        this._consumer = this.createConsumerCache();
     }
 
     //region IFluidPortHandler
@@ -63,11 +64,13 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
     @Override
     public int outputFluid(final FluidStack stack) {
 
-        if (null == this._consumer || this.isPassive() || this.getIoEntity().getIoDirection().isInput()) {
+        final IFluidHandler consumer = this._consumer.get();
+
+        if (null == consumer || this.isPassive() || this.getIoEntity().getIoDirection().isInput()) {
             return 0;
         }
 
-        return this._consumer.fill(stack, IFluidHandler.FluidAction.EXECUTE);
+        return consumer.fill(stack, IFluidHandler.FluidAction.EXECUTE);
     }
 
     /**
@@ -76,11 +79,13 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
     @Override
     public int inputFluid(final IFluidHandler destination, final int maxAmount) {
 
-        if (null == this._consumer || this.isPassive() || this.getIoEntity().getIoDirection().isOutput()) {
+        final IFluidHandler consumer = this._consumer.get();
+
+        if (null == consumer || this.isPassive() || this.getIoEntity().getIoDirection().isOutput()) {
             return 0;
         }
 
-        final FluidStack transferred = FluidUtil.tryFluidTransfer(destination, this._consumer, maxAmount, true);
+        final FluidStack transferred = FluidUtil.tryFluidTransfer(destination, consumer, maxAmount, true);
 
         return transferred.isEmpty() ? 0 : transferred.getAmount();
     }
@@ -93,7 +98,7 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
      */
     @Override
     public boolean isConnected() {
-        return null != this._consumer;
+        return this._consumer.isPresent();
     }
 
     /**
@@ -104,7 +109,7 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
      */
     @Override
     public void checkConnections(@Nullable final IWorldReader world, final BlockPos position) {
-        this._consumer = this.lookupConsumer(world, position, CAPAP_FORGE_FLUIDHANDLER,
+        this.lookupConsumer(world, position, CAPAP_FORGE_FLUIDHANDLER,
                 te -> te instanceof IFluidPortHandler, this._consumer);
     }
 
@@ -248,7 +253,7 @@ public class FluidPortHandlerForge<Controller extends AbstractGeneratorMultibloc
     @CapabilityInject(IFluidHandler.class)
     public static Capability<IFluidHandler> CAPAP_FORGE_FLUIDHANDLER = null;
 
-    private IFluidHandler _consumer;
+    private final CachedCapability<IFluidHandler> _consumer;
     private final FluidHandlerForwarder _capabilityForwarder;
     private final LazyOptional<IFluidHandler> _capability;
 
@@ -22,7 +22,10 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.zerono.mods.extremereactors.api.IMapping;
 import it.zerono.mods.extremereactors.api.coolant.FluidMappingsRegistry;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.FluidType;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.CachedCapability;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.CodeHelper;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockVariantProvider;
@@ -30,7 +33,7 @@ import it.zerono.mods.zerocore.lib.compat.Mods;
 import it.zerono.mods.zerocore.lib.data.IIoEntity;
 import it.zerono.mods.zerocore.lib.data.IoDirection;
 import it.zerono.mods.zerocore.lib.data.IoMode;
-import it.zerono.mods.zerocore.lib.fluid.handler.FluidHandlerForwarder;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import mekanism.api.Action;
 import mekanism.api.chemical.gas.Gas;
 import mekanism.api.chemical.gas.GasStack;
@@ -48,7 +51,6 @@ import net.minecraftforge.common.capabilities.CapabilityInject;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
-import net.minecraftforge.fluids.capability.templates.EmptyFluidHandler;
 
 import javax.annotation.Nullable;
 import java.util.Map;
@@ -63,8 +65,13 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
 
         super(FluidPortType.Mekanism, part, IoMode.Passive);
         this._capability = LazyOptional.of(() -> this);
-        this._capabilityForwarder = new FluidHandlerForwarder(EmptyFluidHandler.INSTANCE);
-        this._consumer = null;
+        this._consumer = this.createConsumerCache();
+        this._source = null;
+        this._sourceType = FluidType.Gas;
+        this._resolvedFluid = null;
+        this._fluidToGas = null;
+        this._gasToFluid = null;
+        this._tankView = GasStack.EMPTY;
     }
 
     //region IFluidPortHandler
@@ -78,11 +85,23 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
     @Override
     public int outputFluid(final FluidStack stack) {
 
-        if (null == this._consumer || this.isPassive()) {
+        final IGasHandler consumer = this._consumer.get();
+
+        if (null == consumer || this.isPassive() || stack.isEmpty() || null == this.resolveMappings(stack.getFluid())) {
             return 0;
         }
 
-        return (int)(this._consumer.insertChemical(getGasStack(stack), Action.EXECUTE).getAmount());
+        final long offered = this._fluidToGas.getProductAmount(stack.getAmount());
+
+        if (offered <= 0) {
+            return 0;
+        }
+
+        // a new offer every time, see IFluidPortHandler.outputFluid()
+        final long accepted = offered - consumer.insertChemical(new GasStack(this._fluidToGas.getProduct(), offered),
+                Action.EXECUTE).getAmount();
+
+        return null == this._gasToFluid ? 0 : this._gasToFluid.getProductAmount((int)accepted);
     }
 
     /**
@@ -104,7 +123,7 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
      */
     @Override
     public boolean isConnected() {
-        return null != this._consumer;
+        return this._consumer.isPresent();
     }
 
     /**
@@ -115,7 +134,7 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
      */
     @Override
     public void checkConnections(@Nullable final IWorldReader world, final BlockPos position) {
-        this._consumer = this.lookupConsumer(world, position, CAPAP_MEKANISM_GASHANDLER,
+        this.lookupConsumer(world, position, CAPAP_MEKANISM_GASHANDLER,
                 te -> te instanceof IFluidPortHandler, this._consumer);
     }
 
@@ -126,7 +145,7 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
 
     @Override
     public void update() {
-        this.updateCapabilityForwarder();
+        this.updateSource();
     }
 
     /**
@@ -157,7 +176,25 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
 
     @Override
     public GasStack getChemicalInTank(int idx) {
-        return 0 != idx ? GasStack.EMPTY : getGasStack(this._capabilityForwarder.getFluidInTank(0));
+
+        if (0 != idx || null == this.resolveSourceMappings()) {
+            return GasStack.EMPTY;
+        }
+
+        final long amount = this._fluidToGas.getProductAmount(this.getSourceAmount());
+
+        if (amount <= 0) {
+            return GasStack.EMPTY;
+        }
+
+        // a stack returned only to be read, so it is reused until the tank contents change (see IFluidPortHandler.outputFluid())
+
+        if (this._tankView.isEmpty() || this._tankView.getType() != this._fluidToGas.getProduct() ||
+                this._tankView.getAmount() != amount) {
+            this._tankView = new GasStack(this._fluidToGas.getProduct(), amount);
+        }
+
+        return this._tankView;
     }
 
     @Override
@@ -167,7 +204,7 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
 
     @Override
     public long getTankCapacity(int idx) {
-        return 0 == idx ? this._capabilityForwarder.getTankCapacity(0) : 0;
+        return 0 == idx && null != this._source ? this._source.getCapacity() : 0;
     }
 
     @Override
@@ -185,48 +222,79 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
     @Override
     public GasStack extractChemical(int idx, long amount, Action action) {
 
-        final FluidStack currentStack = this._capabilityForwarder.getFluidInTank(0);
-
-        if (0 != idx || currentStack.isEmpty()) {
-            return GasStack.EMPTY;
-        }
-
-        final IMapping<Fluid, Gas> fluidMapping = getFluidMapping(currentStack.getFluid());
-
-        if (null == fluidMapping) {
+        if (0 != idx || amount <= 0 || null == this.resolveSourceMappings() || null == this._gasToFluid) {
             return GasStack.EMPTY;
         }
 
-        final IMapping<Gas, Fluid> gasMapping = getGasMapping(fluidMapping.getProduct());
+        final int amountToRemove = this._gasToFluid.getProductAmount((int)Math.min(amount, Integer.MAX_VALUE));
 
-        if (null == gasMapping) {
+        if (amountToRemove <= 0) {
             return GasStack.EMPTY;
         }
 
-        final int amountToRemove = gasMapping.getProductAmount((int)Math.max(amount, Integer.MAX_VALUE));
-        final FluidStack removed = this._capabilityForwarder.drain(amountToRemove, action.toFluidAction());
+        final FluidStack removed = this._source.extract(this._sourceType, amountToRemove,
+                action.execute() ? OperationMode.Execute : OperationMode.Simulate);
 
-        return getGasStack(removed);
+        return removed.isEmpty() ? GasStack.EMPTY :
+                new GasStack(this._fluidToGas.getProduct(), this._fluidToGas.getProductAmount(removed.getAmount()));
     }
 
     //endregion
     //region internals
 
-    private void updateCapabilityForwarder() {
-        this._capabilityForwarder.setHandler(this.getPart().evalOnController(
-                c -> c.getFluidHandler(IoDirection.Output).orElse(EmptyFluidHandler.INSTANCE),
-                EmptyFluidHandler.INSTANCE));
+    /**
+     * Get direct access to the tank of the controller the Fluid Ports in output mode extract fluids from
+     */
+    private void updateSource() {
+
+        this._source = this.getPart().evalOnController(
+                c -> c.getFluidHandler(IoDirection.Output).isPresent() ? c.getFluidContainer() : null,
+                null);
+
+        if (null != this._source) {
+            this._sourceType = this._source.getFluidTypeFrom(IoDirection.Output);
+        }
+    }
+
+    private int getSourceAmount() {
+        return FluidType.Gas == this._sourceType ? this._source.getGasAmount() : this._source.getLiquidAmount();
     }
 
-    private static GasStack getGasStack(final FluidStack fluidStack) {
-        return fluidStack.isEmpty() ? GasStack.EMPTY : getGasStack(fluidStack.getFluid(), fluidStack.getAmount());
+    /**
+     * Resolve the mappings between the fluid in the source tank and its gas
+     *
+     * @return the fluid to gas mapping or null if the tank is empty or its fluid could not be converted to a gas
+     */
+    @Nullable
+    private IMapping<Fluid, Gas> resolveSourceMappings() {
+
+        if (null == this._source) {
+            return null;
+        }
+
+        final Fluid fluid = (FluidType.Gas == this._sourceType ? this._source.getGas() : this._source.getLiquid()).orElse(null);
+
+        return null == fluid ? null : this.resolveMappings(fluid);
     }
 
-    private static GasStack getGasStack(final Fluid fluid, final int amount) {
+    /**
+     * Resolve the mappings between the given fluid and its gas, looking them up only if the fluid is not the
+     * one that was resolved last
+     *
+     * @param fluid the fluid
+     * @return the fluid to gas mapping or null if the fluid could not be converted to a gas
+     */
+    @Nullable
+    private IMapping<Fluid, Gas> resolveMappings(final Fluid fluid) {
+
+        if (fluid != this._resolvedFluid) {
 
-        final IMapping<Fluid, Gas> mapping = getFluidMapping(fluid);
+            this._resolvedFluid = fluid;
+            this._fluidToGas = getFluidMapping(fluid);
+            this._gasToFluid = null != this._fluidToGas ? getGasMapping(this._fluidToGas.getProduct()) : null;
+        }
 
-        return null != mapping ? new GasStack(mapping.getProduct(), mapping.getProductAmount(amount)) : GasStack.EMPTY;
+        return this._fluidToGas;
     }
 
     @Nullable
@@ -291,9 +359,20 @@ public class FluidPortHandlerMekanism<Controller extends AbstractGeneratorMultib
     private static Map<Fluid, IMapping<Fluid, Gas>> s_fluidToGas;
     private static Map<Gas, IMapping<Gas, Fluid>> s_gasToFluid;
 
-    private IGasHandler _consumer;
-    private final FluidHandlerForwarder _capabilityForwarder;
+    private final CachedCapability<IGasHandler> _consumer;
     private final LazyOptional<IGasHandler> _capability;
 
+    @Nullable
+    private IFluidContainer _source;
+    private FluidType _sourceType;
+
+    @Nullable
+    private Fluid _resolvedFluid;
+    @Nullable
+    private IMapping<Fluid, Gas> _fluidToGas;
+    @Nullable
+    private IMapping<Gas, Fluid> _gasToFluid;
+    private GasStack _tankView;
+
     //endregion
 }
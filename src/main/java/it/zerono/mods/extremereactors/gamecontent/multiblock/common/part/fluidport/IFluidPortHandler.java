@@ -60,8 +60,13 @@ public interface IFluidPortHandler<Controller extends AbstractGeneratorMultibloc
 
     /**
      * If this is a Active Fluid Port in output mode, send fluid to the connected consumer (if there is one)
+     * <p>
+     * The stack offered to the consumer belong to another mod from then on and it is free to keep or to modify it, so
+     * the offered stacks are never reused: callers must pass a new stack to every call and implementations that convert
+     * the fluid to something else must offer a new stack every time too. Stacks returned only to be read (like the
+     * content of a tank) could instead be cached
      *
-     * @param stack FluidStack representing the Fluid and maximum amount of fluid to be sent out.
+     * @param stack FluidStack representing the Fluid and maximum amount of fluid to be sent out. It is handed over to the consumer
      * @return the amount of fluid accepted by the consumer
      */
     int outputFluid(FluidStack stack);
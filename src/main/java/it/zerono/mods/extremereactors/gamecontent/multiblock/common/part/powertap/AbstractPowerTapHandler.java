@@ -38,6 +38,7 @@ public abstract class AbstractPowerTapHandler<Controller extends AbstractGenerat
 
         super(part, mode);
         this._system = energySystem;
+        this._stats = new PowerTapStats();
     }
 
     protected IWideEnergyProvider getEnergyProvider() {
@@ -58,10 +59,21 @@ public abstract class AbstractPowerTapHandler<Controller extends AbstractGenerat
         return this._system;
     }
 
+    /**
+     * Get the throughput statistics of this IPowerTapHandler
+     *
+     * @return the statistics
+     */
+    @Override
+    public PowerTapStats getStats() {
+        return this._stats;
+    }
+
     //endregion
     //region internals
 
     private final EnergySystem _system;
+    private final PowerTapStats _stats;
 
     //endregion
 }
@@ -18,8 +18,15 @@
 
 package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap;
 
+import net.minecraft.util.math.BlockPos;
+
 public interface IPowerTap/*<Controller extends AbstractGeneratorMultiblockController<Controller, V>,
         V extends IMultiblockGeneratorVariant>*/ {
 
     IPowerTapHandler/*<Controller, V>*/ getPowerTapHandler();
+
+    /**
+     * @return the position of the Power Tap in the world
+     */
+    BlockPos getWorldPosition();
 }
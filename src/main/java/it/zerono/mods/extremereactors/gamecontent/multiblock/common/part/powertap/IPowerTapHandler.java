@@ -58,4 +58,27 @@ public interface IPowerTapHandler
      * @return the amount of energy accepted by the consumer
      */
     double outputEnergy(double amount);
+
+    /**
+     * Get the amount of energy the connected consumer (if there is one) would accept right now, without sending any
+     *
+     * @param maxAmount the maximum amount of energy that could be sent
+     * @return the amount of energy the consumer would accept
+     */
+    double getEnergyAcceptance(double maxAmount);
+
+    /**
+     * Called by a distribution, in place of {@link #outputEnergy(double)}, when the connected consumer would not accept
+     * any energy. This is the transfer step for such a consumer: {@link #getEnergyAcceptance(double)} must not change
+     * anything
+     */
+    default void onEnergyRefused() {
+    }
+
+    /**
+     * Get the throughput statistics of this IPowerTapHandler
+     *
+     * @return the statistics
+     */
+    PowerTapStats getStats();
 }
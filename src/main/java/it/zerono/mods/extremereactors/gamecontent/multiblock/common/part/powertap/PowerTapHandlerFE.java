@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powert
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.CachedCapability;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockVariantProvider;
 import it.zerono.mods.zerocore.lib.data.IoMode;
@@ -43,7 +44,7 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
     public PowerTapHandlerFE(final T part, final IoMode mode) {
 
         super(EnergySystem.ForgeEnergy, part, mode);
-        this._consumer = null;
+        this._consumer = this.createConsumerCache();
         this._capability = LazyOptional.of(() -> this);
     }
 
@@ -57,20 +58,43 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
      */
     public double outputEnergy(double amount) {
 
-        if (null == this._consumer || this.isPassive()) {
+        final IEnergyStorage consumer = this._consumer.get();
+
+        if (null == consumer || this.isPassive()) {
             return 0;
         }
 
         final int maxUnits = (int) Math.min(amount, Integer.MAX_VALUE);
 
-        return this._consumer.receiveEnergy(maxUnits, false);
+        return consumer.receiveEnergy(maxUnits, false);
+    }
+
+    /**
+     * Get the amount of energy the connected consumer (if there is one and we are in active mode) would accept
+     * right now, without sending any
+     *
+     * @param maxAmount the maximum amount of energy that could be sent
+     * @return the amount of energy the consumer would accept
+     */
+    @Override
+    public double getEnergyAcceptance(double maxAmount) {
+
+        final IEnergyStorage consumer = this._consumer.get();
+
+        if (null == consumer || this.isPassive()) {
+            return 0;
+        }
+
+        final int maxUnits = (int) Math.min(maxAmount, Integer.MAX_VALUE);
+
+        return consumer.receiveEnergy(maxUnits, true);
     }
 
     /**
      * @return true if there is a consumer connected, false otherwise
      */
     public boolean isConnected() {
-        return null != this._consumer;
+        return this._consumer.isPresent();
     }
 
     /**
@@ -80,7 +104,7 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
      * @param position the PowerTap position
      */
     public void checkConnections(@Nullable IWorldReader world, BlockPos position) {
-        this._consumer = this.lookupConsumer(world, position, CAPAP_FORGE_ENERGYSTORAGE,
+        this.lookupConsumer(world, position, CAPAP_FORGE_ENERGYSTORAGE,
                 te -> te instanceof IPowerTapHandler, this._consumer);
     }
 
@@ -180,7 +204,7 @@ public class PowerTapHandlerFE<Controller extends AbstractGeneratorMultiblockCon
     @CapabilityInject(IEnergyStorage.class)
     private static Capability<IEnergyStorage> CAPAP_FORGE_ENERGYSTORAGE = null;
 
-    private IEnergyStorage _consumer;
+    private final CachedCapability<IEnergyStorage> _consumer;
     private final LazyOptional<IEnergyStorage> _capability;
 
     //endregion
@@ -0,0 +1,144 @@
+/*
+ *
+ * PowerTapStats.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap;
+
+import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Throughput statistics of a Power Tap, updated by the machine every time it distribute its energy
+ */
+public class PowerTapStats {
+
+    /**
+     * @return the amount of energy the consumer connected to the Power Tap was ready to accept in the last distribution
+     */
+    public double getEnergyBudgetLastTick() {
+        return this._budgetLastTick;
+    }
+
+    /**
+     * @return the amount of energy sent to the consumer in the last distribution
+     */
+    public double getEnergyTransferredLastTick() {
+        return this._transferredLastTick;
+    }
+
+    /**
+     * @return the average amount of energy sent to the consumer per tick, over about one second
+     */
+    public double getEnergyTransferredAverage() {
+        return this._transferredAverage;
+    }
+
+    /**
+     * @return the highest amount of energy sent to the consumer in a single tick
+     */
+    public double getEnergyTransferredPeak() {
+        return this._transferredPeak;
+    }
+
+    /**
+     * @return the total amount of energy sent to the consumer
+     */
+    public double getEnergyTransferredTotal() {
+        return this._transferredTotal;
+    }
+
+    /**
+     * Record the result of a distribution
+     *
+     * @param budget the amount of energy the consumer was ready to accept
+     * @param transferred the amount of energy sent to the consumer
+     */
+    public void update(final double budget, final double transferred) {
+
+        this._budgetLastTick = budget;
+        this._transferredLastTick = transferred;
+        this._transferredAverage += (transferred - this._transferredAverage) * AVERAGE_WEIGHT;
+        this._transferredTotal += transferred;
+
+        if (transferred > this._transferredPeak) {
+            this._transferredPeak = transferred;
+        }
+    }
+
+    /**
+     * Collect the statistics in a Map, for the computer peripherals
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> toMap() {
+
+        final Map<String, Object> stats = Maps.newHashMap();
+
+        stats.put("energyBudgetLastTick", this.getEnergyBudgetLastTick());
+        stats.put("energyTransferredLastTick", this.getEnergyTransferredLastTick());
+        stats.put("energyTransferredAverage", this.getEnergyTransferredAverage());
+        stats.put("energyTransferredPeak", this.getEnergyTransferredPeak());
+        stats.put("energyTransferredTotal", this.getEnergyTransferredTotal());
+
+        return stats;
+    }
+
+    /**
+     * Collect the statistics of the given Power Taps in a Map, indexed by the order of the Power Taps,
+     * for the computer peripherals
+     *
+     * @param powerTaps the Power Taps
+     * @param origin the positions of the Power Taps are reported relative to this position
+     * @return the statistics
+     */
+    public static Map<Integer, Map<String, Object>> toMap(final Collection<? extends IPowerTap> powerTaps,
+                                                         final BlockPos origin) {
+
+        final Map<Integer, Map<String, Object>> allStats = Maps.newHashMapWithExpectedSize(powerTaps.size());
+        int idx = 0;
+
+        for (final IPowerTap tap : powerTaps) {
+
+            final IPowerTapHandler handler = tap.getPowerTapHandler();
+            final Map<String, Object> stats = handler.getStats().toMap();
+
+            stats.put("location", tap.getWorldPosition().subtract(origin));
+            stats.put("active", handler.isActive());
+            stats.put("connected", handler.isConnected());
+            stats.put("energySystem", handler.getEnergySystem().getUnit());
+            allStats.put(idx++, stats);
+        }
+
+        return allStats;
+    }
+
+    //region internals
+
+    // exponential moving average over about 20 ticks
+    private static final double AVERAGE_WEIGHT = 1.0 / 20.0;
+
+    private double _budgetLastTick;
+    private double _transferredLastTick;
+    private double _transferredAverage;
+    private double _transferredPeak;
+    private double _transferredTotal;
+
+    //endregion
+}
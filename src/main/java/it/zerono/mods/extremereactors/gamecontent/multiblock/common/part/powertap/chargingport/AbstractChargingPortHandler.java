@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powert
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.CachedCapability;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.AbstractPowerTapHandler;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockVariantProvider;
@@ -33,7 +34,6 @@ import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IWorldReader;
 import net.minecraftforge.common.capabilities.Capability;
-import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.ItemStackHandler;
 
@@ -53,6 +53,7 @@ public abstract class AbstractChargingPortHandler<Controller extends AbstractGen
         this._input = new TileEntityItemStackHandler(part, 1);
         this._output = new TileEntityItemStackHandler(part, 1);
         this._chargingRate = 0.0f;
+        this._cachedStack = ItemStack.EMPTY;
     }
 
     protected double getChargingRate() {
@@ -64,22 +65,39 @@ public abstract class AbstractChargingPortHandler<Controller extends AbstractGen
         return this._chargingRate;
     }
 
-    protected <T> LazyOptional<T> getCapabilityFromInventory(final Capability<T> capability, final boolean ejectIfNotFound) {
+    /**
+     * Get the requested capability from the item in the input slot.
+     * The capability is resolved only when the item in the input slot change, or when the item invalidate it
+     *
+     * @param cache the cache for the capability of the item
+     * @param capability the capability to get
+     * @param ejectIfNotFound if true, move the item to the output slot if it doesn't provide the capability
+     * @param <C> the type of the capability
+     * @return the capability instance or null if there is none
+     */
+    @Nullable
+    protected <C> C getCapabilityFromInventory(final CachedCapability<C> cache, final Capability<C> capability,
+                                               final boolean ejectIfNotFound) {
 
         final ItemStack stack = this._input.getStackInSlot(0);
 
-        if (!stack.isEmpty()) {
+        if (stack.isEmpty()) {
 
-            final LazyOptional<T> cap = stack.getCapability(capability, null);
+            this._cachedStack = ItemStack.EMPTY;
+            cache.clear();
+            return null;
+        }
 
-            if (ejectIfNotFound && !cap.isPresent()) {
+        if (stack != this._cachedStack || !cache.isPresent()) {
+
+            this._cachedStack = stack;
+
+            if (!cache.set(stack.getCapability(capability, null)) && ejectIfNotFound) {
                 this.onChargeComplete();
             }
-
-            return cap;
         }
 
-        return LazyOptional.empty();
+        return cache.get();
     }
 
     protected void onChargeComplete() {
@@ -188,6 +206,7 @@ public abstract class AbstractChargingPortHandler<Controller extends AbstractGen
     private final ItemStackHandler _input;
     private final ItemStackHandler _output;
     private double _chargingRate;
+    private ItemStack _cachedStack;
 
     //endregion
 }
@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powert
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.AbstractGeneratorMultiblockController;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.CachedCapability;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.variant.IMultiblockGeneratorVariant;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockVariantProvider;
 import it.zerono.mods.zerocore.lib.energy.EnergySystem;
@@ -34,6 +35,8 @@ public class ChargingPortHandlerFE<Controller extends AbstractGeneratorMultibloc
 
     public ChargingPortHandlerFE(final T part) {
         super(EnergySystem.ForgeEnergy, part);
+        // an invalidated capability will be resolved again, from the same item, on the next charging attempt
+        this._chargeable = new CachedCapability<>(() -> {});
     }
 
     //region IPowerTapHandler
@@ -47,9 +50,8 @@ public class ChargingPortHandlerFE<Controller extends AbstractGeneratorMultibloc
     public double outputEnergy(double amount) {
 
         final int transfer = (int)Math.min(amount, this.getChargingRate());
-        final double used = this.getCapabilityFromInventory(CAPAP_FORGE_ENERGYSTORAGE, true)
-                .map(cap -> (double)recharge(cap, transfer))
-                .orElse(amount);
+        final IEnergyStorage chargeable = this.getCapabilityFromInventory(this._chargeable, CAPAP_FORGE_ENERGYSTORAGE, true);
+        final double used = null != chargeable ? recharge(chargeable, transfer) : amount;
 
         if (used == 0) {
             this.onChargeComplete();
@@ -58,6 +60,34 @@ public class ChargingPortHandlerFE<Controller extends AbstractGeneratorMultibloc
         return used;
     }
 
+    /**
+     * Get the amount of energy the item in the input slot would accept right now, up to the charging rate.
+     * The item is never moved by this method, see {@link #onEnergyRefused()}
+     *
+     * @param maxAmount the maximum amount of energy that could be sent
+     * @return the amount of energy the item would accept
+     */
+    @Override
+    public double getEnergyAcceptance(double maxAmount) {
+
+        final IEnergyStorage chargeable = this.getCapabilityFromInventory(this._chargeable, CAPAP_FORGE_ENERGYSTORAGE, false);
+
+        if (null == chargeable) {
+            return 0;
+        }
+
+        final int transfer = (int)Math.min(maxAmount, this.getChargingRate());
+        return chargeable.canReceive() ? chargeable.receiveEnergy(transfer, true) : 0;
+    }
+
+    /**
+     * The item in the input slot is fully charged, or it can't be charged at all: move it to the output slot
+     */
+    @Override
+    public void onEnergyRefused() {
+        this.onChargeComplete();
+    }
+
     //endregion
     //region internals
 
@@ -69,5 +99,7 @@ public class ChargingPortHandlerFE<Controller extends AbstractGeneratorMultibloc
     @CapabilityInject(IEnergyStorage.class)
     private static Capability<IEnergyStorage> CAPAP_FORGE_ENERGYSTORAGE = null;
 
+    private final CachedCapability<IEnergyStorage> _chargeable;
+
     //endregion
 }
@@ -20,11 +20,13 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.reactor.*;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
 import it.zerono.mods.zerocore.lib.IDebugMessages;
 import it.zerono.mods.zerocore.lib.data.nbt.IMergeableEntity;
 import it.zerono.mods.zerocore.lib.data.stack.IndexedStackContainer;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.LogicalSide;
 
 import java.util.Optional;
@@ -146,11 +148,7 @@ public class FuelContainer
 
         this._radiationFuelUsage += fuelUsed;
 
-        if (this._radiationFuelUsage < 1f) {
-            return;
-        }
-
-        final int fuelToConvert = Math.min(this.getFuelAmount(), (int) this._radiationFuelUsage);
+        final int fuelToConvert = ReactorPhysics.getFuelToConvert(this._radiationFuelUsage, this.getFuelAmount());
 
         if (fuelToConvert <= 0) {
             return;
@@ -189,6 +187,17 @@ public class FuelContainer
         }
     }
 
+    /**
+     * Add the content of the container to the fields sent to the players enlisted for updates
+     *
+     * @param schema the schema to add the fields to
+     */
+    public void defineClientSyncFields(final DeltaSyncSchema schema) {
+
+        this.defineClientSyncField(schema, ReactantType.Fuel);
+        this.defineClientSyncField(schema, ReactantType.Waste);
+    }
+
     public float getFuelReactivity() {
 
         final Optional<Reactant> reactant = this.getFuel();
@@ -274,6 +283,31 @@ public class FuelContainer
     //endregion
     //region internals
 
+    private void defineClientSyncField(final DeltaSyncSchema schema, final ReactantType type) {
+
+        schema.addObject(() -> this.map(type, (reactant, amount) -> new ReactantStack(reactant, amount), ReactantStack.EMPTY),
+                stack -> {
+
+                    this.clear(type);
+                    stack.getReactant().ifPresent(reactant -> this.insert(type, reactant, stack.getAmount(), OperationMode.Execute));
+                },
+                FuelContainer::writeReactantStack, FuelContainer::readReactantStack, ReactantStack::areIdentical);
+    }
+
+    private static void writeReactantStack(final PacketBuffer buffer, final ReactantStack stack) {
+
+        buffer.writeUtf(stack.getReactant().map(Reactant::getName).orElse(""));
+        buffer.writeVarInt(stack.getAmount());
+    }
+
+    private static ReactantStack readReactantStack(final PacketBuffer buffer) {
+
+        final Optional<Reactant> reactant = ReactantsRegistry.get(buffer.readUtf());
+        final int amount = buffer.readVarInt();
+
+        return reactant.map(r -> new ReactantStack(r, amount)).orElse(ReactantStack.EMPTY);
+    }
+
     private float _radiationFuelUsage;
 
     //endregion
@@ -21,6 +21,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSets;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.zerocore.lib.data.gfx.Colour;
 import net.minecraft.util.Direction;
 import net.minecraft.world.World;
 
@@ -68,6 +69,21 @@ public class FuelRodsLayout {
         return IntSets.EMPTY_SET;
     }
 
+    public IntSet updateFuelData(Colour fuelColour, Colour wasteColour, float assemblyFuelQuota, float assemblyWasteQuota) {
+        return IntSets.EMPTY_SET;
+    }
+
+    /**
+     * Compute the amount of a reactant held by a single fuel rods assembly
+     *
+     * @param reactantAmount the amount of the reactant in the Reactor
+     * @param fuelRodsInReactor the number of fuel rods in the Reactor
+     * @return the amount of the reactant in the assembly
+     */
+    public float getAssemblyReactantQuota(final int reactantAmount, final int fuelRodsInReactor) {
+        return (float)reactantAmount / (float)Math.max(1, fuelRodsInReactor) * (float)this.getRodLength();
+    }
+
     public void updateFuelRodsOcclusion(final World world, final Collection<ReactorFuelRodEntity> fuelRods,
                                         final boolean interiorInvisible) {
     }
@@ -0,0 +1,242 @@
+/*
+ *
+ * FuelRodsRayTable.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Collection;
+
+/**
+ * The paths followed by the radiation emitted by each Fuel Rod, stored as the {@link ModeratorsGrid} cells crossed by each ray.
+ * <p>
+ * The table only depend on the shape of the Reactor, so it is built when the Reactor is assembled: changes to the
+ * blocks inside the Reactor are tracked by the {@link ModeratorsGrid} and are seen by the rays without rebuilding the table
+ * <p>
+ * The state of the Fuel Rods needed to irradiate from them (if they are linked to a Control Rod and how much it is inserted)
+ * is packed in parallel arrays, indexed like the sources, so a batch irradiation never touch the Fuel Rods entities.
+ * The arrays are copied from the Fuel Rods when first used and again after {@link #invalidateSources()} is called
+ */
+public class FuelRodsRayTable
+        implements ReactorPhysics.IRays {
+
+    public static final FuelRodsRayTable EMPTY = new FuelRodsRayTable();
+
+    /**
+     * How many rays each Fuel Rod emit
+     */
+    public static final int RAYS_PER_SOURCE = 4;
+
+    /**
+     * How many blocks each ray could cross
+     */
+    public static final int RAY_LENGTH = 4;
+
+    /**
+     * Build a new ray table for the given Fuel Rods
+     *
+     * @param grid the moderators grid of the Reactor
+     * @param layout the Fuel Rods layout of the Reactor
+     * @param sources the Fuel Rods of the Reactor
+     * @return the new ray table
+     */
+    public static FuelRodsRayTable create(final ModeratorsGrid grid, final FuelRodsLayout layout,
+                                          final Collection<? extends IIrradiationSource> sources) {
+
+        final Direction[] directions = layout.getRadiateDirections();
+        final FuelRodsRayTable table = new FuelRodsRayTable(grid, sources.size());
+        final BlockPos.Mutable position = new BlockPos.Mutable();
+        int sourceIndex = 0;
+        int offset = 0;
+
+        for (final IIrradiationSource source : sources) {
+
+            table._sources[sourceIndex++] = source;
+            table._offsets.put(source, offset);
+
+            for (int ray = 0; ray < RAYS_PER_SOURCE; ++ray) {
+
+                final Direction direction = directions[ray];
+
+                position.set(source.getWorldPosition());
+
+                for (int step = 0; step < RAY_LENGTH; ++step) {
+
+                    position.move(direction);
+                    table._rays[offset++] = grid.getCellIndex(position);
+                }
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * @return the number of Fuel Rods in the table
+     */
+    public int getSourcesCount() {
+        return this._sources.length;
+    }
+
+    /**
+     * Get a Fuel Rod from the table
+     *
+     * @param sourceIndex the index of the Fuel Rod, between 0 and {@link #getSourcesCount()} (excluded)
+     * @return the Fuel Rod
+     */
+    public IIrradiationSource getSource(final int sourceIndex) {
+        return this._sources[sourceIndex];
+    }
+
+    /**
+     * Check if the Fuel Rod at the given index is linked to a Control Rod
+     *
+     * @param sourceIndex the index of the Fuel Rod, between 0 and {@link #getSourcesCount()} (excluded)
+     * @return true if the Fuel Rod is linked, false otherwise
+     */
+    public boolean isLinked(final int sourceIndex) {
+        return this._linked[sourceIndex];
+    }
+
+    /**
+     * Get how much of the radiation of the Fuel Rod at the given index is let out by its Control Rod
+     *
+     * @param sourceIndex the index of the Fuel Rod, between 0 and {@link #getSourcesCount()} (excluded)
+     * @return 1 if the Control Rod is fully retracted, 0 if it is fully inserted
+     */
+    public float getControlRodModifier(final int sourceIndex) {
+        return this._controlRodModifiers[sourceIndex];
+    }
+
+    /**
+     * Copy the state of the Fuel Rods in the table, if it was invalidated since the last time
+     */
+    public void refreshSources() {
+
+        if (!this._sourcesStale) {
+            return;
+        }
+
+        for (int i = 0; i < this._sources.length; ++i) {
+
+            final IIrradiationSource source = this._sources[i];
+
+            this._linked[i] = source.isLinked();
+            this._controlRodModifiers[i] = getControlRodModifier(source);
+        }
+
+        this._sourcesStale = false;
+    }
+
+    /**
+     * Notify the table that the link or the Control Rod insertion of some of the Fuel Rods changed
+     */
+    public void invalidateSources() {
+        this._sourcesStale = true;
+    }
+
+    /**
+     * Get how much of the radiation of a Fuel Rod is let out by its Control Rod. 100% insertion = 100% reduction
+     *
+     * @param source the Fuel Rod
+     * @return 1 if the Control Rod is fully retracted, 0 if it is fully inserted
+     */
+    public static float getControlRodModifier(final IIrradiationSource source) {
+        return (float)(100 - source.getControlRodInsertionRatio()) / 100f;
+    }
+
+    /**
+     * Get the offset of the first cell of the rays of the Fuel Rod at the given index
+     *
+     * @param sourceIndex the index of the Fuel Rod, between 0 and {@link #getSourcesCount()} (excluded)
+     * @return the offset of the first cell of the first ray emitted by the Fuel Rod
+     */
+    public int getRaysOffset(final int sourceIndex) {
+        return sourceIndex * RAYS_PER_SOURCE * RAY_LENGTH;
+    }
+
+    /**
+     * Get the offset of the first cell of the rays of the given Fuel Rod
+     *
+     * @param source the Fuel Rod
+     * @return the offset of the first cell of the first ray emitted by the Fuel Rod or -1 if the Fuel Rod is not in the table.
+     * The rays of a Fuel Rod are stored one after the other, each one {@link #RAY_LENGTH} cells long
+     */
+    public int getRaysOffset(final IIrradiationSource source) {
+        return this._offsets.getInt(source);
+    }
+
+    /**
+     * Get the Moderator crossed by a ray
+     *
+     * @param rayCell the offset of a ray cell
+     * @return the Moderator found in the ray cell
+     */
+    public IRadiationModerator getModerator(final int rayCell) {
+        return this._grid.getModerator(this._rays[rayCell]);
+    }
+
+    //region ReactorPhysics.IRays
+
+    /**
+     * Moderate the radiation that cross a ray cell with the Moderator found there
+     *
+     * @param rayCell the offset of the ray cell
+     * @param data the irradiation results to update
+     * @param radiation the radiation that cross the cell
+     */
+    @Override
+    public void moderateRadiation(final int rayCell, final IrradiationData data, final RadiationPacket radiation) {
+        this._grid.getModerator(this._rays[rayCell]).moderateRadiation(data, radiation);
+    }
+
+    //endregion
+    //region internals
+
+    private FuelRodsRayTable() {
+        this(ModeratorsGrid.EMPTY, 0);
+    }
+
+    private FuelRodsRayTable(final ModeratorsGrid grid, final int sourcesCount) {
+
+        this._grid = grid;
+        this._sources = new IIrradiationSource[sourcesCount];
+        this._rays = new int[sourcesCount * RAYS_PER_SOURCE * RAY_LENGTH];
+        this._linked = new boolean[sourcesCount];
+        this._controlRodModifiers = new float[sourcesCount];
+        this._sourcesStale = true;
+        this._offsets = new Reference2IntOpenHashMap<>(sourcesCount);
+        this._offsets.defaultReturnValue(-1);
+    }
+
+    private final ModeratorsGrid _grid;
+    private final IIrradiationSource[] _sources;
+    private final int[] _rays;
+    private final boolean[] _linked;
+    private final float[] _controlRodModifiers;
+    private boolean _sourcesStale;
+    private final Reference2IntMap<IIrradiationSource> _offsets;
+
+    //endregion
+}
@@ -21,7 +21,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Optional;
+import javax.annotation.Nullable;
 
 public interface IReactorEnvironment {
 
@@ -37,7 +37,12 @@ public interface IReactorEnvironment {
 
     float getReactorHeatLossCoefficient();
 
-    Optional<IIrradiationSource> getNextIrradiationSource();
+    /**
+     * Get the next Fuel Rod to irradiate from
+     * @return the next Fuel Rod, or null if there are no Fuel Rods
+     */
+    @Nullable
+    IIrradiationSource getNextIrradiationSource();
 
     /**
      * Get a Moderator from the Reactor internal volume
@@ -46,6 +51,12 @@ public interface IReactorEnvironment {
      */
     IRadiationModerator getModerator(BlockPos position);
 
+    /**
+     * Get the precomputed paths followed by the radiation emitted by the Fuel Rods
+     * @return the ray table of the Reactor
+     */
+    FuelRodsRayTable getFuelRodsRayTable();
+
     int getPartsCount(ReactorPartType type);
 
 
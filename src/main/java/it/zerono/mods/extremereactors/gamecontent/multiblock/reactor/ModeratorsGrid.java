@@ -0,0 +1,512 @@
+/*
+ *
+ * ModeratorsGrid.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.zerono.mods.extremereactors.ExtremeReactors;
+import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
+import it.zerono.mods.extremereactors.api.reactor.Moderator;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+import it.zerono.mods.zerocore.lib.data.geometry.CuboidBoundingBox;
+import it.zerono.mods.zerocore.lib.world.WorldHelper;
+import net.minecraft.block.BlockState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A snapshot of the Moderators inside a Reactor, stored as a palette index for each interior block.
+ * <p>
+ * The grid is filled when the Reactor is assembled and then patched when a block inside the Reactor change
+ * so that the irradiation code never need to query the world while the Reactor is ticking.
+ * <p>
+ * The grid never read the world on its own while the Reactor is running: it is rebuilt from scratch when a chunk
+ * it covers is loaded, when a Moderator it holds is replaced by an unknown one or when the tags are reloaded.
+ * Block changes made without notifying the neighbors are not seen by the grid, they are only caught by a full
+ * rebuild that happens every few minutes as a safety net.
+ * <p>
+ * The grids are indexed by world and chunk section. The index is only accessed from the server thread and the
+ * grids of a world are dropped from it when the world is unloaded
+ */
+@Mod.EventBusSubscriber(modid = ExtremeReactors.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class ModeratorsGrid {
+
+    public static final ModeratorsGrid EMPTY = new ModeratorsGrid();
+
+    public static final int WALL_CELL = -1;
+
+    public static final IRadiationModerator MODERATOR_NONE = (data, packet) -> {};
+    public static final IRadiationModerator MODERATOR_AIR = (data, packet) -> applyModerator(data, packet, Moderator.AIR);
+
+    /**
+     * Create a new grid for the interior of a Reactor and start tracking block changes for it
+     *
+     * @param world the world the Reactor is in
+     * @param boundingBox the bounding box of the Reactor, walls included
+     * @return the new grid
+     */
+    public static ModeratorsGrid create(final World world, final CuboidBoundingBox boundingBox) {
+
+        final ModeratorsGrid grid = new ModeratorsGrid(world, boundingBox);
+
+        grid.rebuild();
+        grid.forEachSection((sections, key) -> sections.computeIfAbsent(key, k -> new ObjectArrayList<>(1)).add(grid));
+
+        synchronized (s_activeGrids) {
+            s_activeGrids.add(grid);
+        }
+
+        return grid;
+    }
+
+    /**
+     * Stop tracking block changes for this grid. The grid could not be used anymore after this call
+     */
+    public void release() {
+
+        if (EMPTY != this) {
+
+            this.forEachSection((sections, key) -> {
+
+                final List<ModeratorsGrid> grids = sections.get(key);
+
+                if (null != grids) {
+
+                    grids.remove(this);
+
+                    if (grids.isEmpty()) {
+                        sections.remove(key);
+                    }
+                }
+            });
+
+            synchronized (s_activeGrids) {
+                s_activeGrids.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Get a Moderator from the grid
+     *
+     * @param position the position to look up
+     * @return the Moderator at the requested position
+     */
+    public IRadiationModerator getModerator(final BlockPos position) {
+        return this.getModerator(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Get a Moderator from the grid
+     *
+     * @param x the X coordinate of the position to look up
+     * @param y the Y coordinate of the position to look up
+     * @param z the Z coordinate of the position to look up
+     * @return the Moderator at the requested position
+     */
+    public IRadiationModerator getModerator(final int x, final int y, final int z) {
+
+        final int index = this.getCellIndex(x, y, z);
+
+        if (index < 0) {
+            // the walls of the Reactor absorb all the radiation, everything else is outside of it
+            return this.isWall(x, y, z) ? MODERATOR_WALL : MODERATOR_NONE;
+        }
+
+        final int paletteIndex = this._cells[index] & 0xFFFF;
+
+        return UNRESOLVED_INDEX != paletteIndex ? this._palette.get(paletteIndex) : this.resolve(x, y, z);
+    }
+
+    /**
+     * Get the index of the grid cell for the given position
+     *
+     * @param position the position to look up
+     * @return the index of the cell or {@link #WALL_CELL} if the position is not inside the Reactor interior
+     */
+    public int getCellIndex(final BlockPos position) {
+
+        final int index = this.getCellIndex(position.getX(), position.getY(), position.getZ());
+
+        return index < 0 ? WALL_CELL : index;
+    }
+
+    /**
+     * Get a Moderator from the grid
+     *
+     * @param cellIndex the index of the cell to look up, as returned by {@link #getCellIndex(BlockPos)}
+     * @return the Moderator in the requested cell
+     */
+    public IRadiationModerator getModerator(final int cellIndex) {
+
+        if (cellIndex < 0) {
+            return MODERATOR_WALL;
+        }
+
+        final int paletteIndex = this._cells[cellIndex] & 0xFFFF;
+
+        if (UNRESOLVED_INDEX != paletteIndex) {
+            return this._palette.get(paletteIndex);
+        }
+
+        final int layer = this._sizeX * this._sizeZ;
+
+        return this.resolve(this._minX + cellIndex % this._sizeX, this._minY + cellIndex / layer,
+                this._minZ + (cellIndex % layer) / this._sizeX);
+    }
+
+    /**
+     * Rebuild the grid if it is stale or if the safety rebuild is due.
+     * Must be called from the thread that own the world of the Reactor, once per Reactor tick
+     */
+    public void update() {
+
+        if (this._stale || ++this._ticksSinceRebuild >= SAFETY_REBUILD_INTERVAL) {
+            this.rebuild();
+        }
+    }
+
+    //region internals
+
+    private ModeratorsGrid() {
+
+        this._world = null;
+        this._minX = this._minY = this._minZ = 0;
+        this._sizeX = this._sizeY = this._sizeZ = 0;
+        this._cells = new short[0];
+        this._palette = new ObjectArrayList<>(0);
+        this._paletteIndices = new Reference2IntOpenHashMap<>(0);
+        this._ticksSinceRebuild = 0;
+        this._stale = false;
+    }
+
+    private ModeratorsGrid(final World world, final CuboidBoundingBox boundingBox) {
+
+        final BlockPos min = boundingBox.getMin();
+        final BlockPos max = boundingBox.getMax();
+
+        this._world = world;
+        this._minX = min.getX() + 1;
+        this._minY = min.getY() + 1;
+        this._minZ = min.getZ() + 1;
+        this._sizeX = Math.max(0, max.getX() - min.getX() - 1);
+        this._sizeY = Math.max(0, max.getY() - min.getY() - 1);
+        this._sizeZ = Math.max(0, max.getZ() - min.getZ() - 1);
+        this._cells = new short[this._sizeX * this._sizeY * this._sizeZ];
+        this._palette = new ObjectArrayList<>(16);
+        this._paletteIndices = new Reference2IntOpenHashMap<>(16);
+        this._paletteIndices.defaultReturnValue(-1);
+        this._ticksSinceRebuild = 0;
+        this._stale = false;
+    }
+
+    static void applyModerator(final IrradiationData data, final RadiationPacket radiation, final Moderator moderator) {
+        ReactorPhysics.moderateByBlock(data, radiation, moderator.getAbsorption(), moderator.getHeatEfficiency(),
+                moderator.getModeration());
+    }
+
+    private void rebuild() {
+
+        final BlockPos.Mutable position = new BlockPos.Mutable();
+
+        this._stale = false;
+        this._ticksSinceRebuild = 0;
+        this._palette.clear();
+        this._paletteIndices.clear();
+        this.addToPalette(MODERATOR_AIR, MODERATOR_AIR);
+        this.addToPalette(MODERATOR_NONE, MODERATOR_NONE);
+
+        for (int y = 0; y < this._sizeY; ++y) {
+            for (int z = 0; z < this._sizeZ; ++z) {
+                for (int x = 0; x < this._sizeX; ++x) {
+
+                    position.set(this._minX + x, this._minY + y, this._minZ + z);
+                    this._cells[(y * this._sizeZ + z) * this._sizeX + x] = (short)this.getPaletteIndex(position);
+                }
+            }
+        }
+    }
+
+    private void onBlockChanged(final BlockPos position) {
+
+        final int index = this.getCellIndex(position.getX(), position.getY(), position.getZ());
+
+        if (index >= 0) {
+            this.updateCell(index, position);
+        }
+    }
+
+    private void updateCell(final int index, final BlockPos position) {
+
+        if (this._stale) {
+            // the whole grid will be rebuilt anyway
+            return;
+        }
+
+        final int oldPaletteIndex = this._cells[index] & 0xFFFF;
+        final int newPaletteIndex = this.getPaletteIndex(position);
+
+        if (oldPaletteIndex != newPaletteIndex) {
+
+            this._cells[index] = (short)newPaletteIndex;
+
+            if (UNRESOLVED_INDEX != oldPaletteIndex && this._palette.get(oldPaletteIndex) instanceof TileEntity) {
+                // a tile entity moderator was replaced: rebuild the palette on the next tick to drop it
+                this._stale = true;
+            }
+        }
+    }
+
+    /**
+     * Call the given consumer for each chunk section that contains part of the interior of this grid
+     *
+     * @param consumer the consumer to call with the sections index of the grid world and the key of a section
+     */
+    private void forEachSection(final BiConsumer<Long2ObjectMap<List<ModeratorsGrid>>, Long> consumer) {
+
+        if (0 == this._cells.length) {
+            return;
+        }
+
+        final Long2ObjectMap<List<ModeratorsGrid>> sections = s_gridsBySection.computeIfAbsent(this._world, w -> new Long2ObjectOpenHashMap<>(8));
+
+        for (int sy = SectionPos.blockToSectionCoord(this._minY); sy <= SectionPos.blockToSectionCoord(this._minY + this._sizeY - 1); ++sy) {
+            for (int sz = SectionPos.blockToSectionCoord(this._minZ); sz <= SectionPos.blockToSectionCoord(this._minZ + this._sizeZ - 1); ++sz) {
+                for (int sx = SectionPos.blockToSectionCoord(this._minX); sx <= SectionPos.blockToSectionCoord(this._minX + this._sizeX - 1); ++sx) {
+                    consumer.accept(sections, SectionPos.asLong(sx, sy, sz));
+                }
+            }
+        }
+
+        if (sections.isEmpty()) {
+            s_gridsBySection.remove(this._world);
+        }
+    }
+
+    private int getCellIndex(final int x, final int y, final int z) {
+
+        final int localX = x - this._minX;
+        final int localY = y - this._minY;
+        final int localZ = z - this._minZ;
+
+        if (localX < 0 || localY < 0 || localZ < 0 || localX >= this._sizeX || localY >= this._sizeY || localZ >= this._sizeZ) {
+            return -1;
+        }
+
+        return (localY * this._sizeZ + localZ) * this._sizeX + localX;
+    }
+
+    private boolean isWall(final int x, final int y, final int z) {
+        return this._cells.length > 0 &&
+                x >= this._minX - 1 && x <= this._minX + this._sizeX &&
+                y >= this._minY - 1 && y <= this._minY + this._sizeY &&
+                z >= this._minZ - 1 && z <= this._minZ + this._sizeZ;
+    }
+
+    private int getPaletteIndex(final BlockPos position) {
+
+        final BlockState blockState = this._world.getBlockState(position);
+
+        if (blockState.isAir()) {
+            return AIR_INDEX;
+        }
+
+        if (blockState.hasTileEntity()) {
+
+            final TileEntity te = WorldHelper.getLoadedTile(this._world, position);
+
+            return te instanceof IRadiationModerator ? this.addToPalette(te, (IRadiationModerator)te) : NONE_INDEX;
+        }
+
+        final Moderator moderator = ReactantHelper.getModeratorFrom(blockState, Moderator.AIR);
+
+        if (Moderator.AIR == moderator) {
+            return AIR_INDEX;
+        }
+
+        final int index = this._paletteIndices.getInt(moderator);
+
+        return -1 != index ? index : this.addToPalette(moderator, (data, packet) -> applyModerator(data, packet, moderator));
+    }
+
+    private int addToPalette(final Object key, final IRadiationModerator moderator) {
+
+        int index = this._paletteIndices.getInt(key);
+
+        if (-1 == index) {
+
+            if (this._palette.size() >= UNRESOLVED_INDEX) {
+                // the palette is full (only on very big Reactors), resolve this position on every lookup
+                return UNRESOLVED_INDEX;
+            }
+
+            index = this._palette.size();
+            this._palette.add(moderator);
+            this._paletteIndices.put(key, index);
+        }
+
+        return index;
+    }
+
+    private IRadiationModerator resolve(final int x, final int y, final int z) {
+
+        final BlockPos position = new BlockPos(x, y, z);
+        final BlockState blockState = this._world.getBlockState(position);
+
+        if (blockState.isAir()) {
+            return MODERATOR_AIR;
+        }
+
+        if (blockState.hasTileEntity()) {
+
+            final TileEntity te = WorldHelper.getLoadedTile(this._world, position);
+
+            return te instanceof IRadiationModerator ? (IRadiationModerator)te : MODERATOR_NONE;
+        }
+
+        return (data, packet) -> applyModerator(data, packet, ReactantHelper.getModeratorFrom(blockState, Moderator.AIR));
+    }
+
+    @SubscribeEvent(receiveCanceled = true)
+    public static void onNeighborNotify(final BlockEvent.NeighborNotifyEvent event) {
+
+        if (event.getWorld().isClientSide() || !(event.getWorld() instanceof World)) {
+            return;
+        }
+
+        final Long2ObjectMap<List<ModeratorsGrid>> sections = s_gridsBySection.get(event.getWorld());
+
+        if (null == sections) {
+            return;
+        }
+
+        final BlockPos position = event.getPos();
+        final List<ModeratorsGrid> grids = sections.get(SectionPos.asLong(SectionPos.blockToSectionCoord(position.getX()),
+                SectionPos.blockToSectionCoord(position.getY()), SectionPos.blockToSectionCoord(position.getZ())));
+
+        if (null != grids) {
+            for (int i = 0; i < grids.size(); ++i) {
+                grids.get(i).onBlockChanged(position);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(final ChunkEvent.Load event) {
+
+        final IWorld world = event.getWorld();
+
+        if (null == world || world.isClientSide()) {
+            return;
+        }
+
+        final Long2ObjectMap<List<ModeratorsGrid>> sections = s_gridsBySection.get(world);
+
+        if (null == sections) {
+            return;
+        }
+
+        // the blocks in the chunk may have changed while it was unloaded: rebuild the grids on the next Reactor tick
+
+        final ChunkPos chunkPosition = event.getChunk().getPos();
+
+        for (int sy = 0; sy < 16; ++sy) {
+
+            final List<ModeratorsGrid> grids = sections.get(SectionPos.asLong(chunkPosition.x, sy, chunkPosition.z));
+
+            if (null != grids) {
+                for (int i = 0; i < grids.size(); ++i) {
+                    grids.get(i)._stale = true;
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(final WorldEvent.Unload event) {
+
+        if (event.getWorld().isClientSide()) {
+            return;
+        }
+
+        final Long2ObjectMap<List<ModeratorsGrid>> sections = s_gridsBySection.remove(event.getWorld());
+
+        if (null != sections) {
+            synchronized (s_activeGrids) {
+                sections.values().forEach(s_activeGrids::removeAll);
+            }
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
+
+        // the Moderators may have changed: rebuild the grids on the next Reactor tick, from the server thread
+        synchronized (s_activeGrids) {
+            s_activeGrids.forEach(grid -> grid._stale = true);
+        }
+    }
+
+    // the walls of the Reactor discard all the remaining radiation, see AbstractReactorEntity
+    private static final IRadiationModerator MODERATOR_WALL = (data, packet) -> ReactorPhysics.absorbAll(packet);
+
+    private static final int AIR_INDEX = 0;
+    private static final int NONE_INDEX = 1;
+    private static final int UNRESOLVED_INDEX = 0xFFFF;
+
+    // the number of Reactor ticks between two safety rebuilds of a grid (10 minutes)
+    private static final int SAFETY_REBUILD_INTERVAL = 20 * 60 * 10;
+
+    // all the grids, used only to invalidate them when the tags are reloaded
+    private static final Set<ModeratorsGrid> s_activeGrids = Collections.newSetFromMap(new WeakHashMap<>());
+    // the grids indexed by world and chunk section, only accessed from the server thread. Cleared when a world is unloaded
+    private static final Reference2ObjectMap<IWorld, Long2ObjectMap<List<ModeratorsGrid>>> s_gridsBySection =
+            new Reference2ObjectOpenHashMap<>(4);
+
+    private final World _world;
+    private final int _minX, _minY, _minZ;
+    private final int _sizeX, _sizeY, _sizeZ;
+    private final short[] _cells;
+    private final List<IRadiationModerator> _palette;
+    private final Reference2IntMap<Object> _paletteIndices;
+    private int _ticksSinceRebuild;
+    private volatile boolean _stale;
+
+    //endregion
+}
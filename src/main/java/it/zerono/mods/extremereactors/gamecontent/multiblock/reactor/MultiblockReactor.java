@@ -19,18 +19,18 @@
 package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLists;
 import it.zerono.mods.extremereactors.ExtremeReactors;
 import it.zerono.mods.extremereactors.Log;
-import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
 import it.zerono.mods.extremereactors.api.reactor.*;
-import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
-import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.*;
-import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.AbstractMultiblockEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.AreaUpdateTracker;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.ClientInterest;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTapHandler;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.network.UpdateClientsFuelRodsLayout;
@@ -42,7 +42,7 @@ import it.zerono.mods.zerocore.lib.IDebuggable;
 import it.zerono.mods.zerocore.lib.block.ModBlock;
 import it.zerono.mods.zerocore.lib.block.multiblock.IMultiblockPartTypeProvider;
 import it.zerono.mods.zerocore.lib.data.IoDirection;
-import it.zerono.mods.zerocore.lib.data.IteratorTracker;
+import it.zerono.mods.zerocore.lib.data.gfx.Colour;
 import it.zerono.mods.zerocore.lib.data.geometry.CuboidBoundingBox;
 import it.zerono.mods.zerocore.lib.data.stack.AllowedHandlerAction;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
@@ -52,19 +52,21 @@ import it.zerono.mods.zerocore.lib.multiblock.IMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.ITickableMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.cuboid.AbstractCuboidMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
-import it.zerono.mods.zerocore.lib.world.WorldHelper;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.profiler.IProfiler;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.LogicalSide;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.DoubleSupplier;
@@ -82,9 +84,12 @@ public class MultiblockReactor
 
         this._fuelContainer = new FuelContainer();
         this._fluidContainer = new FluidContainer(FLUID_CONTAINER_ACCESS);
+        this._fluidContainer.setInsertListener(this::wakeUp);
         this._fuelHeat = new Heat();
         this._reactorHeat = new Heat();
         this._fuelRodsLayout = FuelRodsLayout.EMPTY;
+        this._moderatorsGrid = ModeratorsGrid.EMPTY;
+        this._fuelRodsRayTable = FuelRodsRayTable.EMPTY;
         this._uiStats = new Stats(this._fuelContainer);
 
         this._active = false;
@@ -98,16 +103,23 @@ public class MultiblockReactor
         //noinspection unchecked
         this._attachedTickables = ObjectLists.emptyList();
         this._attachedControlRods = Lists.newLinkedList();
-        this._attachedFuelRods = Lists.newLinkedList();
+        this._attachedFuelRods = new ObjectArrayList<>(16);
+        this._fuelRodsByIndex = Collections.emptyList();
         this._attachedSolidAccessPorts = new ObjectArrayList<>(8);
         this._attachedPowerTaps = ObjectLists.emptyList();
         this._attachedFluidPorts = this._attachedOutputFluidPorts = this._attachedInputFluidPorts = ObjectLists.emptyList();
+        this._energyDistributor = new EnergyDistributor();
+        this._outputFluidDistributor = new FluidDistributor();
+        this._inputFluidDistributor = new FluidDistributor();
 
-        this._irradiationSourceTracker = new IteratorTracker<>(this._attachedFuelRods::iterator);
+        this._irradiationSourceIndex = 0;
         this._logic = new ReactorLogic(this, this.getEnergyBuffer());
 
-        this._sendUpdateFuelRodsLayoutDelayedRunnable = CodeHelper.delayedRunnable(this::sendUpdateFuelRodsLayout, 20 * 10);
+        this._sendUpdateFuelRodsLayoutDelayedRunnable = CodeHelper.delayedRunnable(() -> this.sendUpdateFuelRodsLayout(false), 20 * 10);
         this._sendUpdateFuelRodsLayout = false;
+        this._lastFuelRodsLayoutSent = null;
+        this._fuelRodsLayoutReceived = false;
+        this._fuelRodsLayoutUpdates = new AreaUpdateTracker<>(ClientInterest::getDistantFuelRodsUpdateInterval);
     }
 
     /**
@@ -126,7 +138,7 @@ public class MultiblockReactor
         this._fuelToReactorHeatTransferCoefficient = 0f;
         this._reactorToCoolantSystemHeatTransferCoefficient = 0f;
         this._reactorHeatLossCoefficient = 0f;
-        this._irradiationSourceTracker.reset();
+        this._irradiationSourceIndex = 0;
         this._logic.reset();
         this.getEnergyBuffer().setEnergyStored(0);
 
@@ -136,6 +148,7 @@ public class MultiblockReactor
         this.updateReactorToCoolantSystemHeatTransferCoefficient();
         this.updateReactorHeatLossCoefficient();
         this.resizeFluidContainer();
+        this._logic.invalidateHeatTransferCoefficients();
     }
 
     public Optional<ReactorControlRodEntity> getControlRodByIndex(int index) {
@@ -147,16 +160,28 @@ public class MultiblockReactor
         }
     }
 
+    /**
+     * @return the Power Taps attached to this machine
+     */
+    public Collection<IPowerTap> getPowerTaps() {
+        return Collections.unmodifiableCollection(this._attachedPowerTaps);
+    }
+
     public void onFluidPortChanged() {
         this.rebuildFluidPortsSubsets();
     }
 
+    public void onControlRodInsertionChanged() {
+        this._fuelRodsRayTable.invalidateSources();
+    }
+
     public void onUpdateClientsFuelRodsLayout(final UpdateClientsFuelRodsLayout message) {
 
-        if (this.calledByLogicalClient()) {
+        if (this.calledByLogicalClient() && this.isAssembled() && this._fuelRodsLayout.isNotEmpty()) {
 
-            this._fuelContainer.syncDataFrom(message.getFuelContainerData(), SyncReason.NetworkUpdate);
-            this.updateClientFuelRodsLayout();
+            this._fuelRodsLayoutReceived = true;
+            this.refreshFuelRods(this._fuelRodsLayout.updateFuelData(Colour.fromARGB(message.getFuelColour()),
+                    Colour.fromARGB(message.getWasteColour()), message.getAssemblyFuelQuota(), message.getAssemblyWasteQuota()));
         }
     }
 
@@ -201,6 +226,7 @@ public class MultiblockReactor
         }
 
         this._active = active;
+        this.wakeUp();
 
         if (active) {
             this.forEachConnectedParts(IMultiblockPart::onMachineActivated);
@@ -336,10 +362,21 @@ public class MultiblockReactor
         return this._reactorHeatLossCoefficient;
     }
 
+    @Nullable
     @Override
-    public Optional<IIrradiationSource> getNextIrradiationSource() {
-        return this._irradiationSourceTracker.next()
-                .map(s -> s);
+    public IIrradiationSource getNextIrradiationSource() {
+
+        final int count = this._attachedFuelRods.size();
+
+        if (0 == count) {
+            return null;
+        }
+
+        if (this._irradiationSourceIndex >= count) {
+            this._irradiationSourceIndex = 0;
+        }
+
+        return this._attachedFuelRods.get(this._irradiationSourceIndex++);
     }
 
     @SuppressWarnings("unchecked")
@@ -382,37 +419,12 @@ public class MultiblockReactor
      */
     @Override
     public IRadiationModerator getModerator(final BlockPos position) {
-
-        if (!this.getBoundingBox().contains(position)) {
-            return MODERATOR_NONE;
-        }
-
-        final World world = this.getWorld();
-        final BlockState blockState = world.getBlockState(position);
-
-        if (blockState.isAir()) {
-            return MODERATOR_AIR;
-        }
-
-        if (blockState.hasTileEntity()) {
-
-            final TileEntity te = WorldHelper.getLoadedTile(world, position);
-
-            return te instanceof IRadiationModerator ? (IRadiationModerator)te : MODERATOR_NONE;
-
-        } else {
-
-            return (data, packet) -> applyModerator(data, packet, ReactantHelper.getModeratorFrom(blockState, Moderator.AIR));
-        }
+        return this._moderatorsGrid.getModerator(position);
     }
 
-    private static void applyModerator(final IrradiationData data, final RadiationPacket radiation, final Moderator moderator) {
-
-        final float radiationAbsorbed = radiation.intensity * moderator.getAbsorption() * (1f - radiation.hardness);
-
-        radiation.intensity = Math.max(0f, radiation.intensity - radiationAbsorbed);
-        radiation.hardness /= moderator.getModeration();
-        data.environmentEnergyAbsorption += moderator.getHeatEfficiency() * radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
+    @Override
+    public FuelRodsRayTable getFuelRodsRayTable() {
+        return this._fuelRodsRayTable;
     }
 
     /**
@@ -537,6 +549,7 @@ public class MultiblockReactor
         if (this.getWasteEjectionMode() != newSetting) {
 
             this._wasteEjectionSetting = newSetting;
+            this.wakeUp();
             this.markReferenceCoordDirty();
         }
     }
@@ -669,7 +682,11 @@ public class MultiblockReactor
         if (syncReason.isNetworkUpdate()) {
 
             this.syncChildDataEntityFrom(this._uiStats, "stats", data, syncReason);
-            this.updateClientFuelRodsLayout();
+
+            // once the server started sending the fuel rods layout, only follow that
+            if (!this._fuelRodsLayoutReceived) {
+                this.updateClientFuelRodsLayout();
+            }
         }
     }
 
@@ -715,10 +732,27 @@ public class MultiblockReactor
         final IProfiler profiler = this.getWorld().getProfiler();
 
         profiler.push("sendTickUpdate");
-        this.sendUpdates();
+        this.sendClientDeltaUpdates();
         profiler.pop();
     }
 
+    @Override
+    protected void defineClientSyncFields(final DeltaSyncSchema schema) {
+
+        super.defineClientSyncFields(schema);
+
+        schema.addBoolean(this::isMachineActive, active -> this._active = active)
+                .addEnum(this::getWasteEjectionMode, setting -> this._wasteEjectionSetting = setting, WasteEjectionSetting.class)
+                .addFloat(this._logic::getFertility, fertility -> this._logic.setFertility((float)fertility))
+                .addDouble(this._fuelHeat, this._fuelHeat::set)
+                .addDouble(this._reactorHeat, this._reactorHeat::set)
+                .addDouble(this._uiStats::getAmountGeneratedLastTick, this._uiStats::setAmountGeneratedLastTick)
+                .addFloat(this._uiStats::getFuelConsumedLastTick, fuel -> this._uiStats.setFuelConsumedLastTick((float)fuel));
+
+        this._fuelContainer.defineClientSyncFields(schema);
+        this._fluidContainer.defineClientSyncFields(schema);
+    }
+
     //endregion
     //region AbstractMultiblockController
 
@@ -738,6 +772,8 @@ public class MultiblockReactor
     @Override
     protected void onPartAdded(IMultiblockPart<MultiblockReactor> newPart) {
 
+        this.wakeUp();
+
         if (newPart instanceof ITickableMultiblockPart && this.calledByLogicalServer()) {
 
             if (ObjectLists.<ITickableMultiblockPart>emptyList() == this._attachedTickables) {
@@ -779,6 +815,8 @@ public class MultiblockReactor
     @Override
     protected void onPartRemoved(IMultiblockPart<MultiblockReactor> oldPart) {
 
+        this.wakeUp();
+
         if (oldPart instanceof ITickableMultiblockPart && this.calledByLogicalServer() &&
                 ObjectLists.<ITickableMultiblockPart>emptyList() != this._attachedTickables) {
             this._attachedTickables.remove(oldPart);
@@ -804,6 +842,8 @@ public class MultiblockReactor
     @Override
     protected void onMachineAssembled() {
 
+        this.wakeUp();
+
         // set the output EnergySystem
         if (this._attachedPowerTaps.isEmpty()) {
             this.setOutputEnergySystem(INTERNAL_ENERGY_SYSTEM);
@@ -815,6 +855,8 @@ public class MultiblockReactor
                     this::setOutputEnergySystem);
         }
 
+        this._energyDistributor.setPowerTaps(this._attachedPowerTaps);
+
         // operation mode : if any coolant ports is present we are in active mode
         this._mode = this.isAnyPartConnected(part -> part instanceof ReactorFluidPortEntity) ?
                 OperationalMode.Active : OperationalMode.Passive;
@@ -824,11 +866,18 @@ public class MultiblockReactor
 
         // build a new fuel rods layout and link all the fuel rods to their control rods
         this._fuelRodsLayout = this.createFuelRodsLayout();
+        this._lastFuelRodsLayoutSent = null;
+        this._fuelRodsLayoutReceived = false;
+        this._fuelRodsLayoutUpdates.reset();
         this._attachedControlRods.forEach(rod -> rod.linkToFuelRods(this._fuelRodsLayout.getRodLength()));
+        this.rebuildFuelRodsByIndex();
 
         // set fuel rods occlusion status
         this._fuelRodsLayout.updateFuelRodsOcclusion(this.getWorld(), this._attachedFuelRods, this.isInteriorInvisible());
 
+        // capture the moderators inside the reactor and the paths of the radiation emitted by the fuel rods
+        this.callOnLogicalServer(this::rebuildModeratorsGrid);
+
         // gather outgoing coolant ports
         this.rebuildFluidPortsSubsets();
 
@@ -848,6 +897,7 @@ public class MultiblockReactor
         this.updateReactorToCoolantSystemHeatTransferCoefficient();
         this.updateReactorHeatLossCoefficient();
         this.resizeFluidContainer();
+        this._logic.invalidateHeatTransferCoefficients();
 
         // re-render the whole reactor
         this.callOnLogicalSide(
@@ -874,6 +924,9 @@ public class MultiblockReactor
         // do not call setMachineActive() here
         this._active = false;
 
+        this.releaseModeratorsGrid();
+        this._fuelRodsByIndex = Collections.emptyList();
+
         this.markMultiblockForRenderUpdate();
     }
 
@@ -961,11 +1014,19 @@ public class MultiblockReactor
         this._attachedTickables.clear();
         this._attachedControlRods.clear();
         this._attachedFuelRods.clear();
+        this._fuelRodsByIndex = Collections.emptyList();
         this._attachedSolidAccessPorts.clear();
         this._attachedPowerTaps.clear();
         this._attachedFluidPorts.clear();
         this._attachedOutputFluidPorts = this._attachedInputFluidPorts = ObjectLists.emptyList();
+        this._energyDistributor.setPowerTaps(this._attachedPowerTaps);
+        this._outputFluidDistributor.setFluidPorts(this._attachedOutputFluidPorts);
+        this._inputFluidDistributor.setFluidPorts(this._attachedInputFluidPorts);
         this._fuelRodsLayout = FuelRodsLayout.EMPTY;
+        this._lastFuelRodsLayoutSent = null;
+        this._fuelRodsLayoutReceived = false;
+        this._fuelRodsLayoutUpdates.reset();
+        this.releaseModeratorsGrid();
     }
 
     /**
@@ -983,7 +1044,27 @@ public class MultiblockReactor
 
         profiler.push("Extreme Reactors|Reactor update"); // main section
 
+        if (this.shouldSkipServerTick()) {
+
+            // idle: only the tickables could change something (redstone ports, creative generators)
+            profiler.push("Tickables");
+            this._attachedTickables.forEach(ITickableMultiblockPart::onMultiblockServerTick);
+            profiler.pop(); // Tickables
+            profiler.pop(); // main section
+            return false;
+        }
+
+        final double startingEnergy = this.getEnergyBuffer().getEnergyStored();
+        final double startingFuelHeat = this._fuelHeat.getAsDouble();
+        final double startingReactorHeat = this._reactorHeat.getAsDouble();
+        final float startingFertility = this._logic.getFertility();
+        final int startingFuel = this.getFuelAmount();
+        final int startingWaste = this.getWasteAmount();
+        final int startingGas = this._fluidContainer.getGasAmount();
+        final int startingLiquid = this._fluidContainer.getLiquidAmount();
+
         profiler.push("Generate");
+        this._moderatorsGrid.update();
         final boolean updateResult = this._logic.update();
 
         //////////////////////////////////////////////////////////////////////////////
@@ -1006,15 +1087,31 @@ public class MultiblockReactor
 
         profiler.popPush("Mark4Update");
 
-        if (!this._sendUpdateFuelRodsLayout && updateResult) {
+        final boolean idle = !this.isMachineActive() &&
+                startingEnergy == this.getEnergyBuffer().getEnergyStored() &&
+                startingFuelHeat == this._fuelHeat.getAsDouble() && startingReactorHeat == this._reactorHeat.getAsDouble() &&
+                startingFertility == this._logic.getFertility() &&
+                startingFuel == this.getFuelAmount() && startingWaste == this.getWasteAmount() &&
+                startingGas == this._fluidContainer.getGasAmount() && startingLiquid == this._fluidContainer.getLiquidAmount();
+
+        if (!this._sendUpdateFuelRodsLayout && updateResult && this.isFuelRodsLayoutChanged()) {
             this._sendUpdateFuelRodsLayout = true;
         }
 
         if (this._sendUpdateFuelRodsLayout) {
-            this._sendUpdateFuelRodsLayoutDelayedRunnable.run();
+
+            if (idle) {
+                // nothing will change anymore: don't keep the players far away from the Reactor waiting
+                this.sendUpdateFuelRodsLayout(true);
+            } else {
+                this._sendUpdateFuelRodsLayoutDelayedRunnable.run();
+            }
         }
 
         profiler.pop(); // Mark4Update
+
+        this.updateIdleState(idle);
+
         profiler.pop(); // main section
         return updateResult;
     }
@@ -1112,6 +1209,7 @@ public class MultiblockReactor
         }
 
         messages.addUnlocalized("Active: %s", this.isMachineActive());
+        messages.addUnlocalized("Sleeping: %s", this.isSleeping());
 
         this.getEnergyBuffer().getDebugMessages(side, messages);
         messages.addUnlocalized("Casing Heat: %1$.4f C; Fuel Heat: %2$.4f C", this._reactorHeat.getAsDouble(), this._fuelHeat.getAsDouble());
@@ -1156,6 +1254,8 @@ public class MultiblockReactor
 
         this._attachedInputFluidPorts = new ObjectArrayList<>(input);
         this._attachedOutputFluidPorts = new ObjectArrayList<>(output);
+        this._inputFluidDistributor.setFluidPorts(this._attachedInputFluidPorts);
+        this._outputFluidDistributor.setFluidPorts(this._attachedOutputFluidPorts);
     }
 
     private FuelRodsLayout createFuelRodsLayout() {
@@ -1185,42 +1285,129 @@ public class MultiblockReactor
         return ExtremeReactors.getProxy().createFuelRodsLayout(direction, length);
     }
 
+    private void rebuildModeratorsGrid() {
+
+        this._moderatorsGrid.release();
+        this._moderatorsGrid = ModeratorsGrid.create(this.getWorld(), this.getBoundingBox());
+        this._fuelRodsRayTable = FuelRodsRayTable.create(this._moderatorsGrid, this._fuelRodsLayout, this._attachedFuelRods);
+    }
+
+    private void releaseModeratorsGrid() {
+
+        this._moderatorsGrid.release();
+        this._moderatorsGrid = ModeratorsGrid.EMPTY;
+        this._fuelRodsRayTable = FuelRodsRayTable.EMPTY;
+    }
+
     private void updateClientFuelRodsLayout() {
 
         if (this.isAssembled() && this._fuelRodsLayout.isNotEmpty()) {
+            this.refreshFuelRods(this._fuelRodsLayout.updateFuelData(this._fuelContainer, this.getFuelRodsCount()));
+        }
+    }
+
+    private void refreshFuelRods(final IntSet updatedIndices) {
+
+        if (!updatedIndices.isEmpty()) {
 
-            final IntSet updatedIndices = this._fuelRodsLayout.updateFuelData(this._fuelContainer, this.getFuelRodsCount());
+            // re-render the fuel rod blocks when the fuel status changes
+            // the chunk sections containing them are re-rendered once, at the end of the tick
 
-            if (!updatedIndices.isEmpty()) {
+            if (updatedIndices.contains(-1)) {
 
-                // re-render all the fuel rod blocks when the fuel status changes
+                this._attachedFuelRods.forEach(MultiblockReactor::scheduleFuelRodRenderUpdate);
 
-                if (updatedIndices.contains(-1)) {
-                    this._attachedFuelRods.forEach(rod -> {
-                        rod.requestModelDataUpdate();
-                        rod.getPartWorldOrFail().sendBlockUpdated(rod.getWorldPosition(), rod.getBlockState(), rod.getBlockState(), 0);
-                    });
-                } else {
-                    this._attachedFuelRods.stream()
-                            .filter(rod -> updatedIndices.contains(rod.getFuelRodIndex()))
-                            .forEach(AbstractMultiblockEntity::markForRenderUpdate);
+            } else {
+
+                final IntIterator iterator = updatedIndices.iterator();
+
+                while (iterator.hasNext()) {
+
+                    final int index = iterator.nextInt();
+
+                    if (index >= 0 && index < this._fuelRodsByIndex.size()) {
+                        this._fuelRodsByIndex.get(index).forEach(MultiblockReactor::scheduleFuelRodRenderUpdate);
+                    }
                 }
             }
         }
     }
 
-    private void sendUpdateFuelRodsLayout() {
+    private static void scheduleFuelRodRenderUpdate(final ReactorFuelRodEntity rod) {
+
+        rod.invalidateClientModelData();
+        ExtremeReactors.getProxy().scheduleRenderUpdate(rod.getWorldPosition());
+    }
+
+    /**
+     * Group the fuel rods by their index in the fuel rods layout. Must be called after the fuel rods are linked
+     * to their control rods
+     */
+    private void rebuildFuelRodsByIndex() {
+
+        final int rodLength = this._fuelRodsLayout.getRodLength();
+
+        if (rodLength <= 0) {
+
+            this._fuelRodsByIndex = Collections.emptyList();
+            return;
+        }
+
+        final int rodsPerIndex = Math.max(1, this._attachedFuelRods.size() / rodLength);
+        final List<List<ReactorFuelRodEntity>> fuelRodsByIndex = new ObjectArrayList<>(rodLength);
+
+        for (int i = 0; i < rodLength; ++i) {
+            fuelRodsByIndex.add(new ObjectArrayList<>(rodsPerIndex));
+        }
+
+        for (final ReactorFuelRodEntity rod : this._attachedFuelRods) {
+
+            final int index = rod.getFuelRodIndex();
+
+            if (index >= 0 && index < rodLength) {
+                fuelRodsByIndex.get(index).add(rod);
+            }
+        }
+
+        this._fuelRodsByIndex = fuelRodsByIndex;
+    }
+
+    /**
+     * @return true if the fuel rods, as seen by the clients, would look different from the last time they were sent
+     */
+    private boolean isFuelRodsLayoutChanged() {
+        return null == this._lastFuelRodsLayoutSent || !this._lastFuelRodsLayoutSent.isSameLayout(
+                UpdateClientsFuelRodsLayout.getColour(this._fuelContainer, true),
+                UpdateClientsFuelRodsLayout.getColour(this._fuelContainer, false),
+                UpdateClientsFuelRodsLayout.toLevel(this._fuelRodsLayout, this.getFuelAmount(), this.getFuelRodsCount()),
+                UpdateClientsFuelRodsLayout.toLevel(this._fuelRodsLayout, this.getWasteAmount(), this.getFuelRodsCount()));
+    }
+
+    /**
+     * Send the fuel rods layout to the players around the Reactor
+     *
+     * @param flush if true, send it to the players far away from the Reactor too, without waiting for their update interval
+     */
+    private void sendUpdateFuelRodsLayout(final boolean flush) {
 
         if (!this.getReferenceTracker().isInvalid()) {
 
             final CuboidBoundingBox bb = this.getBoundingBox();
             final int radius = Math.max(bb.getLengthX(), bb.getLengthZ()) + 32;
 
-            //noinspection ConstantConditions
-            ExtremeReactors.getInstance().sendPacket(new UpdateClientsFuelRodsLayout((AbstractReactorEntity)this.getReferenceTracker().get(), this._fuelContainer),
-                    this.getWorld(), bb.getCenter(), radius);
+            if (this.isFuelRodsLayoutChanged()) {
+                //noinspection ConstantConditions
+                this._lastFuelRodsLayoutSent = new UpdateClientsFuelRodsLayout((AbstractReactorEntity)this.getReferenceTracker().get(),
+                        UpdateClientsFuelRodsLayout.getColour(this._fuelContainer, true),
+                        UpdateClientsFuelRodsLayout.getColour(this._fuelContainer, false),
+                        UpdateClientsFuelRodsLayout.toLevel(this._fuelRodsLayout, this.getFuelAmount(), this.getFuelRodsCount()),
+                        UpdateClientsFuelRodsLayout.toLevel(this._fuelRodsLayout, this.getWasteAmount(), this.getFuelRodsCount()));
+            }
 
-            this._sendUpdateFuelRodsLayout = false;
+            // players far away from the Reactor could still be waiting for the update
+            //noinspection ConstantConditions
+            this._sendUpdateFuelRodsLayout = this._fuelRodsLayoutUpdates.send((ServerWorld)this.getWorld(), bb.getCenter(),
+                    radius, this._lastFuelRodsLayoutSent, flush, (player, message) -> ExtremeReactors.getInstance().sendPacket(message, player));
         }
     }
 
@@ -1263,8 +1450,7 @@ public class MultiblockReactor
     private void distributeEnergyEqually() {
 
         final EnergyBuffer energyBuffer = this.getEnergyBuffer();
-        final double amountDistributed = distributeEnergyEqually(energyBuffer.getEnergyStored(),
-                this._attachedPowerTaps);
+        final double amountDistributed = this._energyDistributor.distribute(energyBuffer.getEnergyStored());
 
         if (amountDistributed > 0) {
             energyBuffer.modifyEnergyStored(-amountDistributed);
@@ -1277,7 +1463,7 @@ public class MultiblockReactor
      */
     private void distributeGasEqually() {
 
-        final int amountDistributed = distributeFluidEqually(this._fluidContainer.getStackCopy(FluidType.Gas), this._attachedOutputFluidPorts);
+        final int amountDistributed = this._outputFluidDistributor.distribute(this._fluidContainer.getStackCopy(FluidType.Gas));
 
         if (amountDistributed > 0) {
             this._fluidContainer.extract(FluidType.Gas, amountDistributed, OperationMode.Execute);
@@ -1289,8 +1475,8 @@ public class MultiblockReactor
      * Acquire fluids, up to the available space, equally from all the Active Coolant Ports
      */
     private boolean acquireFluidEqually() {
-        return acquireFluidEqually(this._fluidContainer.getWrapper(IoDirection.Input),
-                this._fluidContainer.getFreeSpace(FluidType.Liquid), this._attachedInputFluidPorts) > 0;
+        return this._inputFluidDistributor.acquire(this._fluidContainer.getWrapper(IoDirection.Input),
+                this._fluidContainer.getFreeSpace(FluidType.Liquid)) > 0;
     }
 
     //endregion
@@ -1545,37 +1731,44 @@ public class MultiblockReactor
     // circa 1FE per tick per external surface block
     private static final float REACTOR_HEAT_LOSS_CONDUCTIVITY = 0.001f;
 
-    private static final IRadiationModerator MODERATOR_NONE = (data, packet) -> {};
-    private static final IRadiationModerator MODERATOR_AIR = (data, packet) -> applyModerator(data, packet, Moderator.AIR);
-
     private final ReactorLogic _logic;
     private final IMultiblockReactorVariant _variant;
     private final Heat _fuelHeat;
     private final Heat _reactorHeat;
     private final FuelContainer _fuelContainer;
     private final FluidContainer _fluidContainer;
-    private final IteratorTracker<ReactorFuelRodEntity> _irradiationSourceTracker;
     private final Stats _uiStats;
 
     private FuelRodsLayout _fuelRodsLayout;
+    private ModeratorsGrid _moderatorsGrid;
+    private FuelRodsRayTable _fuelRodsRayTable;
     private WasteEjectionSetting _wasteEjectionSetting;
     private OperationalMode _mode;
     private boolean _active;
     private int _reactorVolume;
+    private int _irradiationSourceIndex;
     private float _fuelToReactorHeatTransferCoefficient;
     private float _reactorToCoolantSystemHeatTransferCoefficient;
     private float _reactorHeatLossCoefficient;
     private boolean _sendUpdateFuelRodsLayout;
+    @Nullable
+    private UpdateClientsFuelRodsLayout _lastFuelRodsLayoutSent;
+    private boolean _fuelRodsLayoutReceived;
+    private final AreaUpdateTracker<UpdateClientsFuelRodsLayout> _fuelRodsLayoutUpdates;
     private final Runnable _sendUpdateFuelRodsLayoutDelayedRunnable;
 
     private List<ITickableMultiblockPart> _attachedTickables;
     private final List<ReactorControlRodEntity> _attachedControlRods;
     private final List<ReactorFuelRodEntity> _attachedFuelRods;
+    private List<List<ReactorFuelRodEntity>> _fuelRodsByIndex;
     private final List<ReactorSolidAccessPortEntity> _attachedSolidAccessPorts;
     private List<IPowerTap> _attachedPowerTaps;
     private List<ReactorFluidPortEntity> _attachedFluidPorts;
     private List<ReactorFluidPortEntity> _attachedOutputFluidPorts;
     private List<ReactorFluidPortEntity> _attachedInputFluidPorts;
+    private final EnergyDistributor _energyDistributor;
+    private final FluidDistributor _outputFluidDistributor;
+    private final FluidDistributor _inputFluidDistributor;
 
     //endregion
 }
@@ -18,8 +18,6 @@
 
 package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import it.zerono.mods.extremereactors.api.IMapping;
 import it.zerono.mods.extremereactors.api.reactor.*;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorSolidAccessPortEntity;
@@ -30,14 +28,9 @@ import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
-import net.minecraftforge.event.TagsUpdatedEvent;
-import net.minecraftforge.eventbus.api.EventPriority;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nullable;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 public class ReactantHelper {
@@ -51,11 +44,9 @@ public class ReactantHelper {
      */
     public static boolean isValidSource(final ReactantType type, final ItemStack stack) {
 
-        return !stack.isEmpty() &&
-                ReactantMappingsRegistry.getFromSolid(stack)
-                        .map(IMapping::getProduct)
-                        .map(reactant -> type == reactant.getType())
-                        .orElse(false);
+        final IMapping<ResourceLocation, Reactant> mapping = ReactantMappingsRegistry.getFromSolidOrNull(stack);
+
+        return null != mapping && type == mapping.getProduct().getType();
     }
 
     /**
@@ -170,11 +161,10 @@ public class ReactantHelper {
         // any fuel source items available in the port?
 
         final ItemStack fuelSourceStack = fuelSource.getFuelStack();
+        final IMapping<ResourceLocation, Reactant> mapping = ReactantMappingsRegistry.getFromSolidOrNull(fuelSourceStack);
 
-        return ReactantMappingsRegistry.getFromSolid(fuelSourceStack)
-                .filter(mapping -> mapping.getProduct().getType().isFuel())
-                .map(mapping -> refuelSolid(container, fuelSource, variant, fuelSourceStack, mapping))
-                .orElse(0);
+        return null != mapping && mapping.getProduct().getType().isFuel() ?
+                refuelSolid(container, fuelSource, variant, fuelSourceStack, mapping) : 0;
     }
 
     private static int refuelSolid(final FuelContainer container, final IFuelSource<ItemStack> fuelSource,
@@ -241,50 +231,17 @@ public class ReactantHelper {
 
     @Nullable
     public static Moderator getModeratorFrom(final BlockState state) {
-        return getCachedModeratorFrom(state);
+        return ModeratorsRegistry.getFromOrNull(state);
     }
 
     public static Moderator getModeratorFrom(final BlockState state, final Moderator fallbackModerator) {
 
-        final Moderator moderator = getCachedModeratorFrom(state);
+        final Moderator moderator = ModeratorsRegistry.getFromOrNull(state);
 
         return null != moderator ? moderator : fallbackModerator;
     }
 
     public static boolean isValidModerator(final BlockState state) {
-        return null != getCachedModeratorFrom(state);
-    }
-
-    @SubscribeEvent(priority = EventPriority.LOW)
-    public static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
-        s_moderatorsCache.invalidateAll();
-    }
-
-    //region internals
-
-    @Nullable
-    private static Moderator getCachedModeratorFrom(final BlockState state) {
-
-        Moderator moderator = s_moderatorsCache.getIfPresent(state);
-
-        if (null == moderator) {
-
-            final Optional<Moderator> m = ModeratorsRegistry.getFrom(state);
-
-            if (m.isPresent()) {
-                s_moderatorsCache.put(state, moderator = m.get());
-            }
-        }
-
-        return moderator;
+        return ModeratorsRegistry.isValid(state);
     }
-
-    private static final Cache<BlockState, Moderator> s_moderatorsCache = CacheBuilder.newBuilder()
-            .initialCapacity(4)
-            .concurrencyLevel(2)
-            .maximumSize(128)
-            .expireAfterAccess(5, TimeUnit.MINUTES)
-            .build();
-
-    //endregion
 }
@@ -19,8 +19,6 @@
 package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
 
 import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
-import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
-import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
 import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
@@ -32,8 +30,6 @@ import net.minecraft.profiler.IProfiler;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Optional;
-
 public class ReactorLogic
         implements ISyncableEntity, IMergeableEntity {
 
@@ -41,11 +37,14 @@ public class ReactorLogic
 
         this._reactor = reactor;
         this._energyBuffer = energyBuffer;
-        this.setFertility(1f);
+        this._physics = new ReactorPhysics();
+        this._worldRays = new WorldRays(reactor);
+        this._coolantSystem = new CoolantSystem();
+        this._heatTransferCoefficientsStale = true;
     }
 
     public float getFertility() {
-        return this._fertility;
+        return this._physics.getFertility();
     }
     
     /**
@@ -56,6 +55,10 @@ public class ReactorLogic
         final IProfiler profiler = this._reactor.getWorld().getProfiler();
         final IHeat reactorHeat = this.getReactorHeat();
 
+        if (this._heatTransferCoefficientsStale) {
+            this.refreshHeatTransferCoefficients();
+        }
+
         //TODO variants
 
         if (Double.isNaN(reactorHeat.getAsDouble())) {
@@ -77,7 +80,7 @@ public class ReactorLogic
         this.performIrradiation();
         // - Allow radiation to decay even when reactor is off.
         profiler.popPush("Decay");
-        this.performRadiationDecay(this._reactor.isMachineActive());
+        this._physics.decayFertility(this._reactor.isMachineActive());
 
         //////////////////////////////////////////////////////////////////////////////
         // REFUELING
@@ -95,15 +98,7 @@ public class ReactorLogic
         //////////////////////////////////////////////////////////////////////////////
 
         profiler.popPush("Heat");
-        // - Fuel Pool <> Reactor Environment
-        this.transferHeatBetweenFuelAndReactor();
-        // - If we have a temperature differential between environment and coolant system, move heat between them
-        this.transferHeatBetweenReactorAndCoolant();
-        // - Do passive heat loss - this is always versus external environment
-        this.performPassiveHeatLoss();
-        // - Prevent cryogenics
-        reactorHeat.resetIfNegative();
-        this.getFuelHeat().resetIfNegative();
+        this.transferHeat(reactorHeat);
 
         //////////////////////////////////////////////////////////////////////////////
         // SEND POWER/GAS OUT
@@ -122,7 +117,16 @@ public class ReactorLogic
     }
 
     void reset() {
+
         this.setFertility(1f);
+        this._batchSourceIndex = 0;
+    }
+
+    /**
+     * Notify the logic that the size or the heat transfer coefficients of the Reactor changed
+     */
+    void invalidateHeatTransferCoefficients() {
+        this._heatTransferCoefficientsStale = true;
     }
 
     //region ISyncableEntity
@@ -147,7 +151,7 @@ public class ReactorLogic
     @Override
     public CompoundNBT syncDataTo(CompoundNBT data, ISyncableEntity.SyncReason syncReason) {
 
-        data.putFloat("fertility", this._fertility);
+        data.putFloat("fertility", this._physics.getFertility());
         return data;
     }
 
@@ -163,7 +167,7 @@ public class ReactorLogic
     public void syncDataFrom(final IMergeableEntity other) {
 
         if (other instanceof ReactorLogic) {
-            this._fertility = Math.max(this._fertility, ((ReactorLogic)other)._fertility);
+            this.setFertility(Math.max(this.getFertility(), ((ReactorLogic)other).getFertility()));
         }
     }
 
@@ -187,18 +191,10 @@ public class ReactorLogic
         return this._reactor.getFuelContainer();
     }
 
-    private int getReactorVolume() {
-        return this._reactor.getEnvironment().getReactorVolume();
-    }
-
     private Stats getUiStats() {
         return this._reactor.getUiStats();
     }
 
-    private int getFuelRodsCount() {
-        return this._reactor.getEnvironment().getPartsCount(ReactorPartType.FuelRod);
-    }
-
     private int getControlRodsCount() {
         return this._reactor.getEnvironment().getPartsCount(ReactorPartType.ControlRod);
     }
@@ -216,99 +212,167 @@ public class ReactorLogic
             return;
         }
 
-        this._reactor.getEnvironment().getNextIrradiationSource()
-                .filter(IIrradiationSource::isLinked)
-                .ifPresent(this::performIrradiationFrom);
-    }
+        final int batchSize = Config.COMMON.reactor.fuelRodsIrradiatedPerTick.get();
 
-    /**
-     * Reactor UPDATE
-     * Irradiate from a Fuel Rod
-     */
-    private void performIrradiationFrom(IIrradiationSource source) {
+        if (1 != batchSize) {
+
+            this.performBatchIrradiation(batchSize);
+            return;
+        }
 
-        this.radiate(/*this._reactor.getWorld(),*/ this.getFuelContainer(), source,
-                this.getFuelHeat().getAsDouble(), this.getReactorHeat().getAsDouble(),
-                this.getControlRodsCount()).ifPresent(data -> {
+        final IIrradiationSource source = this._reactor.getEnvironment().getNextIrradiationSource();
 
-            // Assimilate results of radiation
-            this.getFuelHeat().add(data.getFuelHeatChange(this.getFuelRodsCount()));
-            this.getReactorHeat().add(data.getEnvironmentHeatChange(this.getReactorVolume()));
-            this.getUiStats().changeFuelConsumedLastTick(data.fuelUsage);
-        });
+        if (null != source && source.isLinked()) {
+            this.performIrradiationFrom(source);
+        }
     }
 
     /**
      * Reactor UPDATE
-     * Transfer heat between the Fuel Rods and the Reactor Environment
+     * Irradiate from a Fuel Rod
      */
-    private void transferHeatBetweenFuelAndReactor() {
+    private void performIrradiationFrom(final IIrradiationSource source) {
+
+        if (!this.prepareIrradiation()) {
+            return;
+        }
 
-        final double temperatureDifferential = this._reactor.getFuelHeat().getAsDouble() - this.getReactorHeat().getAsDouble();
+        final FuelRodsRayTable rayTable = this._reactor.getEnvironment().getFuelRodsRayTable();
+        final int raysOffset = rayTable.getRaysOffset(source);
+        final float controlRodModifier = FuelRodsRayTable.getControlRodModifier(source);
+        final float rawFuelUsage;
 
-        if (temperatureDifferential > 0.01) {
+        if (raysOffset < 0) {
 
-            final double energyTransferred = temperatureDifferential * this._reactor.getEnvironment().getFuelToReactorHeatTransferCoefficient();
-            final double fuelVolEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getFuelRodsCount(),
-                    this.getFuelHeat().getAsDouble()) - energyTransferred;
-            final double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
-                    this.getReactorHeat().getAsDouble()) + energyTransferred;
+            // the source is not in the ray table, walk the world
+            rawFuelUsage = this._physics.irradiate(controlRodModifier, this._worldRays.from(source), 0);
 
-            this.getFuelHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getFuelRodsCount(), fuelVolEnergy));
-            this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorEnergy));
+        } else {
+
+            rawFuelUsage = this._physics.irradiate(controlRodModifier, rayTable, raysOffset);
         }
+
+        this.completeIrradiation(rawFuelUsage, 1);
     }
 
     /**
      * Reactor UPDATE
-     * Transfer heat between the Reactor Environment and the coolant system
+     * Irradiate from the next batch of Fuel Rods, scaling down the radiation of each one of them so that the
+     * Reactor produce the same amount of heat (and consume the same amount of fuel) of a single irradiation per tick
+     *
+     * @param batchSize how many Fuel Rods to irradiate from. If zero, irradiate from all the Fuel Rods
      */
-    private void transferHeatBetweenReactorAndCoolant() {
+    private void performBatchIrradiation(int batchSize) {
 
-        final double temperatureDifferential = this.getReactorHeat().getAsDouble() - this.getCoolantTemperature();
+        final FuelRodsRayTable rayTable = this._reactor.getEnvironment().getFuelRodsRayTable();
+        final int sourcesCount = rayTable.getSourcesCount();
 
-        if (temperatureDifferential > 0.01f) {
+        if (0 == sourcesCount || !this.prepareIrradiation()) {
+            return;
+        }
 
-            double energyTransferred = temperatureDifferential * this._reactor.getEnvironment().getReactorToCoolantSystemHeatTransferCoefficient();
-            double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
-                    this.getReactorHeat().getAsDouble());
+        if (batchSize <= 0 || batchSize > sourcesCount) {
+            batchSize = sourcesCount;
+        }
 
-            if (this._reactor.getOperationalMode().isPassive()) {
+        final ReactorPhysics physics = this._physics;
+        float rawFuelUsage = 0f;
+        int irradiated = 0;
 
-                energyTransferred *= PASSIVE_COOLING_TRANSFER_EFFICIENCY;
-                this.generateEnergy(energyTransferred * PASSIVE_COOLING_POWER_EFFICIENCY);
+        // only the packed state of the Fuel Rods is used from here on
+        rayTable.refreshSources();
 
-            } else {
+        for (int i = 0; i < batchSize; ++i) {
 
-                energyTransferred -= this.getFluidContainer().onAbsorbHeat(energyTransferred, this._reactor.getVariant());
-                // Piggyback so we don't have useless stuff in the update packet
-                this.getUiStats().setAmountGeneratedLastTick(this.getFluidContainer().getLiquidVaporizedLastTick());
+            if (this._batchSourceIndex >= sourcesCount) {
+                this._batchSourceIndex = 0;
             }
 
-            reactorEnergy -= energyTransferred;
-            this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorEnergy));
+            final int sourceIndex = this._batchSourceIndex++;
+
+            if (rayTable.isLinked(sourceIndex)) {
+
+                rawFuelUsage += physics.irradiate(rayTable.getControlRodModifier(sourceIndex), rayTable,
+                        rayTable.getRaysOffset(sourceIndex));
+                ++irradiated;
+            }
+        }
+
+        if (0 != irradiated) {
+            // Only the linked Fuel Rods did irradiate
+            this.completeIrradiation(rawFuelUsage, irradiated);
         }
     }
 
     /**
      * Reactor UPDATE
-     * Do passive heat loss to external environment
+     * Compute the values that are shared by all the irradiations performed in the same tick
+     *
+     * @return true if the Reactor could irradiate, false otherwise
+     */
+    private boolean prepareIrradiation() {
+
+        final IFuelContainer fuelContainer = this.getFuelContainer();
+
+        return this._physics.prepareIrradiation(fuelContainer.getFuelAmount(), fuelContainer.getWasteAmount(),
+                fuelContainer.getFuelReactivity(), this.getFuelHeat().getAsDouble(), this.getControlRodsCount(),
+                Config.COMMON.general.fuelUsageMultiplier.get().floatValue());
+    }
+
+    /**
+     * Reactor UPDATE
+     * Apply the results of the irradiations of this tick to the Reactor
      */
-    private void performPassiveHeatLoss() {
+    private void completeIrradiation(final float rawFuelUsage, final int irradiationsCount) {
 
-        final double temperatureDifferential = this.getReactorHeat().getAsDouble() - this.getPassiveCoolantTemperature();
+        final ReactorPhysics physics = this._physics;
+        final IrradiationData data = physics.completeIrradiation(rawFuelUsage, irradiationsCount);
 
-        if (temperatureDifferential > 0.000001f) {
+        // Inform fuelContainer
+        this.getFuelContainer().onIrradiation(data.fuelUsage);
+
+        // Assimilate results of radiation
+        physics.assimilateIrradiation(data, this.getFuelHeat().getAsDouble(), this.getReactorHeat().getAsDouble());
+        this.getFuelHeat().set(physics.getFuelHeat());
+        this.getReactorHeat().set(physics.getReactorHeat());
+        this.getUiStats().changeFuelConsumedLastTick(data.fuelUsage);
+    }
+
+    /**
+     * Reactor UPDATE
+     * Move heat between the Fuel Rods, the Reactor Environment, the coolant system and the external environment.
+     * The heats are read once and written back once
+     *
+     * @param reactorHeatEntity the heat of the Reactor Environment
+     */
+    private void transferHeat(final IHeat reactorHeatEntity) {
 
-            // Lose at least 1FE/t
-            final double energyLost = Math.max(1d, temperatureDifferential * this._reactor.getEnvironment().getReactorHeatLossCoefficient());
+        final ReactorPhysics physics = this._physics;
+        final IHeat fuelHeatEntity = this.getFuelHeat();
+        final boolean passive = this._reactor.getOperationalMode().isPassive();
 
-            final double reactorNewEnergy = Math.max(0d,
-                    EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
-                            this.getReactorHeat().getAsDouble()) - energyLost);
+        physics.transferHeat(fuelHeatEntity.getAsDouble(), reactorHeatEntity.getAsDouble(),
+                passive ? null : this._coolantSystem);
 
-            this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorNewEnergy));
+        if (passive && physics.getPassiveEnergyGenerated() > 0) {
+            this.generateEnergy(physics.getPassiveEnergyGenerated());
         }
+
+        reactorHeatEntity.set(physics.getReactorHeat());
+        fuelHeatEntity.set(physics.getFuelHeat());
+    }
+
+    /**
+     * Cache the values used by the heat transfers. They only change when the Reactor is assembled
+     */
+    private void refreshHeatTransferCoefficients() {
+
+        final IReactorEnvironment environment = this._reactor.getEnvironment();
+
+        this._physics.setHeatTransferCoefficients(environment.getPartsCount(ReactorPartType.FuelRod),
+                environment.getReactorVolume(), environment.getFuelToReactorHeatTransferCoefficient(),
+                environment.getReactorToCoolantSystemHeatTransferCoefficient(), environment.getReactorHeatLossCoefficient());
+        this._heatTransferCoefficientsStale = false;
     }
 
     /**
@@ -328,156 +392,85 @@ public class ReactorLogic
     }
 
     //endregion
-    //region irradiation
-
-    private Optional<IrradiationData> radiate(final IFuelContainer fuelContainer, final IIrradiationSource source,
-                                              final double fuelHeat, final double environmentHeat, final int numControlRods) {
-        // No fuel? No radiation!
-        if (fuelContainer.getFuelAmount() <= 0) {
-            return Optional.empty();
-        }
-
-        // Determine radiation amount & intensity, heat amount, determine fuel usage
-
-        // Base value for radiation production penalties. 0-1, caps at about 3000C;
-        double radiationPenaltyBase = Math.exp(-15 * Math.exp(-0.0025 * fuelHeat));
-
-        // Raw amount - what's actually in the tanks
-        // Effective amount - how
-        int baseFuelAmount = fuelContainer.getFuelAmount() + (fuelContainer.getWasteAmount() / 100);
-        float fuelReactivity = fuelContainer.getFuelReactivity();
-
-        // Intensity = how strong the radiation is, hardness = how energetic the radiation is (penetration)
-        float rawRadIntensity = (float)baseFuelAmount * FISSION_EVENTS_PER_FUEL_UNIT;
 
-        // Scale up the "effective" intensity of radiation, to provide an incentive for bigger reactors in general.
-        float scaledRadIntensity = (float)Math.pow(rawRadIntensity, fuelReactivity);
-
-        // Scale up a second time based on scaled amount in each fuel rod. Provides an incentive for making reactors that aren't just pancakes.
-        scaledRadIntensity = (float)Math.pow(scaledRadIntensity / numControlRods, fuelReactivity) * numControlRods;
-
-        // Apply control rod moderation of radiation to the quantity of produced radiation. 100% insertion = 100% reduction.
-        float controlRodModifier = (float)(100 - source.getControlRodInsertionRatio()) / 100f;
-
-        scaledRadIntensity = scaledRadIntensity * controlRodModifier;
-        rawRadIntensity = rawRadIntensity * controlRodModifier;
-
-        // Now nerf actual radiation production based on heat.
-        float effectiveRadIntensity = scaledRadIntensity * (1f + (float)(-0.95f * Math.exp(-10f * Math.exp(-0.0012f * fuelHeat))));
-
-        // Radiation hardness starts at 20% and asymptotically approaches 100% as heat rises.
-        // This will make radiation harder and harder to capture.
-        float radHardness = 0.2f + (float)(0.8 * radiationPenaltyBase);
-
-        // Calculate based on propagation-to-self
-
-        final float rawFuelUsage = (FUEL_PER_RADIATION_UNIT * rawRadIntensity / getFertilityModifier()) *
-                Config.COMMON.general.fuelUsageMultiplier.get().floatValue(); // Not a typo. Fuel usage is thus penalized at high heats.
-        final IrradiationData data = new IrradiationData();
-
-        data.environmentEnergyAbsorption = 0f;
-        data.fuelAbsorbedRadiation = 0f;
-        data.fuelEnergyAbsorption = EnergyConversion.ENERGY_PER_RADIATION_UNIT * effectiveRadIntensity;
-
-        // Propagate radiation to others
+    void setFertility(float newFertility) {
+        this._physics.setFertility(newFertility);
+    }
 
-        BlockPos originCoord = source.getWorldPosition();
-        BlockPos currentCoord;
-        final RadiationPacket radPacket = new RadiationPacket();
+    /**
+     * The rays of a Fuel Rod that is not in the ray table, walked in the world
+     */
+    private static final class WorldRays
+            implements ReactorPhysics.IRays {
 
-        effectiveRadIntensity *= 0.25f; // We're going to do this four times, no need to repeat
+        WorldRays(final IReactorMachine reactor) {
 
-        for (final Direction dir : source.getIrradiationDirections()) {
+            this._reactor = reactor;
+            this._position = new BlockPos.Mutable();
+            this._origin = BlockPos.ZERO;
+            this._directions = new Direction[0];
+        }
 
-            radPacket.hardness = radHardness;
-            radPacket.intensity = effectiveRadIntensity;
+        WorldRays from(final IIrradiationSource source) {
 
-            int ttl = 4; //TODO variants? radPacket.intensity will be > 0 if ttl > 4? check effectiveRadIntensity too
+            this._origin = source.getWorldPosition();
+            this._directions = source.getIrradiationDirections();
+            return this;
+        }
 
-            currentCoord = originCoord;
+        //region ReactorPhysics.IRays
 
-            while (ttl > 0 && radPacket.intensity > 0.0001f) {
+        @Override
+        public void moderateRadiation(final int rayCell, final IrradiationData data, final RadiationPacket radiation) {
 
-                ttl--;
-                currentCoord = currentCoord.relative(dir);
+            final Direction direction = this._directions[rayCell / FuelRodsRayTable.RAY_LENGTH];
 
-                this._reactor.getEnvironment().getModerator(currentCoord).moderateRadiation(data, radPacket);
-            }
+            this._position.set(this._origin).move(direction, rayCell % FuelRodsRayTable.RAY_LENGTH + 1);
+            this._reactor.getEnvironment().getModerator(this._position).moderateRadiation(data, radiation);
         }
 
-        // Apply changes
-        this._fertility += data.fuelAbsorbedRadiation;
-        data.fuelAbsorbedRadiation = 0f;
-
-        // Inform fuelContainer
-        fuelContainer.onIrradiation(rawFuelUsage);
-        data.fuelUsage = rawFuelUsage;
+        //endregion
 
-        return Optional.of(data);
+        private final IReactorMachine _reactor;
+        private final BlockPos.Mutable _position;
+        private BlockPos _origin;
+        private Direction[] _directions;
     }
 
-    private void performRadiationDecay(final boolean isReactorActive) {
+    /**
+     * The coolant system of an actively cooled Reactor
+     */
+    private final class CoolantSystem
+            implements ReactorPhysics.ICoolantSystem {
 
-        float denominator = 20f;
+        //region ReactorPhysics.ICoolantSystem
 
-        if (!isReactorActive) {
-            // Much slower decay when off
-            denominator *= 200f;
+        @Override
+        public double getLiquidTemperature(final double reactorHeat) {
+            return ReactorLogic.this.getFluidContainer().getLiquidTemperature(reactorHeat);
         }
 
-        // Fertility decay, at least 0.1 rad/t, otherwise halve it every 10 ticks
-        this._fertility = Math.max(0f, this._fertility - Math.max(0.1f, this._fertility / denominator));
-    }
+        @Override
+        public double onAbsorbHeat(final double energy) {
 
-    private float getFertilityModifier() {
+            final IFluidContainer fluidContainer = ReactorLogic.this.getFluidContainer();
+            final double notAbsorbed = fluidContainer.onAbsorbHeat(energy, ReactorLogic.this._reactor.getVariant());
 
-        if (this._fertility <= 1f) {
-            return 1f;
-        } else {
-            return (float)(Math.log10(this._fertility) + 1);
-        }
-    }
-
-    private void setFertility(float newFertility) {
-
-        if (Float.isNaN(newFertility) || Float.isInfinite(newFertility)) {
-            this._fertility = 1f;
-        } else {
-            this._fertility = Math.max(newFertility, 0f);
+            // Piggyback so we don't have useless stuff in the update packet
+            ReactorLogic.this.getUiStats().setAmountGeneratedLastTick(fluidContainer.getLiquidVaporizedLastTick());
+            return notAbsorbed;
         }
-    }
-
-    //endregion
 
-    private double getPassiveCoolantTemperature() {
-        return IHeatEntity.AMBIENT_HEAT;
+        //endregion
     }
 
-    private double getCoolantTemperature() {
-
-        if (this._reactor.getOperationalMode().isPassive()) {
-            return this.getPassiveCoolantTemperature();
-        } else {
-            return this.getFluidContainer().getLiquidTemperature(this.getReactorHeat().getAsDouble());
-        }
-    }
-
-    // 50% power penalty, so this comes out as about 1/3 a basic water-cooled reactor
-    private static final float PASSIVE_COOLING_POWER_EFFICIENCY = 0.5f;
-
-    // 20% of available heat transferred per tick when passively cooled
-    private static final float PASSIVE_COOLING_TRANSFER_EFFICIENCY = 0.2f;
-
-    // fuel units used per fission event
-    private static final float FUEL_PER_RADIATION_UNIT = 0.0007f;
-
-    // 1 fission event per 100 mB
-    private static final float FISSION_EVENTS_PER_FUEL_UNIT = 0.01f;
-
     private final IReactorMachine _reactor;
     private final EnergyBuffer _energyBuffer;
-
-    private float _fertility;
+    private final ReactorPhysics _physics;
+    private final WorldRays _worldRays;
+    private final CoolantSystem _coolantSystem;
+    private int _batchSourceIndex;
+    private boolean _heatTransferCoefficientsStale;
 
     //endregion
 }
@@ -0,0 +1,515 @@
+/*
+ *
+ * ReactorPhysics.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+
+import javax.annotation.Nullable;
+
+/**
+ * The physics of a Reactor: the radiation emitted by the Fuel Rods and absorbed by the moderators and the fuel, the
+ * fuel fertility and the heat moved between the fuel, the Reactor environment, the coolant system and the outside world.
+ * <p>
+ * This is the only implementation of the Reactor model: {@link ReactorLogic} run it on the blocks of an in-game Reactor
+ * while the offline Reactor simulator run it on a Reactor described by primitive arrays.
+ * <p>
+ * Each instance hold the state (fertility and heats), the per-tick values and the scratch objects of a single Reactor
+ * and is not thread safe
+ */
+public class ReactorPhysics {
+
+    /**
+     * The cells crossed by the rays emitted by the Fuel Rods.
+     * The rays of a Fuel Rod are stored one after the other, each one {@link FuelRodsRayTable#RAY_LENGTH} cells long
+     */
+    public interface IRays {
+
+        /**
+         * Moderate the radiation that cross a ray cell
+         *
+         * @param rayCell the offset of the ray cell
+         * @param data the irradiation results to update
+         * @param radiation the radiation that cross the cell
+         */
+        void moderateRadiation(int rayCell, IrradiationData data, RadiationPacket radiation);
+    }
+
+    /**
+     * An active coolant system, that vaporize a coolant with the heat of the Reactor environment
+     */
+    public interface ICoolantSystem {
+
+        /**
+         * @param reactorHeat the heat of the Reactor environment
+         * @return the temperature of the coolant
+         */
+        double getLiquidTemperature(double reactorHeat);
+
+        /**
+         * Vaporize the coolant
+         *
+         * @param energy the energy available to the coolant system
+         * @return the energy not absorbed by the coolant system
+         */
+        double onAbsorbHeat(double energy);
+    }
+
+    public ReactorPhysics() {
+
+        this._irradiationData = new IrradiationData();
+        this._radiationPacket = new RadiationPacket();
+        this.setFertility(1f);
+    }
+
+    //region fertility
+
+    public float getFertility() {
+        return this._fertility;
+    }
+
+    public void setFertility(final float fertility) {
+
+        if (Float.isNaN(fertility) || Float.isInfinite(fertility)) {
+            this._fertility = 1f;
+        } else {
+            this._fertility = Math.max(fertility, 0f);
+        }
+    }
+
+    /**
+     * Let the fertility decay. The radiation decay even when the Reactor is not active, just much slower
+     *
+     * @param active true if the Reactor is active
+     */
+    public void decayFertility(final boolean active) {
+
+        float denominator = 20f;
+
+        if (!active) {
+            // Much slower decay when off
+            denominator *= 200f;
+        }
+
+        // Fertility decay, at least 0.1 rad/t, otherwise halve it every 10 ticks
+        this._fertility = Math.max(0f, this._fertility - Math.max(0.1f, this._fertility / denominator));
+    }
+
+    //endregion
+    //region irradiation
+
+    /**
+     * Compute the values that are shared by all the irradiations performed in the same tick and reset the results
+     * of the last irradiation
+     *
+     * @param fuelAmount the amount of fuel in the Reactor
+     * @param wasteAmount the amount of waste in the Reactor
+     * @param fuelReactivity the reactivity of the fuel reaction
+     * @param fuelHeat the heat of the fuel
+     * @param controlRodsCount the number of Control Rods of the Reactor
+     * @param fuelUsageMultiplier the general fuel usage multiplier
+     * @return true if the Reactor could irradiate, false otherwise
+     */
+    public boolean prepareIrradiation(final int fuelAmount, final int wasteAmount, final float fuelReactivity,
+                                      final double fuelHeat, final int controlRodsCount, final float fuelUsageMultiplier) {
+
+        // No fuel? No radiation!
+        if (fuelAmount <= 0) {
+            return false;
+        }
+
+        // Determine radiation amount & intensity, heat amount, determine fuel usage
+
+        // Base value for radiation production penalties. 0-1, caps at about 3000C;
+        final double radiationPenaltyBase = Math.exp(-15 * Math.exp(-0.0025 * fuelHeat));
+
+        // Raw amount - what's actually in the tanks
+        // Effective amount - how
+        final int baseFuelAmount = fuelAmount + (wasteAmount / 100);
+
+        // Intensity = how strong the radiation is, hardness = how energetic the radiation is (penetration)
+        final float rawRadIntensity = (float)baseFuelAmount * FISSION_EVENTS_PER_FUEL_UNIT;
+
+        // Scale up the "effective" intensity of radiation, to provide an incentive for bigger reactors in general.
+        float scaledRadIntensity = (float)Math.pow(rawRadIntensity, fuelReactivity);
+
+        // Scale up a second time based on scaled amount in each fuel rod. Provides an incentive for making reactors that aren't just pancakes.
+        scaledRadIntensity = (float)Math.pow(scaledRadIntensity / controlRodsCount, fuelReactivity) * controlRodsCount;
+
+        this._rawRadIntensity = rawRadIntensity;
+        this._scaledRadIntensity = scaledRadIntensity;
+
+        // Now nerf actual radiation production based on heat.
+        this._radHeatPenalty = 1f + (float)(-0.95f * Math.exp(-10f * Math.exp(-0.0012f * fuelHeat)));
+
+        // Radiation hardness starts at 20% and asymptotically approaches 100% as heat rises.
+        // This will make radiation harder and harder to capture.
+        this._radHardness = 0.2f + (float)(0.8 * radiationPenaltyBase);
+
+        this._fertilityModifier = this._fertility <= 1f ? 1f : (float)(Math.log10(this._fertility) + 1);
+        this._fuelUsageMultiplier = fuelUsageMultiplier;
+
+        final IrradiationData data = this._irradiationData;
+
+        data.fuelUsage = 0f;
+        data.environmentEnergyAbsorption = 0f;
+        data.fuelAbsorbedRadiation = 0f;
+        data.fuelEnergyAbsorption = 0f;
+        return true;
+    }
+
+    /**
+     * Irradiate from a single Fuel Rod, accumulating the results in the irradiation data
+     *
+     * @param controlRodModifier the radiation let out by the Control Rod of the Fuel Rod, see {@link FuelRodsRayTable#getControlRodModifier(IIrradiationSource)}
+     * @param rays the rays emitted by the Fuel Rod
+     * @param raysOffset the offset of the first cell of the first ray emitted by the Fuel Rod
+     * @return the fuel used by the irradiation
+     */
+    public float irradiate(final float controlRodModifier, final IRays rays, final int raysOffset) {
+
+        final float scaledRadIntensity = this._scaledRadIntensity * controlRodModifier;
+        final float rawRadIntensity = this._rawRadIntensity * controlRodModifier;
+
+        // Now nerf actual radiation production based on heat.
+        float effectiveRadIntensity = scaledRadIntensity * this._radHeatPenalty;
+
+        // Calculate based on propagation-to-self
+
+        final float rawFuelUsage = (FUEL_PER_RADIATION_UNIT * rawRadIntensity / this._fertilityModifier) *
+                this._fuelUsageMultiplier; // Not a typo. Fuel usage is thus penalized at high heats.
+
+        final IrradiationData data = this._irradiationData;
+
+        data.fuelEnergyAbsorption += EnergyConversion.ENERGY_PER_RADIATION_UNIT * effectiveRadIntensity;
+
+        // Propagate radiation to others
+
+        final RadiationPacket radPacket = this._radiationPacket;
+        final float radHardness = this._radHardness;
+
+        effectiveRadIntensity *= 0.25f; // We're going to do this four times, no need to repeat
+
+        for (int ray = 0; ray < FuelRodsRayTable.RAYS_PER_SOURCE; ++ray) {
+
+            radPacket.hardness = radHardness;
+            radPacket.intensity = effectiveRadIntensity;
+
+            final int rayStart = raysOffset + ray * FuelRodsRayTable.RAY_LENGTH;
+            final int rayEnd = rayStart + FuelRodsRayTable.RAY_LENGTH;
+
+            for (int cell = rayStart; cell < rayEnd && radPacket.intensity > 0.0001f; ++cell) {
+                rays.moderateRadiation(cell, data, radPacket);
+            }
+        }
+
+        return rawFuelUsage;
+    }
+
+    /**
+     * Complete the irradiations of the tick, scaling the results so they add up to a single irradiation, and
+     * enhance the fertility of the fuel
+     *
+     * @param rawFuelUsage the fuel used by all the irradiations
+     * @param irradiationsCount how many irradiations were performed
+     * @return the results of the irradiations. The fuel usage must be removed from the fuel container by the caller
+     */
+    public IrradiationData completeIrradiation(final float rawFuelUsage, final int irradiationsCount) {
+
+        final IrradiationData data = this._irradiationData;
+        final float scale = 1f / irradiationsCount;
+
+        data.fuelEnergyAbsorption *= scale;
+        data.environmentEnergyAbsorption *= scale;
+
+        // Apply changes
+        this._fertility += data.fuelAbsorbedRadiation * scale;
+        data.fuelAbsorbedRadiation = 0f;
+        data.fuelUsage = rawFuelUsage * scale;
+        return data;
+    }
+
+    /**
+     * Moderate the radiation that hit a moderator block
+     *
+     * @param data the irradiation results to update
+     * @param radiation the radiation that hit the block
+     * @param absorption How much radiation this material absorbs and converts to heat. 0.0 = none, 1.0 = all.
+     * @param heatEfficiency How efficiently radiation is converted to heat. 0 = no heat, 1 = all heat.
+     * @param moderation How well this material moderates radiation. This is a divisor; should not be below 1.
+     */
+    public static void moderateByBlock(final IrradiationData data, final RadiationPacket radiation,
+                                       final float absorption, final float heatEfficiency, final float moderation) {
+
+        final float radiationAbsorbed = radiation.intensity * absorption * (1f - radiation.hardness);
+
+        radiation.intensity = Math.max(0f, radiation.intensity - radiationAbsorbed);
+        radiation.hardness /= moderation;
+        data.environmentEnergyAbsorption += heatEfficiency * radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
+    }
+
+    /**
+     * Moderate the radiation that hit a Fuel Rod: the Fuel Rod absorb part of it, heating up the fuel and enhancing
+     * its fertility, and soften the rest
+     *
+     * @param data the irradiation results to update
+     * @param radiation the radiation that hit the Fuel Rod
+     * @param fuelHeat the heat of the fuel
+     * @param controlRodInsertion the insertion of the Control Rod of the Fuel Rod, between 0 and 1
+     * @param moderationFactor the moderation factor of the fuel
+     * @param absorptionCoefficient the absorption coefficient of the fuel
+     * @param hardnessDivisor the hardness divisor of the fuel
+     */
+    public static void moderateByFuelRod(final IrradiationData data, final RadiationPacket radiation,
+                                         final double fuelHeat, final float controlRodInsertion,
+                                         final float moderationFactor, final float absorptionCoefficient,
+                                         final float hardnessDivisor) {
+
+        // Fuel absorptiveness is determined by control rod + a heat modifier.
+        // Starts at 1 and decays towards 0.05, reaching 0.6 at 1000 and just under 0.2 at 2000. Inflection point at about 500-600.
+        // Harder radiation makes absorption more difficult.
+        final float baseAbsorption = (float)(1.0 - (0.95 * Math.exp(-10 * Math.exp(-0.0022 * fuelHeat)))) *
+                (1f - (radiation.hardness / hardnessDivisor));
+
+        // Some fuels are better at absorbing radiation than others
+        final float scaledAbsorption = Math.min(1f, baseAbsorption * absorptionCoefficient);
+
+        // Control rods increase total neutron absorption, but decrease the total neutrons which fertilize the fuel
+        // Absorb up to 50% better with control rods inserted.
+        final float controlRodBonus = (1f - scaledAbsorption) * controlRodInsertion * 0.5f;
+        final float controlRodPenalty = scaledAbsorption * controlRodInsertion * 0.5f;
+
+        final float radiationAbsorbed = (scaledAbsorption + controlRodBonus) * radiation.intensity;
+        final float fertilityAbsorbed = (scaledAbsorption - controlRodPenalty) * radiation.intensity;
+
+        float fuelModerationFactor = moderationFactor;
+
+        // Full insertion doubles the moderation factor of the fuel as well as adding its own level
+        fuelModerationFactor += fuelModerationFactor * controlRodInsertion + controlRodInsertion;
+
+        radiation.intensity = Math.max(0f, radiation.intensity - radiationAbsorbed);
+        radiation.hardness /= fuelModerationFactor;
+
+        // Being irradiated both heats up the fuel and also enhances its fertility
+        data.fuelEnergyAbsorption += radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
+        data.fuelAbsorbedRadiation += fertilityAbsorbed;
+    }
+
+    /**
+     * Stop the radiation that hit a wall of the Reactor
+     *
+     * @param radiation the radiation that hit the wall
+     */
+    public static void absorbAll(final RadiationPacket radiation) {
+        //TODO leak radiation !!!
+        // Discard all remaining radiation, sorry bucko
+        radiation.intensity = 0f;
+    }
+
+    /**
+     * Get how much fuel should be converted to waste
+     *
+     * @param fuelUsage the fuel used by the irradiations and not yet converted to waste
+     * @param fuelAmount the amount of fuel in the Reactor
+     * @return the amount of fuel to convert to waste, zero if there is nothing to convert
+     */
+    public static int getFuelToConvert(final float fuelUsage, final int fuelAmount) {
+        return fuelUsage < 1f ? 0 : Math.max(0, Math.min(fuelAmount, (int)fuelUsage));
+    }
+
+    //endregion
+    //region heat
+
+    /**
+     * Set the values used by the heat transfers. They only change when the Reactor is assembled
+     *
+     * @param fuelRodsCount the number of Fuel Rods of the Reactor
+     * @param reactorVolume the volume of the Reactor environment
+     * @param fuelToReactor the Fuel Rods to Reactor environment heat transfer coefficient
+     * @param reactorToCoolantSystem the Reactor environment to coolant system heat transfer coefficient
+     * @param reactorHeatLoss the Reactor environment to outside world heat transfer coefficient
+     */
+    public void setHeatTransferCoefficients(final int fuelRodsCount, final int reactorVolume, final float fuelToReactor,
+                                            final float reactorToCoolantSystem, final float reactorHeatLoss) {
+
+        this._fuelRodsCount = fuelRodsCount;
+        this._reactorVolume = reactorVolume;
+        this._fuelToReactorHeatTransferCoefficient = fuelToReactor;
+        this._reactorToCoolantSystemHeatTransferCoefficient = reactorToCoolantSystem;
+        this._reactorHeatLossCoefficient = reactorHeatLoss;
+    }
+
+    /**
+     * Heat up the fuel and the Reactor environment with the energy absorbed by the last irradiation
+     *
+     * @param data the results of the irradiation
+     * @param fuelHeat the heat of the fuel
+     * @param reactorHeat the heat of the Reactor environment
+     */
+    public void assimilateIrradiation(final IrradiationData data, final double fuelHeat, final double reactorHeat) {
+
+        this._fuelHeat = fuelHeat + data.getFuelHeatChange(this._fuelRodsCount);
+        this._reactorHeat = reactorHeat + data.getEnvironmentHeatChange(this._reactorVolume);
+    }
+
+    /**
+     * Move heat between the Fuel Rods, the Reactor environment, the coolant system and the outside world
+     *
+     * @param fuelHeat the heat of the fuel
+     * @param reactorHeat the heat of the Reactor environment
+     * @param coolantSystem the coolant system of an actively cooled Reactor or null for a passively cooled one
+     */
+    public void transferHeat(double fuelHeat, double reactorHeat, @Nullable final ICoolantSystem coolantSystem) {
+
+        final int fuelRodsCount = this._fuelRodsCount;
+        final int reactorVolume = this._reactorVolume;
+        double temperatureDifferential;
+
+        this._passiveEnergyGenerated = 0;
+
+        // - Fuel Pool <> Reactor Environment
+
+        temperatureDifferential = fuelHeat - reactorHeat;
+
+        if (temperatureDifferential > 0.01) {
+
+            final double energyTransferred = temperatureDifferential * this._fuelToReactorHeatTransferCoefficient;
+            final double fuelVolEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(fuelRodsCount, fuelHeat) - energyTransferred;
+            final double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume, reactorHeat) + energyTransferred;
+
+            fuelHeat = validHeat(EnergyConversion.getTemperatureFromVolumeAndEnergy(fuelRodsCount, fuelVolEnergy));
+            reactorHeat = validHeat(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorEnergy));
+        }
+
+        // - If we have a temperature differential between environment and coolant system, move heat between them
+
+        temperatureDifferential = reactorHeat - (null == coolantSystem ? IHeatEntity.AMBIENT_HEAT :
+                coolantSystem.getLiquidTemperature(reactorHeat));
+
+        if (temperatureDifferential > 0.01f) {
+
+            double energyTransferred = temperatureDifferential * this._reactorToCoolantSystemHeatTransferCoefficient;
+            double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume, reactorHeat);
+
+            if (null == coolantSystem) {
+
+                energyTransferred *= PASSIVE_COOLING_TRANSFER_EFFICIENCY;
+                this._passiveEnergyGenerated = energyTransferred * PASSIVE_COOLING_POWER_EFFICIENCY;
+
+            } else {
+
+                energyTransferred -= coolantSystem.onAbsorbHeat(energyTransferred);
+            }
+
+            reactorEnergy -= energyTransferred;
+            reactorHeat = validHeat(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorEnergy));
+        }
+
+        // - Do passive heat loss - this is always versus external environment
+
+        temperatureDifferential = reactorHeat - IHeatEntity.AMBIENT_HEAT;
+
+        if (temperatureDifferential > 0.000001f) {
+
+            // Lose at least 1FE/t
+            final double energyLost = Math.max(1d, temperatureDifferential * this._reactorHeatLossCoefficient);
+            final double reactorNewEnergy = Math.max(0d,
+                    EnergyConversion.getEnergyFromVolumeAndTemperature(reactorVolume, reactorHeat) - energyLost);
+
+            reactorHeat = validHeat(EnergyConversion.getTemperatureFromVolumeAndEnergy(reactorVolume, reactorNewEnergy));
+        }
+
+        // - Prevent cryogenics
+
+        this._reactorHeat = reactorHeat < 0 ? 0 : reactorHeat;
+        this._fuelHeat = fuelHeat < 0 ? 0 : fuelHeat;
+    }
+
+    /**
+     * @return the heat of the fuel computed by the last call to {@link #assimilateIrradiation} or {@link #transferHeat}
+     */
+    public double getFuelHeat() {
+        return this._fuelHeat;
+    }
+
+    /**
+     * @return the heat of the Reactor environment computed by the last call to {@link #assimilateIrradiation} or {@link #transferHeat}
+     */
+    public double getReactorHeat() {
+        return this._reactorHeat;
+    }
+
+    /**
+     * @return the energy generated by a passively cooled Reactor in the last call to {@link #transferHeat}, before
+     * any multiplier is applied
+     */
+    public double getPassiveEnergyGenerated() {
+        return this._passiveEnergyGenerated;
+    }
+
+    //endregion
+    //region internals
+
+    /**
+     * Mimic {@link IHeat#set(double)} for the heat values kept in local variables by {@link #transferHeat}
+     */
+    private static double validHeat(final double heat) {
+        return Double.isNaN(heat) ? 0 : heat;
+    }
+
+    // 50% power penalty, so this comes out as about 1/3 a basic water-cooled reactor
+    private static final float PASSIVE_COOLING_POWER_EFFICIENCY = 0.5f;
+
+    // 20% of available heat transferred per tick when passively cooled
+    private static final float PASSIVE_COOLING_TRANSFER_EFFICIENCY = 0.2f;
+
+    // fuel units used per fission event
+    private static final float FUEL_PER_RADIATION_UNIT = 0.0007f;
+
+    // 1 fission event per 100 mB
+    private static final float FISSION_EVENTS_PER_FUEL_UNIT = 0.01f;
+
+    // scratch objects reused by every irradiation
+    private final IrradiationData _irradiationData;
+    private final RadiationPacket _radiationPacket;
+
+    // values shared by all the irradiations of a tick
+    private float _rawRadIntensity;
+    private float _scaledRadIntensity;
+    private float _radHeatPenalty;
+    private float _radHardness;
+    private float _fertilityModifier;
+    private float _fuelUsageMultiplier;
+
+    // heat transfer coefficients
+    private int _fuelRodsCount;
+    private int _reactorVolume;
+    private float _fuelToReactorHeatTransferCoefficient;
+    private float _reactorToCoolantSystemHeatTransferCoefficient;
+    private float _reactorHeatLossCoefficient;
+
+    private float _fertility;
+    private double _fuelHeat;
+    private double _reactorHeat;
+    private double _passiveEnergyGenerated;
+
+    //endregion
+}
@@ -104,11 +104,22 @@ public class ClientFuelRodsLayout
 
         super.updateFuelData(fuelContainer, fuelRodsInReactor);
 
+        return this.updateFuelData(fuelContainer.getFuel().map(Reactant::getColour).orElse(Colour.WHITE),
+                fuelContainer.getWaste().map(Reactant::getColour).orElse(Colour.WHITE),
+                this.getAssemblyReactantQuota(fuelContainer.getFuelAmount(), fuelRodsInReactor),
+                this.getAssemblyReactantQuota(fuelContainer.getWasteAmount(), fuelRodsInReactor));
+    }
+
+    @Override
+    public IntSet updateFuelData(final Colour fuelColour, final Colour wasteColour,
+                                 final float assemblyFuelQuota, final float assemblyWasteQuota) {
+
         // fuel/waste colors
-        this.updateGfx(fuelContainer);
+        this.updateGfx(fuelColour, wasteColour);
 
         // fuel/waste quota for each fuel rod
-        this.updateQuotas(fuelContainer, fuelRodsInReactor);
+        this.setAssemblyFuelQuota(assemblyFuelQuota);
+        this.setAssemblyWasteQuota(assemblyWasteQuota);
 
         // split fuel/waste between fuel rods
 
@@ -286,25 +297,13 @@ public class ClientFuelRodsLayout
         return Float.isNaN(value) || Float.isInfinite(value) ? 0f : value;
     }
 
-    private static float computeAssemblyReactantQuota(int reactantAmount, int fuelRodsInAssembly, int fuelRodsInReactor) {
-        return (float) reactantAmount / (float) fuelRodsInReactor * (float) fuelRodsInAssembly;
-    }
-
-    private void updateQuotas(final IFuelContainer fuelContainer, int fuelRodsInReactor) {
-
-        fuelRodsInReactor = Math.max(1, fuelRodsInReactor);
-
-        this.setAssemblyFuelQuota(computeAssemblyReactantQuota(fuelContainer.getFuelAmount(), this.getRodLength(), fuelRodsInReactor));
-        this.setAssemblyWasteQuota(computeAssemblyReactantQuota(fuelContainer.getWasteAmount(), this.getRodLength(), fuelRodsInReactor));
-    }
-
-    private void updateGfx(final IFuelContainer fuelContainer) {
+    private void updateGfx(final Colour fuelColour, final Colour wasteColour) {
 
         final Colour oldFuelColor = this.getFuelColor();
         final Colour oldWasteColor = this.getWasteColor();
 
-        this._fuelColor = fuelContainer.getFuel().map(Reactant::getColour).orElse(Colour.WHITE);
-        this._wasteColor = fuelContainer.getWaste().map(Reactant::getColour).orElse(Colour.WHITE);
+        this._fuelColor = fuelColour;
+        this._wasteColor = wasteColour;
         this._reactantsChanged = !this.getFuelColor().equals(oldFuelColor) || !this.getWasteColor().equals(oldWasteColor);
     }
 
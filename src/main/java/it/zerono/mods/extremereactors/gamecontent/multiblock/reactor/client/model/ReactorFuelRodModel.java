@@ -16,11 +16,8 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.mod
  *
  */
 
-import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLists;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectArrayMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.CachedSprites;
 import it.zerono.mods.zerocore.lib.block.BlockFacings;
 import it.zerono.mods.zerocore.lib.client.model.AbstractDynamicBakedModel;
@@ -39,7 +36,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.locks.StampedLock;
 
 /**
  * An IBakedModel for a single variant/orientation of a Fuel Rod
@@ -50,14 +46,13 @@ public class ReactorFuelRodModel
     public static int HORIZONTAL_MAX_STEPS = 10;
     public static int VERTICAL_MAX_STEPS = 12;
 
-    protected ReactorFuelRodModel(final IBakedModel baseModel) {
+    protected ReactorFuelRodModel(final IBakedModel baseModel, final Direction.Axis axis) {
 
         super(baseModel.useAmbientOcclusion(), baseModel.isGui3d());
 
-        this._lock = new StampedLock();
         this._baseModel = baseModel;
-        this._cachedQuads = new Short2ObjectArrayMap<>(208);
         this._faceBakery = new FaceBakery();
+        this._cachedQuads = this.buildAllQuads(axis.isVertical() ? Direction.Axis.Y : Direction.Axis.X);
     }
 
     //region AbstractDynamicBakedModel
@@ -82,43 +77,7 @@ public class ReactorFuelRodModel
             return EMPTY_QUADS;
         }
 
-        if (0 == modelIndex) {
-            return this._baseModel.getQuads(state, null, rand, EmptyModelData.INSTANCE);
-        }
-
-        long lockStamp = this._lock.readLock();
-        List<BakedQuad> quads = this._cachedQuads.get(modelIndex);
-
-        if (null != quads) {
-
-            this._lock.unlockRead(lockStamp);
-            return quads;
-        }
-
-        do {
-
-            final long writeLockStamp = this._lock.tryConvertToWriteLock(lockStamp);
-
-            if (0L != writeLockStamp) {
-
-                final List<BakedQuad> tempQuads = Lists.newLinkedList(this._baseModel.getQuads(state, null, rand, EmptyModelData.INSTANCE));
-
-                tempQuads.addAll(this.buildQuads(fuelRodModelData.getFuelLevel(), fuelRodModelData.getWasteLevel(), fuelRodModelData.isVertical() ? Direction.Axis.Y : Direction.Axis.X));
-                this._cachedQuads.put(modelIndex, quads = new ObjectArrayList<>(tempQuads));
-
-                lockStamp = writeLockStamp;
-                break;
-
-            } else {
-
-                this._lock.unlockRead(lockStamp);
-                lockStamp = this._lock.writeLock();
-            }
-
-        } while (true);
-
-        this._lock.unlock(lockStamp);
-        return quads;
+        return this._cachedQuads[modelIndex & MODEL_INDEX_MASK];
     }
 
     @Override
@@ -160,6 +119,40 @@ public class ReactorFuelRodModel
     //endregion
     //region internals
 
+    /**
+     * Build the quads for all the possible combinations of fuel and waste levels, indexed by model index
+     * (see {@link ReactorFuelRodModelData#getModelKey()}). The model is created again every time the resources
+     * are reloaded so the quads are always built with the current textures
+     */
+    @SuppressWarnings("unchecked")
+    private List<BakedQuad>[] buildAllQuads(final Direction.Axis axis) {
+
+        final List<BakedQuad>[] allQuads = new List[MODEL_INDEX_MASK + 1];
+        final List<BakedQuad> baseQuads = this._baseModel.getQuads(null, null, new Random(42L), EmptyModelData.INSTANCE);
+
+        for (int modelIndex = 0; modelIndex < allQuads.length; ++modelIndex) {
+
+            final byte fuelLevel = (byte)(modelIndex >> 4);
+            final byte wasteLevel = (byte)(modelIndex & 0xf);
+
+            if (0 == modelIndex) {
+
+                allQuads[modelIndex] = baseQuads;
+
+            } else {
+
+                final List<BakedQuad> levelsQuads = this.buildQuads(fuelLevel, wasteLevel, axis);
+                final List<BakedQuad> quads = new ObjectArrayList<>(baseQuads.size() + levelsQuads.size());
+
+                quads.addAll(baseQuads);
+                quads.addAll(levelsQuads);
+                allQuads[modelIndex] = quads;
+            }
+        }
+
+        return allQuads;
+    }
+
     private List<BakedQuad> buildQuads(byte fuelLevel, byte wasteLevel, final Direction.Axis axis) {
 
         final float fromX, fromY, fromZ, baseWidth;
@@ -213,7 +206,7 @@ public class ReactorFuelRodModel
                 break;
         }
 
-        final List<BakedQuad> quads = Lists.newLinkedList();
+        final List<BakedQuad> quads = new ObjectArrayList<>(12);
 
         // waste
 
@@ -235,7 +228,7 @@ public class ReactorFuelRodModel
             fuelVisibleFaces.stream().forEach(direction -> quads.add(this.createFace(direction, from, to, fuelFlowingUV, stillUV, 0, fuelColumnFlowing, fuelColumnStill)));
         }
 
-        return new ObjectArrayList<>(quads);
+        return quads;
     }
 
     private BakedQuad createFace(final Direction direction, final Vector3f cubeFrom, final Vector3f cubeTo,
@@ -254,10 +247,12 @@ public class ReactorFuelRodModel
     private static final List<BakedQuad> EMPTY_QUADS = ObjectLists.emptyList();
     private static final ResourceLocation FAKE_RESOURCELOCATION = new ResourceLocation("fake");
 
-    private final StampedLock _lock;
+    // the model index is made by the fuel level (high nibble) and the waste level (low nibble)
+    private static final int MODEL_INDEX_MASK = 0xFF;
+
     private final IBakedModel _baseModel;
-    private final Short2ObjectMap<List<BakedQuad>> _cachedQuads;
     private final FaceBakery _faceBakery;
+    private final List<BakedQuad>[] _cachedQuads;
 
     //endregion
 }
@@ -61,7 +61,7 @@ public class ReactorFuelRodModelBuilder
             final IBakedModel baseModel = registry.get(id);
 
             if (null != baseModel) {
-                registry.put(id, new ReactorFuelRodModel(baseModel));
+                registry.put(id, new ReactorFuelRodModel(baseModel, entry.getKey()));
             }
         });
     }
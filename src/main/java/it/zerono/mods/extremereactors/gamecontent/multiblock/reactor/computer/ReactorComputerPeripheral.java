@@ -21,6 +21,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.computer;
 import com.google.common.collect.Maps;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.IMachineReader;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.PowerTapStats;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IReactorReader;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorComputerPortEntity;
@@ -30,6 +31,7 @@ import it.zerono.mods.zerocore.lib.compat.computer.ComputerMethod;
 import it.zerono.mods.zerocore.lib.compat.computer.LuaHelper;
 import it.zerono.mods.zerocore.lib.compat.computer.MultiblockComputerPeripheral;
 import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.NonNullConsumer;
 
 import java.util.Map;
@@ -197,6 +199,9 @@ public class ReactorComputerPeripheral
 
         })));
 
+        methodConsumer.accept(new ComputerMethod<>("getPowerTapsStats", wrapControllerValue(c -> //NEW
+                PowerTapStats.toMap(c.getPowerTaps(), c.getMinimumCoord().orElse(BlockPos.ZERO)))));
+
         methodConsumer.accept(new ComputerMethod<>("getFuelStats", wrapControllerValue(c -> {
 
             final Map<String, Object> stats = Maps.newHashMap();
@@ -16,31 +16,97 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.network;
  *
  */
 
+import it.zerono.mods.extremereactors.api.reactor.Reactant;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IFuelContainer;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.AbstractReactorEntity;
-import it.zerono.mods.zerocore.lib.data.nbt.ISyncableEntity;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+import it.zerono.mods.zerocore.lib.data.gfx.Colour;
 import it.zerono.mods.zerocore.lib.network.AbstractModTileMessage;
-import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraftforge.fml.LogicalSide;
 
+/**
+ * Carry what the clients need to render the Fuel Rods of a Reactor: the colours of the fuel and waste
+ * and the amount of fuel and waste in each fuel rods assembly, quantized in {@link #LEVELS_PER_ROD} levels per rod
+ */
 public class UpdateClientsFuelRodsLayout
     extends AbstractModTileMessage {
 
-    public UpdateClientsFuelRodsLayout(final AbstractReactorEntity referencePart, final ISyncableEntity fuelContainer) {
+    /**
+     * Fuel and waste levels per rod. A multiple of the vertical (12) and horizontal (10) steps used by the fuel rod models
+     */
+    public static final int LEVELS_PER_ROD = 60;
+
+    public UpdateClientsFuelRodsLayout(final AbstractReactorEntity referencePart, final int fuelColour,
+                                       final int wasteColour, final int fuelLevel, final int wasteLevel) {
 
         super(referencePart.getWorldPosition());
-        this._fuelContainerData = fuelContainer.syncDataTo(new CompoundNBT(), ISyncableEntity.SyncReason.NetworkUpdate);
+        this._fuelColour = fuelColour;
+        this._wasteColour = wasteColour;
+        this._fuelLevel = fuelLevel;
+        this._wasteLevel = wasteLevel;
     }
 
     public UpdateClientsFuelRodsLayout(final PacketBuffer buffer) {
 
         super(buffer);
-        this._fuelContainerData = buffer.readNbt();
+        this._fuelColour = buffer.readInt();
+        this._wasteColour = buffer.readInt();
+        this._fuelLevel = buffer.readVarInt();
+        this._wasteLevel = buffer.readVarInt();
+    }
+
+    public int getFuelColour() {
+        return this._fuelColour;
+    }
+
+    public int getWasteColour() {
+        return this._wasteColour;
     }
 
-    public CompoundNBT getFuelContainerData() {
-        return this._fuelContainerData;
+    public int getFuelLevel() {
+        return this._fuelLevel;
+    }
+
+    public int getWasteLevel() {
+        return this._wasteLevel;
+    }
+
+    /**
+     * @return the amount of fuel in a fuel rods assembly
+     */
+    public float getAssemblyFuelQuota() {
+        return fromLevel(this._fuelLevel);
+    }
+
+    /**
+     * @return the amount of waste in a fuel rods assembly
+     */
+    public float getAssemblyWasteQuota() {
+        return fromLevel(this._wasteLevel);
+    }
+
+    public boolean isSameLayout(final int fuelColour, final int wasteColour, final int fuelLevel, final int wasteLevel) {
+        return this._fuelColour == fuelColour && this._wasteColour == wasteColour &&
+                this._fuelLevel == fuelLevel && this._wasteLevel == wasteLevel;
+    }
+
+    public static int getColour(final IFuelContainer fuelContainer, final boolean fuel) {
+        return (fuel ? fuelContainer.getFuel() : fuelContainer.getWaste()).map(Reactant::getColour).orElse(Colour.WHITE).toARGB();
+    }
+
+    /**
+     * Quantize the amount of a reactant in a fuel rods assembly
+     *
+     * @param layout the fuel rods layout
+     * @param reactantAmount the amount of the reactant in the Reactor
+     * @param fuelRodsInReactor the number of fuel rods in the Reactor
+     * @return the level of the reactant
+     */
+    public static int toLevel(final FuelRodsLayout layout, final int reactantAmount, final int fuelRodsInReactor) {
+        return Math.round(layout.getAssemblyReactantQuota(reactantAmount, fuelRodsInReactor) / LEVEL_STEP);
     }
 
     //region AbstractModTileMessage
@@ -49,7 +115,10 @@ public class UpdateClientsFuelRodsLayout
     public void encodeTo(final PacketBuffer buffer) {
 
         super.encodeTo(buffer);
-        buffer.writeNbt(this._fuelContainerData);
+        buffer.writeInt(this._fuelColour);
+        buffer.writeInt(this._wasteColour);
+        buffer.writeVarInt(this._fuelLevel);
+        buffer.writeVarInt(this._wasteLevel);
     }
 
     @Override
@@ -63,7 +132,16 @@ public class UpdateClientsFuelRodsLayout
     //endregion
     //region internals
 
-    private final CompoundNBT _fuelContainerData;
+    private static float fromLevel(final int level) {
+        return level * LEVEL_STEP;
+    }
+
+    private static final float LEVEL_STEP = ReactorFuelRodEntity.FUEL_CAPACITY_PER_FUEL_ROD / (float)LEVELS_PER_ROD;
+
+    private final int _fuelColour;
+    private final int _wasteColour;
+    private final int _fuelLevel;
+    private final int _wasteLevel;
 
     //endregion
 }
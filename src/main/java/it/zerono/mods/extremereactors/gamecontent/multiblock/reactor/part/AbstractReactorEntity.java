@@ -117,9 +117,7 @@ public abstract class AbstractReactorEntity
 
     @Override
     public void moderateRadiation(IrradiationData irradiationData, RadiationPacket radiation) {
-        //TODO leak radiation !!!
-        // Discard all remaining radiation, sorry bucko
-        radiation.intensity = 0f;
+        ReactorPhysics.absorbAll(radiation);
     }
 
     //endregion
@@ -22,6 +22,7 @@ import com.google.common.base.Strings;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IReactorReader;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
 import it.zerono.mods.zerocore.lib.CodeHelper;
 import it.zerono.mods.zerocore.lib.block.AbstractModBlockEntity;
 import it.zerono.mods.zerocore.lib.block.TileCommandDispatcher;
@@ -271,6 +272,7 @@ public class ReactorControlRodEntity
         }
 
         this._insertionRatio = (byte) newRatio;
+        this.executeOnController(MultiblockReactor::onControlRodInsertionChanged);
         this.setChanged();
         this.notifyBlockUpdate();
         return true;
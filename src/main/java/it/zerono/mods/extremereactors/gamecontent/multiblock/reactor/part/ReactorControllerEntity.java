@@ -143,7 +143,7 @@ public class ReactorControllerEntity
      */
     @Override
     public void enlistForUpdates(ServerPlayerEntity player, boolean updateNow) {
-        this.executeOnController(c -> c.enlistForUpdates(player, updateNow));
+        this.executeOnController(c -> c.enlistForClientUpdates(player, updateNow));
     }
 
     /**
@@ -153,7 +153,7 @@ public class ReactorControllerEntity
      */
     @Override
     public void delistFromUpdates(ServerPlayerEntity player) {
-        this.executeOnController(c -> c.delistFromUpdates(player));
+        this.executeOnController(c -> c.delistFromClientUpdates(player));
     }
 
     /**
@@ -23,14 +23,15 @@ import it.zerono.mods.extremereactors.api.reactor.FuelProperties;
 import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
 import it.zerono.mods.extremereactors.api.reactor.Moderator;
 import it.zerono.mods.extremereactors.api.reactor.ReactantMappingsRegistry;
-import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IRadiationModerator;
 import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IIrradiationSource;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.IReactorReader;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.MultiblockReactor;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactantHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorPhysics;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.ClientFuelRodsLayout;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.client.model.ReactorFuelRodModelData;
 import it.zerono.mods.zerocore.lib.CodeHelper;
@@ -55,6 +56,7 @@ public class ReactorFuelRodEntity
 
         super(Content.TileEntityTypes.REACTOR_FUELROD.get());
         this._controlRod = null;
+        this._reactor = null;
         this._rodIndex = -1;
         this._occluded = false;
     }
@@ -102,6 +104,18 @@ public class ReactorFuelRodEntity
 
         this._controlRod = controlRod;
         this._rodIndex = rodIndex;
+        this._reactor = this.getMultiblockController().orElse(null);
+    }
+
+    /**
+     * Forget the Control Rod and the Reactor captured by {@link #linkToControlRod} so that a detached Fuel Rod
+     * don't keep a broken Reactor alive or irradiate with stale data
+     */
+    public void unlinkFromControlRod() {
+
+        this._controlRod = null;
+        this._rodIndex = -1;
+        this._reactor = null;
     }
 
     public boolean isLinked() {
@@ -184,42 +198,16 @@ public class ReactorFuelRodEntity
     @Override
     public void moderateRadiation(IrradiationData irradiationData, RadiationPacket radiation) {
 
-        if (!this.isConnected() || !this.isLinked()) {
+        if (!this.isConnected() || !this.isLinked() || null == this._reactor) {
             return;
         }
 
-        final double fuelHeat = this.evalOnController(c -> c.getFuelHeat().getAsDouble(), 0.0);
-        final float controlRodInsertion = null != this._controlRod ? this._controlRod.getInsertionPercentage() : 100.0f;
-        final FuelProperties fuelData = this.evalOnController(IReactorReader::getFuelProperties, FuelProperties.INVALID);
-
-        // Fuel absorptiveness is determined by control rod + a heat modifier.
-        // Starts at 1 and decays towards 0.05, reaching 0.6 at 1000 and just under 0.2 at 2000. Inflection point at about 500-600.
-        // Harder radiation makes absorption more difficult.
-        final float baseAbsorption = (float)(1.0 - (0.95 * Math.exp(-10 * Math.exp(-0.0022 * fuelHeat)))) *
-                (1f - (radiation.hardness / fuelData.getHardnessDivisor()));
-
-        // Some fuels are better at absorbing radiation than others
-        final float scaledAbsorption = Math.min(1f, baseAbsorption * fuelData.getAbsorptionCoefficient());
+        // use the Reactor captured when the Fuel Rod was linked: this is called for every irradiation so avoid boxing the heat value
+        final FuelProperties fuelData = this._reactor.getFuelProperties();
 
-        // Control rods increase total neutron absorption, but decrease the total neutrons which fertilize the fuel
-        // Absorb up to 50% better with control rods inserted.
-        final float controlRodBonus = (1f - scaledAbsorption) * controlRodInsertion * 0.5f;
-        final float controlRodPenalty = scaledAbsorption * controlRodInsertion * 0.5f;
-
-        final float radiationAbsorbed = (scaledAbsorption + controlRodBonus) * radiation.intensity;
-        final float fertilityAbsorbed = (scaledAbsorption - controlRodPenalty) * radiation.intensity;
-
-        float fuelModerationFactor = fuelData.getModerationFactor();
-
-        // Full insertion doubles the moderation factor of the fuel as well as adding its own level
-        fuelModerationFactor += fuelModerationFactor * controlRodInsertion + controlRodInsertion;
-
-        radiation.intensity = Math.max(0f, radiation.intensity - radiationAbsorbed);
-        radiation.hardness /= fuelModerationFactor;
-
-        // Being irradiated both heats up the fuel and also enhances its fertility
-        irradiationData.fuelEnergyAbsorption += radiationAbsorbed * EnergyConversion.ENERGY_PER_RADIATION_UNIT;
-        irradiationData.fuelAbsorbedRadiation += fertilityAbsorbed;
+        ReactorPhysics.moderateByFuelRod(irradiationData, radiation, this._reactor.getFuelHeatValue().getAsDouble(),
+                null != this._controlRod ? this._controlRod.getInsertionPercentage() : 100.0f,
+                fuelData.getModerationFactor(), fuelData.getAbsorptionCoefficient(), fuelData.getHardnessDivisor());
 
 //        // fx
 //        this.sparkle();
@@ -261,6 +249,30 @@ public class ReactorFuelRodEntity
         return true;
     }
 
+    //endregion
+    //region AbstractCuboidMultiblockPart
+
+    @Override
+    public void onPostMachineBroken() {
+
+        super.onPostMachineBroken();
+        this.unlinkFromControlRod();
+    }
+
+    @Override
+    public void onAssimilated(MultiblockReactor newController) {
+
+        super.onAssimilated(newController);
+        this.unlinkFromControlRod();
+    }
+
+    @Override
+    public void onDetached(MultiblockReactor oldController) {
+
+        super.onDetached(oldController);
+        this.unlinkFromControlRod();
+    }
+
     //endregion
     //region internals
 
@@ -269,6 +281,7 @@ public class ReactorFuelRodEntity
     }
 
     private ReactorControlRodEntity _controlRod;
+    private IReactorReader _reactor;
     private int _rodIndex;
     private boolean _occluded;
 
@@ -219,7 +219,7 @@ public class ReactorSolidAccessPortEntity
         if (!outputStack.isEmpty()) {
 
             // Find matching mapping
-            final IMapping<ResourceLocation, Reactant> mapping = ReactantMappingsRegistry.getFromSolid(outputStack).orElse(null);
+            final IMapping<ResourceLocation, Reactant> mapping = ReactantMappingsRegistry.getFromSolidOrNull(outputStack);
 
             if (null == mapping || !reactant.equals(mapping.getProduct())) {
                 // The items in the output slot are not compatible with the Reactant
@@ -560,7 +560,19 @@ public class ReactorSolidAccessPortEntity
 
             @Override
             public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
-                return this.isItemValid(slot, stack) ? super.insertItem(slot, stack, simulate) : stack;
+
+                if (!this.isItemValid(slot, stack)) {
+                    return stack;
+                }
+
+                final ItemStack remainder = super.insertItem(slot, stack, simulate);
+
+                if (!simulate && remainder.getCount() != stack.getCount()) {
+                    // new fuel to load in the Reactor
+                    ReactorSolidAccessPortEntity.this.getMultiblockController().ifPresent(MultiblockReactor::wakeUp);
+                }
+
+                return remainder;
             }
 
             @Override
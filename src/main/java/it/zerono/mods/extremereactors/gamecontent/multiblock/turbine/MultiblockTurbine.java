@@ -23,7 +23,9 @@ import com.google.common.collect.Sets;
 import it.zerono.mods.extremereactors.Log;
 import it.zerono.mods.extremereactors.api.turbine.CoilMaterial;
 import it.zerono.mods.extremereactors.api.turbine.CoilMaterialRegistry;
+import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.*;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTap;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.IPowerTapHandler;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.part.*;
@@ -37,7 +39,6 @@ import it.zerono.mods.zerocore.lib.data.IoDirection;
 import it.zerono.mods.zerocore.lib.data.stack.AllowedHandlerAction;
 import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
-import it.zerono.mods.zerocore.lib.multiblock.AbstractMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockController;
 import it.zerono.mods.zerocore.lib.multiblock.IMultiblockPart;
 import it.zerono.mods.zerocore.lib.multiblock.ITickableMultiblockPart;
@@ -54,10 +55,11 @@ import net.minecraft.world.World;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fml.LogicalSide;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class MultiblockTurbine
         extends AbstractGeneratorMultiblockController<MultiblockTurbine, IMultiblockTurbineVariant>
@@ -69,10 +71,12 @@ public class MultiblockTurbine
         this._variant = variant;
         this._data = new TurbineData(variant);
         this._fluidContainer = new FluidContainer(FLUID_CONTAINER_ACCESS);
+        this._fluidContainer.setInsertListener(this::wakeUp);
 
         // Minimum 10 RPM difference for slow updates, if change > 100 RPM, update every 5 ticks
         this._rpmUpdateTracker = new RpmUpdateTracker(100, 5, 10.0f, 100.0f);
         this._active = false;
+        this._catchUpFromGameTime = -1;
 
         this._attachedTickables = Sets.newHashSet();
         this._attachedRotorBearings = Lists.newLinkedList();
@@ -82,7 +86,11 @@ public class MultiblockTurbine
         this._attachedFluidPorts = Sets.newHashSet();
         this._attachedOutputFluidPorts = Lists.newLinkedList();
         this._attachedInputFluidPorts = Lists.newLinkedList();
-        this._validationFoundCoils = Sets.newHashSet();
+        this._energyDistributor = new EnergyDistributor();
+        this._outputFluidDistributor = new FluidDistributor();
+        this._inputFluidDistributor = new FluidDistributor();
+        this._rotorValidator = new RotorValidator();
+        this._rotorCoilsIndex = new RotorCoilsIndex();
 
         this._logic = new TurbineLogic(this, this._data, this.getEnergyBuffer());
     }
@@ -101,6 +109,13 @@ public class MultiblockTurbine
         this.resizeFluidContainer();
     }
 
+    /**
+     * @return the Power Taps attached to this machine
+     */
+    public Collection<IPowerTap> getPowerTaps() {
+        return Collections.unmodifiableCollection(this._attachedPowerTaps);
+    }
+
     public void onFluidPortChanged() {
         this.rebuildFluidPortsSubsets();
     }
@@ -146,6 +161,7 @@ public class MultiblockTurbine
         }
 
         this._active = active;
+        this.wakeUp();
 
         if (active) {
             this.forEachConnectedParts(IMultiblockPart::onMachineActivated);
@@ -353,6 +369,7 @@ public class MultiblockTurbine
         if (this.isAssembled()) {
 
             this._data.setMaxIntakeRate(rate);
+            this.wakeUp();
             this.markReferenceCoordDirty();
         }
     }
@@ -363,6 +380,7 @@ public class MultiblockTurbine
         if (this.isAssembled()) {
 
             this._data.setMaxIntakeRatePercentage(percentage);
+            this.wakeUp();
             this.markReferenceCoordDirty();
         }
     }
@@ -373,6 +391,7 @@ public class MultiblockTurbine
         if (this.isAssembled()) {
 
             this._data.setMaxIntakeRate(this._data.getMaxIntakeRate() + delta);
+            this.wakeUp();
             this.markReferenceCoordDirty();
         }
     }
@@ -381,6 +400,7 @@ public class MultiblockTurbine
     public void setVentSetting(final VentSetting setting) {
 
         this._data.setVentSetting(setting);
+        this.wakeUp();
         this.markReferenceCoordDirty();
     }
 
@@ -390,6 +410,7 @@ public class MultiblockTurbine
         if (this.isAssembled()) {
 
             this._data.setInductorEngaged(engaged);
+            this.wakeUp();
             this.markReferenceCoordDirty();
         }
     }
@@ -416,7 +437,12 @@ public class MultiblockTurbine
         this.syncChildDataEntityFrom(this._data, "internaldata", data, syncReason);
 
         if (syncReason.isFullSync()) {
+
             this._rpmUpdateTracker.setValue(this.getRotorSpeed());
+
+            if (data.contains("gametime")) {
+                this._catchUpFromGameTime = data.getLong("gametime");
+            }
         }
     }
 
@@ -435,6 +461,10 @@ public class MultiblockTurbine
         this.syncChildDataEntityTo(this._fluidContainer, "fluidcontainer", data, syncReason);
         this.syncChildDataEntityTo(this._data, "internaldata", data, syncReason);
 
+        if (syncReason.isFullSync()) {
+            data.putLong("gametime", this.getWorld().getGameTime());
+        }
+
         return data;
     }
 
@@ -453,10 +483,17 @@ public class MultiblockTurbine
         }
 
         messages.addUnlocalized("Active: %s", this.isMachineActive());
+        messages.addUnlocalized("Sleeping: %s", this.isSleeping());
 
         this.getEnergyBuffer().getDebugMessages(side, messages);
 
         messages.add(side, this._data, "Internal data:");
+
+        final TurbineSolver solver = this._logic.getSolver();
+
+        messages.addUnlocalized("Steady state: %.2f RPM, %.2f FE/t (raw)", solver.getSteadyStateRotorSpeed(),
+                solver.getSteadyStateRawEnergyGenerated());
+
         messages.add(side, this._fluidContainer, "Fluids Tanks:");
     }
 
@@ -487,7 +524,17 @@ public class MultiblockTurbine
 
     @Override
     protected void sendClientUpdates() {
-        this.sendUpdates();
+        this.sendClientDeltaUpdates();
+    }
+
+    @Override
+    protected void defineClientSyncFields(final DeltaSyncSchema schema) {
+
+        super.defineClientSyncFields(schema);
+
+        schema.addBoolean(this::isMachineActive, active -> this._active = active);
+        this._fluidContainer.defineClientSyncFields(schema);
+        this._data.defineClientSyncFields(schema);
     }
 
     //endregion
@@ -508,10 +555,31 @@ public class MultiblockTurbine
 
         profiler.push("Extreme Reactors|Turbine update"); // main section
 
+        if (this.shouldSkipServerTick()) {
+
+            // idle: only the tickables could change something (redstone ports, creative generators)
+            profiler.push("Tickables");
+            this._attachedTickables.forEach(ITickableMultiblockPart::onMultiblockServerTick);
+            profiler.pop(); // Tickables
+            profiler.pop(); // main section
+            return false;
+        }
+
+        final double startingEnergy = this.getEnergyBuffer().getEnergyStored();
+        final int startingVapor = this.getVaporAmount();
+        final int startingCoolant = this.getCoolantAmount();
+
         //////////////////////////////////////////////////////////////////////////////
         // GENERATE ENERGY / COOLANT
         //////////////////////////////////////////////////////////////////////////////
 
+        if (this._catchUpFromGameTime >= 0) {
+
+            profiler.push("CatchUp");
+            this.catchUp();
+            profiler.pop();
+        }
+
         profiler.push("Input");
         this.performInputCycle();
 
@@ -550,6 +618,11 @@ public class MultiblockTurbine
         }
 
         profiler.pop(); // RpmTracker
+
+        this.updateIdleState(!this.isMachineActive() && this._data.getRotorEnergy() <= 0 &&
+                startingEnergy == this.getEnergyBuffer().getEnergyStored() &&
+                startingVapor == this.getVaporAmount() && startingCoolant == this.getCoolantAmount());
+
         profiler.pop(); // main section
 
         return this._data.getEnergyGeneratedLastTick() > 0 || this._data.getFluidConsumedLastTick() > 0;
@@ -571,6 +644,8 @@ public class MultiblockTurbine
     @Override
     protected void onPartAdded(IMultiblockPart<MultiblockTurbine> newPart) {
 
+        this.wakeUp();
+
         if (newPart instanceof ITickableMultiblockPart) {
             this._attachedTickables.add((ITickableMultiblockPart) newPart);
         }
@@ -578,7 +653,10 @@ public class MultiblockTurbine
         if (newPart instanceof TurbineRotorBearingEntity) {
             this._attachedRotorBearings.add((TurbineRotorBearingEntity)newPart);
         } else if (newPart instanceof TurbineRotorComponentEntity) {
+
             this._attachedRotorComponents.add((TurbineRotorComponentEntity)newPart);
+            this._rotorCoilsIndex.addRotorComponent(getRotorComponentType((TurbineRotorComponentEntity)newPart));
+
         } else if (newPart instanceof TurbinePowerTapEntity || newPart instanceof TurbineChargingPortEntity) {
             this._attachedPowerTaps.add((IPowerTap)newPart);
         } else if (newPart instanceof TurbineFluidPortEntity) {
@@ -594,6 +672,8 @@ public class MultiblockTurbine
     @Override
     protected void onPartRemoved(IMultiblockPart<MultiblockTurbine> oldPart) {
 
+        this.wakeUp();
+
         if (oldPart instanceof ITickableMultiblockPart) {
             this._attachedTickables.remove(oldPart);
         }
@@ -601,7 +681,11 @@ public class MultiblockTurbine
         if (oldPart instanceof TurbineRotorBearingEntity) {
             this._attachedRotorBearings.remove(oldPart);
         } else if (oldPart instanceof TurbineRotorComponentEntity) {
-            this._attachedRotorComponents.remove(oldPart);
+
+            if (this._attachedRotorComponents.remove(oldPart)) {
+                this._rotorCoilsIndex.removeRotorComponent(getRotorComponentType((TurbineRotorComponentEntity)oldPart));
+            }
+
         } else if (oldPart instanceof TurbinePowerTapEntity || oldPart instanceof TurbineChargingPortEntity) {
             this._attachedPowerTaps.remove(oldPart);
         } else if (oldPart instanceof TurbineFluidPortEntity) {
@@ -615,6 +699,8 @@ public class MultiblockTurbine
     @Override
     protected void onMachineAssembled() {
 
+        this.wakeUp();
+
         // set the output EnergySystem
         if (this._attachedPowerTaps.isEmpty()) {
             this.setOutputEnergySystem(INTERNAL_ENERGY_SYSTEM);
@@ -626,8 +712,10 @@ public class MultiblockTurbine
                     this::setOutputEnergySystem);
         }
 
+        this._energyDistributor.setPowerTaps(this._attachedPowerTaps);
+
         // how many blades?
-        this._rotorBladesCount = (int)(this._attachedRotorComponents.stream().filter(c -> c.isTypeOfPart(TurbinePartType.RotorBlade)).count());
+        this._rotorBladesCount = this._rotorCoilsIndex.getBladesCount();
 
         // interior visible?
         this.setInteriorInvisible(!this.isAnyPartConnected(part -> part instanceof TurbineGlassEntity));
@@ -686,10 +774,18 @@ public class MultiblockTurbine
             return false;
         }
 
+        // the coils found in the interior are collected by isBlockGoodForInterior()
+
+        this._rotorCoilsIndex.beginScan();
+        this.forBoundingBoxCoordinates((min, max) -> this._rotorValidator.setInterior(min, max),
+                min -> min.offset(1, 1, 1), max -> max.offset(-1, -1, -1));
+
         if (!super.isMachineWhole(validatorCallback)) {
             return false;
         }
 
+        this._rotorCoilsIndex.endScan();
+
         // Check if the the rotor is valid and cache coils positions
 
         if (!this.validateRotor(this._attachedRotorBearings.get(0), validatorCallback)) {
@@ -787,11 +883,11 @@ public class MultiblockTurbine
 
         // is it a valid coil block ?
 
-        if (CoilMaterialRegistry.get(state).isPresent()) {
+        if (this._rotorCoilsIndex.scan(position, state)) {
 
             // yes, cache it's position
 
-            this._validationFoundCoils.add(position);
+            this._rotorValidator.addCoil(position);
             return true;
         }
 
@@ -836,10 +932,14 @@ public class MultiblockTurbine
         this._attachedRotorBearings.clear();
         this._rotorBladesCount = 0;
         this._attachedRotorComponents.clear();
+        this._rotorCoilsIndex.clear();
         this._attachedPowerTaps.clear();
         this._attachedFluidPorts.clear();
         this._attachedOutputFluidPorts.clear();
         this._attachedInputFluidPorts.clear();
+        this._energyDistributor.setPowerTaps(this._attachedPowerTaps);
+        this._outputFluidDistributor.setFluidPorts(this._attachedOutputFluidPorts);
+        this._inputFluidDistributor.setFluidPorts(this._attachedInputFluidPorts);
     }
 
     //endregion
@@ -857,7 +957,7 @@ public class MultiblockTurbine
     private boolean validateRotor(final TurbineRotorBearingEntity bearing, final IMultiblockValidator validatorCallback) {
 
         // clear cache of Coils positions so it can be filled again here
-        this._validationFoundCoils.clear();
+        this._rotorValidator.clearCoils();
 
         return this.mapBoundingBoxCoordinates(
                 (min, max) -> validateRotor(bearing, validatorCallback, bearing.getRotorDirection(), min, max), false);
@@ -877,142 +977,42 @@ public class MultiblockTurbine
     private boolean validateRotor(final TurbineRotorBearingEntity bearing, final IMultiblockValidator validatorCallback,
                                   final Direction rotorDirection, final BlockPos turbineMin, final BlockPos turbineMax) {
 
-        // Figure out where the rotor ends and which directions are normal to the rotor's 4 faces (this is where blades emit from)
-
-        BlockPos rotorCoord = bearing.getWorldPosition();
-        final BlockPos endRotorCoord;
-
-        switch (rotorDirection.getAxis()) {
-
-            case X:
-                endRotorCoord = rotorCoord.relative(rotorDirection, Math.abs(turbineMax.getX() - turbineMin.getX()) - 1);
-                break;
-
-            default:
-            case Y:
-                endRotorCoord = rotorCoord.relative(rotorDirection, Math.abs(turbineMax.getY() - turbineMin.getY()) - 1);
-                break;
-
-            case Z:
-                endRotorCoord = rotorCoord.relative(rotorDirection, Math.abs(turbineMax.getZ() - turbineMin.getZ()) - 1);
-                break;
-        }
-
-        final Set<BlockPos> shaftsPositions = this._attachedRotorComponents.stream()
-                .filter(TurbineRotorComponentEntity::isShaft)
-                .map(AbstractMultiblockPart::getWorldPosition)
-                .collect(Collectors.toSet());
-
-        final Set<BlockPos> bladesPositions = this._attachedRotorComponents.stream()
-                .filter(TurbineRotorComponentEntity::isBlade)
-                .map(AbstractMultiblockPart::getWorldPosition)
-                .collect(Collectors.toSet());
-
-        // Move along the length of the rotor, 1 block at a time
-
-        final Direction.Axis rotatedAxis = rotorDirection.getAxis();
-        boolean encounteredCoils = false;
-
-        while (!shaftsPositions.isEmpty() && !rotorCoord.equals(endRotorCoord)) {
-
-            rotorCoord = rotorCoord.relative(rotorDirection);
+        for (final TurbineRotorComponentEntity component : this._attachedRotorComponents) {
 
-            // Ensure we find a rotor shaft block along the length of the entire rotor
-
-            if (!shaftsPositions.remove(rotorCoord)) {
-
-                validatorCallback.setLastError(rotorCoord, "multiblock.validation.turbine.block_must_be_rotor");
-                return false;
-            }
-
-            // Now move out in the 4 rotor normals, looking for blades and coils
-
-            BlockPos checkCoord;
-            boolean encounteredBlades = false;
-
-            for (final Direction bladeDirection : CodeHelper.perpendicularDirections(rotorDirection)) {
-
-                boolean bladeFound = false;
-
-                checkCoord = rotorCoord.relative(bladeDirection);
-
-                // If we find one blade, we can keep moving along the normal to find more blades
-
-                while (bladesPositions.remove(checkCoord)) {
-
-                    // We found a coil already?! NOT ALLOWED.
-                    if (encounteredCoils) {
-
-                        validatorCallback.setLastError(checkCoord, "multiblock.validation.turbine.blades_too_far");
-                        return false;
-                    }
-
-                    bladeFound = encounteredBlades = true;
-                    checkCoord = checkCoord.relative(bladeDirection);
-                }
-
-                // If this block wasn't a blade, check to see if it was a coil
-
-                if (!bladeFound) {
-
-                    if (this._validationFoundCoils.remove(checkCoord)) {
-
-                        encounteredCoils = true;
-
-                        // We cannot have blades and coils intermix. This prevents intermixing, depending on eval order.
-
-                        if (encounteredBlades) {
-
-                            validatorCallback.setLastError(checkCoord, "multiblock.validation.turbine.metal_too_near");
-                            return false;
-                        }
-
-                        // Check the two coil spots in the 'corners', which are permitted if they're connected to the main rotor coil somehow
-
-                        BlockPos coilCheck;
-                        Direction rotatedDir;
-
-                        rotatedDir = CodeHelper.directionRotateAround(bladeDirection, rotatedAxis);
-                        coilCheck = checkCoord.relative(rotatedDir);
-                        this._validationFoundCoils.remove(coilCheck);
-
-                        rotatedDir = CodeHelper.directionRotateAround(CodeHelper.directionRotateAround(rotatedDir, rotatedAxis), rotatedAxis);
-                        coilCheck = checkCoord.relative(rotatedDir);
-                        this._validationFoundCoils.remove(coilCheck);
-                    }
-
-                    // Else: It must have been air.
-                }
+            if (component.isShaft()) {
+                this._rotorValidator.addShaft(component.getWorldPosition());
+            } else if (component.isBlade()) {
+                this._rotorValidator.addBlade(component.getWorldPosition());
             }
         }
 
-        if (!rotorCoord.equals(endRotorCoord)) {
+        // Walk the rotor and ensure that we encountered all the rotor, blade and coil blocks
 
-            validatorCallback.setLastError("multiblock.validation.turbine.shaft_too_short");
+        if (!this._rotorValidator.validate(bearing.getWorldPosition(), rotorDirection, validatorCallback)) {
             return false;
         }
 
-        // Ensure that we encountered all the rotor, blade and coil blocks. If not, there's loose stuff inside the turbine.
-
-        if (!shaftsPositions.isEmpty()) {
+        // Figure out where the rotor ends
 
-            validatorCallback.setLastError("multiblock.validation.turbine.found_loose_rotor_blocks", shaftsPositions.size());
-            return false;
-        }
+        final int rotorLength;
 
-        if (!bladesPositions.isEmpty()) {
+        switch (rotorDirection.getAxis()) {
 
-            validatorCallback.setLastError("multiblock.validation.turbine.found_loose_rotor_blades", bladesPositions.size());
-            return false;
-        }
+            case X:
+                rotorLength = Math.abs(turbineMax.getX() - turbineMin.getX());
+                break;
 
-        if (!this._validationFoundCoils.isEmpty()) {
+            default:
+            case Y:
+                rotorLength = Math.abs(turbineMax.getY() - turbineMin.getY());
+                break;
 
-            validatorCallback.setLastError("multiblock.validation.turbine.invalid_metals_shape", this._validationFoundCoils.size());
-            return false;
+            case Z:
+                rotorLength = Math.abs(turbineMax.getZ() - turbineMin.getZ());
+                break;
         }
 
-        if (WorldHelper.getTile(this.getWorld(), rotorCoord.relative(rotorDirection))
+        if (WorldHelper.getTile(this.getWorld(), bearing.getWorldPosition().relative(rotorDirection, rotorLength))
                 .map(te -> te instanceof TurbineCasingEntity)
                 .orElse(false)) {
 
@@ -1062,7 +1062,7 @@ public class MultiblockTurbine
     private void distributeEnergyEqually() {
 
         final EnergyBuffer energyBuffer = this.getEnergyBuffer();
-        final double amountDistributed = distributeEnergyEqually(energyBuffer.getEnergyStored(), this._attachedPowerTaps);
+        final double amountDistributed = this._energyDistributor.distribute(energyBuffer.getEnergyStored());
 
         if (amountDistributed > 0) {
             energyBuffer.modifyEnergyStored(-amountDistributed);
@@ -1075,7 +1075,7 @@ public class MultiblockTurbine
      */
     private void distributeCoolantEqually() {
 
-        final int amountDistributed = distributeFluidEqually(this._fluidContainer.getStackCopy(FluidType.Liquid), this._attachedOutputFluidPorts);
+        final int amountDistributed = this._outputFluidDistributor.distribute(this._fluidContainer.getStackCopy(FluidType.Liquid));
 
         if (amountDistributed > 0) {
             this._fluidContainer.extract(FluidType.Liquid, amountDistributed, OperationMode.Execute);
@@ -1087,8 +1087,8 @@ public class MultiblockTurbine
      * Acquire vapors, up to the available space, equally from all the Active Coolant Ports
      */
     private void acquireVaporEqually() {
-        acquireFluidEqually(this._fluidContainer.getWrapper(IoDirection.Input), this._fluidContainer.getFreeSpace(FluidType.Gas),
-                this._attachedInputFluidPorts);
+        this._inputFluidDistributor.acquire(this._fluidContainer.getWrapper(IoDirection.Input),
+                this._fluidContainer.getFreeSpace(FluidType.Gas));
     }
 
     //endregion
@@ -1106,8 +1106,33 @@ public class MultiblockTurbine
      * Recalculate rotor and coil parameters
      */
     private void updateRotorAndCoilsParameters() {
-        this.forBoundingBoxCoordinates((min, max) -> this._data.update(this.getEnvironment(), min, max, this.getVariant()),
-                min -> min.offset(1, 1, 1), max -> max.offset(-1, -1, -1));
+        this._data.update(this._rotorCoilsIndex, this.getVariant());
+    }
+
+    private static RotorComponentType getRotorComponentType(final TurbineRotorComponentEntity component) {
+
+        if (component.isBlade()) {
+            return RotorComponentType.Blade;
+        } else if (component.isShaft()) {
+            return RotorComponentType.Shaft;
+        } else {
+            return RotorComponentType.Ignore;
+        }
+    }
+
+    /**
+     * Advance the Turbine over the ticks that were skipped while it was not loaded
+     */
+    private void catchUp() {
+
+        final long skippedTicks = this.getWorld().getGameTime() - this._catchUpFromGameTime - 1;
+        final int maxTicks = Config.COMMON.turbine.turbineCatchUpMaxTicks.get();
+
+        this._catchUpFromGameTime = -1;
+
+        if (skippedTicks > 0 && maxTicks > 0) {
+            this._logic.catchUp((int)Math.min(skippedTicks, maxTicks));
+        }
     }
 
     private int calculateTurbineVolume() {
@@ -1138,6 +1163,9 @@ public class MultiblockTurbine
                 }
             }
         }
+
+        this._outputFluidDistributor.setFluidPorts(this._attachedOutputFluidPorts);
+        this._inputFluidDistributor.setFluidPorts(this._attachedInputFluidPorts);
     }
 
     private static final IFluidContainerAccess FLUID_CONTAINER_ACCESS = new IFluidContainerAccess() {
@@ -1183,12 +1211,21 @@ public class MultiblockTurbine
     private final Set<TurbineFluidPortEntity> _attachedFluidPorts;
     private final List<TurbineFluidPortEntity> _attachedOutputFluidPorts;
     private final List<TurbineFluidPortEntity> _attachedInputFluidPorts;
+    private final EnergyDistributor _energyDistributor;
+    private final FluidDistributor _outputFluidDistributor;
+    private final FluidDistributor _inputFluidDistributor;
 
     private boolean _active;
+
+    // game time of the last save, to catch up with the ticks skipped while the Turbine was not loaded. -1 if none
+    private long _catchUpFromGameTime;
     private int _rotorBladesCount;
 
-    // Coils positions cached during validation
-    private final Set<BlockPos> _validationFoundCoils;
+    // Rotor shafts, blades and coils positions cached during validation
+    private final RotorValidator _rotorValidator;
+
+    // Rotor components and coils, with their running totals
+    private final RotorCoilsIndex _rotorCoilsIndex;
 
     //endregion
 }
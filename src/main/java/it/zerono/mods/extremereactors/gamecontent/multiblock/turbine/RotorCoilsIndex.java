@@ -0,0 +1,261 @@
+/*
+ *
+ * RotorCoilsIndex.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.zerono.mods.extremereactors.ExtremeReactors;
+import it.zerono.mods.extremereactors.api.turbine.CoilMaterial;
+import it.zerono.mods.extremereactors.api.turbine.CoilMaterialRegistry;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.rotor.RotorComponentType;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * The rotor components and the coils inside a Turbine, with the totals needed by {@link TurbineData}
+ * kept as running sums.
+ * <p>
+ * Rotor components are Turbine parts and are added and removed with them. Coils are collected while the interior
+ * of the Turbine is validated: the CoilMaterial of a position is looked up again only if the block there changed
+ * since the last validation, and the coils that are not found anymore are dropped when the validation is completed
+ */
+@Mod.EventBusSubscriber(modid = ExtremeReactors.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class RotorCoilsIndex {
+
+    public RotorCoilsIndex() {
+
+        this._coils = new Long2ObjectOpenHashMap<>(64);
+        this._scanId = 0;
+        this._tagsGeneration = s_tagsGeneration;
+        this.clear();
+    }
+
+    /**
+     * Remove all the rotor components and coils from the index
+     */
+    public void clear() {
+
+        this._coils.clear();
+        this._bladesCount = this._shaftsCount = 0;
+        this.resetCoilsTotals();
+    }
+
+    //region rotor components
+
+    public void addRotorComponent(final RotorComponentType type) {
+
+        switch (type) {
+
+            case Blade:
+                ++this._bladesCount;
+                break;
+
+            case Shaft:
+                ++this._shaftsCount;
+                break;
+        }
+    }
+
+    public void removeRotorComponent(final RotorComponentType type) {
+
+        switch (type) {
+
+            case Blade:
+                this._bladesCount = Math.max(0, this._bladesCount - 1);
+                break;
+
+            case Shaft:
+                this._shaftsCount = Math.max(0, this._shaftsCount - 1);
+                break;
+        }
+    }
+
+    public int getBladesCount() {
+        return this._bladesCount;
+    }
+
+    public int getShaftsCount() {
+        return this._shaftsCount;
+    }
+
+    //endregion
+    //region coils
+
+    /**
+     * Start a new scan of the Turbine interior
+     */
+    public void beginScan() {
+
+        ++this._scanId;
+
+        if (this._tagsGeneration != s_tagsGeneration) {
+
+            // the coils materials may have changed: look up every position again
+            this._tagsGeneration = s_tagsGeneration;
+            this._coils.clear();
+            this.resetCoilsTotals();
+        }
+    }
+
+    /**
+     * Check if the given block is a coil and update the index accordingly
+     *
+     * @param position the position of the block, inside the Turbine interior
+     * @param state the block
+     * @return true if the block is a coil, false otherwise
+     */
+    public boolean scan(final BlockPos position, final BlockState state) {
+
+        final long key = position.asLong();
+        final Block block = state.getBlock();
+        final Coil coil = this._coils.get(key);
+
+        if (null != coil) {
+
+            if (coil.block == block) {
+
+                coil.scanId = this._scanId;
+                return true;
+            }
+
+            this.removeCoil(key, coil);
+        }
+
+        final CoilMaterial material = CoilMaterialRegistry.getOrNull(block);
+
+        if (null == material) {
+            return false;
+        }
+
+        this.addCoil(key, new Coil(block, material, this._scanId));
+        return true;
+    }
+
+    /**
+     * Complete a scan of the Turbine interior, removing all the coils that were not found by it
+     */
+    public void endScan() {
+
+        final ObjectIterator<Long2ObjectMap.Entry<Coil>> iterator = this._coils.long2ObjectEntrySet().fastIterator();
+
+        while (iterator.hasNext()) {
+
+            final Coil coil = iterator.next().getValue();
+
+            if (coil.scanId != this._scanId) {
+
+                iterator.remove();
+                this.subtract(coil.material);
+            }
+        }
+
+        if (this._coils.isEmpty()) {
+            this.resetCoilsTotals();
+        }
+    }
+
+    public int getCoilsCount() {
+        return this._coils.size();
+    }
+
+    public float getCoilsEfficiency() {
+        return (float)this._coilsEfficiency;
+    }
+
+    public float getCoilsBonus() {
+        return (float)this._coilsBonus;
+    }
+
+    public float getCoilsDragCoefficient() {
+        return (float)this._coilsDragCoefficient;
+    }
+
+    //endregion
+    //region internals
+
+    private static class Coil {
+
+        Coil(final Block block, final CoilMaterial material, final int scanId) {
+
+            this.block = block;
+            this.material = material;
+            this.scanId = scanId;
+        }
+
+        final Block block;
+        final CoilMaterial material;
+        int scanId;
+    }
+
+    private void addCoil(final long key, final Coil coil) {
+
+        this._coils.put(key, coil);
+        this._coilsEfficiency += coil.material.getEfficiency();
+        this._coilsBonus += coil.material.getBonus();
+        this._coilsDragCoefficient += coil.material.getEnergyExtractionRate();
+    }
+
+    private void removeCoil(final long key, final Coil coil) {
+
+        this._coils.remove(key);
+
+        if (this._coils.isEmpty()) {
+            this.resetCoilsTotals();
+        } else {
+            this.subtract(coil.material);
+        }
+    }
+
+    private void subtract(final CoilMaterial material) {
+
+        this._coilsEfficiency -= material.getEfficiency();
+        this._coilsBonus -= material.getBonus();
+        this._coilsDragCoefficient -= material.getEnergyExtractionRate();
+    }
+
+    private void resetCoilsTotals() {
+        this._coilsEfficiency = this._coilsBonus = this._coilsDragCoefficient = 0.0;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onVanillaTagsUpdated(final TagsUpdatedEvent.VanillaTagTypes event) {
+        ++s_tagsGeneration;
+    }
+
+    private static volatile int s_tagsGeneration = 0;
+
+    private final Long2ObjectMap<Coil> _coils;
+    private int _bladesCount;
+    private int _shaftsCount;
+    private int _scanId;
+    private int _tagsGeneration;
+
+    // kept as doubles so that adding and removing the same coils many times does not drift the totals
+    private double _coilsEfficiency;
+    private double _coilsBonus;
+    private double _coilsDragCoefficient;
+
+    //endregion
+}
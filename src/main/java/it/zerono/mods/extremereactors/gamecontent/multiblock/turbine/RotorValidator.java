@@ -0,0 +1,365 @@
+/*
+ *
+ * RotorValidator.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.zerocore.lib.CodeHelper;
+import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * Check the shape of a Turbine rotor.
+ * <p>
+ * The shafts, blades and coils inside the Turbine are stored in three packed bitmaps over the interior of the Turbine
+ * and the rotor is walked with local coordinates so that no position is allocated unless an error is reported.
+ * The bitmaps are reused between validations and are only reallocated when the interior of the Turbine grows
+ */
+public class RotorValidator {
+
+    public RotorValidator() {
+
+        this._shafts = this._blades = this._coils = new long[0];
+        this._wordsCount = 0;
+    }
+
+    /**
+     * Set the interior of the Turbine and remove all the shafts, blades and coils from the validator
+     *
+     * @param minInterior the minimum coordinates of the Turbine interior
+     * @param maxInterior the maximum coordinates of the Turbine interior
+     */
+    public void setInterior(final BlockPos minInterior, final BlockPos maxInterior) {
+
+        this._minX = minInterior.getX();
+        this._minY = minInterior.getY();
+        this._minZ = minInterior.getZ();
+        this._sizeX = Math.max(0, maxInterior.getX() - this._minX + 1);
+        this._sizeY = Math.max(0, maxInterior.getY() - this._minY + 1);
+        this._sizeZ = Math.max(0, maxInterior.getZ() - this._minZ + 1);
+        this._wordsCount = (this._sizeX * this._sizeY * this._sizeZ + 63) >>> 6;
+
+        if (this._shafts.length < this._wordsCount) {
+
+            this._shafts = new long[this._wordsCount];
+            this._blades = new long[this._wordsCount];
+            this._coils = new long[this._wordsCount];
+
+        } else {
+
+            Arrays.fill(this._shafts, 0, this._wordsCount, 0L);
+            Arrays.fill(this._blades, 0, this._wordsCount, 0L);
+            this.clearCoils();
+        }
+
+        this._shaftsCount = this._bladesCount = this._coilsCount = 0;
+        this._looseShafts = this._looseBlades = this._looseCoils = 0;
+    }
+
+    public void addShaft(final BlockPos position) {
+
+        final int index = this.getIndex(position.getX(), position.getY(), position.getZ());
+
+        if (index < 0) {
+            ++this._looseShafts;
+        } else if (set(this._shafts, index)) {
+            ++this._shaftsCount;
+        }
+    }
+
+    public void addBlade(final BlockPos position) {
+
+        final int index = this.getIndex(position.getX(), position.getY(), position.getZ());
+
+        if (index < 0) {
+            ++this._looseBlades;
+        } else if (set(this._blades, index)) {
+            ++this._bladesCount;
+        }
+    }
+
+    public void addCoil(final BlockPos position) {
+
+        final int index = this.getIndex(position.getX(), position.getY(), position.getZ());
+
+        if (index < 0) {
+            ++this._looseCoils;
+        } else if (set(this._coils, index)) {
+            ++this._coilsCount;
+        }
+    }
+
+    public void clearCoils() {
+
+        Arrays.fill(this._coils, 0, this._wordsCount, 0L);
+        this._coilsCount = this._looseCoils = 0;
+    }
+
+    /**
+     * Walk the rotor from the Rotor Bearing to the opposite side of the Turbine, checking that a shaft is found on
+     * every block and that the blades and the coils around it are correctly placed.
+     * <p>
+     * All the shafts, blades and coils visited by the walk are removed from the validator
+     *
+     * @param bearingPosition the position of the Rotor Bearing
+     * @param rotorDirection the direction of the rotor
+     * @param validatorCallback the validator, for error reporting
+     * @return true if the rotor is valid, false otherwise
+     */
+    public boolean validate(final BlockPos bearingPosition, final Direction rotorDirection,
+                            final IMultiblockValidator validatorCallback) {
+
+        final Direction.Axis rotatedAxis = rotorDirection.getAxis();
+        final Direction[] bladeDirections = s_bladeDirections[rotorDirection.ordinal()];
+        final int rotorLength = this.getSize(rotatedAxis);
+        final int rotorStepX = rotorDirection.getStepX();
+        final int rotorStepY = rotorDirection.getStepY();
+        final int rotorStepZ = rotorDirection.getStepZ();
+
+        // local coordinates of the rotor, starting from the Rotor Bearing
+        int rotorX = bearingPosition.getX() - this._minX;
+        int rotorY = bearingPosition.getY() - this._minY;
+        int rotorZ = bearingPosition.getZ() - this._minZ;
+        int rotorSteps = 0;
+        boolean encounteredCoils = false;
+
+        // Move along the length of the rotor, 1 block at a time
+
+        while (rotorSteps < rotorLength && this._shaftsCount + this._looseShafts > 0) {
+
+            rotorX += rotorStepX;
+            rotorY += rotorStepY;
+            rotorZ += rotorStepZ;
+            ++rotorSteps;
+
+            // Ensure we find a rotor shaft block along the length of the entire rotor
+
+            if (!clear(this._shafts, this.getLocalIndex(rotorX, rotorY, rotorZ))) {
+
+                validatorCallback.setLastError(this.getWorldPosition(rotorX, rotorY, rotorZ), "multiblock.validation.turbine.block_must_be_rotor");
+                return false;
+            }
+
+            --this._shaftsCount;
+
+            // Now move out in the 4 rotor normals, looking for blades and coils
+
+            boolean encounteredBlades = false;
+
+            for (final Direction bladeDirection : bladeDirections) {
+
+                final int bladeStepX = bladeDirection.getStepX();
+                final int bladeStepY = bladeDirection.getStepY();
+                final int bladeStepZ = bladeDirection.getStepZ();
+                int checkX = rotorX + bladeStepX;
+                int checkY = rotorY + bladeStepY;
+                int checkZ = rotorZ + bladeStepZ;
+                boolean bladeFound = false;
+
+                // If we find one blade, we can keep moving along the normal to find more blades
+
+                while (clear(this._blades, this.getLocalIndex(checkX, checkY, checkZ))) {
+
+                    // We found a coil already?! NOT ALLOWED.
+                    if (encounteredCoils) {
+
+                        validatorCallback.setLastError(this.getWorldPosition(checkX, checkY, checkZ), "multiblock.validation.turbine.blades_too_far");
+                        return false;
+                    }
+
+                    --this._bladesCount;
+                    bladeFound = encounteredBlades = true;
+                    checkX += bladeStepX;
+                    checkY += bladeStepY;
+                    checkZ += bladeStepZ;
+                }
+
+                // If this block wasn't a blade, check to see if it was a coil
+
+                if (!bladeFound && clear(this._coils, this.getLocalIndex(checkX, checkY, checkZ))) {
+
+                    --this._coilsCount;
+                    encounteredCoils = true;
+
+                    // We cannot have blades and coils intermix. This prevents intermixing, depending on eval order.
+
+                    if (encounteredBlades) {
+
+                        validatorCallback.setLastError(this.getWorldPosition(checkX, checkY, checkZ), "multiblock.validation.turbine.metal_too_near");
+                        return false;
+                    }
+
+                    // Check the two coil spots in the 'corners', which are permitted if they're connected to the main rotor coil somehow
+
+                    Direction rotatedDir;
+
+                    rotatedDir = CodeHelper.directionRotateAround(bladeDirection, rotatedAxis);
+                    this.clearCornerCoil(checkX + rotatedDir.getStepX(), checkY + rotatedDir.getStepY(), checkZ + rotatedDir.getStepZ());
+
+                    rotatedDir = rotatedDir.getOpposite();
+                    this.clearCornerCoil(checkX + rotatedDir.getStepX(), checkY + rotatedDir.getStepY(), checkZ + rotatedDir.getStepZ());
+                }
+
+                // Else: It must have been air.
+            }
+        }
+
+        if (rotorSteps != rotorLength) {
+
+            validatorCallback.setLastError("multiblock.validation.turbine.shaft_too_short");
+            return false;
+        }
+
+        // Ensure that we encountered all the rotor, blade and coil blocks. If not, there's loose stuff inside the turbine.
+
+        final int looseShafts = this._looseShafts + this._shaftsCount;
+
+        if (looseShafts > 0) {
+
+            validatorCallback.setLastError("multiblock.validation.turbine.found_loose_rotor_blocks", looseShafts);
+            return false;
+        }
+
+        final int looseBlades = this._looseBlades + this._bladesCount;
+
+        if (looseBlades > 0) {
+
+            validatorCallback.setLastError("multiblock.validation.turbine.found_loose_rotor_blades", looseBlades);
+            return false;
+        }
+
+        final int looseCoils = this._looseCoils + this._coilsCount;
+
+        if (looseCoils > 0) {
+
+            validatorCallback.setLastError("multiblock.validation.turbine.invalid_metals_shape", looseCoils);
+            return false;
+        }
+
+        return true;
+    }
+
+    //region internals
+
+    private int getIndex(final int x, final int y, final int z) {
+        return this.getLocalIndex(x - this._minX, y - this._minY, z - this._minZ);
+    }
+
+    private int getLocalIndex(final int localX, final int localY, final int localZ) {
+
+        if (localX < 0 || localY < 0 || localZ < 0 || localX >= this._sizeX || localY >= this._sizeY || localZ >= this._sizeZ) {
+            return -1;
+        }
+
+        return (localY * this._sizeZ + localZ) * this._sizeX + localX;
+    }
+
+    private BlockPos getWorldPosition(final int localX, final int localY, final int localZ) {
+        return new BlockPos(this._minX + localX, this._minY + localY, this._minZ + localZ);
+    }
+
+    private int getSize(final Direction.Axis axis) {
+
+        switch (axis) {
+
+            case X:
+                return this._sizeX;
+
+            default:
+            case Y:
+                return this._sizeY;
+
+            case Z:
+                return this._sizeZ;
+        }
+    }
+
+    private void clearCornerCoil(final int localX, final int localY, final int localZ) {
+
+        if (clear(this._coils, this.getLocalIndex(localX, localY, localZ))) {
+            --this._coilsCount;
+        }
+    }
+
+    /**
+     * Set a bit in the bitmap
+     *
+     * @return true if the bit was not already set, false otherwise
+     */
+    private static boolean set(final long[] bitmap, final int index) {
+
+        final int word = index >>> 6;
+        final long mask = 1L << index;
+
+        if (0 != (bitmap[word] & mask)) {
+            return false;
+        }
+
+        bitmap[word] |= mask;
+        return true;
+    }
+
+    /**
+     * Clear a bit in the bitmap
+     *
+     * @return true if the bit was set, false otherwise
+     */
+    private static boolean clear(final long[] bitmap, final int index) {
+
+        if (index < 0) {
+            return false;
+        }
+
+        final int word = index >>> 6;
+        final long mask = 1L << index;
+
+        if (0 == (bitmap[word] & mask)) {
+            return false;
+        }
+
+        bitmap[word] &= ~mask;
+        return true;
+    }
+
+    private static Direction[][] computeBladeDirections() {
+
+        final Direction[] all = Direction.values();
+        final Direction[][] directions = new Direction[all.length][];
+
+        for (final Direction direction : all) {
+            directions[direction.ordinal()] = CodeHelper.perpendicularDirections(direction).toArray(new Direction[0]);
+        }
+
+        return directions;
+    }
+
+    private static final Direction[][] s_bladeDirections = computeBladeDirections();
+
+    private long[] _shafts;
+    private long[] _blades;
+    private long[] _coils;
+    private int _wordsCount;
+    private int _minX, _minY, _minZ;
+    private int _sizeX, _sizeY, _sizeZ;
+    private int _shaftsCount, _bladesCount, _coilsCount;
+    private int _looseShafts, _looseBlades, _looseCoils;
+
+    //endregion
+}
@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
 
 import it.zerono.mods.extremereactors.api.turbine.CoilMaterial;
 import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.network.DeltaSyncSchema;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.IMultiblockTurbineVariant;
 import it.zerono.mods.zerocore.lib.IDebugMessages;
 import it.zerono.mods.zerocore.lib.IDebuggable;
@@ -147,29 +148,19 @@ public class TurbineData
             } // end y
         } // end x loop - looping over interior
 
-        // Precalculate some stuff now that we know how big the rotor and blades are
-
-        this._frictionalDrag = rotorMass * this._rotorDragCoefficient * Config.COMMON.turbine.turbineMassDragMultiplier.get().floatValue();
-        this._bladeDrag = BASE_BLADE_DRAG_COEFFICIENT * bladeSurfaceArea * Config.COMMON.turbine.turbineAeroDragMultiplier.get().floatValue();
-
-        if (coilStats.Size <= 0) {
-
-            // Uh. No coil? Fine.
-
-            this._inductionEfficiency = 0.0f;
-            this._inductionEnergyExponentBonus = 1.0f;
-            this._inductorDragCoefficient = 0.0f;
-
-        } else {
-
-            this._inductionEfficiency = (coilStats.Efficiency * 0.33f) / coilStats.Size;
-            this._inductionEnergyExponentBonus = Math.max(1.0f, (coilStats.Bonus / coilStats.Size));
-            this._inductorDragCoefficient = (coilStats.DragCoefficient / coilStats.Size) * this.getInductorBaseDragCoefficient();
-        }
+        this.updateRotorAndCoils(rotorMass, bladeSurfaceArea, coilStats.Efficiency, coilStats.Bonus, coilStats.DragCoefficient, coilStats.Size);
+    }
 
-        this._coilSize = coilStats.Size;
-        this._rotorMass = rotorMass;
-        this._bladeSurfaceArea = bladeSurfaceArea;
+    /**
+     * Update the rotor and coils parameters from the totals collected by a {@link RotorCoilsIndex}
+     *
+     * @param index the index of the rotor components and coils of the Turbine
+     * @param variant the variant of the Turbine
+     */
+    public void update(final RotorCoilsIndex index, final IMultiblockTurbineVariant variant) {
+        this.updateRotorAndCoils(index.getBladesCount() * variant.getRotorBladeMass() + index.getShaftsCount() * variant.getRotorShaftMass(),
+                index.getBladesCount(), index.getCoilsEfficiency(), index.getCoilsBonus(), index.getCoilsDragCoefficient(),
+                index.getCoilsCount());
     }
 
     //region getters
@@ -288,6 +279,25 @@ public class TurbineData
         this._rotorEfficiencyLastTick = efficiency;
     }
 
+    //endregion
+    //region client updates
+
+    /**
+     * Add the data to the fields sent to the players enlisted for updates
+     *
+     * @param schema the schema to add the fields to
+     */
+    public void defineClientSyncFields(final DeltaSyncSchema schema) {
+
+        schema.addEnum(this::getVentSetting, this::setVentSetting, VentSetting.class)
+                .addFloat(this::getRotorEnergy, energy -> this.setRotorEnergy((float)energy))
+                .addInt(this::getMaxIntakeRate, this::setMaxIntakeRate)
+                .addBoolean(this::isInductorEngaged, this::setInductorEngaged)
+                .addDouble(this::getEnergyGeneratedLastTick, this::setEnergyGeneratedLastTick)
+                .addInt(this::getFluidConsumedLastTick, this::setFluidConsumedLastTick)
+                .addFloat(this::getRotorEfficiencyLastTick, efficiency -> this.setRotorEfficiencyLastTick((float)efficiency));
+    }
+
     //endregion
     //region ISyncableEntity
 
@@ -415,6 +425,34 @@ public class TurbineData
     private int _fluidConsumedLastTick;
     private float _rotorEfficiencyLastTick;
 
+    private void updateRotorAndCoils(final int rotorMass, final int bladeSurfaceArea, final float coilEfficiency,
+                                     final float coilBonus, final float coilDragCoefficient, final int coilSize) {
+
+        // Precalculate some stuff now that we know how big the rotor and blades are
+
+        this._frictionalDrag = rotorMass * this._rotorDragCoefficient * Config.COMMON.turbine.turbineMassDragMultiplier.get().floatValue();
+        this._bladeDrag = BASE_BLADE_DRAG_COEFFICIENT * bladeSurfaceArea * Config.COMMON.turbine.turbineAeroDragMultiplier.get().floatValue();
+
+        if (coilSize <= 0) {
+
+            // Uh. No coil? Fine.
+
+            this._inductionEfficiency = 0.0f;
+            this._inductionEnergyExponentBonus = 1.0f;
+            this._inductorDragCoefficient = 0.0f;
+
+        } else {
+
+            this._inductionEfficiency = (coilEfficiency * 0.33f) / coilSize;
+            this._inductionEnergyExponentBonus = Math.max(1.0f, (coilBonus / coilSize));
+            this._inductorDragCoefficient = (coilDragCoefficient / coilSize) * this.getInductorBaseDragCoefficient();
+        }
+
+        this._coilSize = coilSize;
+        this._rotorMass = rotorMass;
+        this._bladeSurfaceArea = bladeSurfaceArea;
+    }
+
     private static class CoilStats
             implements Consumer<CoilMaterial> {
 
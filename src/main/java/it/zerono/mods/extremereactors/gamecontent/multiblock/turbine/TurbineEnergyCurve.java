@@ -0,0 +1,167 @@
+/*
+ *
+ * TurbineEnergyCurve.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.ExtremeReactors;
+import it.zerono.mods.extremereactors.config.Config;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+
+/**
+ * Evaluate the energy produced by the induction coils of a Turbine without any trigonometric function.
+ * <p>
+ * The efficiency curve of the rotor is periodic, so it is tabulated once over a single period of it and linearly
+ * interpolated between the RPM buckets (the error is below 1e-5). The power production multipliers from the config
+ * are cached by every Turbine and read again only after the config is (re)loaded
+ */
+@Mod.EventBusSubscriber(modid = ExtremeReactors.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
+public class TurbineEnergyCurve {
+
+    public TurbineEnergyCurve() {
+        this._configGeneration = -1;
+    }
+
+    /**
+     * Get the config multipliers that are applied to the energy generated by the Turbine
+     *
+     * @return the product of the general and Turbine power production multipliers
+     */
+    public double getPowerProductionMultiplier() {
+
+        final int generation = s_configGeneration;
+
+        if (this._configGeneration != generation) {
+
+            this._powerProductionMultiplier = Config.COMMON.general.powerProductionMultiplier.get() *
+                    Config.COMMON.turbine.turbinePowerProductionMultiplier.get();
+            this._configGeneration = generation;
+        }
+
+        return this._powerProductionMultiplier;
+    }
+
+    /**
+     * Get the efficiency of the rotor at the given speed.
+     * Rotors are 50% less efficient when not near 900/1800 RPMs
+     *
+     * @param rotorSpeed the rotor speed (RPM)
+     * @return the efficiency of the rotor
+     */
+    public static float getEfficiency(final float rotorSpeed) {
+
+        float efficiency;
+
+        if (rotorSpeed >= 0f && rotorSpeed < MAX_TABULATED_SPEED) {
+
+            final float bucket = rotorSpeed * BUCKETS_PER_RPM;
+            final int index = (int)bucket;
+            final float fraction = bucket - index;
+            final int entry = index & (BUCKETS - 1);
+
+            efficiency = s_efficiency[entry] + (s_efficiency[entry + 1] - s_efficiency[entry]) * fraction;
+
+        } else {
+
+            efficiency = computeEfficiency(rotorSpeed);
+        }
+
+        if (rotorSpeed < 500) {
+            efficiency = Math.min(0.5f, efficiency);
+        }
+
+        return efficiency;
+    }
+
+    /**
+     * Get the energy the induction coils could extract from the rotor, before the rotor efficiency is applied
+     *
+     * @param inductionTorque the induction torque
+     * @param exponentBonus the energy exponent bonus of the coils
+     * @param inductionEfficiency the efficiency of the coils
+     * @return the energy
+     */
+    public static float getInductionEnergy(final float inductionTorque, final float exponentBonus,
+                                           final float inductionEfficiency) {
+
+        // coils without a bonus are the common case and pow(x, 1) is x
+        final float energy = 1.0f == exponentBonus ? inductionTorque : (float)Math.pow(inductionTorque, exponentBonus);
+
+        return energy * inductionEfficiency;
+    }
+
+    /**
+     * Compute the efficiency of the rotor at the given speed with the original formula, without the cap for
+     * the low speeds
+     *
+     * @param rotorSpeed the rotor speed (RPM)
+     * @return the efficiency of the rotor
+     */
+    public static float computeEfficiency(final float rotorSpeed) {
+        return (float)(0.25 * Math.cos(rotorSpeed / (45.5 * Math.PI))) + 0.75f;
+    }
+
+    //region internals
+
+    @SubscribeEvent
+    public static void onConfigLoading(final ModConfig.Loading event) {
+        onConfigChanged(event.getConfig());
+    }
+
+    @SubscribeEvent
+    public static void onConfigReloading(final ModConfig.Reloading event) {
+        onConfigChanged(event.getConfig());
+    }
+
+    private static void onConfigChanged(final ModConfig config) {
+
+        if (ExtremeReactors.MOD_ID.equals(config.getModId())) {
+            ++s_configGeneration;
+        }
+    }
+
+    private static float[] computeEfficiencyTable() {
+
+        final float[] table = new float[BUCKETS + 1];
+
+        for (int i = 0; i <= BUCKETS; ++i) {
+            table[i] = (float)(0.25 * Math.cos(2.0 * Math.PI * i / BUCKETS)) + 0.75f;
+        }
+
+        return table;
+    }
+
+    // the efficiency curve repeat itself every 2 * PI * 45.5 * PI RPM (about 898 RPM)
+    private static final double EFFICIENCY_PERIOD = 2.0 * Math.PI * 45.5 * Math.PI;
+
+    private static final int BUCKETS = 1024;
+    private static final float BUCKETS_PER_RPM = (float)(BUCKETS / EFFICIENCY_PERIOD);
+
+    // above this speed a float is not precise enough to interpolate between the buckets: use the formula
+    private static final float MAX_TABULATED_SPEED = 10_000f;
+
+    private static final float[] s_efficiency = computeEfficiencyTable();
+
+    private static volatile int s_configGeneration = 0;
+
+    private int _configGeneration;
+    private double _powerProductionMultiplier;
+
+    //endregion
+}
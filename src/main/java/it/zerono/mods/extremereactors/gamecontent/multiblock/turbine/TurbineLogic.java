@@ -19,7 +19,6 @@
 package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
 
 import it.zerono.mods.extremereactors.api.coolant.Vapor;
-import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.IFluidContainer;
 import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
 import net.minecraft.profiler.IProfiler;
@@ -31,6 +30,8 @@ public class TurbineLogic {
         this._turbine = turbine;
         this._data = data;
         this._energyBuffer = energyBuffer;
+        this._energyCurve = new TurbineEnergyCurve();
+        this._solver = new TurbineSolver(data);
     }
 
     /**
@@ -46,23 +47,7 @@ public class TurbineLogic {
 
         // Generate energy based on vapor
 
-        int vaporAmount = 0; // mB. Based on water, actually. Probably higher for steam. Measure it.
-
-        if (this._turbine.isMachineActive()) {
-
-            // Spin up via steam inputs, convert some steam back into water.
-            // Use at most the user-configured max, or the amount in the tank, whichever is less.
-
-            vaporAmount = Math.min(this._data.getMaxIntakeRate(), this._turbine.getVaporAmount());
-
-            if (ventSetting.isDoNotVent()) {
-
-                // Cap steam used to available space, if not venting
-                final int availableSpace = this._turbine.getCapacity() - this._turbine.getCoolantAmount();
-
-                vaporAmount = Math.min(vaporAmount, availableSpace);
-            }
-        }
+        final int vaporAmount = this.getVaporIntake(); // mB. Based on water, actually. Probably higher for steam. Measure it.
 
         if (vaporAmount > 0 || this._data.getRotorEnergy() > 0) {
 
@@ -78,26 +63,11 @@ public class TurbineLogic {
 
                 float fluidEnergyDensity = fc.mapVapor(Vapor::getFluidEnergyDensity, 0f);
 
-                // Cap amount of steam we can fully extract energy from based on blade size
-                int steamToProcess = this._data.getBladeSurfaceArea() * this._data.getInputFluidPerBlade();
-
-                steamToProcess = Math.min(steamToProcess, vaporAmount);
-                liftTorque = steamToProcess * fluidEnergyDensity;
+                liftTorque = TurbineSolver.computeLiftTorque(this._data, vaporAmount, fluidEnergyDensity);
 
                 // Did we have excess steam for our blade size?
 
-                if (steamToProcess < vaporAmount) {
-
-                    // Extract some percentage of the remaining steam's energy, based on how many blades are missing
-                    steamToProcess = vaporAmount - steamToProcess;
-
-                    final float bladeEfficiency;
-                    final int neededBlades = vaporAmount / this._data.getInputFluidPerBlade(); // round in the player's favor
-                    final int missingBlades = neededBlades - this._data.getBladeSurfaceArea();
-
-                    bladeEfficiency = 1f - (float)missingBlades / (float)neededBlades;
-                    liftTorque += steamToProcess * fluidEnergyDensity * bladeEfficiency;
-
+                if (this._data.getBladeSurfaceArea() * this._data.getInputFluidPerBlade() < vaporAmount) {
                     this._data.setRotorEfficiencyLastTick(liftTorque / (vaporAmount * fluidEnergyDensity));
                 }
             }
@@ -105,23 +75,11 @@ public class TurbineLogic {
             // Yay for derivation. We're assuming delta-Time is always 1, as we're always calculating for 1 tick.
             // FEs available to coils
 
-            final float inductionTorque = this._data.isInductorEngaged() ?
-                    rotorSpeed * this._data.getInductorDragCoefficient() * this._data.getCoilSize() : 0.0f;
-
-            final float energyToGenerate = (float)Math.pow(inductionTorque, this._data.getInductionEnergyExponentBonus()) *
-                    this._data.getInductionEfficiency();
+            final float inductionTorque = TurbineSolver.computeInductionTorque(this._data, rotorSpeed);
+            final float energyToGenerate = TurbineSolver.computeRawEnergyGenerated(this._data, inductionTorque, rotorSpeed);
 
             if (energyToGenerate > 0.0f) {
-
-                // Efficiency curve. Rotors are 50% less efficient when not near 900/1800 RPMs.
-
-                float efficiency = (float)(0.25 * Math.cos(rotorSpeed / (45.5 * Math.PI))) + 0.75f;
-
-                if (rotorSpeed < 500) {
-                    efficiency = Math.min(0.5f, efficiency);
-                }
-
-                this.generateEnergy(energyToGenerate * efficiency);
+                this.generateEnergy(energyToGenerate);
             }
 
             this._data.changeRotorEnergy(liftTorque + -1.0f * inductionTorque + -1.0f * aerodynamicDragTorque +
@@ -141,6 +99,77 @@ public class TurbineLogic {
         }
     }
 
+    /**
+     * Get the solver for the rotor dynamics of the Turbine, set up for its current vapor intake.
+     * The solver is shared with the logic and set up again at every call: do not hold on to it
+     *
+     * @return the solver
+     */
+    public TurbineSolver getSolver() {
+        return this._solver.setup(this.getVaporIntake(),
+                this._turbine.getFluidContainer().mapVapor(Vapor::getFluidEnergyDensity, 0f));
+    }
+
+    /**
+     * Advance the Turbine by the given number of ticks in a single step, consuming the vapor that is already inside it.
+     * The result match the one of calling {@link #update()} for the same number of ticks within a small tolerance,
+     * as long as no vapor is added to the Turbine and no energy is extracted from it in the meantime
+     *
+     * @param ticks the number of ticks to advance the Turbine by
+     */
+    public void fastForward(final int ticks) {
+
+        if (ticks <= 0) {
+            return;
+        }
+
+        final IFluidContainer fc = this._turbine.getFluidContainer();
+        final float fluidEnergyDensity = fc.mapVapor(Vapor::getFluidEnergyDensity, 0f);
+        final int vaporPerTick = this.getVaporIntake();
+        final int vaporAvailable = vaporPerTick > 0 ? this.getVaporAvailable() : 0;
+        final int fullTicks = vaporPerTick > 0 ? Math.min(ticks, vaporAvailable / vaporPerTick) : 0;
+        final int partialVapor = fullTicks < ticks && vaporPerTick > 0 ? vaporAvailable - fullTicks * vaporPerTick : 0;
+        final int partialTicks = partialVapor > 0 ? 1 : 0;
+        double rawEnergy = 0.0;
+
+        this.resetStats();
+
+        // at full intake while there is enough vapor, then a last tick with what is left and then without vapor at all
+
+        rawEnergy += this.fastForward(this._solver.setup(vaporPerTick, fluidEnergyDensity), fullTicks);
+        rawEnergy += this.fastForward(this._solver.setup(partialVapor, fluidEnergyDensity), partialTicks);
+        rawEnergy += this.fastForward(this._solver.setup(0, fluidEnergyDensity), ticks - fullTicks - partialTicks);
+
+        if (rawEnergy > 0.0) {
+            // do not touch the last tick stats with the energy generated over all the ticks
+            this._energyBuffer.modifyEnergyStored(rawEnergy * this._energyCurve.getPowerProductionMultiplier());
+        }
+
+        final int vaporUsed = fullTicks * vaporPerTick + partialVapor;
+
+        if (vaporUsed > 0) {
+            fc.onCondensation(vaporUsed, this._data.getVentSetting().isVentAll(), this._turbine.getVariant());
+        }
+    }
+
+    /**
+     * Advance the Turbine over ticks that were skipped while it was not loaded, but only as long as the vapor that is
+     * already inside the Turbine last: an unloaded Turbine rotor keep its speed and it should not lose it on reload
+     *
+     * @param skippedTicks the number of ticks that were skipped
+     */
+    public void catchUp(final int skippedTicks) {
+
+        final int vaporPerTick = this.getVaporIntake();
+
+        if (skippedTicks > 0 && vaporPerTick > 0) {
+
+            final int vaporTicks = (this.getVaporAvailable() + vaporPerTick - 1) / vaporPerTick;
+
+            this.fastForward(Math.min(skippedTicks, vaporTicks));
+        }
+    }
+
     //region internals
     //region turbine update
 
@@ -152,13 +181,58 @@ public class TurbineLogic {
      */
     private void generateEnergy(double rawEnergy) {
 
-        rawEnergy = rawEnergy * Config.COMMON.general.powerProductionMultiplier.get() *
-                Config.COMMON.turbine.turbinePowerProductionMultiplier.get();
+        rawEnergy = rawEnergy * this._energyCurve.getPowerProductionMultiplier();
 
         this._energyBuffer.modifyEnergyStored(rawEnergy);
         this._data.changeEnergyGeneratedLastTick(rawEnergy);
     }
 
+    /**
+     * Turbine UPDATE
+     * Get the amount of vapor (mB) that will enter the Turbine this tick
+     */
+    private int getVaporIntake() {
+
+        if (!this._turbine.isMachineActive()) {
+            return 0;
+        }
+
+        // Spin up via steam inputs, convert some steam back into water.
+        // Use at most the user-configured max, or the amount in the tank, whichever is less.
+
+        return Math.min(this._data.getMaxIntakeRate(), this.getVaporAvailable());
+    }
+
+    /**
+     * Get the amount of vapor (mB) that could be used by the Turbine
+     */
+    private int getVaporAvailable() {
+
+        int vaporAmount = this._turbine.getVaporAmount();
+
+        if (this._data.getVentSetting().isDoNotVent()) {
+
+            // Cap steam used to available space, if not venting
+            final int availableSpace = this._turbine.getCapacity() - this._turbine.getCoolantAmount();
+
+            vaporAmount = Math.min(vaporAmount, availableSpace);
+        }
+
+        return Math.max(0, vaporAmount);
+    }
+
+    private double fastForward(final TurbineSolver solver, final int ticks) {
+
+        if (ticks <= 0) {
+            return 0.0;
+        }
+
+        final TurbineSolver.Result result = solver.fastForward(this._data.getRotorEnergy(), ticks);
+
+        this._data.setRotorEnergy(result.rotorEnergy);
+        return result.rawEnergyGenerated;
+    }
+
     //endregion
 
     private void resetStats() {
@@ -171,6 +245,8 @@ public class TurbineLogic {
     private final ITurbineReader _turbine;
     private final TurbineData _data;
     private final EnergyBuffer _energyBuffer;
+    private final TurbineEnergyCurve _energyCurve;
+    private final TurbineSolver _solver;
 
     //endregion
 }
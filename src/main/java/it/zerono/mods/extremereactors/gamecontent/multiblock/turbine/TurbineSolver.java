@@ -0,0 +1,269 @@
+/*
+ *
+ * TurbineSolver.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+/**
+ * Solve the rotor dynamics of a Turbine for a constant vapor intake.
+ * <p>
+ * With a constant intake, {@link TurbineLogic#update()} change the rotor energy E by
+ * {@code lift - (bladeDrag + inductorDrag * coilSize) * E / (blades * mass) - frictionalDrag} every tick, so E follow
+ * the linear recurrence {@code E' = max(0, a * E + b)}. The solver use the closed form of the recurrence to find the
+ * steady state of the rotor and the rotor energy after any number of ticks. The energy generated along the way is
+ * summed tick by tick while the rotor speed change quickly and with Simpson's rule over blocks of ticks when it doesn't
+ */
+public class TurbineSolver {
+
+    /**
+     * The rotor energy and the (raw) energy generated by the Turbine after a fast-forward
+     */
+    public static class Result {
+
+        public final float rotorEnergy;
+        public final double rawEnergyGenerated;
+
+        Result(final float rotorEnergy, final double rawEnergyGenerated) {
+
+            this.rotorEnergy = rotorEnergy;
+            this.rawEnergyGenerated = rawEnergyGenerated;
+        }
+    }
+
+    /**
+     * Create a new solver for a Turbine. The solver must be set up with {@link #setup(int, float)} before being used
+     *
+     * @param data the Turbine data
+     */
+    public TurbineSolver(final TurbineData data) {
+
+        this._data = data;
+        this.setup(0, 0f);
+    }
+
+    /**
+     * Set up the solver for the current rotor and coils parameters of the Turbine and the given vapor intake
+     *
+     * @param vaporPerTick the vapor (mB) entering the Turbine every tick
+     * @param fluidEnergyDensity the energy density of the vapor
+     * @return this solver
+     */
+    public TurbineSolver setup(final int vaporPerTick, final float fluidEnergyDensity) {
+
+        final TurbineData data = this._data;
+
+        this._rotorInertia = data.getBladeSurfaceArea() * data.getRotorMass();
+
+        final float lift = vaporPerTick > 0 ? computeLiftTorque(data, vaporPerTick, fluidEnergyDensity) : 0f;
+
+        this._drag = data.getBladeDrag() + (data.isInductorEngaged() ? data.getInductorDragCoefficient() * data.getCoilSize() : 0f);
+        this._b = lift - data.getFrictionalDrag();
+
+        if (this._rotorInertia > 0 && this._drag > 0) {
+
+            this._a = 1.0 - this._drag / this._rotorInertia;
+            this._steadyStateRotorEnergy = this._b * this._rotorInertia / this._drag;
+
+        } else {
+
+            // no rotor or no drag: the rotor energy change by the same amount every tick
+            this._a = 1.0;
+            this._steadyStateRotorEnergy = this._b > 0 ? Double.POSITIVE_INFINITY : 0.0;
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the rotor energy the Turbine will converge to, or {@link Double#POSITIVE_INFINITY} if the rotor energy grow without limits
+     */
+    public double getSteadyStateRotorEnergy() {
+        return Math.max(0.0, this._steadyStateRotorEnergy);
+    }
+
+    /**
+     * @return the rotor speed (RPM) the Turbine will converge to
+     */
+    public float getSteadyStateRotorSpeed() {
+        return this._rotorInertia > 0 ? (float)(this.getSteadyStateRotorEnergy() / this._rotorInertia) : 0f;
+    }
+
+    /**
+     * @return the energy generated every tick (before the config multipliers are applied) once the Turbine reached its steady state
+     */
+    public double getSteadyStateRawEnergyGenerated() {
+
+        final double energy = this.getSteadyStateRotorEnergy();
+
+        return Double.isInfinite(energy) ? 0.0 : this.getRawEnergyGenerated(energy);
+    }
+
+    /**
+     * Compute the state of the Turbine after the given number of ticks
+     *
+     * @param rotorEnergy the initial rotor energy
+     * @param ticks the number of ticks to fast-forward
+     * @return the rotor energy and the energy generated (before the config multipliers are applied) after the given ticks
+     */
+    public Result fastForward(final float rotorEnergy, final int ticks) {
+
+        final double steadyState = this.getSteadyStateRotorEnergy();
+        double energy = rotorEnergy;
+        double generated = 0.0;
+        int tick = 0;
+
+        if (this._rotorInertia <= 0 || this._drag <= 0) {
+            // without a rotor (or without any drag on it) the induction coils don't generate anything
+            return new Result((float)Math.min(Float.MAX_VALUE, Math.max(0.0, energy + this._b * ticks)), 0.0);
+        }
+
+        while (tick < ticks) {
+
+            final int remaining = ticks - tick;
+
+            if (Math.abs(energy - steadyState) <= CONVERGENCE_TOLERANCE * Math.max(1.0, steadyState)) {
+
+                // converged: every remaining tick generate the same energy
+                generated += remaining * this.getRawEnergyGenerated(steadyState);
+                energy = steadyState;
+                break;
+            }
+
+            if (remaining >= SIMPSON_BLOCK_TICKS && this._a > 0.0 && this._a < 1.0) {
+
+                final double middle = this.advance(energy, SIMPSON_BLOCK_TICKS / 2);
+                final double end = this.advance(energy, SIMPSON_BLOCK_TICKS);
+
+                if (end >= 0.0 && Math.abs(end - energy) / this._rotorInertia <= SIMPSON_MAX_SPEED_DELTA) {
+
+                    final double start = this.getRawEnergyGenerated(energy);
+                    final double last = this.getRawEnergyGenerated(end);
+
+                    // integral over the block (Simpson's rule) minus the end-point correction to get the sum over the ticks
+                    generated += SIMPSON_BLOCK_TICKS * (start + 4.0 * this.getRawEnergyGenerated(middle) + last) / 6.0 -
+                            (last - start) / 2.0;
+                    energy = end;
+                    tick += SIMPSON_BLOCK_TICKS;
+                    continue;
+                }
+            }
+
+            // one tick at a time, as TurbineLogic#update() does
+            generated += this.getRawEnergyGenerated(energy);
+            energy = Math.max(0.0, this._a * energy + this._b);
+            ++tick;
+        }
+
+        return new Result((float)Math.min(Float.MAX_VALUE, energy), generated);
+    }
+
+    /**
+     * Compute the lift torque produced by the vapor entering the Turbine
+     *
+     * @param data the Turbine data
+     * @param vaporAmount the vapor (mB) entering the Turbine. Must be greater than zero
+     * @param fluidEnergyDensity the energy density of the vapor
+     * @return the lift torque
+     */
+    static float computeLiftTorque(final TurbineData data, final int vaporAmount, final float fluidEnergyDensity) {
+
+        // Cap amount of steam we can fully extract energy from based on blade size
+        int steamToProcess = data.getBladeSurfaceArea() * data.getInputFluidPerBlade();
+
+        steamToProcess = Math.min(steamToProcess, vaporAmount);
+
+        float liftTorque = steamToProcess * fluidEnergyDensity;
+
+        // Did we have excess steam for our blade size?
+
+        if (steamToProcess < vaporAmount) {
+
+            // Extract some percentage of the remaining steam's energy, based on how many blades are missing
+            steamToProcess = vaporAmount - steamToProcess;
+
+            final float bladeEfficiency;
+            final int neededBlades = vaporAmount / data.getInputFluidPerBlade(); // round in the player's favor
+            final int missingBlades = neededBlades - data.getBladeSurfaceArea();
+
+            bladeEfficiency = 1f - (float)missingBlades / (float)neededBlades;
+            liftTorque += steamToProcess * fluidEnergyDensity * bladeEfficiency;
+        }
+
+        return liftTorque;
+    }
+
+    /**
+     * Compute the torque absorbed by the induction coils
+     *
+     * @param data the Turbine data
+     * @param rotorSpeed the rotor speed
+     * @return the induction torque
+     */
+    static float computeInductionTorque(final TurbineData data, final float rotorSpeed) {
+        return data.isInductorEngaged() ? rotorSpeed * data.getInductorDragCoefficient() * data.getCoilSize() : 0.0f;
+    }
+
+    /**
+     * Compute the energy generated by the induction coils, before the config multipliers are applied
+     *
+     * @param data the Turbine data
+     * @param inductionTorque the induction torque
+     * @param rotorSpeed the rotor speed
+     * @return the energy generated
+     */
+    static float computeRawEnergyGenerated(final TurbineData data, final float inductionTorque, final float rotorSpeed) {
+
+        final float energyToGenerate = TurbineEnergyCurve.getInductionEnergy(inductionTorque,
+                data.getInductionEnergyExponentBonus(), data.getInductionEfficiency());
+
+        if (energyToGenerate > 0.0f) {
+            return energyToGenerate * TurbineEnergyCurve.getEfficiency(rotorSpeed);
+        }
+
+        return 0.0f;
+    }
+
+    //region internals
+
+    private double advance(final double rotorEnergy, final int ticks) {
+        return this._steadyStateRotorEnergy + Math.pow(this._a, ticks) * (rotorEnergy - this._steadyStateRotorEnergy);
+    }
+
+    private double getRawEnergyGenerated(final double rotorEnergy) {
+
+        final float rotorSpeed = (float)(rotorEnergy / this._rotorInertia);
+
+        return computeRawEnergyGenerated(this._data, computeInductionTorque(this._data, rotorSpeed), rotorSpeed);
+    }
+
+    // relative distance from the steady state at which the rotor is considered converged
+    private static final double CONVERGENCE_TOLERANCE = 1e-6;
+
+    private static final int SIMPSON_BLOCK_TICKS = 64;
+
+    // maximum change of the rotor speed (RPM) over a single Simpson block
+    private static final double SIMPSON_MAX_SPEED_DELTA = 16.0;
+
+    private final TurbineData _data;
+    private int _rotorInertia;
+    private double _drag;
+    private double _a;
+    private double _b;
+    private double _steadyStateRotorEnergy;
+
+    //endregion
+}
@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.computer;
 
 import com.google.common.collect.Maps;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.IMachineReader;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.part.powertap.PowerTapStats;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.MultiblockTurbine;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.VentSetting;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.part.TurbineComputerPortEntity;
@@ -29,6 +30,7 @@ import it.zerono.mods.zerocore.lib.compat.computer.LuaHelper;
 import it.zerono.mods.zerocore.lib.compat.computer.MultiblockComputerPeripheral;
 import it.zerono.mods.zerocore.lib.energy.EnergySystem;
 import net.minecraft.fluid.Fluid;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraftforge.common.util.NonNullConsumer;
 
@@ -121,6 +123,9 @@ public class TurbineComputerPeripheral
 
         })));
 
+        methodConsumer.accept(new ComputerMethod<>("getPowerTapsStats", wrapControllerValue(c -> //NEW
+                PowerTapStats.toMap(c.getPowerTaps(), c.getMinimumCoord().orElse(BlockPos.ZERO)))));
+
         methodConsumer.accept(new ComputerMethod<>("setActive", wrapControllerAction((c, arguments) ->
                 c.setMachineActive(LuaHelper.getBooleanFromArgs(arguments, 0))), 1, true));
 
@@ -139,7 +139,7 @@ public class TurbineControllerEntity
      */
     @Override
     public void enlistForUpdates(ServerPlayerEntity player, boolean updateNow) {
-        this.getMultiblockController().ifPresent(c -> c.enlistForUpdates(player, updateNow));
+        this.getMultiblockController().ifPresent(c -> c.enlistForClientUpdates(player, updateNow));
     }
 
     /**
@@ -149,7 +149,7 @@ public class TurbineControllerEntity
      */
     @Override
     public void delistFromUpdates(ServerPlayerEntity player) {
-        this.getMultiblockController().ifPresent(c -> c.delistFromUpdates(player));
+        this.getMultiblockController().ifPresent(c -> c.delistFromClientUpdates(player));
     }
 
     /**
@@ -30,6 +30,7 @@ import it.zerono.mods.extremereactors.api.turbine.CoilMaterialRegistry;
 import it.zerono.mods.extremereactors.config.Config;
 import it.zerono.mods.extremereactors.gamecontent.Content;
 import it.zerono.mods.extremereactors.gamecontent.compat.patchouli.PatchouliCompat;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.RenderUpdateBatcher;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.CachedSprites;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.ChargingPortScreen;
 import it.zerono.mods.extremereactors.gamecontent.multiblock.common.client.screen.FluidPortScreen;
@@ -82,12 +83,14 @@ import net.minecraft.item.Item;
 import net.minecraft.resources.IResourceManager;
 import net.minecraft.util.Direction;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraftforge.client.event.ColorHandlerEvent;
 import net.minecraftforge.client.event.ModelBakeEvent;
 import net.minecraftforge.client.event.ModelRegistryEvent;
 import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventBus;
@@ -109,6 +112,7 @@ public class ClientProxy
     public ClientProxy() {
 
         this._modelBuilders = initModels();
+        this._renderUpdateBatcher = new RenderUpdateBatcher();
 
         IEventBus bus;
 
@@ -119,6 +123,7 @@ public class ClientProxy
         bus.addListener(this::onItemTooltip);
         bus.addListener(EventPriority.LOWEST, this::onVanillaTagsUpdated);
         bus.addListener(this::onTextureStitchPre);
+        bus.addListener(this::onClientTick);
 
         CodeHelper.addResourceReloadListener(this);
     }
@@ -175,6 +180,13 @@ public class ClientProxy
         }
     }
 
+    public void onClientTick(final TickEvent.ClientTickEvent event) {
+
+        if (TickEvent.Phase.END == event.phase) {
+            this._renderUpdateBatcher.flush();
+        }
+    }
+
     @SubscribeEvent
     public void onColorHandlerEvent(final ColorHandlerEvent.Block event) {
         event.getBlockColors().register(new ReactorFuelRodBlockColor(),
@@ -189,6 +201,11 @@ public class ClientProxy
         return new ClientFuelRodsLayout(direction, length);
     }
 
+    @Override
+    public void scheduleRenderUpdate(BlockPos position) {
+        this._renderUpdateBatcher.schedule(position);
+    }
+
     //endregion
     //region ISelectiveResourceReloadListener
 
@@ -331,6 +348,7 @@ public class ClientProxy
     private static final ModBakedModelSupplier s_bakedModelSupplier = new ModBakedModelSupplier();
 
     private final List<ICustomModelBuilder> _modelBuilders;
+    private final RenderUpdateBatcher _renderUpdateBatcher;
 
     private Map<Item, Set<ITextComponent>> _apiTooltipCache;
 
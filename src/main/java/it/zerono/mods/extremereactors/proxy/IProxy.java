@@ -20,8 +20,17 @@ package it.zerono.mods.extremereactors.proxy;
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
 
 public interface IProxy {
 
     FuelRodsLayout createFuelRodsLayout(Direction direction, int length);
+
+    /**
+     * Schedule a re-render of the chunk section containing the given position. All the requests received in a tick
+     * are merged together so that each chunk section is re-rendered only once
+     *
+     * @param position the position of the block to re-render
+     */
+    void scheduleRenderUpdate(BlockPos position);
 }
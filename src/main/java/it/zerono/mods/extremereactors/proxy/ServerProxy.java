@@ -20,6 +20,7 @@ package it.zerono.mods.extremereactors.proxy;
 
 import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsLayout;
 import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
 
 public class ServerProxy implements IProxy {
 
@@ -30,5 +31,10 @@ public class ServerProxy implements IProxy {
         return new FuelRodsLayout(direction, length);
     }
 
+    @Override
+    public void scheduleRenderUpdate(BlockPos position) {
+        // nothing to render on a dedicated server
+    }
+
     //endregion
 }
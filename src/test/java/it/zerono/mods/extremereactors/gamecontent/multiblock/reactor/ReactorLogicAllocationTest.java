@@ -0,0 +1,99 @@
+/*
+ *
+ * ReactorLogicAllocationTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Check that, once the JIT compiler had a chance to kick in, a Reactor tick do not allocate anything on the heap
+ */
+class ReactorLogicAllocationTest {
+
+    @ParameterizedTest
+    @EnumSource(OperationalMode.class)
+    void updateDoNotAllocate(final OperationalMode mode) {
+
+        final EnergyBuffer energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+        final ReactorLogicBenchmark.BenchmarkReactor reactor = ReactorLogicBenchmark.createReactor(energyBuffer, REACTOR_SIZE, mode);
+        final ReactorLogic logic = new ReactorLogic(reactor, energyBuffer);
+
+        reactor.getFuelHeat().set(1000);
+        reactor.getReactorHeat().set(500);
+
+        for (int tick = 0; tick < WARMUP_TICKS; ++tick) {
+
+            logic.update();
+            reactor.refill();
+        }
+
+        // refilling the Reactor is not part of a tick: do it once, before the measured ticks
+        reactor.refill();
+
+        final long overhead = measureOverhead();
+        final long start = allocatedBytes();
+
+        for (int tick = 0; tick < MEASURED_TICKS; ++tick) {
+            logic.update();
+        }
+
+        final long allocated = allocatedBytes() - start - overhead;
+
+        Assertions.assertEquals(0, allocated, () -> String.format("%d bytes allocated in %d ticks (%s mode)",
+                allocated, MEASURED_TICKS, mode));
+    }
+
+    //region internals
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Querying the allocated bytes may allocate something by itself (it does on Java 8): measure how much so that
+     * it can be removed from the results
+     */
+    private static long measureOverhead() {
+
+        long overhead = Long.MAX_VALUE;
+
+        for (int i = 0; i < 10; ++i) {
+
+            final long start = allocatedBytes();
+
+            overhead = Math.min(overhead, allocatedBytes() - start);
+        }
+
+        return overhead;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    private static final int REACTOR_SIZE = 7;
+    private static final int WARMUP_TICKS = 50_000;
+    private static final int MEASURED_TICKS = 1_000;
+
+    //endregion
+}
@@ -0,0 +1,237 @@
+/*
+ *
+ * ReactorLogicHeatTransferTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.radiation.EnergyConversion;
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+/**
+ * Golden trace test for the heat transfers of {@link ReactorLogic}: the fused heat transfer step must produce the
+ * very same results, bit by bit, of the three separate steps it replaced (fuel to reactor, reactor to coolant and
+ * passive heat loss), which are replayed here on a twin Reactor.
+ * <p>
+ * The Reactors are kept inactive so that a tick only move heat around. Every few ticks both of them are moved to the
+ * same random state to cover all the branches, including a fuel colder than the Reactor and negative heats
+ */
+class ReactorLogicHeatTransferTest {
+
+    @ParameterizedTest
+    @EnumSource(OperationalMode.class)
+    void fusedHeatTransferMatchTheOriginalSteps(final OperationalMode mode) {
+
+        final EnergyBuffer energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+        final ReactorLogicBenchmark.BenchmarkReactor reactor = ReactorLogicBenchmark.createReactor(energyBuffer, REACTOR_SIZE, mode);
+        final ReactorLogic logic = new ReactorLogic(reactor, energyBuffer);
+        final ReactorLogicBenchmark.BenchmarkReactor twin = ReactorLogicBenchmark.createReactor(
+                new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000), REACTOR_SIZE, mode);
+        final LegacyHeatTransfer legacy = new LegacyHeatTransfer(twin);
+        final Random random = new Random(0x4ea7);
+
+        reactor.setActive(false);
+        twin.setActive(false);
+
+        for (int tick = 0; tick < TICKS; ++tick) {
+
+            if (0 == tick % TICKS_PER_STATE) {
+
+                final double fuelHeat = randomHeat(random);
+                final double reactorHeat = randomHeat(random);
+
+                reactor.refill();
+                reactor.getFuelHeat().set(fuelHeat);
+                reactor.getReactorHeat().set(reactorHeat);
+
+                twin.refill();
+                twin.getFuelHeat().set(fuelHeat);
+                twin.getReactorHeat().set(reactorHeat);
+            }
+
+            logic.update();
+            legacy.update();
+
+            final int currentTick = tick;
+
+            assertSameBits("fuel heat", tick, twin.getFuelHeat().getAsDouble(), reactor.getFuelHeat().getAsDouble());
+            assertSameBits("reactor heat", tick, twin.getReactorHeat().getAsDouble(), reactor.getReactorHeat().getAsDouble());
+            assertSameBits("amount generated", tick, legacy.getAmountGeneratedLastTick(),
+                    reactor.getUiStats().getAmountGeneratedLastTick());
+            Assertions.assertEquals(twin.getFluidContainer().getLiquidAmount(), reactor.getFluidContainer().getLiquidAmount(),
+                    () -> "liquid amount diverged at tick " + currentTick);
+            Assertions.assertEquals(twin.getFluidContainer().getGasAmount(), reactor.getFluidContainer().getGasAmount(),
+                    () -> "gas amount diverged at tick " + currentTick);
+        }
+    }
+
+    //region internals
+
+    /**
+     * The heat transfers of {@link ReactorLogic}, as they were before being fused in a single step: three methods,
+     * each one reading and writing the heats and the coefficients from the Reactor
+     */
+    private static class LegacyHeatTransfer {
+
+        LegacyHeatTransfer(final ReactorLogicBenchmark.BenchmarkReactor reactor) {
+            this._reactor = reactor;
+        }
+
+        void update() {
+
+            final IHeat reactorHeat = this._reactor.getReactorHeat();
+
+            if (Double.isNaN(reactorHeat.getAsDouble())) {
+                reactorHeat.set(0);
+            }
+
+            this._amountGeneratedLastTick = 0;
+
+            // - Fuel Pool <> Reactor Environment
+            this.transferHeatBetweenFuelAndReactor();
+            // - If we have a temperature differential between environment and coolant system, move heat between them
+            this.transferHeatBetweenReactorAndCoolant();
+            // - Do passive heat loss - this is always versus external environment
+            this.performPassiveHeatLoss();
+            // - Prevent cryogenics
+            reactorHeat.resetIfNegative();
+            this._reactor.getFuelHeat().resetIfNegative();
+        }
+
+        double getAmountGeneratedLastTick() {
+            return this._amountGeneratedLastTick;
+        }
+
+        private void transferHeatBetweenFuelAndReactor() {
+
+            final double temperatureDifferential = this._reactor.getFuelHeat().getAsDouble() - this.getReactorHeat().getAsDouble();
+
+            if (temperatureDifferential > 0.01) {
+
+                final double energyTransferred = temperatureDifferential * this._reactor.getEnvironment().getFuelToReactorHeatTransferCoefficient();
+                final double fuelVolEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getFuelRodsCount(),
+                        this._reactor.getFuelHeat().getAsDouble()) - energyTransferred;
+                final double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
+                        this.getReactorHeat().getAsDouble()) + energyTransferred;
+
+                this._reactor.getFuelHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getFuelRodsCount(), fuelVolEnergy));
+                this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorEnergy));
+            }
+        }
+
+        private void transferHeatBetweenReactorAndCoolant() {
+
+            final double temperatureDifferential = this.getReactorHeat().getAsDouble() - this.getCoolantTemperature();
+
+            if (temperatureDifferential > 0.01f) {
+
+                double energyTransferred = temperatureDifferential * this._reactor.getEnvironment().getReactorToCoolantSystemHeatTransferCoefficient();
+                double reactorEnergy = EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
+                        this.getReactorHeat().getAsDouble());
+
+                if (this._reactor.getOperationalMode().isPassive()) {
+
+                    energyTransferred *= PASSIVE_COOLING_TRANSFER_EFFICIENCY;
+                    this.generateEnergy(energyTransferred * PASSIVE_COOLING_POWER_EFFICIENCY);
+
+                } else {
+
+                    energyTransferred -= this._reactor.getFluidContainer().onAbsorbHeat(energyTransferred, this._reactor.getVariant());
+                    this._amountGeneratedLastTick = this._reactor.getFluidContainer().getLiquidVaporizedLastTick();
+                }
+
+                reactorEnergy -= energyTransferred;
+                this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorEnergy));
+            }
+        }
+
+        private void performPassiveHeatLoss() {
+
+            final double temperatureDifferential = this.getReactorHeat().getAsDouble() - IHeatEntity.AMBIENT_HEAT;
+
+            if (temperatureDifferential > 0.000001f) {
+
+                // Lose at least 1FE/t
+                final double energyLost = Math.max(1d, temperatureDifferential * this._reactor.getEnvironment().getReactorHeatLossCoefficient());
+
+                final double reactorNewEnergy = Math.max(0d,
+                        EnergyConversion.getEnergyFromVolumeAndTemperature(this.getReactorVolume(),
+                                this.getReactorHeat().getAsDouble()) - energyLost);
+
+                this.getReactorHeat().set(EnergyConversion.getTemperatureFromVolumeAndEnergy(this.getReactorVolume(), reactorNewEnergy));
+            }
+        }
+
+        private void generateEnergy(double rawEnergy) {
+
+            rawEnergy = rawEnergy * Config.COMMON.general.powerProductionMultiplier.get() *
+                    Config.COMMON.reactor.reactorPowerProductionMultiplier.get() *
+                    this._reactor.getVariant().getEnergyGenerationEfficiency();
+
+            this._amountGeneratedLastTick += rawEnergy;
+        }
+
+        private double getCoolantTemperature() {
+
+            if (this._reactor.getOperationalMode().isPassive()) {
+                return IHeatEntity.AMBIENT_HEAT;
+            } else {
+                return this._reactor.getFluidContainer().getLiquidTemperature(this.getReactorHeat().getAsDouble());
+            }
+        }
+
+        private IHeat getReactorHeat() {
+            return this._reactor.getEnvironment().getReactorHeat();
+        }
+
+        private int getFuelRodsCount() {
+            return this._reactor.getEnvironment().getPartsCount(ReactorPartType.FuelRod);
+        }
+
+        private int getReactorVolume() {
+            return this._reactor.getEnvironment().getReactorVolume();
+        }
+
+        private static final float PASSIVE_COOLING_POWER_EFFICIENCY = 0.5f;
+        private static final float PASSIVE_COOLING_TRANSFER_EFFICIENCY = 0.2f;
+
+        private final ReactorLogicBenchmark.BenchmarkReactor _reactor;
+        private double _amountGeneratedLastTick;
+    }
+
+    private static double randomHeat(final Random random) {
+        return -100.0 + random.nextDouble() * 5000.0;
+    }
+
+    private static void assertSameBits(final String trace, final int tick, final double expected, final double actual) {
+        Assertions.assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                () -> String.format("%s diverged at tick %d: expected %s but was %s", trace, tick, expected, actual));
+    }
+
+    private static final int REACTOR_SIZE = 7;
+    private static final int TICKS = 100_000;
+    private static final int TICKS_PER_STATE = 20;
+
+    //endregion
+}
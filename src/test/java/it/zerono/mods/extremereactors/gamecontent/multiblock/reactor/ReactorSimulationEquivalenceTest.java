@@ -0,0 +1,149 @@
+/*
+ *
+ * ReactorSimulationEquivalenceTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor;
+
+import it.zerono.mods.extremereactors.api.reactor.BenchmarkReactants;
+import it.zerono.mods.extremereactors.api.reactor.FuelProperties;
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.Moderator;
+import it.zerono.mods.extremereactors.config.Config;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.simulator.ReactorSimulation;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.variant.ReactorVariant;
+import it.zerono.mods.zerocore.lib.data.stack.OperationMode;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Check that {@link ReactorSimulation} describe a Reactor the same way the game does: both it and {@link ReactorLogic}
+ * run the same {@link ReactorPhysics} so this check the simulator own rays, heat transfer coefficients, moderators
+ * and fuel bookkeeping. Both are stepped, tick by tick, on the same passively cooled Reactor (a cube filled with water
+ * and with a Fuel Rods column every other block) and their heat, fuel and energy traces must match.
+ * <p>
+ * The two Reactors walk the Fuel Rods in a different order so the traces are compared with a small relative
+ * tolerance instead of bit by bit
+ */
+class ReactorSimulationEquivalenceTest {
+
+    @ParameterizedTest
+    @CsvSource({"3, 0", "7, 0", "7, 50", "13, 25"})
+    void passiveReactorTracesMatch(final int size, final byte insertion) {
+
+        final EnergyBuffer energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+        final ReactorLogicBenchmark.BenchmarkReactor reactor = ReactorLogicBenchmark.createReactor(energyBuffer, size,
+                OperationalMode.Passive);
+        final ReactorLogic logic = new ReactorLogic(reactor, energyBuffer);
+        final FuelContainer fuelContainer = (FuelContainer)reactor.getFuelContainer();
+        final ReactorSimulation simulation = createSimulation(size, insertion);
+
+        reactor.setControlRodsInsertionRatio(insertion);
+        reactor.getFuelHeat().set(IHeatEntity.AMBIENT_HEAT);
+        reactor.getReactorHeat().set(IHeatEntity.AMBIENT_HEAT);
+
+        // half full, with the single unit of waste the benchmark Reactor need to avoid the reactants registry
+
+        fuelContainer.voidFuel();
+        fuelContainer.voidWaste();
+        fuelContainer.insertWaste(BenchmarkReactants.CYANITE, 1, OperationMode.Execute);
+        fuelContainer.insertFuel(BenchmarkReactants.YELLORIUM, simulation.getFuelCapacity() / 2, OperationMode.Execute);
+
+        simulation.setFuelAmount(fuelContainer.getFuelAmount());
+        simulation.setWasteAmount(fuelContainer.getWasteAmount());
+        simulation.setFuelHeat(IHeatEntity.AMBIENT_HEAT);
+        simulation.setReactorHeat(IHeatEntity.AMBIENT_HEAT);
+
+        Assertions.assertEquals(fuelContainer.getFuelAmount(), simulation.getFuelAmount());
+        Assertions.assertEquals(fuelContainer.getWasteAmount(), simulation.getWasteAmount());
+
+        for (int tick = 0; tick < TICKS; ++tick) {
+
+            logic.update();
+            simulation.tick();
+
+            assertClose("fuel heat", tick, simulation.getFuelHeat(), reactor.getFuelHeat().getAsDouble());
+            assertClose("reactor heat", tick, simulation.getReactorHeat(), reactor.getReactorHeat().getAsDouble());
+            assertClose("energy generated", tick, simulation.getAmountGeneratedLastTick(),
+                    reactor.getUiStats().getAmountGeneratedLastTick());
+            assertClose("fuel consumed", tick, simulation.getFuelConsumedLastTick(),
+                    reactor.getUiStats().getFuelConsumedLastTick());
+            assertClose("fertility", tick, simulation.getFertility(), logic.getFertility());
+
+            // the fuel is converted to waste one unit at the time, a rounding difference could move a conversion to the next tick
+            assertClose("fuel amount", tick, simulation.getFuelAmount(), fuelContainer.getFuelAmount(), 1);
+            assertClose("waste amount", tick, simulation.getWasteAmount(), fuelContainer.getWasteAmount(), 1);
+        }
+    }
+
+    //region internals
+
+    /**
+     * Create a simulation of the same Reactor built by {@link ReactorLogicBenchmark.BenchmarkReactor}, using the same
+     * fuel and the same (default) configuration values used by {@link ReactorLogic}
+     */
+    private static ReactorSimulation createSimulation(final int size, final byte insertion) {
+
+        final ReactorSimulation simulation = new ReactorSimulation(size, size, size);
+        final FuelProperties fuel = BenchmarkReactants.YELLORIUM.getFuelData();
+        final Moderator water = Moderator.WATER;
+
+        for (int z = 0; z < size; ++z) {
+            for (int x = 0; x < size; ++x) {
+
+                if (1 == (x & 1) && 1 == (z & 1)) {
+
+                    simulation.addFuelRodsColumn(x, z, insertion);
+
+                } else {
+
+                    for (int y = 0; y < size; ++y) {
+                        simulation.setModerator(x, y, z, water.getAbsorption(), water.getHeatEfficiency(),
+                                water.getModeration(), water.getHeatConductivity());
+                    }
+                }
+            }
+        }
+
+        simulation.setFuelProperties(BenchmarkReactants.YELLORIUM_REACTION.getReactivity(), fuel.getModerationFactor(),
+                fuel.getAbsorptionCoefficient(), fuel.getHardnessDivisor());
+        simulation.setFuelUsageMultiplier(Config.COMMON.general.fuelUsageMultiplier.get().floatValue());
+        simulation.setEnergyMultiplier(Config.COMMON.general.powerProductionMultiplier.get() *
+                Config.COMMON.reactor.reactorPowerProductionMultiplier.get() *
+                ReactorVariant.Basic.getEnergyGenerationEfficiency());
+        simulation.setFuelRodsIrradiatedPerTick(Config.COMMON.reactor.fuelRodsIrradiatedPerTick.get());
+        simulation.setPassiveCooling();
+        simulation.setAutoRefuel(false);
+        return simulation;
+    }
+
+    private static void assertClose(final String trace, final int tick, final double expected, final double actual) {
+        assertClose(trace, tick, expected, actual, RELATIVE_TOLERANCE * Math.max(1.0, Math.max(Math.abs(expected), Math.abs(actual))));
+    }
+
+    private static void assertClose(final String trace, final int tick, final double expected, final double actual,
+                                    final double tolerance) {
+        Assertions.assertEquals(expected, actual, tolerance, () -> String.format("%s diverged at tick %d", trace, tick));
+    }
+
+    private static final int TICKS = 2_000;
+    private static final double RELATIVE_TOLERANCE = 1e-4;
+
+    //endregion
+}
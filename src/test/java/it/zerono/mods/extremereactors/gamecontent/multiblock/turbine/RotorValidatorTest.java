@@ -0,0 +1,199 @@
+/*
+ *
+ * RotorValidatorTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import it.zerono.mods.zerocore.lib.multiblock.validation.IMultiblockValidator;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Check that {@link RotorValidator} accept and reject the same rotors as the sets based walk it replaced
+ * (kept in {@link RotorValidatorBenchmark#validateWithSets})
+ */
+class RotorValidatorTest {
+
+    /**
+     * A well formed rotor must be accepted by both walks
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {3, 9, 29})
+    void validRotor(final int width) {
+
+        final Layout layout = new Layout(width, HEIGHT);
+
+        Assertions.assertTrue(layout.validateWithSets());
+        Assertions.assertTrue(layout.validateWithBitmaps(new RotorValidator()));
+    }
+
+    /**
+     * Randomly break a well formed rotor (adding or removing shafts, blades and coils, also outside the interior)
+     * and check that both walks agree on the result every time
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {3, 9, 29})
+    void brokenRotors(final int width) {
+
+        final Random random = new Random(width);
+        // reuse the same validator to also check that its bitmaps are correctly reset
+        final RotorValidator validator = new RotorValidator();
+        int rejected = 0;
+
+        for (int i = 0; i < MUTATED_LAYOUTS; ++i) {
+
+            final Layout layout = new Layout(width, HEIGHT);
+            final int mutations = 1 + random.nextInt(3);
+
+            for (int m = 0; m < mutations; ++m) {
+                layout.mutate(random);
+            }
+
+            final boolean expected = layout.validateWithSets();
+
+            Assertions.assertEquals(expected, layout.validateWithBitmaps(validator), "layout " + i);
+
+            if (!expected) {
+                ++rejected;
+            }
+        }
+
+        // make sure the mutations are actually testing the rejection paths
+        Assertions.assertTrue(rejected > 0);
+    }
+
+    //region internals
+
+    private static class Layout {
+
+        /**
+         * A vertical rotor in the middle of the interior: blades on the four sides of the shaft, from the bearing up,
+         * and a ring of coils around the shaft on the top layers
+         */
+        Layout(final int width, final int height) {
+
+            final int center = width / 2;
+            final int coilsStart = height - COILS_LAYERS;
+
+            this._width = width;
+            this._height = height;
+            this._minInterior = BlockPos.ZERO;
+            this._maxInterior = new BlockPos(width - 1, height - 1, width - 1);
+            this._bearingPosition = new BlockPos(center, -1, center);
+            this._shafts = Lists.newArrayList();
+            this._blades = Lists.newArrayList();
+            this._coils = Lists.newArrayList();
+
+            for (final BlockPos position : BlockPos.betweenClosed(this._minInterior, this._maxInterior)) {
+
+                final int x = position.getX() - center;
+                final int z = position.getZ() - center;
+
+                if (0 == x && 0 == z) {
+                    this._shafts.add(position.immutable());
+                } else if (position.getY() >= coilsStart) {
+
+                    if (Math.abs(x) <= 1 && Math.abs(z) <= 1) {
+                        this._coils.add(position.immutable());
+                    }
+
+                } else if (0 == x || 0 == z) {
+                    this._blades.add(position.immutable());
+                }
+            }
+        }
+
+        void mutate(final Random random) {
+
+            final List<BlockPos> target;
+
+            switch (random.nextInt(3)) {
+
+                default:
+                case 0:
+                    target = this._shafts;
+                    break;
+
+                case 1:
+                    target = this._blades;
+                    break;
+
+                case 2:
+                    target = this._coils;
+                    break;
+            }
+
+            if (random.nextBoolean() && !target.isEmpty()) {
+
+                target.remove(random.nextInt(target.size()));
+
+            } else {
+
+                // one block out of the interior on each side, so that loose blocks are also covered
+                final BlockPos position = new BlockPos(random.nextInt(this._width + 2) - 1,
+                        random.nextInt(this._height + 2) - 1, random.nextInt(this._width + 2) - 1);
+
+                if (!target.contains(position)) {
+                    target.add(position);
+                }
+            }
+        }
+
+        boolean validateWithSets() {
+
+            final Set<BlockPos> coils = Sets.newHashSet(this._coils);
+
+            return RotorValidatorBenchmark.validateWithSets(this._bearingPosition, Direction.UP,
+                    this._maxInterior.getY() - this._minInterior.getY() + 2, this._shafts, this._blades, coils);
+        }
+
+        boolean validateWithBitmaps(final RotorValidator validator) {
+
+            validator.setInterior(this._minInterior, this._maxInterior);
+            this._shafts.forEach(validator::addShaft);
+            this._blades.forEach(validator::addBlade);
+            this._coils.forEach(validator::addCoil);
+
+            return validator.validate(this._bearingPosition, Direction.UP, Mockito.mock(IMultiblockValidator.class));
+        }
+
+        private final int _width;
+        private final int _height;
+        private final BlockPos _minInterior;
+        private final BlockPos _maxInterior;
+        private final BlockPos _bearingPosition;
+        private final List<BlockPos> _shafts;
+        private final List<BlockPos> _blades;
+        private final List<BlockPos> _coils;
+    }
+
+    private static final int HEIGHT = 12;
+    private static final int COILS_LAYERS = 4;
+    private static final int MUTATED_LAYOUTS = 2_000;
+
+    //endregion
+}
@@ -0,0 +1,100 @@
+/*
+ *
+ * TurbineEnergyCurveTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.config.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Check that {@link TurbineEnergyCurve} produce the same results of the formulas it replaced in {@link TurbineLogic}
+ */
+class TurbineEnergyCurveTest {
+
+    /**
+     * The efficiency lookup table must match the original cosine formula over the whole RPM range, including the speeds
+     * above the tabulated ones
+     */
+    @Test
+    void efficiencyMatchTheFormula() {
+
+        float worstSpeed = 0f;
+        float worstError = 0f;
+
+        for (int step = 0; step <= MAX_SPEED * STEPS_PER_RPM; ++step) {
+
+            final float speed = (float)step / STEPS_PER_RPM;
+            final float error = Math.abs(TurbineEnergyCurveBenchmark.formula(speed) - TurbineEnergyCurve.getEfficiency(speed));
+
+            if (error > worstError) {
+
+                worstError = error;
+                worstSpeed = speed;
+            }
+        }
+
+        final float speed = worstSpeed;
+        final float error = worstError;
+
+        Assertions.assertTrue(error <= MAX_EFFICIENCY_ERROR,
+                () -> String.format("Efficiency at %f RPM is off by %e", speed, error));
+    }
+
+    /**
+     * The induction energy skip the pow() only when it would return its argument, so it must match the original
+     * formula exactly
+     */
+    @ParameterizedTest
+    @ValueSource(floats = {1.0f, 1.02f, 1.05f, 1.1f, 1.25f})
+    void inductionEnergyMatchTheFormula(final float exponentBonus) {
+
+        for (float torque = 0f; torque < 100_000f; torque = torque * 1.1f + 0.5f) {
+            for (final float efficiency : new float[] {0.5f, 0.6f, 0.75f, 1.0f}) {
+
+                final float expected = (float)Math.pow(torque, exponentBonus) * efficiency;
+                final float actual = TurbineEnergyCurve.getInductionEnergy(torque, exponentBonus, efficiency);
+                final float currentTorque = torque;
+
+                Assertions.assertEquals(Float.floatToRawIntBits(expected), Float.floatToRawIntBits(actual),
+                        () -> String.format("Induction energy for a torque of %f is %f instead of %f", currentTorque, actual, expected));
+            }
+        }
+    }
+
+    @Test
+    void powerProductionMultiplierMatchTheConfig() {
+
+        final double expected = Config.COMMON.general.powerProductionMultiplier.get() *
+                Config.COMMON.turbine.turbinePowerProductionMultiplier.get();
+
+        Assertions.assertEquals(expected, new TurbineEnergyCurve().getPowerProductionMultiplier());
+    }
+
+    //region internals
+
+    private static final float MAX_EFFICIENCY_ERROR = 1e-5f;
+
+    // well above the speed any Turbine could reach, and above the tabulated speeds
+    private static final int MAX_SPEED = 20_000;
+    private static final int STEPS_PER_RPM = 100;
+
+    //endregion
+}
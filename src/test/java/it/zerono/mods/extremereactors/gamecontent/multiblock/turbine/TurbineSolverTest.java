@@ -0,0 +1,164 @@
+/*
+ *
+ * TurbineSolverTest.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.turbine;
+
+import it.zerono.mods.extremereactors.benchmark.BenchmarkHelper;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.turbine.variant.TurbineVariant;
+import it.zerono.mods.zerocore.lib.energy.EnergyBuffer;
+import it.zerono.mods.zerocore.lib.energy.EnergySystem;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Check {@link TurbineSolver} against the real thing: the same Turbine is advanced by the solver in a single step and
+ * by {@link TurbineLogic#update()} one tick at a time, with the same constant vapor intake, and the final rotor energy
+ * and the total energy generated must match
+ */
+class TurbineSolverTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            // rotor: a big rotor, a small one and one with too few blades for the intake
+            "15, 32, 1000, true, 1800, 20000",
+            "5, 12, 1000, true, 900, 20000",
+            "3, 8, 1000, true, 0, 20000",
+            // steam: spinning up, at full and partial intake, and spinning down without any vapor
+            "9, 20, 1000, true, 0, 72000",
+            "9, 20, 500, true, 1800, 5000",
+            "9, 20, 0, true, 1800, 5000",
+            "9, 20, 1000, true, 1800, 100",
+            // coils: disengaged, so the rotor is only slowed down by the blades and the friction
+            "9, 20, 1000, false, 0, 20000",
+            "9, 20, 0, false, 900, 20000",
+    })
+    void fastForwardMatchTheTickLoop(final int width, final int height, final int intake, final boolean inductorEngaged,
+                                     final float rotorSpeed, final int ticks) {
+
+        final Turbine turbine = new Turbine(width, height, intake, inductorEngaged, rotorSpeed);
+        final TurbineSolver.Result expected = turbine.fastForward(ticks);
+        final double generated = turbine.update(ticks);
+
+        assertClose("rotor energy", expected.rotorEnergy, turbine.getRotorEnergy());
+        assertClose("energy generated", expected.rawEnergyGenerated * turbine.getPowerProductionMultiplier(), generated);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"9, 20, true", "9, 20, false", "3, 8, true"})
+    void rotorStopWithoutVapor(final int width, final int height, final boolean inductorEngaged) {
+
+        final Turbine turbine = new Turbine(width, height, 0, inductorEngaged, 0f);
+
+        // the friction alone is enough to stop the rotor in less than SPIN_DOWN_TICKS ticks
+        turbine.setRotorEnergy(SPIN_DOWN_TICKS / 2f * turbine.getFrictionalDrag());
+
+        final TurbineSolver.Result expected = turbine.fastForward(SPIN_DOWN_TICKS);
+        final double generated = turbine.update(SPIN_DOWN_TICKS);
+
+        // the rotor energy is clamped to zero, both when running tick by tick and when fast-forwarding
+        Assertions.assertEquals(0f, turbine.getRotorEnergy());
+        Assertions.assertEquals(0f, expected.rotorEnergy);
+        assertClose("energy generated", expected.rawEnergyGenerated * turbine.getPowerProductionMultiplier(), generated);
+    }
+
+    //region internals
+
+    /**
+     * A Turbine built from a {@link BenchmarkTurbineEnvironment}, with a constant vapor intake
+     */
+    private static class Turbine {
+
+        Turbine(final int width, final int height, final int intake, final boolean inductorEngaged, final float rotorSpeed) {
+
+            final BenchmarkTurbineEnvironment environment = new BenchmarkTurbineEnvironment(width, height);
+
+            this._energyBuffer = new EnergyBuffer(EnergySystem.ForgeEnergy, 1_000_000, 1_000_000);
+            this._energyCurve = new TurbineEnergyCurve();
+            this._data = new TurbineData(TurbineVariant.Basic);
+            this._data.update(environment, environment.getMinInterior(), environment.getMaxInterior(), TurbineVariant.Basic);
+            this._data.setInductorEngaged(inductorEngaged);
+            this._data.setRotorEnergy(rotorSpeed * this._data.getBladeSurfaceArea() * this._data.getRotorMass());
+
+            // the stub size its tanks on the maximum intake rate: change it only once the stub is built
+            this._turbine = BenchmarkHelper.stub(TurbineLogicBenchmark.BenchmarkTurbine.class,
+                    new Class<?>[] {World.class, TurbineData.class}, BenchmarkHelper.stubWorld(), this._data);
+            this._data.setMaxIntakeRate(intake);
+            this._turbine.refill();
+
+            this._logic = new TurbineLogic(this._turbine, this._data, this._energyBuffer);
+        }
+
+        TurbineSolver.Result fastForward(final int ticks) {
+            return this._logic.getSolver().fastForward(this._data.getRotorEnergy(), ticks);
+        }
+
+        /**
+         * Run the Turbine one tick at a time, with the same vapor intake on every tick
+         *
+         * @return the energy generated
+         */
+        double update(final int ticks) {
+
+            double generated = 0;
+
+            for (int tick = 0; tick < ticks; ++tick) {
+
+                this._logic.update();
+                this._turbine.refill();
+                this._energyBuffer.modifyEnergyStored(-this._energyBuffer.getEnergyStored());
+                generated += this._data.getEnergyGeneratedLastTick();
+            }
+
+            return generated;
+        }
+
+        float getRotorEnergy() {
+            return this._data.getRotorEnergy();
+        }
+
+        void setRotorEnergy(final float energy) {
+            this._data.setRotorEnergy(energy);
+        }
+
+        float getFrictionalDrag() {
+            return this._data.getFrictionalDrag();
+        }
+
+        double getPowerProductionMultiplier() {
+            return this._energyCurve.getPowerProductionMultiplier();
+        }
+
+        private final EnergyBuffer _energyBuffer;
+        private final TurbineEnergyCurve _energyCurve;
+        private final TurbineData _data;
+        private final TurbineLogicBenchmark.BenchmarkTurbine _turbine;
+        private final TurbineLogic _logic;
+    }
+
+    private static void assertClose(final String value, final double expected, final double actual) {
+        Assertions.assertEquals(expected, actual, RELATIVE_TOLERANCE * Math.max(1.0, Math.abs(expected)),
+                () -> String.format("%s: relative error above %s", value, RELATIVE_TOLERANCE));
+    }
+
+    private static final double RELATIVE_TOLERANCE = 1e-5;
+    private static final int SPIN_DOWN_TICKS = 1_000;
+
+    //endregion
+}
@@ -0,0 +1,177 @@
+/*
+ *
+ * ModeratorsPalette.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.simulator;
+
+import it.zerono.mods.extremereactors.api.reactor.Moderator;
+import it.zerono.mods.extremereactors.api.reactor.ModeratorsRegistry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The moderators that could be used by a {@link ReactorDesign}, each one identified by a single symbol.
+ * <p>
+ * Air ('.') and water ('W') are always available and use the values of {@link Moderator#AIR} and {@link Moderator#WATER}.
+ * A palette created by {@link #fromRegistry()} also contains every solid and fluid moderator found in the
+ * {@link ModeratorsRegistry}
+ */
+public class ModeratorsPalette {
+
+    public static final char AIR = '.';
+    public static final char WATER = 'W';
+
+    public ModeratorsPalette() {
+
+        this._properties = new float[PROPERTIES_COUNT * 128];
+        Arrays.fill(this._properties, Float.NaN);
+        this._names = new String[128];
+        this._symbols = new StringBuilder();
+
+        this.add(AIR, "air", Moderator.AIR);
+        this.add(WATER, "water", Moderator.WATER);
+    }
+
+    /**
+     * Create a palette with all the moderators found in the {@link ModeratorsRegistry}. Minecraft must be bootstrapped
+     * first and only the moderators already registered are found.
+     * <p>
+     * The moderators are sorted by name (block Tags ids are prefixed by a '#') and each one get the next free letter
+     * or digit as its symbol: if there are more moderators than symbols, the last ones are left out
+     *
+     * @return the new palette
+     */
+    public static ModeratorsPalette fromRegistry() {
+
+        final ModeratorsPalette palette = new ModeratorsPalette();
+        final Map<String, Moderator> moderators = new TreeMap<>();
+
+        ModeratorsRegistry.forEachSolid((id, moderator) -> moderators.put("#" + id, moderator));
+        ModeratorsRegistry.forEachFluid((id, moderator) -> moderators.put(id.toString(), moderator));
+
+        int next = 0;
+
+        for (final Map.Entry<String, Moderator> entry : moderators.entrySet()) {
+
+            while (next < REGISTRY_SYMBOLS.length() && palette.contains(REGISTRY_SYMBOLS.charAt(next))) {
+                ++next;
+            }
+
+            if (next >= REGISTRY_SYMBOLS.length()) {
+                break;
+            }
+
+            palette.add(REGISTRY_SYMBOLS.charAt(next++), entry.getKey(), entry.getValue());
+        }
+
+        return palette;
+    }
+
+    /**
+     * Add (or replace) a moderator
+     *
+     * @param symbol the symbol used for the moderator in the designs
+     * @param absorption How much radiation this material absorbs and converts to heat. 0.0 = none, 1.0 = all.
+     * @param heatEfficiency How efficiently radiation is converted to heat. 0 = no heat, 1 = all heat.
+     * @param moderation How well this material moderates radiation. This is a divisor; should not be below 1.
+     * @param heatConductivity How well this material conducts heat, in FE/t/m2.
+     */
+    public void add(final char symbol, final float absorption, final float heatEfficiency, final float moderation,
+                    final float heatConductivity) {
+        this.add(symbol, "custom", absorption, heatEfficiency, moderation, heatConductivity);
+    }
+
+    public boolean contains(final char symbol) {
+        return symbol < 128 && !Float.isNaN(this._properties[symbol * PROPERTIES_COUNT]);
+    }
+
+    /**
+     * @return the symbols of all the moderators in the palette, in the order they were added
+     */
+    public String getSymbols() {
+        return this._symbols.toString();
+    }
+
+    /**
+     * @return the name of the moderator identified by the given symbol
+     */
+    public String getName(final char symbol) {
+
+        if (!this.contains(symbol)) {
+            throw new IllegalArgumentException("Unknown moderator symbol: " + symbol);
+        }
+
+        return this._names[symbol];
+    }
+
+    /**
+     * Place the moderator identified by the given symbol in a simulation cell
+     */
+    public void apply(final char symbol, final ReactorSimulation simulation, final int x, final int y, final int z) {
+
+        if (!this.contains(symbol)) {
+            throw new IllegalArgumentException("Unknown moderator symbol: " + symbol);
+        }
+
+        final int base = symbol * PROPERTIES_COUNT;
+
+        simulation.setModerator(x, y, z, this._properties[base], this._properties[base + 1],
+                this._properties[base + 2], this._properties[base + 3]);
+    }
+
+    //region internals
+
+    private void add(final char symbol, final String name, final Moderator moderator) {
+        this.add(symbol, name, moderator.getAbsorption(), moderator.getHeatEfficiency(), moderator.getModeration(),
+                moderator.getHeatConductivity());
+    }
+
+    private void add(final char symbol, final String name, final float absorption, final float heatEfficiency,
+                     final float moderation, final float heatConductivity) {
+
+        if (symbol >= 128 || ReactorDesign.FUEL_ROD == symbol || '#' == symbol || Character.isWhitespace(symbol)) {
+            throw new IllegalArgumentException("Invalid moderator symbol: " + symbol);
+        }
+
+        final int base = symbol * PROPERTIES_COUNT;
+
+        if (!this.contains(symbol)) {
+            this._symbols.append(symbol);
+        }
+
+        this._properties[base] = absorption;
+        this._properties[base + 1] = heatEfficiency;
+        this._properties[base + 2] = moderation;
+        this._properties[base + 3] = heatConductivity;
+        this._names[symbol] = name;
+    }
+
+    /**
+     * The symbols given to the moderators found in the registry
+     */
+    private static final String REGISTRY_SYMBOLS = "ABCDEFGHIJKLMNOPQRSTUVYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private static final int PROPERTIES_COUNT = 4;
+
+    private final float[] _properties;
+    private final String[] _names;
+    private final StringBuilder _symbols;
+
+    //endregion
+}
@@ -0,0 +1,137 @@
+/*
+ *
+ * ReactorDesign.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.simulator;
+
+/**
+ * The layout of a Reactor, seen from the top: a map of the Fuel Rods columns and of the moderators that fill the rest of
+ * the interior from the bottom to the top of the Reactor.
+ * <p>
+ * Each symbol of the map is either {@link #FUEL_ROD} or the symbol of a moderator from a {@link ModeratorsPalette}
+ */
+public class ReactorDesign {
+
+    public static final char FUEL_ROD = 'X';
+
+    /**
+     * Construct a new design
+     *
+     * @param name the name of the design
+     * @param height the height of the interior of the Reactor
+     * @param insertionRatio the insertion ratio of all the Control Rods, between 0 and 100
+     * @param rows the rows of the map, along the Z axis. All the rows must have the same length
+     */
+    public ReactorDesign(final String name, final int height, final int insertionRatio, final String[] rows) {
+
+        if (height < 1 || 0 == rows.length || rows[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalid size for Reactor design " + name);
+        }
+
+        for (final String row : rows) {
+            if (row.length() != rows[0].length()) {
+                throw new IllegalArgumentException("All the rows of Reactor design " + name + " must have the same length");
+            }
+        }
+
+        this._name = name;
+        this._height = height;
+        this._insertionRatio = insertionRatio;
+        this._rows = rows.clone();
+    }
+
+    public String getName() {
+        return this._name;
+    }
+
+    public int getSizeX() {
+        return this._rows[0].length();
+    }
+
+    public int getSizeY() {
+        return this._height;
+    }
+
+    public int getSizeZ() {
+        return this._rows.length;
+    }
+
+    public int getInsertionRatio() {
+        return this._insertionRatio;
+    }
+
+    public char getSymbol(final int x, final int z) {
+        return this._rows[z].charAt(x);
+    }
+
+    /**
+     * Build a new simulation for this design
+     *
+     * @param palette the moderators that could be used by the design
+     * @return the new simulation
+     */
+    public ReactorSimulation createSimulation(final ModeratorsPalette palette) {
+
+        final ReactorSimulation simulation = new ReactorSimulation(this.getSizeX(), this.getSizeY(), this.getSizeZ());
+
+        for (int z = 0; z < this.getSizeZ(); ++z) {
+            for (int x = 0; x < this.getSizeX(); ++x) {
+
+                final char symbol = this.getSymbol(x, z);
+
+                if (FUEL_ROD == symbol) {
+
+                    simulation.addFuelRodsColumn(x, z, this._insertionRatio);
+
+                } else {
+
+                    for (int y = 0; y < this._height; ++y) {
+                        palette.apply(symbol, simulation, x, y, z);
+                    }
+                }
+            }
+        }
+
+        return simulation;
+    }
+
+    //region Object
+
+    @Override
+    public String toString() {
+
+        final StringBuilder sb = new StringBuilder(this._name)
+                .append(" (").append(this.getSizeX()).append('x').append(this._height).append('x').append(this.getSizeZ())
+                .append(", insertion ").append(this._insertionRatio).append("%)");
+
+        for (final String row : this._rows) {
+            sb.append('\n').append(row);
+        }
+
+        return sb.toString();
+    }
+
+    //endregion
+    //region internals
+
+    private final String _name;
+    private final int _height;
+    private final int _insertionRatio;
+    private final String[] _rows;
+
+    //endregion
+}
@@ -0,0 +1,587 @@
+/*
+ *
+ * ReactorDesignEvaluator.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.simulator;
+
+import net.minecraft.util.registry.Bootstrap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Offline evaluator for Reactor designs.
+ * <p>
+ * Each design is simulated, with automatic refueling, until its output stabilize and the average output, fuel usage,
+ * heat and efficiency are reported. The designs are evaluated in parallel on a fork-join pool.
+ * <p>
+ * Usage: {@code ReactorDesignEvaluator <designs file> [--threads N] [--max-ticks N] [--top N] [--moderators]}
+ * <p>
+ * The moderators are taken from the {@link it.zerono.mods.extremereactors.api.reactor.ModeratorsRegistry}, see
+ * {@link ModeratorsPalette#fromRegistry()}, and {@code --moderators} print the symbol given to each one of them.
+ * <p>
+ * The designs file contains one directive per line ('#' starts a comment):
+ * <pre>
+ * fuel &lt;reactivity&gt; &lt;moderation factor&gt; &lt;absorption coefficient&gt; &lt;hardness divisor&gt;
+ * multipliers &lt;fuel usage&gt; &lt;energy&gt;
+ * cooling passive
+ * cooling active &lt;coolant capacity&gt; &lt;boiling point&gt; &lt;enthalpy of vaporization&gt; &lt;vapor efficiency&gt;
+ * moderator &lt;symbol&gt; &lt;absorption&gt; &lt;heat efficiency&gt; &lt;moderation&gt; &lt;heat conductivity&gt;
+ * design &lt;name&gt; &lt;height&gt; [insertion ratio]
+ *   ... one line per row of the map, X for Fuel Rods, moderator symbols otherwise ...
+ * end
+ * search &lt;size X&gt; &lt;height&gt; &lt;size Z&gt; &lt;moderator symbols&gt; [comma separated insertion ratios]
+ * </pre>
+ * The settings directives apply to all the designs. A search generates all the lattice and diagonal Fuel Rods patterns
+ * for each of the given moderators and insertion ratios. The search space is limited on purpose: only one moderator
+ * per design, Fuel Rods columns placed every 1 to 4 blocks along both axes (lattice) or along the diagonals, and the
+ * same insertion ratio for all the Control Rods. Any other layout must be written as a design
+ */
+public final class ReactorDesignEvaluator {
+
+    public static void main(final String[] args) {
+
+        if (0 == args.length) {
+
+            System.err.println("Usage: ReactorDesignEvaluator <designs file> [--threads N] [--max-ticks N] [--top N] [--moderators]");
+            System.err.println("A search only generates single-moderator lattice and diagonal patterns with a spacing of up to " +
+                    MAX_SEARCH_SPACING + " blocks");
+            System.exit(1);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxTicks = DEFAULT_MAX_TICKS;
+        int top = -1;
+        boolean listModerators = false;
+
+        try {
+
+            for (int i = 1; i < args.length; ++i) {
+
+                switch (args[i]) {
+
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+
+                    case "--max-ticks":
+                        maxTicks = Integer.parseInt(args[++i]);
+                        break;
+
+                    case "--top":
+                        top = Integer.parseInt(args[++i]);
+                        break;
+
+                    case "--moderators":
+                        listModerators = true;
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            Bootstrap.bootStrap();
+
+            final ReactorDesignEvaluator evaluator = new ReactorDesignEvaluator(maxTicks, ModeratorsPalette.fromRegistry());
+            final List<ReactorDesign> designs;
+
+            try (final BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                designs = evaluator.parse(reader);
+            }
+
+            if (listModerators) {
+
+                final ModeratorsPalette palette = evaluator.getPalette();
+
+                for (final char symbol : palette.getSymbols().toCharArray()) {
+                    System.out.printf("%c %s%n", symbol, palette.getName(symbol));
+                }
+            }
+
+            final long start = System.nanoTime();
+            final List<Result> results = evaluator.evaluate(designs, threads);
+            final long elapsed = System.nanoTime() - start;
+
+            if (top < 0) {
+                top = evaluator._searched ? 10 : results.size();
+            }
+
+            results.stream()
+                    .sorted(Comparator.comparingDouble(Result::getOutput).reversed())
+                    .limit(top)
+                    .forEach(System.out::println);
+
+            System.out.printf("%d designs evaluated in %.2f seconds%n", results.size(), elapsed / 1e9);
+
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException | IllegalStateException ex) {
+
+            System.err.println(ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public ReactorDesignEvaluator(final int maxTicks) {
+        this(maxTicks, new ModeratorsPalette());
+    }
+
+    public ReactorDesignEvaluator(final int maxTicks, final ModeratorsPalette palette) {
+
+        this._maxTicks = maxTicks;
+        this._palette = palette;
+        this._fuelReactivity = 1.05f;
+        this._fuelModerationFactor = 1.5f;
+        this._fuelAbsorptionCoefficient = 0.5f;
+        this._fuelHardnessDivisor = 1.0f;
+        this._fuelUsageMultiplier = 1.0f;
+        this._energyMultiplier = 1.0;
+        this._vaporGenerationEfficiency = 1.0f;
+    }
+
+    public ModeratorsPalette getPalette() {
+        return this._palette;
+    }
+
+    /**
+     * Evaluate the given designs in parallel
+     *
+     * @param designs the designs to evaluate
+     * @param threads the number of threads to use
+     * @return the results of the evaluations, in the same order of the designs
+     */
+    public List<Result> evaluate(final List<ReactorDesign> designs, final int threads) {
+
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+
+        try {
+
+            return pool.submit(() -> designs.parallelStream()
+                    .map(this::evaluate)
+                    .collect(Collectors.toList()))
+                    .get();
+
+        } catch (InterruptedException ex) {
+
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluation interrupted");
+
+        } catch (ExecutionException ex) {
+
+            throw new IllegalStateException("Evaluation failed: " + ex.getCause().getMessage(), ex.getCause());
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Simulate a design until its output stabilize
+     *
+     * @param design the design to evaluate
+     * @return the result of the evaluation
+     */
+    public Result evaluate(final ReactorDesign design) {
+
+        final ReactorSimulation simulation = this.createSimulation(design);
+
+        // average over a full round of irradiations
+        final int window = Math.max(MIN_WINDOW, simulation.getFuelRodsCount());
+        double previousOutput = Double.NaN;
+        double previousHeat = Double.NaN;
+        double output = 0;
+        double fuel = 0;
+        boolean steady = false;
+
+        while (simulation.getTicks() < this._maxTicks) {
+
+            output = 0;
+            fuel = 0;
+
+            for (int i = 0; i < window; ++i) {
+
+                simulation.tick();
+                output += simulation.getAmountGeneratedLastTick();
+                fuel += simulation.getFuelConsumedLastTick();
+            }
+
+            output /= window;
+            fuel /= window;
+
+            final double heat = simulation.getReactorHeat();
+
+            if (Math.abs(output - previousOutput) <= STEADY_TOLERANCE * Math.max(1.0, Math.abs(output)) &&
+                    Math.abs(heat - previousHeat) <= STEADY_TOLERANCE * Math.max(1.0, Math.abs(heat))) {
+
+                steady = true;
+                break;
+            }
+
+            previousOutput = output;
+            previousHeat = heat;
+        }
+
+        return new Result(design, simulation, output, fuel, steady);
+    }
+
+    /**
+     * Parse a designs file, applying the settings directives to this evaluator
+     *
+     * @param reader the source of the designs file
+     * @return the designs found in the file, including the ones generated by the search directives
+     */
+    public List<ReactorDesign> parse(final BufferedReader reader) throws IOException {
+
+        final List<ReactorDesign> designs = new ArrayList<>();
+        String[] designHeader = null;
+        List<String> designRows = null;
+        String line;
+        int lineNumber = 0;
+
+        while (null != (line = reader.readLine())) {
+
+            ++lineNumber;
+
+            final int comment = line.indexOf('#');
+
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+
+            line = line.trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            final String[] tokens = line.split("\\s+");
+
+            try {
+
+                if (null != designRows) {
+
+                    if ("end".equals(tokens[0])) {
+
+                        designs.add(new ReactorDesign(designHeader[1], Integer.parseInt(designHeader[2]),
+                                designHeader.length > 3 ? Integer.parseInt(designHeader[3]) : 0,
+                                designRows.toArray(new String[0])));
+                        designRows = null;
+
+                    } else {
+
+                        designRows.add(line);
+                    }
+
+                    continue;
+                }
+
+                switch (tokens[0]) {
+
+                    case "fuel":
+                        this._fuelReactivity = Float.parseFloat(tokens[1]);
+                        this._fuelModerationFactor = Float.parseFloat(tokens[2]);
+                        this._fuelAbsorptionCoefficient = Float.parseFloat(tokens[3]);
+                        this._fuelHardnessDivisor = Float.parseFloat(tokens[4]);
+                        break;
+
+                    case "multipliers":
+                        this._fuelUsageMultiplier = Float.parseFloat(tokens[1]);
+                        this._energyMultiplier = Double.parseDouble(tokens[2]);
+                        break;
+
+                    case "cooling":
+                        if ("passive".equals(tokens[1])) {
+
+                            this._coolantCapacity = 0;
+
+                        } else {
+
+                            this._coolantCapacity = Integer.parseInt(tokens[2]);
+                            this._coolantBoilingPoint = Float.parseFloat(tokens[3]);
+                            this._coolantEnthalpyOfVaporization = Float.parseFloat(tokens[4]);
+                            this._vaporGenerationEfficiency = Float.parseFloat(tokens[5]);
+                        }
+                        break;
+
+                    case "moderator":
+                        if (1 != tokens[1].length()) {
+                            throw new IllegalArgumentException("moderator symbols must be a single character");
+                        }
+
+                        this._palette.add(tokens[1].charAt(0), Float.parseFloat(tokens[2]), Float.parseFloat(tokens[3]),
+                                Float.parseFloat(tokens[4]), Float.parseFloat(tokens[5]));
+                        break;
+
+                    case "design":
+                        if (tokens.length < 3) {
+                            throw new IllegalArgumentException("design requires a name and an height");
+                        }
+
+                        designHeader = tokens;
+                        designRows = new ArrayList<>();
+                        break;
+
+                    case "search":
+                        this.search(designs, Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]),
+                                Integer.parseInt(tokens[3]), tokens[4],
+                                tokens.length > 5 ? tokens[5] : "0");
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("unknown directive " + tokens[0]);
+                }
+
+            } catch (ArrayIndexOutOfBoundsException ex) {
+
+                throw new IllegalArgumentException("Line " + lineNumber + ": missing arguments for " + tokens[0]);
+
+            } catch (IllegalArgumentException ex) {
+
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage());
+            }
+        }
+
+        if (null != designRows) {
+            throw new IllegalArgumentException("Missing end for design " + designHeader[1]);
+        }
+
+        for (final ReactorDesign design : designs) {
+            for (int z = 0; z < design.getSizeZ(); ++z) {
+                for (int x = 0; x < design.getSizeX(); ++x) {
+
+                    final char symbol = design.getSymbol(x, z);
+
+                    if (ReactorDesign.FUEL_ROD != symbol && !this._palette.contains(symbol)) {
+                        throw new IllegalArgumentException("Unknown moderator " + symbol + " in design " + design.getName());
+                    }
+                }
+            }
+        }
+
+        return designs;
+    }
+
+    /**
+     * The result of the evaluation of a design
+     */
+    public static final class Result {
+
+        public ReactorDesign getDesign() {
+            return this._design;
+        }
+
+        /**
+         * @return the average energy generated per tick or, for an actively cooled Reactor, the average coolant vaporized per tick
+         */
+        public double getOutput() {
+            return this._output;
+        }
+
+        /**
+         * @return the average fuel consumed per tick
+         */
+        public double getFuelUsage() {
+            return this._fuelUsage;
+        }
+
+        /**
+         * @return the output generated per unit of fuel consumed
+         */
+        public double getEfficiency() {
+            return this._fuelUsage > 0 ? this._output / this._fuelUsage : 0;
+        }
+
+        public double getFuelHeat() {
+            return this._fuelHeat;
+        }
+
+        public double getReactorHeat() {
+            return this._reactorHeat;
+        }
+
+        public long getTicks() {
+            return this._ticks;
+        }
+
+        /**
+         * @return true if the output of the Reactor stabilized before the end of the simulation
+         */
+        public boolean isSteady() {
+            return this._steady;
+        }
+
+        //region Object
+
+        @Override
+        public String toString() {
+            return String.format("%s%n  output %.2f/t, fuel %.4f mB/t, efficiency %.1f/mB, fuel heat %.1f C, reactor heat %.1f C, %d ticks%s",
+                    this._design, this._output, this._fuelUsage, this.getEfficiency(), this._fuelHeat, this._reactorHeat,
+                    this._ticks, this._steady ? "" : " (not steady)");
+        }
+
+        //endregion
+        //region internals
+
+        private Result(final ReactorDesign design, final ReactorSimulation simulation, final double output,
+                       final double fuelUsage, final boolean steady) {
+
+            this._design = design;
+            this._output = output;
+            this._fuelUsage = fuelUsage;
+            this._fuelHeat = simulation.getFuelHeat();
+            this._reactorHeat = simulation.getReactorHeat();
+            this._ticks = simulation.getTicks();
+            this._steady = steady;
+        }
+
+        private final ReactorDesign _design;
+        private final double _output;
+        private final double _fuelUsage;
+        private final double _fuelHeat;
+        private final double _reactorHeat;
+        private final long _ticks;
+        private final boolean _steady;
+
+        //endregion
+    }
+
+    //region internals
+
+    private ReactorSimulation createSimulation(final ReactorDesign design) {
+
+        final ReactorSimulation simulation = design.createSimulation(this._palette);
+
+        simulation.setFuelProperties(this._fuelReactivity, this._fuelModerationFactor, this._fuelAbsorptionCoefficient,
+                this._fuelHardnessDivisor);
+        simulation.setFuelUsageMultiplier(this._fuelUsageMultiplier);
+        simulation.setEnergyMultiplier(this._energyMultiplier);
+
+        if (this._coolantCapacity > 0) {
+            simulation.setActiveCooling(this._coolantCapacity, this._coolantBoilingPoint,
+                    this._coolantEnthalpyOfVaporization, this._vaporGenerationEfficiency);
+        } else {
+            simulation.setPassiveCooling();
+        }
+
+        simulation.setAutoRefuel(true);
+        simulation.setFuelAmount(simulation.getFuelCapacity());
+        return simulation;
+    }
+
+    /**
+     * Generate all the lattice and diagonal Fuel Rods patterns for the given size, moderators and insertion ratios
+     */
+    private void search(final List<ReactorDesign> designs, final int sizeX, final int height, final int sizeZ,
+                        final String moderators, final String insertions) {
+
+        final int[] insertionRatios = Arrays.stream(insertions.split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        final Set<String> generated = new HashSet<>();
+
+        this._searched = true;
+
+        for (final char moderator : moderators.toCharArray()) {
+
+            if (!this._palette.contains(moderator)) {
+                throw new IllegalArgumentException("unknown moderator " + moderator);
+            }
+
+            for (int spacing = 1; spacing <= MAX_SEARCH_SPACING; ++spacing) {
+                for (int offsetX = 0; offsetX < spacing; ++offsetX) {
+
+                    // diagonal patterns
+                    if (spacing > 2) {
+                        this.addSearchDesign(designs, generated, sizeX, height, sizeZ, moderator, insertionRatios,
+                                spacing, offsetX, -1);
+                    }
+
+                    // lattice patterns
+                    for (int offsetZ = 0; offsetZ < spacing; ++offsetZ) {
+                        this.addSearchDesign(designs, generated, sizeX, height, sizeZ, moderator, insertionRatios,
+                                spacing, offsetX, offsetZ);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addSearchDesign(final List<ReactorDesign> designs, final Set<String> generated,
+                                 final int sizeX, final int height, final int sizeZ, final char moderator,
+                                 final int[] insertionRatios, final int spacing, final int offsetX, final int offsetZ) {
+
+        final String[] rows = new String[sizeZ];
+        final StringBuilder row = new StringBuilder(sizeX);
+        boolean hasFuelRods = false;
+
+        for (int z = 0; z < sizeZ; ++z) {
+
+            row.setLength(0);
+
+            for (int x = 0; x < sizeX; ++x) {
+
+                final boolean fuelRod = offsetZ < 0 ?
+                        (x + z) % spacing == offsetX :
+                        x % spacing == offsetX && z % spacing == offsetZ;
+
+                hasFuelRods |= fuelRod;
+                row.append(fuelRod ? ReactorDesign.FUEL_ROD : moderator);
+            }
+
+            rows[z] = row.toString();
+        }
+
+        if (!hasFuelRods || !generated.add(String.join("/", rows))) {
+            return;
+        }
+
+        final String name = String.format("%s-%c-%d-%d-%d", offsetZ < 0 ? "diagonal" : "lattice", moderator, spacing,
+                offsetX, Math.max(0, offsetZ));
+
+        for (final int insertionRatio : insertionRatios) {
+            designs.add(new ReactorDesign(name, height, insertionRatio, rows));
+        }
+    }
+
+    private static final int DEFAULT_MAX_TICKS = 20 * 60 * 30;
+    private static final int MIN_WINDOW = 20;
+    private static final int MAX_SEARCH_SPACING = 4;
+    private static final double STEADY_TOLERANCE = 0.0001;
+
+    private final int _maxTicks;
+    private final ModeratorsPalette _palette;
+    private float _fuelReactivity;
+    private float _fuelModerationFactor;
+    private float _fuelAbsorptionCoefficient;
+    private float _fuelHardnessDivisor;
+    private float _fuelUsageMultiplier;
+    private double _energyMultiplier;
+    private int _coolantCapacity;
+    private float _coolantBoilingPoint;
+    private float _coolantEnthalpyOfVaporization;
+    private float _vaporGenerationEfficiency;
+    private boolean _searched;
+
+    //endregion
+}
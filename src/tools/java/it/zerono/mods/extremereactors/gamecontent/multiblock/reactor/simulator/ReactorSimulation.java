@@ -0,0 +1,701 @@
+/*
+ *
+ * ReactorSimulation.java
+ *
+ * This file is part of Extreme Reactors 2 by ZeroNoRyouki, a Minecraft mod.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *
+ * DO NOT REMOVE OR EDIT THIS HEADER
+ *
+ */
+
+package it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.simulator;
+
+import it.zerono.mods.extremereactors.api.radiation.RadiationPacket;
+import it.zerono.mods.extremereactors.api.reactor.IHeatEntity;
+import it.zerono.mods.extremereactors.api.reactor.radiation.IrradiationData;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.FuelRodsRayTable;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.ReactorPhysics;
+import it.zerono.mods.extremereactors.gamecontent.multiblock.reactor.part.ReactorFuelRodEntity;
+
+/**
+ * A headless Reactor that run the in-game Reactor physics ({@link ReactorPhysics}) over primitive arrays.
+ * <p>
+ * The interior of the Reactor is described by a grid of cells, each one holding the properties of the moderator found there
+ * or the index of the Fuel Rods column that cross it. Fuel Rods columns are always parallel to the Y axis and span the whole
+ * height of the interior: designs with Fuel Rods along a different axis should be rotated before being loaded.
+ * <p>
+ * The simulation assume that all the generated energy (or vapor) is removed from the Reactor every tick and, when active
+ * cooling is used, that the coolant tank is always full. Fuel can optionally be topped up (and waste removed) every tick
+ * to run a Reactor to its steady state.
+ * <p>
+ * Only the layout (the rays and the heat transfer coefficients) and the fuel bookkeeping are handled here, every
+ * physics step is delegated to {@link ReactorPhysics}.
+ * <p>
+ * Instances are not thread safe but do not share any state: different simulations can be run in parallel
+ */
+public class ReactorSimulation
+        implements ReactorPhysics.IRays, ReactorPhysics.ICoolantSystem {
+
+    /**
+     * How much fuel each Fuel Rod could contain
+     */
+    public static final int FUEL_CAPACITY_PER_FUEL_ROD = ReactorFuelRodEntity.FUEL_CAPACITY_PER_FUEL_ROD;
+
+    /**
+     * Create a new simulation for a Reactor with the given interior size. All the interior cells are filled with air
+     *
+     * @param sizeX the size of the interior of the Reactor along the X axis
+     * @param sizeY the size of the interior of the Reactor along the Y axis
+     * @param sizeZ the size of the interior of the Reactor along the Z axis
+     */
+    public ReactorSimulation(final int sizeX, final int sizeY, final int sizeZ) {
+
+        if (sizeX < 1 || sizeY < 1 || sizeZ < 1) {
+            throw new IllegalArgumentException("Invalid Reactor interior size");
+        }
+
+        this._sizeX = sizeX;
+        this._sizeY = sizeY;
+        this._sizeZ = sizeZ;
+
+        final int cellsCount = sizeX * sizeY * sizeZ;
+
+        this._cellAbsorption = new float[cellsCount];
+        this._cellHeatEfficiency = new float[cellsCount];
+        this._cellModeration = new float[cellsCount];
+        this._cellConductivity = new float[cellsCount];
+        this._cellColumn = new int[cellsCount];
+
+        for (int cell = 0; cell < cellsCount; ++cell) {
+            this.setCell(cell, AIR_ABSORPTION, AIR_HEAT_EFFICIENCY, AIR_MODERATION, IHeatEntity.CONDUCTIVITY_AIR);
+        }
+
+        this._columnInsertion = new byte[sizeX * sizeZ];
+        this._columnsCount = 0;
+        this._layoutChanged = true;
+
+        this._physics = new ReactorPhysics();
+
+        this._fuelReactivity = 1.05f;
+        this._fuelModerationFactor = 1.5f;
+        this._fuelAbsorptionCoefficient = 0.5f;
+        this._fuelHardnessDivisor = 1.0f;
+        this._fuelUsageMultiplier = 1.0f;
+        this._energyMultiplier = 1.0;
+        this._vaporGenerationEfficiency = 1.0f;
+        this._sourcesPerTick = 1;
+        this._active = true;
+
+        this._fuelHeat = IHeatEntity.AMBIENT_HEAT;
+        this._reactorHeat = IHeatEntity.AMBIENT_HEAT;
+    }
+
+    //region layout
+
+    public int getSizeX() {
+        return this._sizeX;
+    }
+
+    public int getSizeY() {
+        return this._sizeY;
+    }
+
+    public int getSizeZ() {
+        return this._sizeZ;
+    }
+
+    /**
+     * Place a moderator in the given interior cell, replacing whatever was there
+     *
+     * @param x the X coordinate of the cell, relative to the Reactor interior
+     * @param y the Y coordinate of the cell, relative to the Reactor interior
+     * @param z the Z coordinate of the cell, relative to the Reactor interior
+     * @param absorption How much radiation this material absorbs and converts to heat. 0.0 = none, 1.0 = all.
+     * @param heatEfficiency How efficiently radiation is converted to heat. 0 = no heat, 1 = all heat.
+     * @param moderation How well this material moderates radiation. This is a divisor; should not be below 1.
+     * @param heatConductivity How well this material conducts heat, in FE/t/m2.
+     */
+    public void setModerator(final int x, final int y, final int z, final float absorption, final float heatEfficiency,
+                             final float moderation, final float heatConductivity) {
+
+        final int cell = this.getCellIndex(x, y, z);
+
+        if (this._cellColumn[cell] >= 0) {
+            throw new IllegalStateException("A Fuel Rod is already placed at " + x + ", " + y + ", " + z);
+        }
+
+        this.setCell(cell, absorption, heatEfficiency, moderation, heatConductivity);
+        this._layoutChanged = true;
+    }
+
+    /**
+     * Place a column of Fuel Rods in the Reactor interior. The column span the whole height of the interior
+     *
+     * @param x the X coordinate of the column, relative to the Reactor interior
+     * @param z the Z coordinate of the column, relative to the Reactor interior
+     * @param insertionRatio the insertion ratio of the Control Rod of the column, between 0 and 100
+     * @return the index of the new column
+     */
+    public int addFuelRodsColumn(final int x, final int z, final int insertionRatio) {
+
+        final int column = this._columnsCount;
+
+        if (this._cellColumn[this.getCellIndex(x, 0, z)] >= 0) {
+            throw new IllegalStateException("A Fuel Rods column is already placed at " + x + ", " + z);
+        }
+
+        for (int y = 0; y < this._sizeY; ++y) {
+            this._cellColumn[this.getCellIndex(x, y, z)] = column;
+        }
+
+        ++this._columnsCount;
+        this._layoutChanged = true;
+        this.setControlRodInsertionRatio(column, insertionRatio);
+        return column;
+    }
+
+    public int getFuelRodsColumnsCount() {
+        return this._columnsCount;
+    }
+
+    public int getFuelRodsCount() {
+        return this._columnsCount * this._sizeY;
+    }
+
+    public int getReactorVolume() {
+        return this._sizeX * this._sizeY * this._sizeZ;
+    }
+
+    public void setControlRodInsertionRatio(final int column, final int insertionRatio) {
+
+        if (column < 0 || column >= this._columnsCount) {
+            throw new IndexOutOfBoundsException("Invalid Fuel Rods column index: " + column);
+        }
+
+        this._columnInsertion[column] = (byte)Math.max(0, Math.min(100, insertionRatio));
+    }
+
+    public void setControlRodsInsertionRatio(final int insertionRatio) {
+
+        for (int column = 0; column < this._columnsCount; ++column) {
+            this.setControlRodInsertionRatio(column, insertionRatio);
+        }
+    }
+
+    public int getControlRodInsertionRatio(final int column) {
+        return this._columnInsertion[column];
+    }
+
+    //endregion
+    //region settings
+
+    /**
+     * Set the fuel used by the Reactor
+     *
+     * @param reactivity the reactivity of the fuel reaction
+     * @param moderationFactor the fuel moderation factor
+     * @param absorptionCoefficient the fuel absorption coefficient
+     * @param hardnessDivisor the fuel hardness divisor
+     */
+    public void setFuelProperties(final float reactivity, final float moderationFactor, final float absorptionCoefficient,
+                                  final float hardnessDivisor) {
+
+        this._fuelReactivity = reactivity;
+        this._fuelModerationFactor = Math.max(1.0f, moderationFactor);
+        this._fuelAbsorptionCoefficient = Math.max(0.0f, Math.min(1.0f, absorptionCoefficient));
+        this._fuelHardnessDivisor = Math.max(1.0f, hardnessDivisor);
+    }
+
+    /**
+     * @param multiplier the general fuel usage multiplier
+     */
+    public void setFuelUsageMultiplier(final float multiplier) {
+        this._fuelUsageMultiplier = multiplier;
+    }
+
+    /**
+     * @param multiplier the multiplier applied to the energy generated by a passively cooled Reactor: it should include
+     *                   the global and Reactor power production multipliers and the efficiency of the Reactor variant
+     */
+    public void setEnergyMultiplier(final double multiplier) {
+        this._energyMultiplier = multiplier;
+    }
+
+    /**
+     * Use passive cooling: the Reactor will generate energy
+     */
+    public void setPassiveCooling() {
+        this._coolantCapacity = 0;
+    }
+
+    /**
+     * Use active cooling: the Reactor will vaporize the coolant
+     *
+     * @param coolantCapacity the capacity of the coolant (and vapor) tank
+     * @param boilingPoint the boiling point of the coolant
+     * @param enthalpyOfVaporization the enthalpy of vaporization of the coolant
+     * @param vaporGenerationEfficiency the vapor generation efficiency of the Reactor variant
+     */
+    public void setActiveCooling(final int coolantCapacity, final float boilingPoint, final float enthalpyOfVaporization,
+                                 final float vaporGenerationEfficiency) {
+
+        if (coolantCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid coolant tank capacity");
+        }
+
+        this._coolantCapacity = coolantCapacity;
+        this._coolantBoilingPoint = boilingPoint;
+        this._coolantEnthalpyOfVaporization = enthalpyOfVaporization;
+        this._vaporGenerationEfficiency = vaporGenerationEfficiency;
+    }
+
+    public boolean isPassivelyCooled() {
+        return this._coolantCapacity <= 0;
+    }
+
+    /**
+     * @param count how many Fuel Rods to irradiate from every tick. If zero, irradiate from all of them
+     */
+    public void setFuelRodsIrradiatedPerTick(final int count) {
+        this._sourcesPerTick = Math.max(0, count);
+    }
+
+    /**
+     * @param refuel if true, the waste is removed and the fuel topped up at every tick
+     */
+    public void setAutoRefuel(final boolean refuel) {
+        this._autoRefuel = refuel;
+    }
+
+    public void setActive(final boolean active) {
+        this._active = active;
+    }
+
+    public boolean isActive() {
+        return this._active;
+    }
+
+    //endregion
+    //region state
+
+    public void setFuelAmount(final int amount) {
+        this._fuelAmount = Math.max(0, Math.min(amount, this.getFuelCapacity() - this._wasteAmount));
+    }
+
+    public void setWasteAmount(final int amount) {
+        this._wasteAmount = Math.max(0, Math.min(amount, this.getFuelCapacity() - this._fuelAmount));
+    }
+
+    public void setFuelHeat(final double heat) {
+        this._fuelHeat = heat;
+    }
+
+    public void setReactorHeat(final double heat) {
+        this._reactorHeat = heat;
+    }
+
+    public void setFertility(final float fertility) {
+        this._physics.setFertility(fertility);
+    }
+
+    public int getFuelCapacity() {
+        return this.getFuelRodsCount() * FUEL_CAPACITY_PER_FUEL_ROD;
+    }
+
+    public int getFuelAmount() {
+        return this._fuelAmount;
+    }
+
+    public int getWasteAmount() {
+        return this._wasteAmount;
+    }
+
+    public double getFuelHeat() {
+        return this._fuelHeat;
+    }
+
+    public double getReactorHeat() {
+        return this._reactorHeat;
+    }
+
+    public float getFertility() {
+        return this._physics.getFertility();
+    }
+
+    /**
+     * @return the energy generated in the last tick, if the Reactor is passively cooled, or the amount of coolant vaporized
+     */
+    public double getAmountGeneratedLastTick() {
+        return this._amountGeneratedLastTick;
+    }
+
+    /**
+     * @return the amount of vapor generated in the last tick by an actively cooled Reactor
+     */
+    public int getVaporGeneratedLastTick() {
+        return this._vaporGeneratedLastTick;
+    }
+
+    public float getFuelConsumedLastTick() {
+        return this._fuelConsumedLastTick;
+    }
+
+    public long getTicks() {
+        return this._ticks;
+    }
+
+    //endregion
+    //region simulation
+
+    /**
+     * Run the simulation for the given amount of ticks
+     *
+     * @param ticks the number of ticks to simulate
+     */
+    public void run(final int ticks) {
+
+        for (int i = 0; i < ticks; ++i) {
+            this.tick();
+        }
+    }
+
+    /**
+     * Simulate a single Reactor tick, in the same order of {@code ReactorLogic.update()}
+     */
+    public void tick() {
+
+        final ReactorPhysics physics = this._physics;
+
+        if (this._layoutChanged) {
+            this.rebuild();
+        }
+
+        if (Double.isNaN(this._reactorHeat)) {
+            this._reactorHeat = 0;
+        }
+
+        this._amountGeneratedLastTick = 0;
+        this._vaporGeneratedLastTick = 0;
+        this._fuelConsumedLastTick = 0;
+
+        // irradiation
+
+        if (this._active) {
+            this.performIrradiation();
+        }
+
+        physics.decayFertility(this._active);
+
+        // refueling
+
+        if (this._autoRefuel) {
+
+            this._wasteAmount = 0;
+            this._fuelAmount = this.getFuelCapacity();
+        }
+
+        // heat transfers
+
+        physics.transferHeat(this._fuelHeat, this._reactorHeat, this.isPassivelyCooled() ? null : this);
+
+        if (this.isPassivelyCooled()) {
+            this._amountGeneratedLastTick = physics.getPassiveEnergyGenerated() * this._energyMultiplier;
+        }
+
+        this._fuelHeat = physics.getFuelHeat();
+        this._reactorHeat = physics.getReactorHeat();
+
+        ++this._ticks;
+    }
+
+    //endregion
+    //region ReactorPhysics.IRays
+
+    /**
+     * Moderate the radiation that cross a ray cell with the Fuel Rod, the moderator or the Reactor wall found there
+     *
+     * @param rayCell the offset of the ray cell
+     * @param data the irradiation results to update
+     * @param radiation the radiation that cross the cell
+     */
+    @Override
+    public void moderateRadiation(final int rayCell, final IrradiationData data, final RadiationPacket radiation) {
+
+        final int cell = this._rays[rayCell];
+
+        if (WALL_CELL == cell) {
+
+            ReactorPhysics.absorbAll(radiation);
+
+        } else if (this._cellColumn[cell] >= 0) {
+
+            ReactorPhysics.moderateByFuelRod(data, radiation, this._fuelHeat,
+                    (float)this._columnInsertion[this._cellColumn[cell]] / 100f, this._fuelModerationFactor,
+                    this._fuelAbsorptionCoefficient, this._fuelHardnessDivisor);
+
+        } else {
+
+            ReactorPhysics.moderateByBlock(data, radiation, this._cellAbsorption[cell], this._cellHeatEfficiency[cell],
+                    this._cellModeration[cell]);
+        }
+    }
+
+    //endregion
+    //region ReactorPhysics.ICoolantSystem
+
+    @Override
+    public double getLiquidTemperature(final double reactorHeat) {
+        return Math.min(reactorHeat, this._coolantBoilingPoint);
+    }
+
+    /**
+     * Vaporize the coolant. The coolant tank is assumed to be full and the vapor tank empty
+     *
+     * @return the energy not absorbed by the vaporization
+     */
+    @Override
+    public double onAbsorbHeat(final double energy) {
+
+        if (energy <= 0 || this._coolantEnthalpyOfVaporization <= 0) {
+            return energy;
+        }
+
+        final int liquidVaporized = Math.min(this._coolantCapacity, (int)(energy / this._coolantEnthalpyOfVaporization));
+
+        if (liquidVaporized < 1) {
+            return energy;
+        }
+
+        this._amountGeneratedLastTick = liquidVaporized;
+        this._vaporGeneratedLastTick = (int)(liquidVaporized * this._vaporGenerationEfficiency);
+        return Math.max(0.0, energy - ((double)liquidVaporized * this._coolantEnthalpyOfVaporization));
+    }
+
+    //endregion
+    //region internals
+
+    private void setCell(final int cell, final float absorption, final float heatEfficiency,
+                         final float moderation, final float heatConductivity) {
+
+        this._cellAbsorption[cell] = Math.max(0.0f, Math.min(1.0f, absorption));
+        this._cellHeatEfficiency[cell] = Math.max(0.0f, Math.min(1.0f, heatEfficiency));
+        this._cellModeration[cell] = Math.max(1.0f, moderation);
+        this._cellConductivity[cell] = Math.max(0.0f, heatConductivity);
+        this._cellColumn[cell] = -1;
+    }
+
+    private int getCellIndex(final int x, final int y, final int z) {
+
+        if (x < 0 || x >= this._sizeX || y < 0 || y >= this._sizeY || z < 0 || z >= this._sizeZ) {
+            throw new IndexOutOfBoundsException("Invalid Reactor interior cell: " + x + ", " + y + ", " + z);
+        }
+
+        return (y * this._sizeZ + z) * this._sizeX + x;
+    }
+
+    private int getCellIndexOrWall(final int x, final int y, final int z) {
+        return x < 0 || x >= this._sizeX || y < 0 || y >= this._sizeY || z < 0 || z >= this._sizeZ ? WALL_CELL :
+                (y * this._sizeZ + z) * this._sizeX + x;
+    }
+
+    /**
+     * Rebuild the data derived from the interior layout: the rays emitted by each Fuel Rod and the heat transfer coefficients
+     */
+    private void rebuild() {
+
+        final int sourcesCount = this.getFuelRodsCount();
+        final int[] sources = new int[sourcesCount];
+        final int[] rays = new int[sourcesCount * FuelRodsRayTable.RAYS_PER_SOURCE * FuelRodsRayTable.RAY_LENGTH];
+        double fuelToReactorCoefficient = 0;
+        int sourceIndex = 0;
+        int offset = 0;
+
+        for (int y = 0; y < this._sizeY; ++y) {
+            for (int z = 0; z < this._sizeZ; ++z) {
+                for (int x = 0; x < this._sizeX; ++x) {
+
+                    final int cell = (y * this._sizeZ + z) * this._sizeX + x;
+
+                    if (this._cellColumn[cell] < 0) {
+                        continue;
+                    }
+
+                    sources[sourceIndex++] = cell;
+
+                    for (int ray = 0; ray < FuelRodsRayTable.RAYS_PER_SOURCE; ++ray) {
+
+                        final int dx = RAY_DX[ray];
+                        final int dz = RAY_DZ[ray];
+                        final int neighbor = this.getCellIndexOrWall(x + dx, y, z + dz);
+
+                        // a Fuel Rod does not transfer heat to other Fuel Rods, only to the moderators and the walls around it
+                        if (WALL_CELL == neighbor) {
+                            fuelToReactorCoefficient += IHeatEntity.CONDUCTIVITY_IRON;
+                        } else if (this._cellColumn[neighbor] >= 0) {
+                            fuelToReactorCoefficient += IHeatEntity.CONDUCTIVITY_AIR;
+                        } else {
+                            fuelToReactorCoefficient += this._cellConductivity[neighbor];
+                        }
+
+                        for (int step = 1; step <= FuelRodsRayTable.RAY_LENGTH; ++step) {
+                            rays[offset++] = this.getCellIndexOrWall(x + dx * step, y, z + dz * step);
+                        }
+                    }
+                }
+            }
+        }
+
+        final int interiorX = this._sizeX + 1;
+        final int interiorY = this._sizeY + 1;
+        final int interiorZ = this._sizeZ + 1;
+        final int exteriorX = this._sizeX + 3;
+        final int exteriorY = this._sizeY + 3;
+        final int exteriorZ = this._sizeZ + 3;
+
+        this._sources = sources;
+        this._rays = rays;
+        this._physics.setHeatTransferCoefficients(sourcesCount, this.getReactorVolume(), (float)fuelToReactorCoefficient,
+                IHeatEntity.CONDUCTIVITY_IRON * 2 * (interiorX * interiorY + interiorX * interiorZ + interiorY * interiorZ),
+                REACTOR_HEAT_LOSS_CONDUCTIVITY * 2 * (exteriorX * exteriorY + exteriorX * exteriorZ + exteriorY * exteriorZ));
+
+        if (this._nextSource >= sourcesCount) {
+            this._nextSource = 0;
+        }
+
+        this._layoutChanged = false;
+    }
+
+    private void performIrradiation() {
+
+        final ReactorPhysics physics = this._physics;
+        final int sourcesCount = this._sources.length;
+
+        if (0 == sourcesCount || !physics.prepareIrradiation(this._fuelAmount, this._wasteAmount, this._fuelReactivity,
+                this._fuelHeat, this._columnsCount, this._fuelUsageMultiplier)) {
+            return;
+        }
+
+        int batchSize = this._sourcesPerTick;
+
+        if (batchSize <= 0 || batchSize > sourcesCount) {
+            batchSize = sourcesCount;
+        }
+
+        float rawFuelUsage = 0f;
+
+        for (int i = 0; i < batchSize; ++i) {
+
+            if (this._nextSource >= sourcesCount) {
+                this._nextSource = 0;
+            }
+
+            final int sourceIndex = this._nextSource++;
+            final int column = this._cellColumn[this._sources[sourceIndex]];
+
+            rawFuelUsage += physics.irradiate((float)(100 - this._columnInsertion[column]) / 100f, this,
+                    sourceIndex * FuelRodsRayTable.RAYS_PER_SOURCE * FuelRodsRayTable.RAY_LENGTH);
+        }
+
+        final IrradiationData data = physics.completeIrradiation(rawFuelUsage, batchSize);
+
+        this.consumeFuel(data.fuelUsage);
+        this._fuelConsumedLastTick = data.fuelUsage;
+
+        physics.assimilateIrradiation(data, this._fuelHeat, this._reactorHeat);
+        this._fuelHeat = physics.getFuelHeat();
+        this._reactorHeat = physics.getReactorHeat();
+    }
+
+    private void consumeFuel(final float fuelUsed) {
+
+        if (Float.isInfinite(fuelUsed) || Float.isNaN(fuelUsed)) {
+            return;
+        }
+
+        this._radiationFuelUsage += fuelUsed;
+
+        final int fuelToConvert = ReactorPhysics.getFuelToConvert(this._radiationFuelUsage, this._fuelAmount);
+
+        if (fuelToConvert <= 0) {
+            return;
+        }
+
+        this._radiationFuelUsage = Math.max(0f, this._radiationFuelUsage - fuelToConvert);
+        this._fuelAmount -= fuelToConvert;
+        this._wasteAmount += fuelToConvert;
+    }
+
+    private static final int WALL_CELL = -1;
+
+    // the rays are emitted along the X and Z axes, perpendicular to the Fuel Rods columns
+    private static final int[] RAY_DX = {1, -1, 0, 0};
+    private static final int[] RAY_DZ = {0, 0, 1, -1};
+
+    // same values as Moderator.AIR
+    private static final float AIR_ABSORPTION = 0.1f;
+    private static final float AIR_HEAT_EFFICIENCY = 0.25f;
+    private static final float AIR_MODERATION = 1.1f;
+
+    private static final float REACTOR_HEAT_LOSS_CONDUCTIVITY = 0.001f;
+
+    private final int _sizeX;
+    private final int _sizeY;
+    private final int _sizeZ;
+
+    // interior cells
+    private final float[] _cellAbsorption;
+    private final float[] _cellHeatEfficiency;
+    private final float[] _cellModeration;
+    private final float[] _cellConductivity;
+    private final int[] _cellColumn;
+
+    // Fuel Rods columns
+    private final byte[] _columnInsertion;
+    private int _columnsCount;
+
+    // derived from the layout
+    private boolean _layoutChanged;
+    private int[] _sources;
+    private int[] _rays;
+
+    private final ReactorPhysics _physics;
+
+    // settings
+    private float _fuelReactivity;
+    private float _fuelModerationFactor;
+    private float _fuelAbsorptionCoefficient;
+    private float _fuelHardnessDivisor;
+    private float _fuelUsageMultiplier;
+    private double _energyMultiplier;
+    private int _coolantCapacity;
+    private float _coolantBoilingPoint;
+    private float _coolantEnthalpyOfVaporization;
+    private float _vaporGenerationEfficiency;
+    private int _sourcesPerTick;
+    private boolean _autoRefuel;
+    private boolean _active;
+
+    // state
+    private int _fuelAmount;
+    private int _wasteAmount;
+    private float _radiationFuelUsage;
+    private double _fuelHeat;
+    private double _reactorHeat;
+    private int _nextSource;
+    private long _ticks;
+
+    // per-tick values
+    private double _amountGeneratedLastTick;
+    private int _vaporGeneratedLastTick;
+    private float _fuelConsumedLastTick;
+
+    //endregion
+}